@@ -125,3 +125,16 @@ our $l38 = \%h;#<ref><hash><string>
 #Sigil
 our $l39 = $#a;#<integer>
 our $l40 = $#l;#<integer>
+
+#Rangos y porciones
+our @r1 = (1 .. 4);#<array><integer>
+our @r2 = (2 .. 5);#<list><integer>
+our @r3 = (3 .. 1);#<array><integer>
+our $ri = 1;#<integer>
+our @s1 = @a[1 .. 2];#<array><string>
+our @s2 = @l[$ri, 0, -1];#<list><integer>
+our @idx = (3, 0);#<array><integer>
+our @s3 = @a[@idx];#<array><string>
+our @s4 = @l[0 .. $ri];#<list><integer>
+our @s5 = @h{1 .. 2};#<list><string>
+our @s6 = @a[$ri + 1, 0];#<list><string>
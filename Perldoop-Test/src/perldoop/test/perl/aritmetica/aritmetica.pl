@@ -0,0 +1,29 @@
+package Aritmetica;
+
+#Post incremento como valor
+our $p1 = 5;#<integer>
+our $p2 = $p1++;#<integer>
+our $p3 = 1.5;#<double>
+our $p4 = $p3--;#<double>
+our $p5 = 7;#<long>
+our $p6 = $p5++;#<long>
+
+#Post incremento en colecciones numericas
+our @pl = (1,2);#<list><integer>
+our $p7 = $pl[0]++;#<integer>
+$pl[1]++;
+our %ph = (1,7);#<hash><integer>
+our $p8 = $ph{1}++;#<integer>
+$ph{2}++;
+our %pd = (1,0.5);#<hash><double>
+$pd{1}++;
+$pd{2}--;
+
+#Incremento en bucles for
+our $f1 = 0;#<integer>
+for (my $k = 0; $k < 3; $k++) {#<integer>
+    $f1 = $f1 + $k;
+}
+our $f2 = 0;#<integer>
+for (my $k = 3; $k > 0; $k--, $f2++) {#<integer>
+}
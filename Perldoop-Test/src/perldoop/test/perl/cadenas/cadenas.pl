@@ -0,0 +1,15 @@
+package Cadenas;
+
+#Interpolacion de numeros con el formato de print
+our $d = 0.1 + 0.2;#<double>
+our $c1 = "$d";#<string>
+our $i = 7;#<integer>
+our $t = 1 / 3;#<double>
+our $c2 = "i=$i t=$t";#<string>
+our $b = 1 == 1;#<boolean>
+our $c3 = "[$b]";#<string>
+
+#Interpolacion de colecciones
+our @a = (1, 2.5);#<array><double>
+our @l = ("x", "y");#<list><string>
+our $c4 = "@a|@l|$a[1]";#<string>
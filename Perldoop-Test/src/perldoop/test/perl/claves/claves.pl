@@ -0,0 +1,18 @@
+package Claves;
+
+#Claves compuestas, se traduce con -ok
+our %h = ();#<hash><integer>
+$h{"a","b"} = 1;
+$h{"a","c"} = 2;
+$h{"z"} = 3;
+my $x = "a";#<string>
+my $y = "b";#<string>
+$h{$x,$y} = $h{$x,$y} + 10;
+our $c1 = $h{"a","b"};#<integer>
+our $c2 = $h{"a","c"};#<integer>
+our $c3 = $h{"a","x"};#<integer>
+our $c4 = $h{"z"};#<integer>
+our $n = keys %h;#<integer>
+our @k = sort(keys %h);#<list><string>
+delete $h{"a","c"};
+our $n2 = keys %h;#<integer>
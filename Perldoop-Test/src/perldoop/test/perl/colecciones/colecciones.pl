@@ -21,3 +21,13 @@ our @a2 = (@auxa,@auxl,%auxh, 7, 8);#<array><integer>
 our @l2 = (@auxa,@auxl,%auxh, 7, 8);#<list><integer>
 our %h2 = (@auxa,@auxl,%auxh, 7, 8);#<hash><integer>
 
+
+#Concatenacion
+my @vacio = ();#<list><integer>
+our @c1 = (@vacio, @auxl, @vacio);#<array><integer>
+our @c2 = ("x", @a, "y");#<array><string>
+our @c3 = (@l, @auxl);#<list><integer>
+our %c4 = (%auxh, "k", 1);#<hash><integer>
+our @c5 = ((1 .. 2), @auxa);#<array><integer>
+our @c6 = (@auxa, 0.5, @auxl);#<list><double>
+our @c7 = (@aa, [5, 6]);#<array><array><string>
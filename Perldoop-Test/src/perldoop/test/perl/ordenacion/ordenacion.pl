@@ -0,0 +1,31 @@
+package Ordenacion;
+
+#Comparadores por valor
+our @n1 = sort {$a <=> $b} (10, 9, 100, 1);#<array><integer>
+our @n2 = sort {$b <=> $a} (10, 9, 100, 1);#<array><integer>
+our @n3 = sort {$a <=> $b} (1.5, -2, 10);#<list><double>
+our @n4 = sort {$b <=> $a} (50000, 7, -1);#<list><long>
+our @s1 = sort {$a cmp $b} ("b", "a", "C");#<list><string>
+our @s2 = sort {$b cmp $a} ("b", "a", "C");#<array><string>
+our @d1 = sort (10, 9, 100);#<array><integer>
+our @vi = (10, 9, 100, 1);#<array><integer>
+our @n5 = sort {$b <=> $a} @vi;#<array><integer>
+our @vs = ("b", "a", "C");#<list><string>
+our @s3 = sort {$a cmp $b} @vs;#<list><string>
+
+#Comparadores por clave de un hash
+our %h = ("x", 3, "y", 1, "z", 2);#<hash><integer>
+our @h1 = sort {$h{$a} <=> $h{$b}} keys %h;#<array><string>
+our @h2 = sort {$h{$b} <=> $h{$a}} keys %h;#<list><string>
+our %hs = ("x", "b", "y", "c", "z", "a");#<hash><string>
+our @h3 = sort {$hs{$a} cmp $hs{$b}} keys %hs;#<array><string>
+our @h4 = sort {$hs{$b} cmp $hs{$a}} keys %hs;#<array><string>
+
+#Estabilidad con claves iguales
+our %e = ("a", 1, "b", 1, "c", 0);#<hash><integer>
+our @e1 = sort {$e{$a} <=> $e{$b}} ("b", "a", "c");#<array><string>
+our @e2 = sort {$e{$b} <=> $e{$a}} ("b", "a", "c");#<array><string>
+
+#Comparador no reconocido
+our @v = (5, 3, 4, 6);#<array><integer>
+our @o1 = sort {$a % 3 <=> $b % 3} @v;#<array><integer>
@@ -0,0 +1,39 @@
+package Primitivos;
+
+#Escalares primitivos, se traduce con -op
+my $suma = 0;#<integer>
+for (my $i = 0; $i < 10; $i++) {#<integer>
+    $suma += $i;
+}
+our $r1 = $suma;#<integer>
+
+my $producto = 1;#<long>
+my $j = 1;#<integer>
+while ($j <= 20) {
+    $producto = $producto * $j;
+    $j++;
+}
+our $r2 = $producto;#<long>
+
+my $media = 0.0;#<double>
+foreach my $v (1, 2, 3, 4) {
+    $media = $media + $v / 4;
+}
+our $r3 = $media;#<double>
+
+my $par = 0;#<boolean>
+my $k = 7;#<integer>
+$k = $k * 2;
+if ($k % 2 == 0) {
+    $par = 1;
+}
+our $r4 = $par;#<boolean>
+
+#Variables que deben seguir en caja
+my $d = 5;#<integer>
+our $r5 = defined($d);#<boolean>
+my $u = 3;#<integer>
+undef $u;
+our $r6 = defined($u);#<boolean>
+my $n;#<integer>
+our $r7 = defined($n);#<boolean>
@@ -0,0 +1,58 @@
+package Recorrido;
+
+our %g = ("a", 1, "b", 2, "c", 3);#<hash><integer>
+
+#<function> <string> <return> <integer>
+sub agregar {
+    my ($k) = @_;#<string>
+    $g{$k . "n"} = 0;
+    return 1;
+}
+
+#Recorridos de solo lectura
+our %h = ("a", 1, "b", 2, "c", 3);#<hash><integer>
+our $r1 = 0;#<integer>
+foreach my $k (keys %h) {#<string>
+    $r1 = $r1 + $h{$k};
+}
+our $r2 = 0;#<integer>
+foreach my $v (values %h) {#<integer>
+    $r2 = $r2 + $v;
+}
+our $r3 = keys %h;#<integer>
+
+#Escritura en la clave actual
+foreach my $k (keys %h) {#<string>
+    $h{$k} = $h{$k} * 10;
+}
+
+#Recorridos que modifican el hash
+our %m1 = ("a", 1, "b", 2);#<hash><integer>
+foreach my $k (keys %m1) {#<string>
+    $m1{$k . "x"} = $m1{$k};
+}
+our %m2 = ("a", 1, "b", 2, "c", 3);#<hash><integer>
+foreach my $k (keys %m2) {#<string>
+    if ($m2{$k} != 2) {
+        delete $m2{$k};
+    }
+}
+foreach my $k (keys %g) {#<string>
+    agregar($k);
+}
+our %m3 = ("a", 1, "b", 2);#<hash><integer>
+foreach my $k (keys %m3) {#<string>
+    my $ref = \%m3;#<ref><hash><integer>
+    $ref->{$k . "y"} = 5;
+}
+our %m4 = ("a", 1, "b", 2);#<hash><integer>
+foreach my $k (keys %m4) {#<string>
+    $k = $k . "z";
+    $m4{$k} = 7;
+}
+our %m5 = ("a", 1, "b", 2);#<hash><integer>
+our $r4 = 0;#<integer>
+foreach my $v (values %m5) {#<integer>
+    $m5{"n" . $v} = $v;
+    $r4 = $r4 + $v;
+}
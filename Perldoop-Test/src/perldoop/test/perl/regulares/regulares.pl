@@ -0,0 +1,38 @@
+package Regulares;
+
+#Sustitucion no global repetida
+our $s1 = "aaa";#<string>
+$s1=~s/a/b/;
+$s1=~s/a/b/;
+#<function> <string> <return> <string>
+sub guion {
+    my ($s) = @_;#<string>
+    $s=~s/A/-/;
+    return $s;
+}
+our $s2 = guion("xAAx") . guion("yAy") . guion("A");#<string>
+our $s3 = "";#<string>
+for (my $i = 0; $i < 3; $i++) {#<integer>
+    my $t = "1a2a";#<string>
+    $t=~s/a/b/;
+    $s3 = $s3 . $t;
+}
+
+#Translacion con recuento
+our $t1 = "hello";#<string>
+our $t2 = ($t1=~tr/l/L/);#<integer>
+our $t3 = "banana";#<string>
+our $t4 = ($t3=~tr/a//);#<integer>
+our $t5 = "a-b-c";#<string>
+our $t6 = ($t5=~tr/a-z//cd);#<integer>
+our @t7 = ("xyx");#<list><string>
+our $t8 = ($t7[0]=~tr/x/z/);#<integer>
+our $t9 = "aabbcc";#<string>
+$t9=~tr/a-c/A-C/s;
+
+#Split en bucles
+our $p1 = "";#<string>
+foreach my $w (split(",", "a,b,,c")) {#<string>
+    $p1 = $p1 . "<" . $w . ">";
+}
+our @p2 = split(qr/\s+/, " x  y z");#<list><string>
@@ -1,5 +1,6 @@
 
 from os import walk
+from os.path import isfile
 from subprocess import call
 import shutil
 
@@ -19,5 +20,9 @@ while len(carpetas) > 0:
 			if file.endswith(".pl"):
 				infile.append(path+"/"+file)	
 
+		opciones=[]
+		if isfile(path+"/opciones"):
+			opciones=open(path+"/opciones").read().split()
+
 		if len(infile) > 0:
-			call(['java','-jar','../Perldoop3/dist/Perldoop3.jar']+infile+['-out','src','-pk',pack])
+			call(['java','-jar','../Perldoop3/dist/Perldoop3.jar']+infile+['-out','src','-pk',pack]+opciones)
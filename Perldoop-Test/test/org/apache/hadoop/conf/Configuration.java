@@ -0,0 +1,8 @@
+package org.apache.hadoop.conf;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class Configuration {
+
+}
@@ -0,0 +1,47 @@
+package org.apache.hadoop.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class IntWritable implements Writable, Comparable<IntWritable> {
+
+    private int value;
+
+    public void set(int value) {
+        this.value = value;
+    }
+
+    public int get() {
+        return value;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeInt(value);
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        value = in.readInt();
+    }
+
+    @Override
+    public int compareTo(IntWritable o) {
+        return Integer.compare(value, o.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value;
+    }
+
+    @Override
+    public String toString() {
+        return Integer.toString(value);
+    }
+
+}
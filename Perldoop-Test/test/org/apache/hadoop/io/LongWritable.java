@@ -0,0 +1,47 @@
+package org.apache.hadoop.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class LongWritable implements Writable, Comparable<LongWritable> {
+
+    private long value;
+
+    public void set(long value) {
+        this.value = value;
+    }
+
+    public long get() {
+        return value;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeLong(value);
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        value = in.readLong();
+    }
+
+    @Override
+    public int compareTo(LongWritable o) {
+        return Long.compare(value, o.value);
+    }
+
+    @Override
+    public int hashCode() {
+        return Long.hashCode(value);
+    }
+
+    @Override
+    public String toString() {
+        return Long.toString(value);
+    }
+
+}
@@ -0,0 +1,55 @@
+package org.apache.hadoop.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class Text implements Writable, Comparable<Text> {
+
+    private String value = "";
+
+    public Text() {
+    }
+
+    public Text(String value) {
+        this.value = value;
+    }
+
+    public void set(String value) {
+        this.value = value;
+    }
+
+    @Override
+    public void write(DataOutput out) throws IOException {
+        out.writeUTF(value);
+    }
+
+    @Override
+    public void readFields(DataInput in) throws IOException {
+        value = in.readUTF();
+    }
+
+    @Override
+    public int compareTo(Text o) {
+        return value.compareTo(o.value);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        return o instanceof Text && value.equals(((Text) o).value);
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public String toString() {
+        return value;
+    }
+
+}
@@ -0,0 +1,16 @@
+package org.apache.hadoop.io;
+
+import java.io.DataInput;
+import java.io.DataOutput;
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public interface Writable {
+
+    void write(DataOutput out) throws IOException;
+
+    void readFields(DataInput in) throws IOException;
+
+}
@@ -0,0 +1,33 @@
+package org.apache.hadoop.mapreduce;
+
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class Mapper<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    public abstract class Context implements MapContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    }
+
+    protected void setup(Context context) throws IOException, InterruptedException {
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void map(KEYIN key, VALUEIN value, Context context) throws IOException, InterruptedException {
+        context.write((KEYOUT) key, (VALUEOUT) value);
+    }
+
+    protected void cleanup(Context context) throws IOException, InterruptedException {
+    }
+
+    public void run(Context context) throws IOException, InterruptedException {
+        setup(context);
+        while (context.nextKeyValue()) {
+            map(context.getCurrentKey(), context.getCurrentValue(), context);
+        }
+        cleanup(context);
+    }
+
+}
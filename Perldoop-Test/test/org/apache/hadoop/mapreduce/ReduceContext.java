@@ -0,0 +1,21 @@
+package org.apache.hadoop.mapreduce;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public interface ReduceContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    boolean nextKey() throws IOException, InterruptedException;
+
+    KEYIN getCurrentKey() throws IOException, InterruptedException;
+
+    Iterable<VALUEIN> getValues() throws IOException, InterruptedException;
+
+    void write(KEYOUT key, VALUEOUT value) throws IOException, InterruptedException;
+
+    Configuration getConfiguration();
+
+}
@@ -0,0 +1,36 @@
+package org.apache.hadoop.mapreduce;
+
+import java.io.IOException;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class Reducer<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    public abstract class Context implements ReduceContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    }
+
+    protected void setup(Context context) throws IOException, InterruptedException {
+    }
+
+    @SuppressWarnings("unchecked")
+    protected void reduce(KEYIN key, Iterable<VALUEIN> values, Context context) throws IOException,
+            InterruptedException {
+        for (VALUEIN value : values) {
+            context.write((KEYOUT) key, (VALUEOUT) value);
+        }
+    }
+
+    protected void cleanup(Context context) throws IOException, InterruptedException {
+    }
+
+    public void run(Context context) throws IOException, InterruptedException {
+        setup(context);
+        while (context.nextKey()) {
+            reduce(context.getCurrentKey(), context.getValues(), context);
+        }
+        cleanup(context);
+    }
+
+}
@@ -0,0 +1,53 @@
+package org.apache.hadoop.mapreduce.lib.map;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.MapContext;
+import org.apache.hadoop.mapreduce.Mapper;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class WrappedMapper<KEYIN, VALUEIN, KEYOUT, VALUEOUT> extends Mapper<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    public Mapper<KEYIN, VALUEIN, KEYOUT, VALUEOUT>.Context getMapContext(
+            MapContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> mapContext) {
+        return new Context(mapContext);
+    }
+
+    public class Context extends Mapper<KEYIN, VALUEIN, KEYOUT, VALUEOUT>.Context {
+
+        private final MapContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> mapContext;
+
+        public Context(MapContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> mapContext) {
+            this.mapContext = mapContext;
+        }
+
+        @Override
+        public boolean nextKeyValue() throws IOException, InterruptedException {
+            return mapContext.nextKeyValue();
+        }
+
+        @Override
+        public KEYIN getCurrentKey() throws IOException, InterruptedException {
+            return mapContext.getCurrentKey();
+        }
+
+        @Override
+        public VALUEIN getCurrentValue() throws IOException, InterruptedException {
+            return mapContext.getCurrentValue();
+        }
+
+        @Override
+        public void write(KEYOUT key, VALUEOUT value) throws IOException, InterruptedException {
+            mapContext.write(key, value);
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return mapContext.getConfiguration();
+        }
+
+    }
+
+}
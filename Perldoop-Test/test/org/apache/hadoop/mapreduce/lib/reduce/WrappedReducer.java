@@ -0,0 +1,53 @@
+package org.apache.hadoop.mapreduce.lib.reduce;
+
+import java.io.IOException;
+import org.apache.hadoop.conf.Configuration;
+import org.apache.hadoop.mapreduce.ReduceContext;
+import org.apache.hadoop.mapreduce.Reducer;
+
+/**
+ * Version minima de la API de Hadoop para probar LocalMapReduce sin Hadoop
+ */
+public class WrappedReducer<KEYIN, VALUEIN, KEYOUT, VALUEOUT> extends Reducer<KEYIN, VALUEIN, KEYOUT, VALUEOUT> {
+
+    public Reducer<KEYIN, VALUEIN, KEYOUT, VALUEOUT>.Context getReducerContext(
+            ReduceContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> reduceContext) {
+        return new Context(reduceContext);
+    }
+
+    public class Context extends Reducer<KEYIN, VALUEIN, KEYOUT, VALUEOUT>.Context {
+
+        private final ReduceContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> reduceContext;
+
+        public Context(ReduceContext<KEYIN, VALUEIN, KEYOUT, VALUEOUT> reduceContext) {
+            this.reduceContext = reduceContext;
+        }
+
+        @Override
+        public boolean nextKey() throws IOException, InterruptedException {
+            return reduceContext.nextKey();
+        }
+
+        @Override
+        public KEYIN getCurrentKey() throws IOException, InterruptedException {
+            return reduceContext.getCurrentKey();
+        }
+
+        @Override
+        public Iterable<VALUEIN> getValues() throws IOException, InterruptedException {
+            return reduceContext.getValues();
+        }
+
+        @Override
+        public void write(KEYOUT key, VALUEOUT value) throws IOException, InterruptedException {
+            reduceContext.write(key, value);
+        }
+
+        @Override
+        public Configuration getConfiguration() {
+            return reduceContext.getConfiguration();
+        }
+
+    }
+
+}
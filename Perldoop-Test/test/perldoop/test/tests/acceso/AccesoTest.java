@@ -143,4 +143,18 @@ public class AccesoTest {
         Assert.assertEquals((Integer)(Acceso.l.size()-1), Acceso.l40);
     }
 
+    @Test
+    public void testRangosPorciones() {
+        System.out.println("rangosPorciones");
+        Assert.assertArrayEquals(new Integer[]{1, 2, 3, 4}, Acceso.r1);
+        Assert.assertArrayEquals(new Integer[]{2, 3, 4, 5}, Acceso.r2.toArray());
+        Assert.assertEquals(0, Acceso.r3.length);
+        Assert.assertArrayEquals(new String[]{"2", "3"}, Acceso.s1);
+        Assert.assertArrayEquals(new Integer[]{2, 1, 4}, Acceso.s2.toArray());
+        Assert.assertArrayEquals(new String[]{"4", "1"}, Acceso.s3);
+        Assert.assertArrayEquals(new Integer[]{1, 2}, Acceso.s4.toArray());
+        Assert.assertArrayEquals(new String[]{"a", "n"}, Acceso.s5.toArray());
+        Assert.assertArrayEquals(new String[]{"3", "1"}, Acceso.s6.toArray());
+    }
+
 }
@@ -0,0 +1,45 @@
+package perldoop.test.tests.aritmetica;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.test.java.aritmetica.Aritmetica;
+
+public class AritmeticaTest {
+
+    @BeforeClass
+    public static void aritmeticaTest() {
+        System.out.println("aritmeticaTest");
+    }
+
+    @Test
+    public void testPostIncremento() {
+        System.out.println("postIncremento");
+        Assert.assertEquals((Integer) 6, Aritmetica.p1);
+        Assert.assertEquals((Integer) 5, Aritmetica.p2);
+        Assert.assertEquals(0.5, Aritmetica.p3, 0);
+        Assert.assertEquals(1.5, Aritmetica.p4, 0);
+        Assert.assertEquals((Long) 8l, Aritmetica.p5);
+        Assert.assertEquals((Long) 7l, Aritmetica.p6);
+    }
+
+    @Test
+    public void testPostIncrementoColeccion() {
+        System.out.println("postIncrementoColeccion");
+        Assert.assertArrayEquals(new Integer[]{2, 3}, Aritmetica.pl.toArray());
+        Assert.assertEquals((Integer) 1, Aritmetica.p7);
+        Assert.assertEquals((Integer) 8, Aritmetica.ph.get("1"));
+        Assert.assertEquals((Integer) 7, Aritmetica.p8);
+        Assert.assertEquals((Integer) 1, Aritmetica.ph.get("2"));
+        Assert.assertEquals(1.5, Aritmetica.pd.get("1"), 0);
+        Assert.assertEquals(-1.0, Aritmetica.pd.get("2"), 0);
+    }
+
+    @Test
+    public void testIncrementoFor() {
+        System.out.println("incrementoFor");
+        Assert.assertEquals((Integer) 3, Aritmetica.f1);
+        Assert.assertEquals((Integer) 3, Aritmetica.f2);
+    }
+
+}
@@ -0,0 +1,31 @@
+package perldoop.test.tests.cadenas;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Casting;
+import perldoop.test.java.cadenas.Cadenas;
+
+public class CadenasTest {
+
+    @BeforeClass
+    public static void cadenasTest() {
+        System.out.println("cadenasTest");
+    }
+
+    @Test
+    public void testInterpolacionNumeros() {
+        System.out.println("interpolacionNumeros");
+        Assert.assertEquals("0.3", Cadenas.c1);
+        Assert.assertEquals(Casting.toString(Cadenas.d), Cadenas.c1);
+        Assert.assertEquals("i=7 t=0.333333333333333", Cadenas.c2);
+        Assert.assertEquals("[1]", Cadenas.c3);
+    }
+
+    @Test
+    public void testInterpolacionColecciones() {
+        System.out.println("interpolacionColecciones");
+        Assert.assertEquals("1 2.5|x y|2.5", Cadenas.c4);
+    }
+
+}
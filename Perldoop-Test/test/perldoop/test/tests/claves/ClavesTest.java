@@ -0,0 +1,76 @@
+package perldoop.test.tests.claves;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.PerlList;
+import perldoop.lib.PerlMultiKeyMap;
+import perldoop.test.java.claves.Claves;
+
+public class ClavesTest {
+
+    @BeforeClass
+    public static void clavesTest() {
+        System.out.println("clavesTest");
+    }
+
+    @Test
+    public void testTipo() {
+        System.out.println("tipo");
+        Assert.assertTrue(Claves.h instanceof PerlMultiKeyMap);
+    }
+
+    @Test
+    public void testAcceso() {
+        System.out.println("acceso");
+        Assert.assertEquals((Integer) 11, Claves.c1);
+        Assert.assertEquals((Integer) 2, Claves.c2);
+        Assert.assertNull(Claves.c3);
+        Assert.assertEquals((Integer) 3, Claves.c4);
+    }
+
+    @Test
+    public void testClaveUnida() {
+        System.out.println("claveUnida");
+        Assert.assertEquals((Integer) 11, Claves.h.get("a\034b"));
+        Assert.assertEquals((Integer) 11, Claves.h.get(new String[]{"a", "b"}));
+        Assert.assertNull(Claves.h.get("ab"));
+        Assert.assertNull(Claves.h.get(new String[]{"a", "c"}));
+    }
+
+    @Test
+    public void testClaves() {
+        System.out.println("claves");
+        Assert.assertEquals((Integer) 3, Claves.n);
+        Assert.assertEquals((Integer) 2, Claves.n2);
+        Assert.assertEquals(new PerlList<>("a\034b", "a\034c", "z"), Claves.k);
+    }
+
+    @Test
+    public void testCopia() throws Exception {
+        System.out.println("copia");
+        PerlMultiKeyMap<Integer> m = new PerlMultiKeyMap<>();
+        m.put(new String[]{"x", "y"}, 1);
+        m.put("z", 2);
+        PerlMultiKeyMap<Integer> c = m.clone();
+        c.put(new String[]{"x", "y"}, 3);
+        Assert.assertEquals((Integer) 1, m.get("x\034y"));
+        Assert.assertEquals((Integer) 3, c.get("x\034y"));
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(m);
+        }
+        Object s;
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            s = in.readObject();
+        }
+        Assert.assertTrue(s instanceof PerlMultiKeyMap);
+        Assert.assertEquals(m, s);
+        Assert.assertEquals((Integer) 1, ((PerlMultiKeyMap<?>) s).get(new String[]{"x", "y"}));
+    }
+
+}
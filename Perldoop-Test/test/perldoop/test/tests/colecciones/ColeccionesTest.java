@@ -43,4 +43,20 @@ public class ColeccionesTest {
         Assert.assertEquals((Integer) 8, Colecciones.h2.get("7"));
     }
 
+    @Test
+    public void testConcatenacion() {
+        System.out.println("concatenacion");
+        Assert.assertArrayEquals(new Integer[]{3, 4}, Colecciones.c1);
+        Assert.assertArrayEquals(new String[]{"x", "1", "2", "3", "4", "y"}, Colecciones.c2);
+        Assert.assertArrayEquals(new Integer[]{1, 2, 3, 4, 3, 4}, Colecciones.c3.toArray());
+        Assert.assertEquals(2, Colecciones.c4.size());
+        Assert.assertEquals((Integer) 6, Colecciones.c4.get("5"));
+        Assert.assertEquals((Integer) 1, Colecciones.c4.get("k"));
+        Assert.assertArrayEquals(new Integer[]{1, 2, 1, 2}, Colecciones.c5);
+        Assert.assertArrayEquals(new Double[]{1.0, 2.0, 0.5, 3.0, 4.0}, Colecciones.c6.toArray());
+        Assert.assertEquals(3, Colecciones.c7.length);
+        Assert.assertArrayEquals(new String[]{"3", "4"}, Colecciones.c7[1]);
+        Assert.assertArrayEquals(new String[]{"5", "6"}, Colecciones.c7[2]);
+    }
+
 }
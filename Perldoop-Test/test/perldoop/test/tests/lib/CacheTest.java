@@ -0,0 +1,143 @@
+package perldoop.test.tests.lib;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.util.Cache;
+
+public class CacheTest {
+
+    @BeforeClass
+    public static void cacheTest() {
+        System.out.println("cacheTest");
+    }
+
+    @Test
+    public void testLlenado() {
+        System.out.println("llenado");
+        Cache<Integer, String> cache = new Cache<>(20);
+        AtomicInteger calculos = new AtomicInteger();
+        for (int i = 0; i < 1000; i++) {
+            Assert.assertEquals("v" + i, cache.get(i, k -> {
+                calculos.incrementAndGet();
+                return "v" + k;
+            }));
+            Assert.assertTrue(cache.size() <= cache.getCapacidad());
+        }
+        Assert.assertEquals(20, cache.getCapacidad());
+        //Las claves cubren todos los segmentos, por lo que todos quedan llenos
+        Assert.assertEquals(20, cache.size());
+        Assert.assertEquals(1000, calculos.get());
+        Assert.assertEquals(0, cache.getAciertos());
+        Assert.assertEquals(1000, cache.getFallos());
+        Assert.assertEquals(980, cache.getDesalojos());
+        //La ultima clave de cada segmento sigue almacenada
+        for (int i = 984; i < 1000; i++) {
+            Assert.assertEquals("v" + i, cache.get(i, k -> "x"));
+        }
+        Assert.assertEquals(16, cache.getAciertos());
+        Assert.assertEquals(1000, cache.getFallos());
+        Assert.assertEquals(20, cache.size());
+    }
+
+    @Test
+    public void testReparto() {
+        System.out.println("reparto");
+        //17 entradas en 16 segmentos, solo el primero admite dos
+        Cache<Integer, Integer> cache = new Cache<>(17);
+        cache.get(0, k -> k);
+        cache.get(16, k -> k);
+        Assert.assertEquals(0, cache.getDesalojos());
+        cache.get(1, k -> k);
+        cache.get(17, k -> k);
+        Assert.assertEquals(1, cache.getDesalojos());
+        Assert.assertEquals(3, cache.size());
+        //Con menos capacidad que segmentos cada segmento guarda una entrada
+        Cache<Integer, Integer> reducida = new Cache<>(3);
+        reducida.get(0, k -> k);
+        reducida.get(1, k -> k);
+        reducida.get(2, k -> k);
+        Assert.assertEquals(0, reducida.getDesalojos());
+        reducida.get(3, k -> k);
+        Assert.assertEquals(1, reducida.getDesalojos());
+        Assert.assertEquals(3, reducida.size());
+    }
+
+    @Test
+    public void testLRU() {
+        System.out.println("LRU");
+        Cache<Integer, Integer> cache = new Cache<>(17);
+        cache.get(0, k -> k);
+        cache.get(16, k -> k);
+        cache.get(0, k -> k);
+        cache.get(32, k -> k);
+        Assert.assertEquals(1, cache.getAciertos());
+        Assert.assertEquals(1, cache.getDesalojos());
+        //El 16 era el menos usado del segmento
+        cache.get(0, k -> k);
+        Assert.assertEquals(2, cache.getAciertos());
+        cache.get(16, k -> k);
+        Assert.assertEquals(4, cache.getFallos());
+    }
+
+    @Test
+    public void testCapacidadCero() {
+        System.out.println("capacidadCero");
+        for (int capacidad : new int[]{0, -5}) {
+            Cache<String, String> cache = new Cache<>(capacidad);
+            Assert.assertEquals(0, cache.getCapacidad());
+            for (int i = 0; i < 10; i++) {
+                Assert.assertEquals("a", cache.get("a", k -> k));
+            }
+            Assert.assertEquals(0, cache.size());
+            Assert.assertEquals(0, cache.getAciertos());
+            Assert.assertEquals(10, cache.getFallos());
+            Assert.assertEquals(0, cache.getDesalojos());
+        }
+    }
+
+    @Test
+    public void testClear() {
+        System.out.println("clear");
+        Cache<Integer, Integer> cache = new Cache<>(8);
+        for (int i = 0; i < 8; i++) {
+            cache.get(i, k -> k);
+        }
+        cache.clear();
+        Assert.assertEquals(0, cache.size());
+        Assert.assertEquals(8, cache.getFallos());
+    }
+
+    @Test
+    public void testConcurrente() throws Exception {
+        System.out.println("concurrente");
+        Cache<Integer, Integer> cache = new Cache<>(50);
+        ExecutorService pool = Executors.newFixedThreadPool(4);
+        try {
+            List<Future<?>> tareas = new ArrayList<>();
+            for (int t = 0; t < 4; t++) {
+                int semilla = t;
+                tareas.add(pool.submit(() -> {
+                    for (int i = 0; i < 5000; i++) {
+                        int clave = (i * 31 + semilla) % 200;
+                        Assert.assertEquals((Integer) (clave * 2), cache.get(clave, k -> k * 2));
+                    }
+                }));
+            }
+            for (Future<?> tarea : tareas) {
+                tarea.get();
+            }
+        } finally {
+            pool.shutdown();
+        }
+        Assert.assertTrue(cache.size() <= cache.getCapacidad());
+        Assert.assertEquals(20000, cache.getAciertos() + cache.getFallos());
+    }
+
+}
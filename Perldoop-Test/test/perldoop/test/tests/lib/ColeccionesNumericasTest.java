@@ -0,0 +1,210 @@
+package perldoop.test.tests.lib;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.DoublePerlList;
+import perldoop.lib.IntPerlList;
+import perldoop.lib.LongPerlList;
+import perldoop.lib.Pd;
+import perldoop.lib.PerlDoubleMap;
+import perldoop.lib.PerlIntMap;
+import perldoop.lib.PerlList;
+import perldoop.lib.PerlLongMap;
+import perldoop.lib.PerlMap;
+
+public class ColeccionesNumericasTest {
+
+    @BeforeClass
+    public static void coleccionesNumericasTest() {
+        System.out.println("coleccionesNumericasTest");
+    }
+
+    private static Object serializar(Object o) throws Exception {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+            out.writeObject(o);
+        }
+        try (ObjectInputStream in = new ObjectInputStream(new ByteArrayInputStream(bytes.toByteArray()))) {
+            return in.readObject();
+        }
+    }
+
+    @Test
+    public void testListaCrecimiento() {
+        System.out.println("listaCrecimiento");
+        IntPerlList l = new IntPerlList(1);
+        for (int i = 0; i < 1000; i++) {
+            l.add(i);
+        }
+        Assert.assertEquals(1000, l.size());
+        Assert.assertEquals((Integer) 999, l.get(999));
+        Assert.assertEquals((Integer) 999, l.get(-1));
+        Assert.assertNull(l.get(1000));
+        Assert.assertEquals(0, l.getInt(1000));
+        l.add(500, null);
+        Assert.assertNull(l.get(500));
+        Assert.assertEquals((Integer) 500, l.get(501));
+        Assert.assertNull(l.remove(500));
+        Assert.assertEquals((Integer) 500, l.get(500));
+        Assert.assertTrue(l.contains(999));
+        Assert.assertFalse(l.contains(null));
+    }
+
+    @Test
+    public void testListaAutoConcatenacion() {
+        System.out.println("listaAutoConcatenacion");
+        IntPerlList l = new IntPerlList(1, null, 3);
+        Assert.assertTrue(l.addAll(l));
+        Assert.assertArrayEquals(new Integer[]{1, null, 3, 1, null, 3}, l.toArray());
+        PerlList<Integer> p = new PerlList<>(1, null, 3);
+        p.addAll(p);
+        Assert.assertEquals(p, l);
+    }
+
+    @Test
+    public void testListaNulos() {
+        System.out.println("listaNulos");
+        LongPerlList l = new LongPerlList(1L, null, 3L);
+        Assert.assertArrayEquals(new Long[]{1L, null, 3L}, l.toArray(new Long[0]));
+        Assert.assertEquals(0, l.getLong(1));
+        Assert.assertEquals(5, l.increment(1, 5));
+        Assert.assertEquals((Long) 5L, l.get(1));
+        l.set(3, null);
+        Assert.assertEquals(4, l.size());
+        Assert.assertNull(l.get(3));
+        l.sort((a, b) -> a == null ? -1 : b == null ? 1 : Long.compare(b, a));
+        Assert.assertArrayEquals(new Long[]{null, 5L, 3L, 1L}, l.toArray());
+    }
+
+    @Test
+    public void testListaCopia() throws Exception {
+        System.out.println("listaCopia");
+        DoublePerlList l = new DoublePerlList(0.5, null, 2.0);
+        DoublePerlList c = l.clone();
+        c.set(0, 1.0);
+        c.add(3.0);
+        Assert.assertEquals(0.5, l.get(0), 0);
+        Assert.assertEquals(3, l.size());
+        Assert.assertEquals(4, c.size());
+        PerlList<Double> p = Pd.copy(l);
+        Assert.assertTrue(p instanceof DoublePerlList);
+        Assert.assertEquals(l, p);
+        Assert.assertNotSame(l, p);
+        Object s = serializar(l);
+        Assert.assertTrue(s instanceof DoublePerlList);
+        Assert.assertEquals(l, s);
+        Assert.assertEquals(new PerlList<>(0.5, null, 2.0), l);
+        Assert.assertEquals(new PerlList<>(0.5, null, 2.0).hashCode(), l.hashCode());
+        Iterator<Double> it = l.iterator();
+        it.next();
+        it.remove();
+        Assert.assertArrayEquals(new Double[]{null, 2.0}, l.toArray());
+    }
+
+    @Test
+    public void testMapaCrecimiento() {
+        System.out.println("mapaCrecimiento");
+        PerlIntMap m = new PerlIntMap(1);
+        for (int i = 0; i < 10000; i++) {
+            m.put("k" + i, i);
+        }
+        Assert.assertEquals(10000, m.size());
+        for (int i = 0; i < 10000; i++) {
+            Assert.assertEquals((Integer) i, m.get("k" + i));
+        }
+        //Borrados y reinserciones fuerzan la reorganizacion de la tabla sin crecer
+        for (int r = 0; r < 10; r++) {
+            for (int i = 0; i < 10000; i += 2) {
+                Assert.assertEquals((Integer) i, m.remove("k" + i));
+            }
+            for (int i = 0; i < 10000; i += 2) {
+                m.put("k" + i, i);
+            }
+        }
+        Assert.assertEquals(10000, m.size());
+        Assert.assertEquals(10000, m.keySet().size());
+        int n = 0;
+        for (Map.Entry<String, Integer> e : m.entrySet()) {
+            Assert.assertEquals("k" + e.getValue(), e.getKey());
+            n++;
+        }
+        Assert.assertEquals(10000, n);
+    }
+
+    @Test
+    public void testMapaNulos() {
+        System.out.println("mapaNulos");
+        PerlLongMap m = new PerlLongMap();
+        m.put("a", null);
+        m.put((String) null, 2L);
+        Assert.assertTrue(m.containsKey("a"));
+        Assert.assertNull(m.get("a"));
+        Assert.assertEquals((Long) 2L, m.get(""));
+        Assert.assertEquals(0, m.getLong("a"));
+        Assert.assertEquals(3, m.increment("a", 3));
+        Assert.assertEquals(4, m.increment("b", 4));
+        Assert.assertEquals((Long) 3L, m.get("a"));
+        Assert.assertEquals(3, m.size());
+    }
+
+    @Test
+    public void testMapaCopia() throws Exception {
+        System.out.println("mapaCopia");
+        PerlDoubleMap m = new PerlDoubleMap(new String[]{"a", "b"}, new Double[]{0.5, null});
+        PerlDoubleMap c = m.clone();
+        c.put("a", 1.0);
+        c.put("c", 2.0);
+        Assert.assertEquals(0.5, m.get("a"), 0);
+        Assert.assertEquals(2, m.size());
+        Assert.assertEquals(3, c.size());
+        PerlMap<Double> p = Pd.copy(m);
+        Assert.assertTrue(p instanceof PerlDoubleMap);
+        Assert.assertEquals(m, p);
+        Assert.assertNotSame(m, p);
+        Object s = serializar(m);
+        Assert.assertTrue(s instanceof PerlDoubleMap);
+        Assert.assertEquals(m, s);
+        Map<String, Double> h = new HashMap<>();
+        h.put("a", 0.5);
+        h.put("b", null);
+        Assert.assertEquals(h, m);
+        Assert.assertEquals(h.hashCode(), m.hashCode());
+    }
+
+    @Test
+    public void testIncremento() {
+        System.out.println("incremento");
+        PerlMap<Integer> mi = new PerlIntMap();
+        PerlMap<Integer> mg = new PerlMap<>();
+        for (PerlMap<Integer> m : Arrays.asList(mi, mg)) {
+            Assert.assertEquals(2, Pd.increment(m, "a", 2));
+            Assert.assertEquals(1, Pd.increment(m, "a", -1));
+            Assert.assertEquals((Integer) 1, m.get("a"));
+        }
+        PerlMap<Long> ml = new PerlLongMap();
+        Assert.assertEquals(5L, Pd.increment(ml, "a", 5L));
+        PerlMap<Double> md = new PerlMap<>();
+        Assert.assertEquals(0.5, Pd.increment(md, "a", 0.5), 0);
+        PerlList<Integer> li = new IntPerlList(1, 2);
+        PerlList<Integer> lg = new PerlList<>(1, 2);
+        for (PerlList<Integer> l : Arrays.asList(li, lg)) {
+            Assert.assertEquals(3, Pd.increment(l, 1, 1));
+            Assert.assertEquals(1, Pd.increment(l, 2, 1));
+            Assert.assertArrayEquals(new Integer[]{1, 3, 1}, l.toArray());
+        }
+        PerlList<Double> ld = new DoublePerlList(0.5);
+        Assert.assertEquals(1.0, Pd.increment(ld, -1, 0.5), 0);
+        PerlList<Long> ll = new PerlList<>(1L);
+        Assert.assertEquals(0L, Pd.increment(ll, 0, -1L));
+    }
+
+}
@@ -0,0 +1,86 @@
+package perldoop.test.tests.lib;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Box;
+import perldoop.lib.Casting;
+import perldoop.lib.box.ScalarBox;
+
+public class ContenedoresTest {
+
+    @BeforeClass
+    public static void contenedoresTest() {
+        System.out.println("contenedoresTest");
+    }
+
+    @Test
+    public void testVerdad() {
+        System.out.println("verdad");
+        Assert.assertTrue(Casting.box(0.5).booleanValue());
+        Assert.assertTrue(Casting.box(-0.5).booleanValue());
+        Assert.assertFalse(Casting.box(0.0).booleanValue());
+        Assert.assertFalse(Casting.box(0).booleanValue());
+        Assert.assertFalse(Casting.box(0L).booleanValue());
+        Assert.assertTrue(Casting.box(1L << 40).booleanValue());
+        //Las cadenas solo son falsas si son "" o "0"
+        Assert.assertTrue(Casting.box("0.0").booleanValue());
+        Assert.assertTrue(Casting.box("00").booleanValue());
+        Assert.assertTrue(Casting.box("0.5").booleanValue());
+        Assert.assertTrue(Casting.box(" ").booleanValue());
+        Assert.assertFalse(Casting.box("0").booleanValue());
+        Assert.assertFalse(Casting.box("").booleanValue());
+    }
+
+    @Test
+    public void testDobleValor() {
+        System.out.println("dobleValor");
+        Box s = Casting.box("3.75abc");
+        Assert.assertEquals((Integer) 3, s.intValue());
+        Assert.assertEquals((Long) 3L, s.longValue());
+        Assert.assertEquals(3.75, s.doubleValue(), 0);
+        Assert.assertEquals(3.75f, s.floatValue(), 0);
+        Assert.assertEquals(3.75, s.numberValue());
+        Assert.assertEquals("3.75abc", s.stringValue());
+        Assert.assertSame(s.stringValue(), s.toString());
+        Box d = Casting.box(0.1 + 0.2);
+        Assert.assertEquals("0.3", d.stringValue());
+        Assert.assertSame(d.stringValue(), d.stringValue());
+        Assert.assertEquals((Integer) 0, d.intValue());
+        Box l = Casting.box(5000000000L);
+        Assert.assertEquals("5000000000", l.stringValue());
+        Assert.assertEquals(5000000000L, l.numberValue());
+        Assert.assertEquals(5e9, l.doubleValue(), 0);
+    }
+
+    @Test
+    public void testNulos() {
+        System.out.println("nulos");
+        Box s = new ScalarBox((String) null);
+        Assert.assertNull(s.intValue());
+        Assert.assertNull(s.doubleValue());
+        Assert.assertNull(s.floatValue());
+        Assert.assertNull(s.stringValue());
+        Assert.assertNull(s.booleanValue());
+        Box n = new ScalarBox((Number) null);
+        Assert.assertNull(n.longValue());
+        Assert.assertNull(n.stringValue());
+    }
+
+    @Test
+    public void testCache() {
+        System.out.println("cache");
+        Assert.assertSame(ScalarBox.valueOf(7), ScalarBox.valueOf(7));
+        Assert.assertSame(ScalarBox.valueOf(-128), ScalarBox.valueOf(-128));
+        Assert.assertNotSame(ScalarBox.valueOf(5000), ScalarBox.valueOf(5000));
+        Assert.assertNotSame(ScalarBox.valueOf(7L), ScalarBox.valueOf(7L));
+        Assert.assertEquals("7", ScalarBox.valueOf(7).stringValue());
+    }
+
+    @Test(expected = ClassCastException.class)
+    public void testReferencia() {
+        System.out.println("referencia");
+        Casting.box("x").refValue();
+    }
+
+}
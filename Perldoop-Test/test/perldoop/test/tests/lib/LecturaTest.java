@@ -0,0 +1,96 @@
+package perldoop.test.tests.lib;
+
+import java.io.File;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.List;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Pd;
+import perldoop.lib.Perl;
+import perldoop.lib.PerlFile;
+
+public class LecturaTest {
+
+    @BeforeClass
+    public static void lecturaTest() {
+        System.out.println("lecturaTest");
+    }
+
+    private static String fichero(String contenido, Charset charset) throws Exception {
+        File f = File.createTempFile("lectura", ".txt");
+        f.deleteOnExit();
+        Files.write(f.toPath(), contenido.getBytes(charset));
+        return f.getPath();
+    }
+
+    private static String[] leer(String path, String mode, boolean chomp) {
+        PerlFile file = new PerlFile();
+        Assert.assertEquals((Integer) 1, file.open(path, mode));
+        List<String> lineas = new ArrayList<>();
+        String linea;
+        if (chomp) {
+            while ((linea = Pd.readChomped(file)) != null) {
+                lineas.add(linea);
+            }
+        } else {
+            while (!(linea = file.read()).isEmpty()) {
+                lineas.add(Perl.chomp(linea));
+            }
+        }
+        file.close();
+        return lineas.toArray(new String[0]);
+    }
+
+    private static void comprobar(String[] esperado, String contenido, Charset charset, String mode) throws Exception {
+        String path = fichero(contenido, charset);
+        Assert.assertArrayEquals(esperado, leer(path, mode, true));
+        Assert.assertArrayEquals(esperado, leer(path, mode, false));
+    }
+
+    @Test
+    public void testLineaVacia() throws Exception {
+        System.out.println("lineaVacia");
+        comprobar(new String[]{"a", "", "b", ""}, "a\n\nb\n\n", StandardCharsets.UTF_8, "<");
+        Assert.assertArrayEquals(new String[0], leer(fichero("", StandardCharsets.UTF_8), "<", true));
+    }
+
+    @Test
+    public void testSaltos() throws Exception {
+        System.out.println("saltos");
+        comprobar(new String[]{"a", "b", "", "c"}, "a\r\nb\r\n\r\nc\r\n", StandardCharsets.UTF_8, "<");
+        comprobar(new String[]{"a", "b"}, "a\rb\r", StandardCharsets.UTF_8, "<");
+        comprobar(new String[]{"x  y", "z"}, "  x  y \t\r\n z", StandardCharsets.UTF_8, "<");
+    }
+
+    @Test
+    public void testSinSaltoFinal() throws Exception {
+        System.out.println("sinSaltoFinal");
+        comprobar(new String[]{"a", "b"}, "a\nb", StandardCharsets.UTF_8, "<");
+        comprobar(new String[]{"a"}, "a", StandardCharsets.UTF_8, "<");
+    }
+
+    @Test
+    public void testNoAscii() throws Exception {
+        System.out.println("noAscii");
+        String[] esperado = new String[]{"añó", "ü €", "plain", "ĉ"};
+        String contenido = "añó\r\nü €\nplain\nĉ";
+        comprobar(esperado, contenido, StandardCharsets.UTF_8, "<:encoding(UTF-8)");
+        comprobar(esperado, contenido, StandardCharsets.UTF_16, "<:encoding(UTF-16)");
+        comprobar(new String[]{"añó", "ü"}, "añó\nü\n", StandardCharsets.ISO_8859_1, "<:encoding(ISO-8859-1)");
+    }
+
+    @Test
+    public void testLineaLarga() throws Exception {
+        System.out.println("lineaLarga");
+        StringBuilder larga = new StringBuilder();
+        for (int i = 0; i < 300000; i++) {
+            larga.append("ñ0123");
+        }
+        comprobar(new String[]{"a", larga.toString(), "b"}, "a\n" + larga + "\nb\n", StandardCharsets.UTF_8, "<:encoding(UTF-8)");
+    }
+
+}
@@ -0,0 +1,112 @@
+package perldoop.test.tests.lib;
+
+import java.util.Random;
+import jregex.Pattern;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.util.LiteralPattern;
+
+public class LiteralPatternTest {
+
+    @BeforeClass
+    public static void literalPatternTest() {
+        System.out.println("literalPatternTest");
+    }
+
+    /**
+     * Compara la busqueda rapida con la del motor de expresiones para varias cadenas
+     */
+    private static void comparar(String regex, String mods, boolean literal, String... cadenas) {
+        Pattern p = LiteralPattern.compile(regex, mods);
+        Pattern ref = new Pattern(regex, mods);
+        Assert.assertEquals(regex + "/" + mods, literal, p instanceof LiteralPattern);
+        for (String s : cadenas) {
+            boolean esperado = ref.matcher(s).find();
+            String msg = regex + "/" + mods + " ~ " + s;
+            if (p instanceof LiteralPattern) {
+                Assert.assertEquals(msg, esperado, ((LiteralPattern) p).find(s));
+            }
+            Assert.assertEquals(msg, esperado, p.matcher(s).find());
+        }
+    }
+
+    @Test
+    public void testAnclas() {
+        System.out.println("anclas");
+        String[] cadenas = {"", "\n", "abc", "abc\n", "abc\n\n", "xabc", "abcx", "xabc\n", "\nabc", "abc\nx",
+            "ab", "abcabc"};
+        comparar("^abc", "", true, cadenas);
+        comparar("abc$", "", true, cadenas);
+        comparar("^abc$", "", true, cadenas);
+        comparar("abc", "", true, cadenas);
+        comparar("^$", "", true, cadenas);
+        comparar("^", "", true, cadenas);
+        comparar("$", "", true, cadenas);
+    }
+
+    @Test
+    public void testEscapes() {
+        System.out.println("escapes");
+        String[] cadenas = {"a$", "a$\n", "a", "a\n", "a\\", "a\\\n", "x.y", "xzy", "a\tb", "a\nb", "a\rb", "a b",
+            "a+b", "(a)"};
+        comparar("a\\$", "", true, cadenas);
+        comparar("a\\\\$", "", true, cadenas);
+        comparar("a\\\\", "", true, cadenas);
+        comparar("x\\.y", "", true, cadenas);
+        comparar("a\\tb", "", true, cadenas);
+        comparar("a\\nb", "", true, cadenas);
+        comparar("a\\rb", "", true, cadenas);
+        comparar("a\\+b", "", true, cadenas);
+        comparar("\\(a\\)", "", true, cadenas);
+        comparar("^a\\tb$", "", true, cadenas);
+        //Metacaracteres y escapes alfanumericos no son literales
+        comparar("x.y", "", false, cadenas);
+        comparar("a\\sb", "", false, cadenas);
+        comparar("a+b", "", false, cadenas);
+    }
+
+    @Test
+    public void testModificadores() {
+        System.out.println("modificadores");
+        String[] cadenas = {"abc", "ABC", "aBc\n", "x\nabc\ny", "a b c", "abc\nx", "x\nABC"};
+        comparar("abc", "i", false, cadenas);
+        comparar("^abc$", "m", false, cadenas);
+        comparar("a b c", "x", false, cadenas);
+        comparar("^abc$", "s", true, cadenas);
+        comparar("a b c", "", true, cadenas);
+    }
+
+    @Test
+    public void testHorspool() {
+        System.out.println("horspool");
+        comparar("abcdefgh", "", true, "abcdefgh", "xxabcdefghxx", "abcdefg", "abcdefgabcdefgh", "bcdefgh",
+                "hgfedcbaabcdefgh", "", "abcdefgH");
+        comparar("aaaaaaaab", "", true, "aaaaaaaaaaaaaaab", "aaaaaaaa", "aaaaaaaaba", "baaaaaaaab");
+        //Caracteres por encima de 0xFF comparten entrada en la tabla de saltos
+        String uni = "šĀŁŒ word ђ";
+        comparar(uni, "", true, uni, "x" + uni + "y", "a\u0000AR word R",
+                "šĀŁŒ word Œ" + uni, "ĀĀĀĀ" + uni.substring(1));
+        Random rnd = new Random(7);
+        char[] alfabeto = {'a', 'b', 'š', 'a', 'Ţ', 'c'};
+        for (int n = 0; n < 500; n++) {
+            StringBuilder lit = new StringBuilder();
+            for (int i = 8 + rnd.nextInt(4); i > 0; i--) {
+                lit.append(alfabeto[rnd.nextInt(alfabeto.length)]);
+            }
+            String[] cadenas = new String[10];
+            for (int j = 0; j < cadenas.length; j++) {
+                StringBuilder s = new StringBuilder();
+                for (int i = rnd.nextInt(40); i > 0; i--) {
+                    s.append(alfabeto[rnd.nextInt(alfabeto.length)]);
+                }
+                if (j % 3 == 0) {
+                    s.insert(rnd.nextInt(s.length() + 1), lit);
+                }
+                cadenas[j] = s.toString();
+            }
+            comparar(lit.toString(), "", true, cadenas);
+        }
+    }
+
+}
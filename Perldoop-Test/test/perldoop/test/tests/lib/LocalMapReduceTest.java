@@ -0,0 +1,177 @@
+package perldoop.test.tests.lib;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import org.apache.hadoop.io.IntWritable;
+import org.apache.hadoop.io.LongWritable;
+import org.apache.hadoop.io.Text;
+import org.apache.hadoop.mapreduce.Mapper;
+import org.apache.hadoop.mapreduce.Reducer;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.util.LocalMapReduce;
+
+public class LocalMapReduceTest {
+
+    private File dir;
+    private List<File> entradas;
+    private Map<String, Integer> esperado;
+
+    @BeforeClass
+    public static void localMapReduceTest() {
+        System.out.println("localMapReduceTest");
+    }
+
+    public static class WcMapper extends Mapper<LongWritable, Text, Text, IntWritable> {
+
+        private static int tareas;
+        private final Text palabra = new Text();
+        private final IntWritable uno = new IntWritable();
+
+        @Override
+        protected void setup(Context context) {
+            //Cada tarea carga la clase de nuevo, si se compartiera el estatico seria mayor que uno
+            tareas++;
+        }
+
+        @Override
+        protected void map(LongWritable key, Text value, Context context) throws IOException, InterruptedException {
+            Assert.assertEquals(1, tareas);
+            for (String p : value.toString().split("\\s+")) {
+                if (!p.isEmpty()) {
+                    palabra.set(p);
+                    uno.set(1);
+                    context.write(palabra, uno);
+                }
+            }
+        }
+
+    }
+
+    public static class WcReducer extends Reducer<Text, IntWritable, Text, IntWritable> {
+
+        private final IntWritable total = new IntWritable();
+
+        @Override
+        protected void reduce(Text key, Iterable<IntWritable> values, Context context) throws IOException,
+                InterruptedException {
+            int suma = 0;
+            for (IntWritable v : values) {
+                suma += v.get();
+            }
+            total.set(suma);
+            context.write(key, total);
+        }
+
+    }
+
+    @Before
+    public void crearEntradas() throws IOException {
+        dir = Files.createTempDirectory("localmr").toFile();
+        entradas = new ArrayList<>();
+        esperado = new TreeMap<>();
+        String[] palabras = {"uno", "dos", "tres", "cuatro", "cinco", "seis", "siete", "ocho", "ñandú"};
+        for (int f = 0; f < 3; f++) {
+            StringBuilder texto = new StringBuilder();
+            for (int i = 0; i < 400; i++) {
+                String p = palabras[(i * 7 + f) % palabras.length];
+                texto.append(p).append(i % 5 == 0 ? "\n" : " ");
+                esperado.merge(p, 1, Integer::sum);
+            }
+            File entrada = new File(dir, "entrada" + f + ".txt");
+            Files.write(entrada.toPath(), texto.toString().getBytes(StandardCharsets.UTF_8));
+            entradas.add(entrada);
+        }
+    }
+
+    @After
+    public void borrar() {
+        borrar(dir);
+    }
+
+    private static void borrar(File f) {
+        File[] hijos = f.listFiles();
+        if (hijos != null) {
+            for (File h : hijos) {
+                borrar(h);
+            }
+        }
+        f.delete();
+    }
+
+    private static Map<String, Integer> leer(File salida, String prefijo, int partes) throws IOException {
+        File[] ficheros = salida.listFiles((d, n) -> n.startsWith(prefijo));
+        Assert.assertEquals(partes, ficheros.length);
+        Arrays.sort(ficheros);
+        Map<String, Integer> resultado = new TreeMap<>();
+        for (File fichero : ficheros) {
+            String anterior = null;
+            for (String linea : Files.readAllLines(fichero.toPath(), StandardCharsets.UTF_8)) {
+                String[] kv = linea.split("\t");
+                Assert.assertEquals(2, kv.length);
+                //Cada particion sale ordenada y una clave solo aparece en una
+                Assert.assertTrue(anterior == null || anterior.compareTo(kv[0]) < 0);
+                Assert.assertNull(resultado.put(kv[0], Integer.valueOf(kv[1])));
+                anterior = kv[0];
+            }
+        }
+        return resultado;
+    }
+
+    @Test
+    public void testWordCount() throws Exception {
+        System.out.println("wordCount");
+        File salida = new File(dir, "salida");
+        new LocalMapReduce(WcMapper.class, WcReducer.class)
+                .setMappers(4)
+                .setReducers(3)
+                .setSplitSize(512)
+                .setCharset(StandardCharsets.UTF_8)
+                .run(entradas, salida);
+        Assert.assertEquals(esperado, leer(salida, "part-r-", 3));
+    }
+
+    @Test
+    public void testWordCountCombiner() throws Exception {
+        System.out.println("wordCountCombiner");
+        File salida = new File(dir, "salida");
+        new LocalMapReduce(WcMapper.class, WcReducer.class)
+                .setCombiner(WcReducer.class)
+                .setMappers(3)
+                .setReducers(2)
+                .setSplitSize(256)
+                .setCharset(StandardCharsets.UTF_8)
+                .run(entradas, salida);
+        Assert.assertEquals(esperado, leer(salida, "part-r-", 2));
+    }
+
+    @Test
+    public void testSoloMap() throws Exception {
+        System.out.println("soloMap");
+        File salida = new File(dir, "salida");
+        new LocalMapReduce(WcMapper.class, null)
+                .setMappers(2)
+                .setSplitSize(1024)
+                .setCharset(StandardCharsets.UTF_8)
+                .run(entradas, salida);
+        int palabras = 0;
+        for (File fichero : salida.listFiles((d, n) -> n.startsWith("part-m-"))) {
+            for (String linea : Files.readAllLines(fichero.toPath(), StandardCharsets.UTF_8)) {
+                Assert.assertTrue(linea.endsWith("\t1"));
+                palabras++;
+            }
+        }
+        Assert.assertEquals(1200, palabras);
+    }
+
+}
@@ -0,0 +1,143 @@
+package perldoop.test.tests.lib;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Casting;
+import perldoop.lib.util.Numeric;
+
+public class NumericoTest {
+
+    @BeforeClass
+    public static void numericoTest() {
+        System.out.println("numericoTest");
+    }
+
+    /**
+     * Formato %.15g de C calculado con BigDecimal
+     */
+    private static String g15(double d) {
+        if (d == 0) {
+            return "0";
+        }
+        BigDecimal b = new BigDecimal(d).round(new MathContext(15, RoundingMode.HALF_EVEN));
+        int exp = b.precision() - b.scale() - 1;
+        if (exp < -4 || exp >= 15) {
+            String mantisa = b.movePointLeft(exp).stripTrailingZeros().toPlainString();
+            return mantisa + (exp < 0 ? "e-" : "e+") + (Math.abs(exp) < 10 ? "0" : "") + Math.abs(exp);
+        }
+        return b.stripTrailingZeros().toPlainString();
+    }
+
+    @Test
+    public void testFormato() {
+        System.out.println("formato");
+        Assert.assertEquals("0.3", Casting.toString(0.1 + 0.2));
+        Assert.assertEquals("0.333333333333333", Casting.toString(1.0 / 3));
+        Assert.assertEquals("-0.5", Casting.toString(-0.5));
+        Assert.assertEquals("3", Casting.toString(3.0));
+        Assert.assertEquals("100000000000000", Casting.toString(1e14));
+        Assert.assertEquals("1e+15", Casting.toString(1e15));
+        Assert.assertEquals("9.00719925474099e+15", Casting.toString(9007199254740992.0));
+        Assert.assertEquals("1e+100", Casting.toString(1e100));
+        Assert.assertEquals("0.0001", Casting.toString(0.0001));
+        Assert.assertEquals("1e-05", Casting.toString(0.00001));
+        Assert.assertEquals("1.5e-07", Casting.toString(1.5e-7));
+        Assert.assertEquals("Inf", Casting.toString(Double.POSITIVE_INFINITY));
+        Assert.assertEquals("-Inf", Casting.toString(Double.NEGATIVE_INFINITY));
+        Assert.assertEquals("NaN", Casting.toString(Double.NaN));
+        Assert.assertEquals("-7", Casting.toString(-7));
+        Assert.assertEquals("123456789012", Casting.toString(123456789012L));
+        Assert.assertEquals("1.5", Casting.toString(1.5f));
+        Assert.assertEquals("x=2.5", Numeric.append(new StringBuilder("x="), 2.5).toString());
+        Assert.assertEquals("4.94065645841247e-324", Casting.toString(Double.MIN_VALUE));
+        Assert.assertEquals("-4.94065645841247e-324", Casting.toString(-Double.MIN_VALUE));
+        Assert.assertEquals("2.2250738585072e-308", Casting.toString(Double.MIN_NORMAL));
+    }
+
+    @Test
+    public void testFormatoSubnormal() {
+        System.out.println("formatoSubnormal");
+        Random random = new Random(23);
+        for (int i = 0; i < 2000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong() & 0x800fffffffffffffL);
+            Assert.assertEquals(Double.toString(d), g15(d), Numeric.toString(d));
+        }
+    }
+
+    @Test
+    public void testFormatoReferencia() {
+        System.out.println("formatoReferencia");
+        Random random = new Random(19);
+        for (int i = 0; i < 20000; i++) {
+            double d;
+            switch (i % 3) {
+                case 0:
+                    d = Double.longBitsToDouble(random.nextLong());
+                    break;
+                case 1:
+                    d = random.nextDouble() * Math.pow(10, random.nextInt(40) - 20);
+                    break;
+                default:
+                    d = random.nextInt(1000000) / 1000.0;
+            }
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+            Assert.assertEquals(Double.toString(d), g15(d), Numeric.toString(d));
+        }
+    }
+
+    @Test
+    public void testPrefijo() {
+        System.out.println("prefijo");
+        Assert.assertEquals(3, Numeric.parseDouble("3abc"), 0);
+        Assert.assertEquals(-1500, Numeric.parseDouble(" \t-1.5e3x"), 0);
+        Assert.assertEquals(0.5, Numeric.parseDouble(".5"), 0);
+        Assert.assertEquals(7, Numeric.parseDouble("+7"), 0);
+        Assert.assertEquals(0.01, Numeric.parseDouble("1e-2"), 0);
+        Assert.assertEquals(1, Numeric.parseDouble("1e+"), 0);
+        Assert.assertEquals(1, Numeric.parseDouble("1_000"), 0);
+        Assert.assertEquals(0, Numeric.parseDouble("0x10"), 0);
+        Assert.assertEquals(0, Numeric.parseDouble("."), 0);
+        Assert.assertEquals(0, Numeric.parseDouble("-"), 0);
+        Assert.assertEquals(0, Numeric.parseDouble("abc"), 0);
+        Assert.assertEquals(0, Numeric.parseDouble(""), 0);
+        Assert.assertEquals(12, Numeric.parseLong("12.9"));
+        Assert.assertEquals(-42, Numeric.parseLong("  -42 apples"));
+        Assert.assertEquals(1500, Numeric.parseLong("1.5e3"));
+        Assert.assertEquals(Long.MAX_VALUE, Numeric.parseLong("1e30"));
+        Assert.assertEquals(Long.MAX_VALUE, Numeric.parseLong("9223372036854775807"));
+        Assert.assertEquals(Long.MIN_VALUE, Numeric.parseLong("-9223372036854775808"));
+        Assert.assertEquals(Long.MAX_VALUE, Numeric.parseLong("99999999999999999999x"));
+        Assert.assertEquals(Long.MIN_VALUE, Numeric.parseLong("-99999999999999999999"));
+        Assert.assertEquals(Integer.MAX_VALUE, Numeric.parseInt("99999999999"));
+        Assert.assertEquals(Integer.MIN_VALUE, Numeric.parseInt("-99999999999"));
+        Assert.assertEquals((Integer) 5, Casting.toInteger("5 items"));
+        Assert.assertEquals(2.5, Casting.toDouble("2.5e0z"), 0);
+        Assert.assertEquals((Long) 0L, Casting.toLong("e5"));
+        Assert.assertNull(Casting.toInteger((String) null));
+    }
+
+    @Test
+    public void testPrefijoReferencia() {
+        System.out.println("prefijoReferencia");
+        Random random = new Random(91);
+        for (int i = 0; i < 20000; i++) {
+            double d = Double.longBitsToDouble(random.nextLong());
+            if (Double.isNaN(d) || Double.isInfinite(d)) {
+                continue;
+            }
+            String s = i % 2 == 0 ? Double.toString(d) : String.format("%.17e", d);
+            Assert.assertEquals(s, d, Numeric.parseDouble(s), 0);
+            Assert.assertEquals(s, d, Numeric.parseDouble(s + "xyz"), 0);
+            long n = random.nextLong() >> random.nextInt(64);
+            Assert.assertEquals(n, Numeric.parseLong(Long.toString(n)));
+        }
+    }
+
+}
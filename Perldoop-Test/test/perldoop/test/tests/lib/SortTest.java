@@ -0,0 +1,119 @@
+package perldoop.test.tests.lib;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Perl;
+import perldoop.lib.PerlList;
+import perldoop.lib.util.Sort;
+
+public class SortTest {
+
+    /**
+     * Longitudes alrededor del limite de ordenacion en paralelo
+     */
+    private static final int[] LONGITUDES = {0, 1, 2, 100, 8191, 8192, 8193, 50000};
+
+    @BeforeClass
+    public static void sortTest() {
+        System.out.println("sortTest");
+    }
+
+    private static Integer[] enteros(int n, Random random) {
+        Integer[] array = new Integer[n];
+        for (int i = 0; i < n; i++) {
+            array[i] = random.nextInt(1000) - 500;
+        }
+        return array;
+    }
+
+    @Test
+    public void testNumeros() {
+        System.out.println("numeros");
+        Random random = new Random(21);
+        for (int n : LONGITUDES) {
+            Integer[] array = enteros(n, random);
+            Integer[] esperado = array.clone();
+            Arrays.sort(esperado);
+            Assert.assertArrayEquals(esperado, Perl.sortNum(array.clone(), false));
+            Arrays.sort(esperado, Comparator.reverseOrder());
+            Assert.assertArrayEquals(esperado, Perl.sortNum(array.clone(), true));
+            Long[] largos = Arrays.stream(array).map(i -> i * 10000000000L).toArray(Long[]::new);
+            Long[] esperadoL = largos.clone();
+            Arrays.sort(esperadoL);
+            Assert.assertArrayEquals(esperadoL, Perl.sortNum(largos, false));
+            Double[] reales = Arrays.stream(array).map(i -> i / 7.0).toArray(Double[]::new);
+            Double[] esperadoD = reales.clone();
+            Arrays.sort(esperadoD);
+            Assert.assertArrayEquals(esperadoD, Perl.sortNum(reales, false));
+        }
+    }
+
+    @Test
+    public void testCadenas() {
+        System.out.println("cadenas");
+        Random random = new Random(12);
+        for (int n : LONGITUDES) {
+            String[] array = Arrays.stream(enteros(n, random)).map(String::valueOf).toArray(String[]::new);
+            String[] esperado = array.clone();
+            Arrays.sort(esperado);
+            Assert.assertArrayEquals(esperado, Perl.sortStr(array.clone(), false));
+            Assert.assertArrayEquals(esperado, Perl.sortStr(new PerlList<>(array), false).toArray());
+            Arrays.sort(esperado, Comparator.reverseOrder());
+            Assert.assertArrayEquals(esperado, Perl.sortStr(array.clone(), true));
+        }
+    }
+
+    @Test
+    public void testClavesEstables() {
+        System.out.println("clavesEstables");
+        Random random = new Random(8);
+        for (int n : LONGITUDES) {
+            //Muchas claves repetidas para comprobar que se respeta el orden de entrada
+            String[] array = new String[n];
+            for (int i = 0; i < n; i++) {
+                array[i] = (char) ('a' + random.nextInt(5)) + Integer.toString(i);
+            }
+            String[] esperado = array.clone();
+            Arrays.sort(esperado, Comparator.comparingDouble(s -> s.charAt(0)));
+            Assert.assertArrayEquals(esperado, Perl.sortNum(array.clone(), s -> s.charAt(0), false));
+            Assert.assertArrayEquals(esperado, Perl.sortStr(array.clone(), s -> s.substring(0, 1), false));
+            String[] esperadoDesc = array.clone();
+            Arrays.sort(esperadoDesc, Comparator.comparingDouble((String s) -> s.charAt(0)).reversed());
+            Assert.assertArrayEquals(esperadoDesc, Perl.sortNum(array.clone(), s -> s.charAt(0), true));
+            Assert.assertArrayEquals(esperadoDesc, Perl.sortStr(array.clone(), s -> s.substring(0, 1), true));
+        }
+    }
+
+    @Test
+    public void testNulosYMezclados() {
+        System.out.println("nulosYMezclados");
+        Number[] array = {3, null, 1.5, 2L, -1};
+        Assert.assertArrayEquals(new Number[]{-1, null, 1.5, 2L, 3}, Perl.sortNum(array, false));
+        String[] cadenas = {"b", null, "a"};
+        Assert.assertArrayEquals(new String[]{null, "a", "b"}, Perl.sortStr(cadenas, false));
+    }
+
+    @Test
+    public void testComparador() {
+        System.out.println("comparador");
+        Random random = new Random(3);
+        for (int n : LONGITUDES) {
+            Integer[] array = enteros(n, random);
+            Integer[] esperado = array.clone();
+            Comparator<Integer> comp = Comparator.comparingInt(i -> Math.abs(i) % 10);
+            Arrays.sort(esperado, comp);
+            Integer[] ordenado = array.clone();
+            Sort.sort(ordenado, comp);
+            Assert.assertArrayEquals(esperado, ordenado);
+            Integer[] natural = array.clone();
+            Sort.sort(natural, null);
+            Arrays.sort(esperado);
+            Assert.assertArrayEquals(esperado, natural);
+        }
+    }
+
+}
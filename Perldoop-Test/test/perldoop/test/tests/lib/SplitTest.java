@@ -0,0 +1,98 @@
+package perldoop.test.tests.lib;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.lib.Perl;
+
+public class SplitTest {
+
+    @BeforeClass
+    public static void splitTest() {
+        System.out.println("splitTest");
+    }
+
+    private static String[] referencia(String regex, String str, int limite, boolean espacio) {
+        if (espacio && regex.equals(" ")) {
+            regex = "\\s";
+        }
+        return Arrays.stream(str.split("(" + regex + ")+", limite)).filter(s -> !s.isEmpty()).toArray(String[]::new);
+    }
+
+    private static String[] recorrer(Iterable<String> it) {
+        List<String> partes = new ArrayList<>();
+        for (String s : it) {
+            partes.add(s);
+        }
+        return partes.toArray(new String[0]);
+    }
+
+    @Test
+    public void testCaracter() {
+        System.out.println("caracter");
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, Perl.split(",", "a,b,,c,"));
+        Assert.assertArrayEquals(new String[]{"a", "b"}, Perl.split(",+", ",,a,,,b"));
+        Assert.assertArrayEquals(new String[]{"a", "b.c"}, Perl.split("\\|", "a|b.c"));
+        Assert.assertArrayEquals(new String[]{"a", "b"}, Perl.split("\\.", "a.b"));
+        Assert.assertArrayEquals(new String[]{"a b", "c"}, Perl.split("\\t", "a b\tc"));
+        Assert.assertArrayEquals(new String[]{"a", "b,c"}, Perl.split(",", "a,b,c", 2));
+        Assert.assertArrayEquals(new String[0], Perl.split(",", ",,,"));
+        Assert.assertArrayEquals(new String[0], Perl.split(",", ""));
+    }
+
+    @Test
+    public void testEspacios() {
+        System.out.println("espacios");
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, Perl.split(" ", "  a \t b\n\nc "));
+        Assert.assertArrayEquals(new String[]{"a", "b"}, Perl.split("\\s+", "a \r\n b"));
+        Assert.assertArrayEquals(new String[]{"a", "b  c"}, Perl.split(" ", "a b  c", 2));
+        //split2 no trata " " como cualquier espacio
+        Assert.assertArrayEquals(new String[]{"a\tb", "c"}, Perl.split2(" ", "a\tb c"));
+    }
+
+    @Test
+    public void testExpresion() {
+        System.out.println("expresion");
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, Perl.split("[,;]", "a,;b;c"));
+        Assert.assertArrayEquals(new String[]{"x", "y"}, Perl.split("ab", "xababy"));
+        Assert.assertArrayEquals(new String[]{"a", "b2c"}, Perl.split("\\d", "a1b2c", 2));
+    }
+
+    @Test
+    public void testIterador() {
+        System.out.println("iterador");
+        Assert.assertArrayEquals(new String[]{"a", "b", "c"}, recorrer(Perl.splitIter(" ", " a  b c")));
+        Assert.assertArrayEquals(new String[]{"a", "b,c"}, recorrer(Perl.splitIter(",", "a,b,c", 2)));
+        Assert.assertArrayEquals(new String[]{"a\tb", "c"}, recorrer(Perl.split2Iter(" ", "a\tb c")));
+        Assert.assertArrayEquals(new String[0], recorrer(Perl.splitIter("-", "--")));
+        Iterable<String> it = Perl.splitIter(",", "a,b");
+        Assert.assertArrayEquals(recorrer(it), recorrer(it));
+    }
+
+    @Test
+    public void testReferencia() {
+        System.out.println("referencia");
+        String[] separadores = {",", ",+", " ", "\\s", "\\s+", "\\t", "\\.", "\\|", "a", "[,;]", "ab", "\\d", ";+"};
+        String alfabeto = "ab,; \t.|1";
+        Random random = new Random(16);
+        for (int i = 0; i < 5000; i++) {
+            char[] buf = new char[random.nextInt(12)];
+            for (int j = 0; j < buf.length; j++) {
+                buf[j] = alfabeto.charAt(random.nextInt(alfabeto.length()));
+            }
+            String str = new String(buf);
+            String regex = separadores[random.nextInt(separadores.length)];
+            int limite = random.nextInt(4) - 1;
+            Integer[] limit = limite < 0 ? new Integer[0] : new Integer[]{limite};
+            String msg = "split(" + regex + ", \"" + str + "\", " + limite + ")";
+            Assert.assertArrayEquals(msg, referencia(regex, str, limite, true), Perl.split(regex, str, limit));
+            Assert.assertArrayEquals(msg, referencia(regex, str, limite, false), Perl.split2(regex, str, limit));
+            Assert.assertArrayEquals(msg, referencia(regex, str, limite, true), recorrer(Perl.splitIter(regex, str, limit)));
+        }
+    }
+
+}
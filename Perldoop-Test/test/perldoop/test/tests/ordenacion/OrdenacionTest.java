@@ -0,0 +1,52 @@
+package perldoop.test.tests.ordenacion;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.test.java.ordenacion.Ordenacion;
+
+public class OrdenacionTest {
+
+    @BeforeClass
+    public static void ordenacionTest() {
+        System.out.println("ordenacionTest");
+    }
+
+    @Test
+    public void testValor() {
+        System.out.println("valor");
+        Assert.assertArrayEquals(new Integer[]{1, 9, 10, 100}, Ordenacion.n1);
+        Assert.assertArrayEquals(new Integer[]{100, 10, 9, 1}, Ordenacion.n2);
+        Assert.assertArrayEquals(new Double[]{-2.0, 1.5, 10.0}, Ordenacion.n3.toArray());
+        Assert.assertArrayEquals(new Long[]{50000L, 7L, -1L}, Ordenacion.n4.toArray());
+        Assert.assertArrayEquals(new String[]{"C", "a", "b"}, Ordenacion.s1.toArray());
+        Assert.assertArrayEquals(new String[]{"b", "a", "C"}, Ordenacion.s2);
+        Assert.assertArrayEquals(new Integer[]{10, 100, 9}, Ordenacion.d1);
+        Assert.assertArrayEquals(new Integer[]{100, 10, 9, 1}, Ordenacion.n5);
+        Assert.assertArrayEquals(new Integer[]{10, 9, 100, 1}, Ordenacion.vi);
+        Assert.assertArrayEquals(new String[]{"C", "a", "b"}, Ordenacion.s3.toArray());
+    }
+
+    @Test
+    public void testClave() {
+        System.out.println("clave");
+        Assert.assertArrayEquals(new String[]{"y", "z", "x"}, Ordenacion.h1);
+        Assert.assertArrayEquals(new String[]{"x", "z", "y"}, Ordenacion.h2.toArray());
+        Assert.assertArrayEquals(new String[]{"z", "x", "y"}, Ordenacion.h3);
+        Assert.assertArrayEquals(new String[]{"y", "x", "z"}, Ordenacion.h4);
+    }
+
+    @Test
+    public void testEstabilidad() {
+        System.out.println("estabilidad");
+        Assert.assertArrayEquals(new String[]{"c", "b", "a"}, Ordenacion.e1);
+        Assert.assertArrayEquals(new String[]{"b", "a", "c"}, Ordenacion.e2);
+    }
+
+    @Test
+    public void testComparador() {
+        System.out.println("comparador");
+        Assert.assertArrayEquals(new Integer[]{3, 6, 4, 5}, Ordenacion.o1);
+    }
+
+}
@@ -0,0 +1,55 @@
+package perldoop.test.tests.primitivos;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.test.java.primitivos.Primitivos;
+
+public class PrimitivosTest {
+
+    @BeforeClass
+    public static void primitivosTest() {
+        System.out.println("primitivosTest");
+    }
+
+    private static Class<?> tipo(String variable) throws Exception {
+        return Primitivos.class.getDeclaredField(variable).getType();
+    }
+
+    @Test
+    public void testValores() {
+        System.out.println("valores");
+        Assert.assertEquals((Integer) 45, Primitivos.r1);
+        Assert.assertEquals((Long) 2432902008176640000L, Primitivos.r2);
+        Assert.assertEquals(2.5, Primitivos.r3, 0);
+        Assert.assertEquals(true, Primitivos.r4);
+    }
+
+    @Test
+    public void testDefinidos() {
+        System.out.println("definidos");
+        Assert.assertEquals(true, Primitivos.r5);
+        Assert.assertEquals(false, Primitivos.r6);
+        Assert.assertEquals(false, Primitivos.r7);
+    }
+
+    @Test
+    public void testPrimitivos() throws Exception {
+        System.out.println("primitivos");
+        Assert.assertEquals(int.class, tipo("suma"));
+        Assert.assertEquals(long.class, tipo("producto"));
+        Assert.assertEquals(int.class, tipo("j"));
+        Assert.assertEquals(double.class, tipo("media"));
+        Assert.assertEquals(boolean.class, tipo("par"));
+    }
+
+    @Test
+    public void testEnCaja() throws Exception {
+        System.out.println("enCaja");
+        Assert.assertEquals(Integer.class, tipo("d"));
+        Assert.assertEquals(Integer.class, tipo("u"));
+        Assert.assertEquals(Integer.class, tipo("n"));
+        Assert.assertEquals(Integer.class, tipo("r1"));
+    }
+
+}
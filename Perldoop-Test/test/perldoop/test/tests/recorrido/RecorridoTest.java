@@ -0,0 +1,75 @@
+package perldoop.test.tests.recorrido;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.test.java.recorrido.Recorrido;
+
+public class RecorridoTest {
+
+    @BeforeClass
+    public static void recorridoTest() {
+        System.out.println("recorridoTest");
+    }
+
+    @Test
+    public void testLectura() {
+        System.out.println("lectura");
+        Assert.assertEquals((Integer) 6, Recorrido.r1);
+        Assert.assertEquals((Integer) 6, Recorrido.r2);
+        Assert.assertEquals((Integer) 3, Recorrido.r3);
+    }
+
+    @Test
+    public void testClaveActual() {
+        System.out.println("claveActual");
+        Assert.assertEquals(3, Recorrido.h.size());
+        Assert.assertEquals((Integer) 10, Recorrido.h.get("a"));
+        Assert.assertEquals((Integer) 20, Recorrido.h.get("b"));
+        Assert.assertEquals((Integer) 30, Recorrido.h.get("c"));
+    }
+
+    @Test
+    public void testOtraClave() {
+        System.out.println("otraClave");
+        Assert.assertEquals(4, Recorrido.m1.size());
+        Assert.assertEquals((Integer) 1, Recorrido.m1.get("ax"));
+        Assert.assertEquals((Integer) 2, Recorrido.m1.get("bx"));
+    }
+
+    @Test
+    public void testBorrado() {
+        System.out.println("borrado");
+        Assert.assertEquals(1, Recorrido.m2.size());
+        Assert.assertEquals((Integer) 2, Recorrido.m2.get("b"));
+    }
+
+    @Test
+    public void testFuncion() {
+        System.out.println("funcion");
+        //Cada llamada añade una clave nueva, el recorrido solo ve las tres iniciales
+        Assert.assertEquals(6, Recorrido.g.size());
+    }
+
+    @Test
+    public void testReferencia() {
+        System.out.println("referencia");
+        Assert.assertEquals(4, Recorrido.m3.size());
+        Assert.assertEquals((Integer) 5, Recorrido.m3.get("ay"));
+    }
+
+    @Test
+    public void testClaveModificada() {
+        System.out.println("claveModificada");
+        Assert.assertEquals(4, Recorrido.m4.size());
+        Assert.assertEquals((Integer) 7, Recorrido.m4.get("bz"));
+    }
+
+    @Test
+    public void testValores() {
+        System.out.println("valores");
+        Assert.assertEquals((Integer) 3, Recorrido.r4);
+        Assert.assertEquals(4, Recorrido.m5.size());
+    }
+
+}
@@ -0,0 +1,44 @@
+package perldoop.test.tests.regulares;
+
+import org.junit.Assert;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import perldoop.test.java.regulares.Regulares;
+
+public class RegularesTest {
+
+    @BeforeClass
+    public static void regularesTest() {
+        System.out.println("regularesTest");
+    }
+
+    @Test
+    public void testSustitucionRepetida() {
+        System.out.println("sustitucionRepetida");
+        Assert.assertEquals("bba", Regulares.s1);
+        Assert.assertEquals("x-Axy-y-", Regulares.s2);
+        Assert.assertEquals("1b2a1b2a1b2a", Regulares.s3);
+    }
+
+    @Test
+    public void testTranslacionRecuento() {
+        System.out.println("translacionRecuento");
+        Assert.assertEquals("heLLo", Regulares.t1);
+        Assert.assertEquals((Integer) 2, Regulares.t2);
+        Assert.assertEquals("banana", Regulares.t3);
+        Assert.assertEquals((Integer) 3, Regulares.t4);
+        Assert.assertEquals("abc", Regulares.t5);
+        Assert.assertEquals((Integer) 2, Regulares.t6);
+        Assert.assertEquals("zyz", Regulares.t7.get(0));
+        Assert.assertEquals((Integer) 2, Regulares.t8);
+        Assert.assertEquals("ABC", Regulares.t9);
+    }
+
+    @Test
+    public void testSplit() {
+        System.out.println("split");
+        Assert.assertEquals("<a><b><c>", Regulares.p1);
+        Assert.assertArrayEquals(new String[]{"x", "y", "z"}, Regulares.p2.toArray());
+    }
+
+}
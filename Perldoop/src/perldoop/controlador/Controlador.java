@@ -3,17 +3,23 @@ package perldoop.controlador;
 import java.io.File;
 import java.io.IOException;
 import java.io.UnsupportedEncodingException;
+import java.nio.charset.Charset;
 import java.nio.file.Path;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
-import java.util.Iterator;
-import java.util.LinkedList;
 import java.util.List;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import org.apache.tools.ant.DirectoryScanner;
 import perldoop.depurador.Depurador;
 import perldoop.error.GestorErrores;
 import perldoop.generacion.Generador;
+import perldoop.generacion.util.Hadoop;
+import perldoop.generacion.util.Spark;
+import perldoop.generacion.util.Storm;
 import perldoop.internacionalizacion.Errores;
 import perldoop.io.CodeReader;
 import perldoop.io.CodeWriter;
@@ -21,6 +27,7 @@ import perldoop.lexico.Lexer;
 import perldoop.modelo.Opciones;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.Terminal;
+import perldoop.modelo.generacion.ClaseJava;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.semantica.ArbolPaquetes;
 import perldoop.modelo.semantica.TablaSimbolos;
@@ -56,105 +63,301 @@ public final class Controlador {
     }
 
     /**
-     * Inicia el controlador
+     * Inicia el controlador. Cada fichero se analiza y se traduce en paralelo hasta que termina o necesita un modulo
+     * que aun no esta publicado. Los paquetes se publican al terminar cada ronda en el orden de entrada de los ficheros
+     * y los traductores detenidos se reanudan en la ronda siguiente.
      */
     public void iniciar() {
-        LinkedList<Traductor> traductores = new LinkedList<>();
+        if (!ficheros.isEmpty() && !codificacion()) {
+            new GestorErrores(ficheros.get(0).getPath(), opciones).error(Errores.ERROR_CODIFICACION, opciones.getCodificacion());
+            return;//La codificacion fallaría en todos
+        }
+        List<ClaseJava> clases = new ArrayList<>(ficheros.size());
         ArbolPaquetes paquetes = new ArbolPaquetes(ficheros, opciones.getPaquetes());
-        for (File fichero : ficheros) {
-            GestorErrores gestorErrores = new GestorErrores(fichero.getPath(), opciones);
-            /*--------------------------------Lexico---------------------------------*/
-            List<Token> tokens;
-            try (CodeReader codeReader = new CodeReader(fichero, opciones.getCodificacion())) {
-                gestorErrores.setCodigo(codeReader.getCodigo());
-                Lexer lexer = new Lexer(codeReader, opciones, gestorErrores);
-                tokens = lexer.getTokens();
-                if (opciones.isDepTokens()) {
-                    Depurador.tokens(tokens);
+        ExecutorService hilos = Executors.newFixedThreadPool(hilos());
+        try {
+            List<Future<Traductor>> tareas = new ArrayList<>(ficheros.size());
+            for (File fichero : ficheros) {
+                tareas.add(hilos.submit(() -> compilar(fichero, paquetes)));
+            }
+            List<Traductor> detenidos = new ArrayList<>(ficheros.size());
+            while (!tareas.isEmpty()) {
+                //Los paquetes solo se publican entre rondas y en el orden de entrada para que la traduccion no
+                //dependa del orden en que terminen los hilos
+                List<Traductor> traductores = new ArrayList<>(tareas.size());
+                for (Future<Traductor> tarea : tareas) {
+                    traductores.add(esperar(tarea));
                 }
-                if (gestorErrores.getErrores() > 0) {
-                    gestorErrores.error(Errores.FALLOS_LEXICOS, gestorErrores.getErrores());
-                    continue;
+                tareas.clear();
+                boolean publicado = false;
+                for (Traductor traductor : traductores) {
+                    if (traductor == null) {
+                        continue;
+                    }
+                    if (traductor.isFinalizado()) {
+                        publicado |= tablaSimbolos(traductor).publicarPaquete();
+                        finalizar(traductor, clases);
+                    } else {
+                        detenidos.add(traductor);
+                    }
                 }
-                if (opciones.getDepEtapas() == 1) {
-                    continue;
+                /*----------------------------Traductor 2ª Parte------------------------------*/
+                //Sin paquetes nuevos se publican los paquetes incompletos para resolver los imports circulares
+                for (int i = 0; !publicado && i < detenidos.size(); i++) {
+                    publicado |= tablaSimbolos(detenidos.get(i)).publicarPaquete();
                 }
-            } catch (UnsupportedEncodingException ex) {
-                gestorErrores.error(Errores.ERROR_CODIFICACION, opciones.getCodificacion());
-                return;//La codificacion fallaría en todos
-            } catch (IOException ex) {
-                gestorErrores.error(Errores.ERROR_LECTURA);
-                continue;
+                //Si ningun fichero puede publicar un paquete nuevo hay un interbloqueo
+                boolean interbloqueo = !publicado;
+                for (Traductor detenido : detenidos) {
+                    detenido.setReanudable(!interbloqueo);
+                    tareas.add(hilos.submit(() -> {
+                        detenido.traducir();
+                        return detenido;
+                    }));
+                }
+                detenidos.clear();
             }
-            /*--------------------------------Preprocesador---------------------------------*/
-            List<Terminal> terminales;
-            Preprocesador preprocesador = new Preprocesador(tokens, opciones, gestorErrores);
-            terminales = preprocesador.procesar();
-            if (opciones.isDepTerminales()) {
-                Depurador.terminales(terminales);
+        } finally {
+            hilos.shutdownNow();
+        }
+        if (opciones.getHadoopDriver() != null || opciones.getSpark() != null) {
+            driver(clases);
+        }
+        if (opciones.getStormTopologia() != null) {
+            topologia(clases);
+        }
+    }
+
+    /**
+     * Obtiene la tabla de simbolos de un traductor
+     *
+     * @param traductor Traductor
+     * @return Tabla de simbolos
+     */
+    private TablaSimbolos tablaSimbolos(Traductor traductor) {
+        return traductor.getSemantica().getTabla().getTablaSimbolos();
+    }
+
+    /**
+     * Comprueba que la codificacion este soportada antes de leer los ficheros en paralelo
+     *
+     * @return Codificacion soportada
+     */
+    private boolean codificacion() {
+        if (opciones.getCodificacion() == null) {
+            return true;
+        }
+        try {
+            return Charset.isSupported(opciones.getCodificacion());
+        } catch (IllegalArgumentException ex) {
+            return false;
+        }
+    }
+
+    /**
+     * Obtiene el numero de hilos de traduccion, la depuracion se imprime por fichero y necesita un unico hilo
+     *
+     * @return Numero de hilos
+     */
+    private int hilos() {
+        if (opciones.isDepTokens() || opciones.isDepTerminales() || opciones.isDepTree() || opciones.isDepTraduccion()) {
+            return 1;
+        }
+        if (opciones.getHilos() != null) {
+            return Math.max(1, opciones.getHilos());
+        }
+        return Math.max(1, Math.min(Runtime.getRuntime().availableProcessors(), ficheros.size()));
+    }
+
+    /**
+     * Espera a que termine una tarea de traduccion
+     *
+     * @param tarea Tarea
+     * @return Traductor de la tarea o null si el fichero tiene errores
+     */
+    private Traductor esperar(Future<Traductor> tarea) {
+        try {
+            return tarea.get();
+        } catch (InterruptedException ex) {
+            Thread.currentThread().interrupt();
+            throw new IllegalStateException(ex);
+        } catch (ExecutionException ex) {
+            if (ex.getCause() instanceof RuntimeException) {
+                throw (RuntimeException) ex.getCause();
+            } else if (ex.getCause() instanceof Error) {
+                throw (Error) ex.getCause();
+            }
+            throw new IllegalStateException(ex.getCause());
+        }
+    }
+
+    /**
+     * Realiza el analisis lexico, el preprocesado, el analisis sintactico y la primera parte de la traduccion de un
+     * fichero
+     *
+     * @param fichero Fichero
+     * @param paquetes Arbol de paquetes
+     * @return Traductor o null si el fichero tiene errores
+     */
+    private Traductor compilar(File fichero, ArbolPaquetes paquetes) {
+        GestorErrores gestorErrores = new GestorErrores(fichero.getPath(), opciones);
+        /*--------------------------------Lexico---------------------------------*/
+        List<Token> tokens;
+        try (CodeReader codeReader = new CodeReader(fichero, opciones.getCodificacion())) {
+            gestorErrores.setCodigo(codeReader.getCodigo());
+            Lexer lexer = new Lexer(codeReader, opciones, gestorErrores);
+            tokens = lexer.getTokens();
+            if (opciones.isDepTokens()) {
+                Depurador.tokens(tokens);
             }
             if (gestorErrores.getErrores() > 0) {
-                gestorErrores.error(Errores.FALLOS_PREPROCESADOR, gestorErrores.getErrores());
-                continue;
+                gestorErrores.error(Errores.FALLOS_LEXICOS, gestorErrores.getErrores());
+                return null;
             }
-            if (opciones.getDepEtapas() == 2) {
-                continue;
+            if (opciones.getDepEtapas() == 1) {
+                return null;
+            }
+        } catch (UnsupportedEncodingException ex) {
+            gestorErrores.error(Errores.ERROR_CODIFICACION, opciones.getCodificacion());
+            return null;
+        } catch (IOException ex) {
+            gestorErrores.error(Errores.ERROR_LECTURA);
+            return null;
+        }
+        /*--------------------------------Preprocesador---------------------------------*/
+        List<Terminal> terminales;
+        Preprocesador preprocesador = new Preprocesador(tokens, opciones, gestorErrores);
+        terminales = preprocesador.procesar();
+        if (opciones.isDepTerminales()) {
+            Depurador.terminales(terminales);
+        }
+        if (gestorErrores.getErrores() > 0) {
+            gestorErrores.error(Errores.FALLOS_PREPROCESADOR, gestorErrores.getErrores());
+            return null;
+        }
+        if (opciones.getDepEtapas() == 2) {
+            return null;
+        }
+        /*--------------------------------Sintactico---------------------------------*/
+        List<Simbolo> simbolos;
+        Parser parser = new Parser(terminales, opciones, gestorErrores);
+        simbolos = parser.parsear();
+        if (opciones.isDepTree()) {
+            Depurador.arbol(simbolos.get(simbolos.size() - 1), false);
+        }
+        if (gestorErrores.getErrores() > 0) {
+            gestorErrores.error(Errores.FALLOS_SINTACTICOS, gestorErrores.getErrores());
+            return null;
+        }
+        if (opciones.getDepEtapas() == 3) {
+            return null;
+        }
+        /*----------------------------Traductor 1ª Parte------------------------------*/
+        TablaSimbolos tablaSimbolos = new TablaSimbolos(paquetes, opciones);
+        Semantica semantica = new Semantica(tablaSimbolos, opciones, gestorErrores);
+        Generador generador = new Generador(tablaSimbolos, opciones, fichero.getPath());
+        Traductor traductor = new Traductor(simbolos, semantica, generador, opciones);
+        traductor.traducir();
+        return traductor;
+    }
+
+    /**
+     * Escribe la clase de un traductor que ha finalizado
+     *
+     * @param traductor Traductor
+     * @param clases Clases traducidas
+     */
+    private void finalizar(Traductor traductor, List<ClaseJava> clases) {
+        if (opciones.isDepTraduccion()) {
+            List<Simbolo> simbolos = traductor.getSimbolos();
+            Depurador.arbol(simbolos.get(simbolos.size() - 1), true);
+        }
+        GestorErrores gestorErrores = traductor.getSemantica().getGestorErrores();
+        if (gestorErrores.getErrores() > 0) {
+            gestorErrores.error(Errores.FALLOS_SEMANTICO, gestorErrores.getErrores());
+            return;
+        }
+        /*--------------------------------Escritura---------------------------------*/
+        try {
+            writer.escribir(traductor.getGenerador().getClase(), gestorErrores);
+            clases.add(traductor.getGenerador().getClase());
+        } catch (IOException ex) {
+            gestorErrores.error(Errores.ERROR_ESCRITURA);
+        }
+    }
+
+    /**
+     * Genera la topologia Storm que conecta los bolts traducidos
+     *
+     * @param clases Clases traducidas
+     */
+    private void topologia(List<ClaseJava> clases) {
+        String nombre = opciones.getStormTopologia();
+        GestorErrores gestorErrores = new GestorErrores(nombre, opciones);
+        List<ClaseJava> bolts = new ArrayList<>(clases.size());
+        for (ClaseJava clase : clases) {
+            if ("BaseBasicBolt".equals(clase.getClasePadre()) || "BaseRichBolt".equals(clase.getClasePadre())) {
+                bolts.add(clase);
             }
-            /*--------------------------------Sintactico---------------------------------*/
-            List<Simbolo> simbolos;
-            Parser parser = new Parser(terminales, opciones, gestorErrores);
-            simbolos = parser.parsear();
-            if (opciones.isDepTree()) {
-                Depurador.arbol(simbolos.get(simbolos.size() - 1), false);
+        }
+        if (bolts.isEmpty()) {
+            gestorErrores.error(Errores.TOPOLOGIA_SIN_BOLTS);
+            return;
+        }
+        try {
+            writer.escribir(Storm.topologia(nombre, bolts), gestorErrores);
+        } catch (IOException ex) {
+            gestorErrores.error(Errores.ERROR_ESCRITURA);
+        }
+    }
+
+    /**
+     * Genera el driver Hadoop o la aplicacion Spark a partir del mapper y reducer traducidos
+     *
+     * @param clases Clases traducidas
+     */
+    private void driver(List<ClaseJava> clases) {
+        boolean spark = opciones.getSpark() != null;
+        String nombre = spark ? opciones.getSpark() : opciones.getHadoopDriver();
+        GestorErrores gestorErrores = new GestorErrores(nombre, opciones);
+        ClaseJava mapper = null;
+        ClaseJava reducer = null;
+        int mappers = 0;
+        int reducers = 0;
+        for (ClaseJava clase : clases) {
+            String padre = clase.getClasePadre();
+            if (spark && !clase.getInterfaces().isEmpty()) {
+                padre = clase.getInterfaces().get(0);
             }
-            if (gestorErrores.getErrores() > 0) {
-                gestorErrores.error(Errores.FALLOS_SINTACTICOS, gestorErrores.getErrores());
+            if (padre == null) {
                 continue;
             }
-            if (opciones.getDepEtapas() == 3) {
-                continue;
+            if (padre.startsWith("Mapper<") || padre.startsWith("PairFlatMapFunction<String")
+                    || padre.startsWith("PairFlatMapFunction<Iterator<String>")) {
+                mapper = clase;
+                mappers++;
+            } else if (padre.startsWith("Reducer<") || padre.startsWith("PairFlatMapFunction<Tuple2<")) {
+                reducer = clase;
+                reducers++;
             }
-            /*----------------------------Traductor 1ª Parte------------------------------*/
-            TablaSimbolos tablaSimbolos = new TablaSimbolos(paquetes, opciones);
-            Semantica semantica = new Semantica(tablaSimbolos, opciones, gestorErrores);
-            Generador generador = new Generador(tablaSimbolos, opciones, fichero.getPath());
-            Traductor traductor = new Traductor(simbolos, semantica, generador, opciones);
-            traductor.traducir();
-            traductores.add(traductor);
-        }
-        boolean interbloqueo = false;
-        while (!traductores.isEmpty()) {
-            Iterator<Traductor> it = traductores.iterator();
-            boolean flag = true;
-            while (it.hasNext()) {
-                /*----------------------------Traductor 2ª Parte------------------------------*/
-                Traductor traductor = it.next();
-                if (!traductor.isFinalizado()) {
-                    traductor.setReanudable(!interbloqueo);
-                    int progreso = traductor.getProgreso();
-                    traductor.traducir();
-                    flag &= progreso == traductor.getProgreso();
-                }
-                if (traductor.isFinalizado()) {
-                    it.remove();
-                    if (opciones.isDepTraduccion()) {
-                        List<Simbolo> simbolos = traductor.getSimbolos();
-                        Depurador.arbol(simbolos.get(simbolos.size() - 1), true);
-                    }
-                    GestorErrores gestorErrores = traductor.getSemantica().getGestorErrores();
-                    if (gestorErrores.getErrores() > 0) {
-                        gestorErrores.error(Errores.FALLOS_SEMANTICO, gestorErrores.getErrores());
-                        continue;
-                    }
-                    /*--------------------------------Escritura---------------------------------*/
-                    try {
-                        writer.escribir(traductor.getGenerador().getClase(), gestorErrores);
-                    } catch (IOException ex) {
-                        gestorErrores.error(Errores.ERROR_ESCRITURA);
-                    }
-                }
+        }
+        if (mappers != 1 || reducers > 1) {
+            gestorErrores.error(Errores.DRIVER_SIN_MAPPER);
+            return;
+        }
+        //La combinacion en el mapper suma los valores, solo equivale a un reducer que combina sumando
+        if (mapper.getCombinacion() != null && reducer != null && !mapper.getCombinacion().equals(reducer.getCombinacion())) {
+            gestorErrores.error(Errores.MAPPER_COMBINE_SUMA, reducer.getNombre());
+            return;
+        }
+        try {
+            if (spark) {
+                writer.escribir(Spark.driver(nombre, mapper, reducer), gestorErrores);
+            } else {
+                writer.escribir(Hadoop.driver(nombre, mapper, reducer, opciones), gestorErrores);
             }
-            interbloqueo = flag;
+        } catch (IOException ex) {
+            gestorErrores.error(Errores.ERROR_ESCRITURA);
         }
     }
 
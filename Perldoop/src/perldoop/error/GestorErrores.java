@@ -87,8 +87,10 @@ public final class GestorErrores {
      * @param args Valores para el mensaje de error
      */
     public void error(String tipo, String codigo, Token t, Object... args) {
-        if(error(tipo, (t.getLinea() + 1) + ":" + (t.getColumna()) + ": " + msgs.get(tipo) + ": " + msgs.get(codigo, args))){
-            mostrarCodigo(t);
+        synchronized (System.err) {//Los ficheros se traducen en paralelo
+            if (error(tipo, (t.getLinea() + 1) + ":" + (t.getColumna()) + ": " + msgs.get(tipo) + ": " + msgs.get(codigo, args))) {
+                mostrarCodigo(t);
+            }
         }
     }
 
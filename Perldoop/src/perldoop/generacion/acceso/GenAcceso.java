@@ -1,5 +1,8 @@
 package perldoop.generacion.acceso;
 
+import java.util.List;
+import perldoop.generacion.rango.GenRango;
+import perldoop.generacion.util.Casting;
 import perldoop.generacion.util.Tipos;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.SimboloAux;
@@ -14,6 +17,7 @@ import perldoop.modelo.arbol.expresion.ExpFuncion;
 import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.Funcion;
 import perldoop.modelo.arbol.lista.Lista;
+import perldoop.modelo.arbol.rango.Rango;
 import perldoop.modelo.arbol.variable.VarExistente;
 import perldoop.modelo.generacion.Declaracion;
 import perldoop.modelo.generacion.TablaGenerador;
@@ -79,7 +83,7 @@ public class GenAcceso {
             } else {
                 codigo.append(coleccion);
             }
-        } else if (!coleccion.getTipo().isColeccion()) {
+        } else if (!coleccion.getTipo().isColeccion() || isClaveCompuesta(s, coleccion)) {
             //Encampsular en Referencia solo si es necesario
             if (s.getTipo().isRef() && !noRef) {
                 codigo.append("new ").append(Tipos.declaracion(s.getTipo())).append("(");
@@ -107,8 +111,21 @@ public class GenAcceso {
      */
     private void genMultiAcceso(Acceso s, StringBuilder expresion, Simbolo index, boolean escritura, StringBuilder codigo) {
         char contexto = Buscar.getContexto(s);
+        Tipo t = s.getExpresion().getTipo();
+        if (t.isRef()) {
+            t = t.getSubtipo(1);
+        }
         codigo.append(contexto == '$' ? 's' : contexto == '@' ? 'a' : 'h').append("Access(");
-        codigo.append(expresion).append(',').append(index);
+        codigo.append(expresion).append(',');
+        //El array resultado se crea con su constructor
+        if (contexto == '@' && t.isArray()) {
+            codigo.append(Tipos.constructor(t)).append(',');
+        }
+        StringBuilder posiciones = null;
+        if (index instanceof ColCorchete) {
+            posiciones = genPosiciones((ColCorchete) index);
+        }
+        codigo.append(posiciones != null ? posiciones : index);
         if (contexto == 'h') {
             codigo.append(", f->Casting.box(");
             //Si en el acceso hay otra coleccion
@@ -121,6 +138,55 @@ public class GenAcceso {
         codigo.append(escritura ? ',' : ')');
     }
 
+    /**
+     * Genera las posiciones de un acceso multiple a un array o lista como int[] para no crear objetos por posición, los
+     * rangos enteros se generan directamente
+     *
+     * @param index Coleccion de posiciones
+     * @return Codigo o null si las posiciones solo se conocen en tiempo de ejecución
+     */
+    private static StringBuilder genPosiciones(ColCorchete index) {
+        List<Expresion> exps = Buscar.getExpresiones(index);
+        StringBuilder codigo = new StringBuilder(100).append(index.getCorcheteI().getComentario());
+        if (exps.size() == 1 && exps.get(0).getValor() instanceof Rango) {
+            Rango rango = (Rango) exps.get(0).getValor();
+            if (!rango.getTipo().getSubtipo(1).isInteger()) {
+                return null;
+            }
+            codigo.append("Pd.indexs(").append(GenRango.genLimites(rango)).append(")");
+        } else {
+            Tipo entero = new Tipo(Tipo.INTEGER);
+            codigo.append("new int[]{");
+            for (Expresion exp : exps) {
+                if (exp.getTipo().isColeccion()) {
+                    return null;
+                }
+                codigo.append(Casting.castingNotNull(exp, entero)).append(",");
+            }
+            codigo.setCharAt(codigo.length() - 1, '}');
+        }
+        return codigo.append(index.getCorcheteD().getComentario());
+    }
+
+    /**
+     * Comprueba si el acceso es a un mapa con una clave compuesta como $h{$x,$y}, con la optimizacion de claves el mapa
+     * se accede directamente con el array de claves
+     *
+     * @param s Simbolo acceso
+     * @param coleccion Coleccion de claves
+     * @return Acceso con clave compuesta
+     */
+    private boolean isClaveCompuesta(Acceso s, Coleccion coleccion) {
+        if (!tabla.getOpciones().isOptClaves()) {
+            return false;
+        }
+        Tipo t = s.getExpresion().getTipo();
+        if (t.isRef()) {
+            t = t.getSubtipo(1);
+        }
+        return t.isMap() && coleccion instanceof ColLlave && Buscar.getContexto(s) == '$';
+    }
+
     /**
      * Comprueba si el acceso es con fines de borrado
      *
@@ -165,6 +231,32 @@ public class GenAcceso {
         }
     }
 
+    /**
+     * Genera el incremento en el sitio de una posicion de una lista o mapa numerico de un solo nivel
+     *
+     * @param exp Expresion acceso
+     * @param delta Codigo del incremento
+     * @return Codigo del incremento o null si el acceso no lo admite
+     */
+    public static StringBuilder genIncremento(Expresion exp, StringBuilder delta) {
+        if (!(exp instanceof ExpAcceso) || !(((ExpAcceso) exp).getAcceso() instanceof AccesoCol)) {
+            return null;
+        }
+        AccesoCol acceso = (AccesoCol) ((ExpAcceso) exp).getAcceso();
+        Tipo t = acceso.getExpresion().getTipo();
+        if (t.getTipo().size() != 2 || !(t.isList() || t.isMap()) || acceso.getColeccion().getTipo().isColeccion()) {
+            return null;
+        }
+        Tipo st = t.getSubtipo(1);
+        if (!st.isInteger() && !st.isLong() && !st.isDouble()) {
+            return null;
+        }
+        StringBuilder codigo = new StringBuilder(100);
+        codigo.append("Pd.increment(").append(acceso.getExpresion()).append(",").append(acceso.getColeccion());
+        codigo.append(",").append(delta).append(")");
+        return codigo;
+    }
+
     /**
      * Replica un acceso para lectura y escritura
      *
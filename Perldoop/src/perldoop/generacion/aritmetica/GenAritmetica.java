@@ -2,6 +2,7 @@ package perldoop.generacion.aritmetica;
 
 import perldoop.generacion.acceso.GenAcceso;
 import perldoop.generacion.util.Casting;
+import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.SimboloAux;
 import perldoop.modelo.arbol.aritmetica.AritConcat;
 import perldoop.modelo.arbol.aritmetica.AritDiv;
@@ -22,7 +23,6 @@ import perldoop.modelo.arbol.aritmetica.Aritmetica;
 import perldoop.modelo.arbol.expresion.ExpAcceso;
 import perldoop.modelo.arbol.expresion.ExpVariable;
 import perldoop.modelo.arbol.expresion.Expresion;
-import perldoop.modelo.arbol.sentencia.StcLista;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
@@ -182,8 +182,12 @@ public class GenAritmetica {
         boolean opt = tabla.getOpciones().isOptNulos();
         boolean arrayVar = Buscar.isArrayOrVar(expresion);
         Tipo t = s.getTipo();
-        if ((t.isInteger() || t.isLong()) && opt && arrayVar && Buscar.isRepetible(expresion)) {
+        StringBuilder incremento = null;
+        if ((t.isInteger() || t.isLong()) && (opt || Buscar.isNotNull(expresion)) && arrayVar && Buscar.isRepetible(expresion)) {
             codigo.append(s.getOperador()).append(expresion);
+        } else if (!arrayVar && (incremento = GenAcceso.genIncremento(expresion,
+                new StringBuilder(s.getOperador().getValor().substring(1)).append(s.getOperador().getComentario()).append("1"))) != null) {
+            codigo.append(incremento);
         } else {
             SimboloAux lectura;
             SimboloAux escritura;
@@ -224,19 +228,19 @@ public class GenAritmetica {
         boolean opt = tabla.getOpciones().isOptNulos();
         boolean arrayVar = Buscar.isArrayOrVar(expresion);
         Tipo t = s.getTipo();
-        if ((t.isInteger() || t.isLong()) && opt && arrayVar && Buscar.isRepetible(expresion)) {
+        if ((t.isInteger() || t.isLong()) && (opt || Buscar.isNotNull(expresion)) && arrayVar && Buscar.isRepetible(expresion)) {
             codigo = new StringBuilder(100);
             codigo.append(expresion).append(s.getOperador());
         } else {
             String op = s.getOperador().getValor().equals("++") ? "-" : "+";
             codigo = genPre(s, expresion);
-            if (Buscar.getPadre(s, 2) instanceof StcLista) {
+            if (Buscar.isValorDescartado(s)) {
                 return codigo;
             }
             Tipo tn = s.getTipo().isNumberType() ? s.getTipo() : new Tipo(Tipo.DOUBLE);
-            SimboloAux aux = new SimboloAux(expresion.getTipo(), codigo);
+            SimboloAux aux = new SimboloAux(expresion.getTipo(), codigo.insert(0, "(").append(")"));
             aux.setCodigoGenerado(Casting.casting(aux, tn).append(op).append("1"));
-            aux.setCodigoGenerado(Casting.casting(aux, expresion.getTipo()));
+            codigo = Casting.casting(aux, expresion.getTipo());
         }
         return codigo;
     }
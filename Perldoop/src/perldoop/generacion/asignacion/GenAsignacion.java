@@ -66,8 +66,13 @@ public class GenAsignacion {
         boolean opt = tabla.getOpciones().isOptNulos();
         boolean arrayVar = Buscar.isArrayOrVar(var);
         //Traduccion directa
-        if (check && opt && arrayVar) {
-            codigo.append(var).append(op).append('=').append(s.getOperador().getComentario()).append(Casting.casting(val, var.getTipo()));
+        StringBuilder incremento = null;
+        if (check && (opt || Buscar.isNotNull(var)) && arrayVar) {
+            codigo.append(var).append(op).append('=').append(s.getOperador().getComentario()).append(Casting.casting(val, var.getTipo(), !opt));
+        } else if (check && !arrayVar && (op.equals("+") || op.equals("-")) && top != null && top.equals(var.getTipo())
+                && (incremento = GenAcceso.genIncremento(var, new StringBuilder(op).append(s.getOperador().getComentario())
+                        .append("(").append(Casting.casting(val, tval, !opt)).append(")"))) != null) {
+            codigo.append(incremento);
         } else {
             SimboloAux lectura;
             SimboloAux escritura;
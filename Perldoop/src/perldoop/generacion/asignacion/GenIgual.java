@@ -4,6 +4,7 @@ import java.util.ArrayList;
 import java.util.HashSet;
 import java.util.Iterator;
 import java.util.List;
+import java.util.Set;
 import perldoop.generacion.coleccion.GenColeccion;
 import perldoop.generacion.util.Casting;
 import perldoop.generacion.util.ColIterator;
@@ -19,6 +20,7 @@ import perldoop.modelo.arbol.coleccion.ColParentesis;
 import perldoop.modelo.arbol.coleccion.Coleccion;
 import perldoop.modelo.arbol.expresion.ExpAcceso;
 import perldoop.modelo.arbol.expresion.ExpColeccion;
+import perldoop.modelo.arbol.expresion.ExpVariable;
 import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.lista.Lista;
 import perldoop.modelo.arbol.sentencia.StcLista;
@@ -40,6 +42,7 @@ import perldoop.util.Buscar;
 public class GenIgual {
 
     private TablaGenerador tabla;
+    private Set<String> clavesCompuestas;
 
     /**
      * Contruye el gener
@@ -72,8 +75,16 @@ public class GenIgual {
         Expresion izq = s.getIzquierda();
         Simbolo derAux = Casting.colToScalar(der, izq);
         derAux = scalarToCol(derAux, izq.getTipo());
+        //Las variables primitivas nunca pueden recibir un valor nulo
+        if (Buscar.getExpresion(izq) instanceof ExpVariable && ((ExpVariable) Buscar.getExpresion(izq)).getVariable().isPrimitiva()) {
+            derAux = new SimboloAux(izq.getTipo(), Casting.castingNotNull(derAux, izq.getTipo()));
+        }
         //Las variables de tipo colección se copian en su asignación, siempre que no haya un casting que lo haga
-        if (derAux.getTipo().isColeccion() && Buscar.isVariable(der) && der.getTipo().equals(izq.getTipo())) {
+        if (isMultiClave(izq, izq.getTipo())) {
+            //El constructor ya copia el mapa
+            StringBuilder mapa = new StringBuilder(100).append("new PerlMultiKeyMap<>(").append(derAux).append(")");
+            derAux = new SimboloAux(derAux.getTipo(), mapa);
+        } else if (derAux.getTipo().isColeccion() && Buscar.isVariable(der) && der.getTipo().equals(izq.getTipo()) && !isMultiAcceso(der)) {
             derAux.getCodigoGenerado().insert(0, "Pd.copy(").append(")");
         }
         StringBuilder codigo = asignacion(izq, s.getOperador().getComentario(), derAux);
@@ -253,6 +264,8 @@ public class GenIgual {
             ini.append(Tipos.inicializacion(t)).append("(");
             ini.append(Tipos.inicializacion(t.getSubtipo(1), smart, tams.toArray(new String[tams.size()])));
             ini.append(")");
+        } else if (!smart && isMultiClave(s.getIzquierda(), t)) {
+            ini.append("new PerlMultiKeyMap<>(").append(tams.isEmpty() ? "" : tams.get(0)).append(")");
         } else {
             ini.append(Tipos.inicializacion(t, smart, tams.toArray(new String[tams.size()])));
         }
@@ -367,6 +380,41 @@ public class GenIgual {
         }
     }
 
+    /**
+     * Comprueba si la asignacion es a un hash que se accede con claves compuestas, con la optimizacion de claves se
+     * almacena en un PerlMultiKeyMap
+     *
+     * @param izq Expresion izquierda
+     * @param t Tipo asignado
+     * @return Hash con claves compuestas
+     */
+    private boolean isMultiClave(Expresion izq, Tipo t) {
+        Expresion exp = Buscar.getExpresion(izq);
+        if (!tabla.getOpciones().isOptClaves() || !t.isMap() || !(exp instanceof ExpVariable)) {
+            return false;
+        }
+        if (clavesCompuestas == null) {
+            clavesCompuestas = Buscar.getClavesCompuestas(izq);
+        }
+        return clavesCompuestas.contains(((ExpVariable) exp).getVariable().getVar().getValor());
+    }
+
+    /**
+     * Comprueba si una expresion es un acceso a varias posiciones, su resultado siempre es una coleccion nueva
+     *
+     * @param exp Expresion
+     * @return Es un acceso multiple
+     */
+    private static boolean isMultiAcceso(Expresion exp) {
+        Simbolo acceso = exp.getValor();
+        if (acceso instanceof AccesoCol) {
+            return ((AccesoCol) acceso).getColeccion().getTipo().isColeccion();
+        } else if (acceso instanceof AccesoColRef) {
+            return ((AccesoColRef) acceso).getColeccion().getTipo().isColeccion();
+        }
+        return false;
+    }
+
     /**
      * Combierte un escalar a unca coleccion
      *
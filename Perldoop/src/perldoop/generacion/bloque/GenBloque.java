@@ -8,12 +8,15 @@ import perldoop.generacion.util.Tipos;
 import perldoop.modelo.arbol.SimboloAux;
 import perldoop.modelo.arbol.Terminal;
 import perldoop.modelo.arbol.bloque.*;
+import perldoop.modelo.arbol.expresion.ExpAsignacion;
 import perldoop.modelo.arbol.expresion.Expresion;
+import perldoop.modelo.arbol.lectura.Lectura;
 import perldoop.modelo.arbol.variable.VarMy;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.preprocesador.Tags;
 import perldoop.modelo.preprocesador.TagsBloque;
 import perldoop.modelo.semantica.Tipo;
+import perldoop.util.Buscar;
 
 /**
  * Clase generadora de bloque
@@ -37,7 +40,12 @@ public class GenBloque {
         StringBuilder codigo = new StringBuilder(1000);
         codigo.append(s.getId());
         codigo.append(s.getParentesisI());
-        codigo.append(genExpresion(s.getExpresion()));
+        if (isLecturaChomp(s)) {
+            //La linea leida con chomp puede ser vacia, el final del fichero es null
+            codigo.append("(").append(s.getExpresion()).append(")!=null");
+        } else {
+            codigo.append(genExpresion(s.getExpresion()));
+        }
         codigo.append(s.getParentesisD());
         codigo.append(s.getLlaveI());
         codigo.append(s.getCuerpo());
@@ -309,6 +317,21 @@ public class GenBloque {
         return Casting.casting(exp, new Tipo(Tipo.BOOLEAN), !tabla.getOpciones().isOptNulos());
     }
 
+    /**
+     * Comprueba si la condicion del bucle es una lectura unida al chomp de la primera sentencia
+     *
+     * @param s Bloque while
+     * @return Condicion de lectura con chomp
+     */
+    private boolean isLecturaChomp(BloqueWhile s) {
+        Expresion exp = Buscar.getExpresion(s.getExpresion());
+        if (exp instanceof ExpAsignacion) {
+            Expresion der = Buscar.getExpresion(((ExpAsignacion) exp).getAsignacion().getDerecha());
+            return der.getValor() instanceof Lectura && Buscar.getChomp((Lectura) der.getValor()) != null;
+        }
+        return false;
+    }
+
     /**
      * Genera las declaraciones de la cabecera del bloque
      *
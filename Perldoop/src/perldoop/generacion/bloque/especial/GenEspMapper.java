@@ -3,6 +3,8 @@ package perldoop.generacion.bloque.especial;
 import perldoop.generacion.asignacion.GenIgual;
 import perldoop.generacion.sentencia.GenSentencia;
 import perldoop.generacion.util.Hadoop;
+import perldoop.generacion.util.Spark;
+import perldoop.generacion.util.Tipos;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.bloque.Bloque;
 import perldoop.modelo.arbol.bloque.BloqueForeachVar;
@@ -12,6 +14,7 @@ import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.preprocesador.hadoop.TagsMapper;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
+import perldoop.util.Utiles;
 
 /**
  * Clase generadora de bloque hadoop
@@ -20,6 +23,16 @@ import perldoop.util.Buscar;
  */
 public final class GenEspMapper extends GenEspecial {
 
+    /**
+     * Memoria maxima en megabytes de las claves combinadas por defecto
+     */
+    private static final String COMBINE_SIZE = "64";
+    /**
+     * Estimacion en bytes de una entrada de la tabla de combinacion sin contar los caracteres de la clave: cabeceras
+     * del String y de su array, y la celda de la tabla con su clave, valor y marca de nulo
+     */
+    private static final String COMBINE_ENTRADA = "64";
+
     /**
      * Construye el generador
      *
@@ -32,8 +45,16 @@ public final class GenEspMapper extends GenEspecial {
     @Override
     public void visitar(Bloque s) {
         StringBuilder codigo = new StringBuilder(1000);
-        cabecera(s, codigo);
-        Simbolo key = Hadoop.casting("pd_value", new Tipo(Tipo.STRING));
+        TagsMapper tags = (TagsMapper) s.getLlaveI().getEtiquetas();
+        boolean spark = tabla.getOpciones().getSpark() != null;
+        Simbolo key;
+        if (!spark) {
+            cabecera(s, codigo);
+            key = Hadoop.casting("pd_value", new Tipo(Tipo.STRING));
+        } else {
+            cabeceraSpark(s, codigo);
+            key = Spark.casting("pd_value", new Tipo(Tipo.STRING));
+        }
         Simbolo var;
         if (s instanceof BloqueForeachVar) {
             var = ((BloqueForeachVar) s).getVariable();
@@ -42,7 +63,13 @@ public final class GenEspMapper extends GenEspecial {
         }
         codigo.append(GenIgual.asignacion(var, "", key)).append(';');
         codigo.append(s.getCuerpo());
-        codigo.append('}');
+        if (!spark) {
+            codigo.append('}');
+        } else if (tags.getCombine() == null) {
+            codigo.append(Spark.fin());
+        } else {
+            codigo.append("}}");
+        }
         tabla.getClase().getFunciones().add(codigo);
         s.setCodigoGenerado(new StringBuilder(0));
     }
@@ -55,19 +82,118 @@ public final class GenEspMapper extends GenEspecial {
      */
     private void cabecera(Bloque b, StringBuilder codigo) {
         TagsMapper tags = (TagsMapper) b.getLlaveI().getEtiquetas();
-        String key = Hadoop.hadoop(tags.getKeyOut());
-        String value = Hadoop.hadoop(tags.getValueOut());
+        String key = Hadoop.hadoop(tags.getKeyOut(), tabla.getClase());
+        String value = Hadoop.hadoop(tags.getValueOut(), tabla.getClase());
         tabla.getClase().setClasePadre("Mapper<Object, Text, " + key + ", " + value + ">");
+        if (tags.getCombine() == null) {
+            Hadoop.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut());
+        } else {
+            combinacion(tags);
+        }
         codigo.append("@Override ");
         codigo.append("public void map(Object pd_key, Text pd_value, Context pd_context) ");
         codigo.append("throws IOException, InterruptedException {");
         codigo.append(GenSentencia.genDeclaraciones(b, tabla));
         //Dependencias
         tabla.getClase().getImports().add("org.apache.hadoop.io.Text");
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + key);
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + value);
         tabla.getClase().getImports().add("org.apache.hadoop.mapreduce.Mapper");
         tabla.getClase().getImports().add("java.io.IOException");
     }
 
+    /**
+     * Genera la cabecera del mapper como funcion Spark, por linea con flatMapToPair o por particion con
+     * mapPartitionsToPair si el mapper combina sus salidas. En el segundo caso la particion se recorre bajo demanda y
+     * cada linea se procesa con la funcion pd_line.
+     *
+     * @param b Bloque
+     * @param codigo Codigo
+     */
+    private void cabeceraSpark(Bloque b, StringBuilder codigo) {
+        TagsMapper tags = (TagsMapper) b.getLlaveI().getEtiquetas();
+        String key = Spark.java(tags.getKeyOut());
+        String value = Spark.java(tags.getValueOut());
+        String contexto = Spark.contexto(tags.getKeyOut(), tags.getValueOut());
+        if (tags.getCombine() == null) {
+            tabla.getClase().getInterfaces().add("PairFlatMapFunction<String, " + key + ", " + value + ">");
+            Spark.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut(), "pd_write");
+            codigo.append(Spark.funcion(tabla.getClase(), "call", "String pd_value", contexto, true));
+        } else {
+            tabla.getClase().getInterfaces().add("PairFlatMapFunction<Iterator<String>, " + key + ", " + value + ">");
+            combinacion(tags);
+            tabla.getClase().getFunciones().add(Spark.particion(tabla.getClase(), tags.getKeyOut(), tags.getValueOut()));
+            codigo.append(Spark.linea(tabla.getClase(), contexto));
+        }
+        codigo.append(GenSentencia.genDeclaraciones(b, tabla));
+    }
+
+    /**
+     * Genera la combinacion en el mapper, las salidas se suman en una tabla hash de tipo primitivo que se vuelca al
+     * contexto al finalizar el mapper o cuando la memoria estimada de sus entradas alcanza el limite en megabytes de la
+     * etiqueta. La suma se declara con la etiqueta &lt;sum&gt; y el reducer debe combinar con una suma, se comprueba al
+     * generar el driver.
+     *
+     * @param tags Etiquetas del mapper
+     */
+    private void combinacion(TagsMapper tags) {
+        boolean spark = tabla.getOpciones().getSpark() != null;
+        String contexto = spark ? Spark.contexto(tags.getKeyOut(), tags.getValueOut()) : "Context";
+        String excepciones = spark ? "" : " throws IOException, InterruptedException";
+        Tipo tValue = Hadoop.tipo(tags.getValueOut());
+        String size = tags.getCombineSize() == null ? COMBINE_SIZE : Utiles.substring(tags.getCombineSize().getValor(), 1, -1);
+        String mapa;
+        String get;
+        if (tValue.isInteger()) {
+            mapa = "PerlIntMap";
+            get = "getInt";
+        } else if (tValue.isLong()) {
+            mapa = "PerlLongMap";
+            get = "getLong";
+        } else {
+            mapa = "PerlDoubleMap";
+            get = "getDouble";
+        }
+        if (spark) {
+            Spark.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut(), "pd_emit");
+        } else {
+            Hadoop.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut(), "pd_emit");
+        }
+        tabla.getClase().setCombinacion("+");
+        tabla.getClase().getAtributos().add("private final " + mapa + " pd_combine = new " + mapa + "();");
+        tabla.getClase().getAtributos().add("private long pd_combineBytes;");
+        //Acumulacion
+        StringBuilder codigo = new StringBuilder(300);
+        codigo.append("private void pd_write(String key, ").append(Tipos.declaracion(tValue, true));
+        codigo.append(" value, ").append(contexto).append(" pd_context)").append(excepciones).append(" {");
+        codigo.append("int pd_size = pd_combine.size();");
+        codigo.append("pd_combine.increment(key, value);");
+        codigo.append("if(pd_combine.size() != pd_size){");
+        codigo.append("pd_combineBytes += ").append(COMBINE_ENTRADA).append(" + 2L * key.length();");
+        codigo.append("if(pd_combineBytes >= ").append(size).append("L * 1048576L){");
+        codigo.append("pd_flush(pd_context);");
+        codigo.append("}");
+        codigo.append("}");
+        codigo.append("}");
+        tabla.getClase().getFunciones().add(codigo);
+        //Volcado
+        codigo = new StringBuilder(300);
+        codigo.append("private void pd_flush(").append(contexto).append(" pd_context)").append(excepciones).append(" {");
+        codigo.append("for(String key : pd_combine.keySet()){");
+        codigo.append("pd_emit(key, ").append(tValue.isFloat() ? "(float) " : "").append("pd_combine.").append(get).append("(key), pd_context);");
+        codigo.append("}");
+        codigo.append("pd_combine.clear();");
+        codigo.append("pd_combineBytes = 0;");
+        codigo.append("}");
+        tabla.getClase().getFunciones().add(codigo);
+        if (spark) {//La funcion Spark vuelca al final de la particion
+            return;
+        }
+        //Finalizacion
+        codigo = new StringBuilder(200);
+        codigo.append("@Override ");
+        codigo.append("protected void cleanup(Context pd_context) throws IOException, InterruptedException {");
+        codigo.append("pd_flush(pd_context);");
+        codigo.append("}");
+        tabla.getClase().getFunciones().add(codigo);
+    }
+
 }
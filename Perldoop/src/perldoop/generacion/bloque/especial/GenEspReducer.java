@@ -1,12 +1,37 @@
 package perldoop.generacion.bloque.especial;
 
 import perldoop.generacion.sentencia.GenSentencia;
+import perldoop.generacion.util.Casting;
 import perldoop.generacion.util.Hadoop;
+import perldoop.generacion.util.Spark;
+import perldoop.generacion.util.Tipos;
+import perldoop.modelo.arbol.Simbolo;
+import perldoop.modelo.arbol.aritmetica.AritMulti;
+import perldoop.modelo.arbol.aritmetica.AritOpBinario;
+import perldoop.modelo.arbol.aritmetica.AritSuma;
+import perldoop.modelo.arbol.asignacion.Asignacion;
+import perldoop.modelo.arbol.asignacion.Igual;
+import perldoop.modelo.arbol.asignacion.MasIgual;
+import perldoop.modelo.arbol.asignacion.MultiIgual;
 import perldoop.modelo.arbol.bloque.Bloque;
+import perldoop.modelo.arbol.expresion.ExpAritmetica;
+import perldoop.modelo.arbol.expresion.ExpAsignacion;
+import perldoop.modelo.arbol.expresion.ExpNumero;
+import perldoop.modelo.arbol.expresion.ExpVariable;
+import perldoop.modelo.arbol.expresion.Expresion;
+import perldoop.modelo.arbol.modificador.ModNada;
 import perldoop.modelo.arbol.sentencia.Sentencia;
+import perldoop.modelo.arbol.sentencia.StcComentario;
+import perldoop.modelo.arbol.sentencia.StcLista;
+import perldoop.modelo.arbol.variable.VarMy;
+import perldoop.modelo.arbol.variable.Variable;
+import perldoop.modelo.generacion.ClaseJava;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.TagsBloque;
 import perldoop.modelo.preprocesador.hadoop.TagsReducer;
+import perldoop.modelo.semantica.EntradaVariable;
+import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
 import perldoop.util.Utiles;
 
@@ -28,8 +53,6 @@ public final class GenEspReducer extends GenEspecial {
 
     @Override
     public void visitar(Bloque s) {
-        StringBuilder codigo = new StringBuilder(1000);
-        cabecera(s, codigo);
         //Buscar los bloques
         Bloque combine = null;
         Bloque reduction = null;
@@ -47,27 +70,157 @@ public final class GenEspReducer extends GenEspecial {
                 }
             }
         }
-        //Copiamos sentencias
-        for (Sentencia stc : s.getCuerpo().getSentencias()) {
-            if (Buscar.tokenInicio(stc).getValor().equals("my")) {
-                codigo.append(stc);
-            }
+        if (tabla.getOpciones().getSpark() == null) {
+            hadoop(s, combine, reduction);
+        } else {
+            spark(s, combine, reduction);
         }
+        s.setCodigoGenerado(new StringBuilder(0));
+    }
+
+    /**
+     * Genera el reducer Hadoop
+     *
+     * @param s Bloque reducer
+     * @param combine Bloque combine
+     * @param reduction Bloque reduction
+     */
+    private void hadoop(Bloque s, Bloque combine, Bloque reduction) {
+        StringBuilder codigo = new StringBuilder(1000);
+        cabecera(s, codigo);
+        //Copiamos sentencias
+        codigo.append(locales(s));
         //Combinacion
         TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
-        String var = Utiles.substring(tags.getVarKey().getValor(), 2, -1);
-        codigo.append(var).append("= pd_key;");
-        codigo.append("while(pd_values.hashNext()){");
-        tags = (TagsReducer) s.getLlaveI().getEtiquetas();
-        var = Utiles.substring(tags.getVarValue().getValor(), 2, -1);
-        codigo.append(var).append("= pd_values.next();");
+        Tipo keyIn = Hadoop.tipo(tags.getKeyIn());
+        Tipo valueIn = Hadoop.tipo(tags.getValueIn());
+        String value = tabla.getGestorReservas().getAux();
+        codigo.append(asignacion(tags.getVarKey(), Hadoop.casting("pd_key", keyIn)));
+        codigo.append("for(").append(Hadoop.hadoop(tags.getValueIn())).append(" ").append(value).append(" : pd_values){");
+        codigo.append(asignacion(tags.getVarValue(), Hadoop.casting(value, valueIn)));
         codigo.append(combine.getCuerpo());
         codigo.append('}');
         //reducion
         codigo.append(reduction.getCuerpo());
         codigo.append('}');
         tabla.getClase().getFunciones().add(codigo);
-        s.setCodigoGenerado(new StringBuilder(0));
+        combiner(s, combine, reduction);
+    }
+
+    /**
+     * Genera el reducer como funcion Spark que recibe los valores agrupados por clave. Si la combinacion es una suma
+     * o producto asociativo se genera ademas la funcion pd_reduction que recibe el valor ya reducido por
+     * reduceByKey o aggregateByKey.
+     *
+     * @param s Bloque reducer
+     * @param combine Bloque combine
+     * @param reduction Bloque reduction
+     */
+    private void spark(Bloque s, Bloque combine, Bloque reduction) {
+        TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
+        Tipo keyIn = Hadoop.tipo(tags.getKeyIn());
+        Tipo valueIn = Hadoop.tipo(tags.getValueIn());
+        String jKeyIn = Spark.java(tags.getKeyIn());
+        String jValueIn = Spark.java(tags.getValueIn());
+        String contexto = Spark.contexto(tags.getKeyOut(), tags.getValueOut());
+        String entrada = "Tuple2<" + jKeyIn + ", Iterable<" + jValueIn + ">>";
+        tabla.getClase().getInterfaces().add("PairFlatMapFunction<" + entrada + ", " + Spark.java(tags.getKeyOut())
+                + ", " + Spark.java(tags.getValueOut()) + ">");
+        Spark.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut(), "pd_write");
+        String declaraciones = GenSentencia.genDeclaraciones(s, tabla).toString();
+        StringBuilder locales = locales(s);
+        //Valores agrupados
+        StringBuilder codigo = Spark.funcion(tabla.getClase(), "call", entrada + " pd_tuple", contexto, true);
+        codigo.append(declaraciones);
+        codigo.append(locales);
+        String value = tabla.getGestorReservas().getAux();
+        codigo.append(asignacion(tags.getVarKey(), Spark.casting("pd_tuple._1()", keyIn)));
+        codigo.append("for(").append(jValueIn).append(" ").append(value).append(" : pd_tuple._2()){");
+        codigo.append(asignacion(tags.getVarValue(), Spark.casting(value, valueIn)));
+        codigo.append(combine.getCuerpo());
+        codigo.append('}');
+        codigo.append(reduction.getCuerpo());
+        codigo.append(Spark.fin());
+        tabla.getClase().getFunciones().add(codigo);
+        //Valores reducidos
+        Asignacion acumulacion = acumulacion(s, combine);
+        if (acumulacion == null) {
+            return;
+        }
+        Tipo tAcc = acumulacion.getIzquierda().getTipo();
+        if (tAcc == null || !Tipos.isPrimitivo(tAcc) || tAcc.isBoolean()) {
+            return;
+        }
+        if (isValorLeido(s, reduction)) {
+            return;
+        }
+        boolean suma = isSuma(acumulacion);
+        String acc = Tipos.declaracion(tAcc).toString();
+        String pAcc = Tipos.declaracion(tAcc, true).toString();
+        String op = suma ? " + " : " * ";
+        ClaseJava combiner = new ClaseJava();
+        combiner.setNombre("Combiner");
+        combiner.getInterfaces().add("Function2<" + acc + ", " + acc + ", " + acc + ">");
+        codigo = new StringBuilder(200);
+        codigo.append("@Override ");
+        codigo.append("public ").append(acc).append(" call(").append(acc).append(" a, ").append(acc).append(" b) {");
+        codigo.append("return (").append(pAcc).append(") (a").append(op).append("b);");
+        codigo.append("}");
+        combiner.getFunciones().add(codigo);
+        tabla.getClase().getInternas().add(combiner);
+        tabla.getClase().setCombinacion(suma ? "+" : "*");
+        if (!tAcc.equals(valueIn)) {
+            ClaseJava aggregator = new ClaseJava();
+            aggregator.setNombre("Aggregator");
+            aggregator.getInterfaces().add("Function2<" + acc + ", " + jValueIn + ", " + acc + ">");
+            aggregator.getAtributos().add("public static final " + acc + " ZERO = " + neutro(tAcc, suma) + ";");
+            codigo = new StringBuilder(200);
+            codigo.append("@Override ");
+            codigo.append("public ").append(acc).append(" call(").append(acc).append(" a, ").append(jValueIn).append(" b) {");
+            codigo.append("return (").append(pAcc).append(") (a").append(op).append("b);");
+            codigo.append("}");
+            aggregator.getFunciones().add(codigo);
+            tabla.getClase().getInternas().add(aggregator);
+        }
+        tabla.getClase().getImports().add("org.apache.spark.api.java.function.Function2");
+        codigo = Spark.funcion(tabla.getClase(), "pd_reduction", "Tuple2<" + jKeyIn + ", " + acc + "> pd_tuple", contexto, false);
+        codigo.append(declaraciones);
+        codigo.append(locales);
+        codigo.append(asignacion(tags.getVarKey(), Spark.casting("pd_tuple._1()", keyIn)));
+        codigo.append(acumulacion.getIzquierda().getCodigoGenerado()).append("=pd_tuple._2();");
+        codigo.append(reduction.getCuerpo());
+        codigo.append(Spark.fin());
+        tabla.getClase().getFunciones().add(codigo);
+    }
+
+    /**
+     * Obtiene las sentencias de declaracion del reducer
+     *
+     * @param s Bloque reducer
+     * @return Codigo
+     */
+    private StringBuilder locales(Bloque s) {
+        StringBuilder codigo = new StringBuilder(300);
+        for (Sentencia stc : s.getCuerpo().getSentencias()) {
+            if (Buscar.tokenInicio(stc).getValor().equals("my")) {
+                codigo.append(stc);
+            }
+        }
+        return codigo;
+    }
+
+    /**
+     * Genera la asignacion de una entrada del reducer a su variable
+     *
+     * @param var Etiqueta con la variable
+     * @param valor Valor de la entrada
+     * @return Asignacion
+     */
+    private StringBuilder asignacion(Token var, Simbolo valor) {
+        EntradaVariable e = tabla.getTablaSimbolos().buscarVariable(Utiles.substring(var.getValor(), 2, -1), '$');
+        StringBuilder codigo = new StringBuilder(100);
+        codigo.append(e.getAlias()).append("=").append(Casting.casting(valor, e.getTipo())).append(";");
+        return codigo;
     }
 
     /**
@@ -78,23 +231,218 @@ public final class GenEspReducer extends GenEspecial {
      */
     private void cabecera(Bloque b, StringBuilder codigo) {
         TagsReducer tags = (TagsReducer) b.getLlaveI().getEtiquetas();
-        String keyIn = Hadoop.hadoop(tags.getKeyOut());
-        String valueIn = Hadoop.hadoop(tags.getValueOut());
-        String keyOut = Hadoop.hadoop(tags.getKeyOut());
-        String valueOut = Hadoop.hadoop(tags.getValueOut());
+        String keyIn = Hadoop.hadoop(tags.getKeyIn(), tabla.getClase());
+        String valueIn = Hadoop.hadoop(tags.getValueIn(), tabla.getClase());
+        String keyOut = Hadoop.hadoop(tags.getKeyOut(), tabla.getClase());
+        String valueOut = Hadoop.hadoop(tags.getValueOut(), tabla.getClase());
         tabla.getClase().setClasePadre("Reducer<" + keyIn + ", " + valueIn + ", " + keyOut + ", " + valueOut + ">");
+        Hadoop.salida(tabla.getClase(), tags.getKeyOut(), tags.getValueOut());
         codigo.append("@Override ");
-        codigo.append("public void reduce(").append(keyIn).append(" pd_key, Iterator<").append(valueIn);
+        codigo.append("public void reduce(").append(keyIn).append(" pd_key, Iterable<").append(valueIn);
         codigo.append("> pd_values, Context pd_context) throws IOException, InterruptedException {");
         codigo.append(GenSentencia.genDeclaraciones(b, tabla));
         //Dependencias
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + keyIn);
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + valueIn);
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + keyOut);
-        tabla.getClase().getImports().add("org.apache.hadoop.io." + valueOut);
         tabla.getClase().getImports().add("org.apache.hadoop.mapreduce.Reducer");
         tabla.getClase().getImports().add("java.io.IOException");
-        tabla.getClase().getImports().add("java.util.Iterator");
+    }
+
+    /**
+     * Genera la clase interna Combiner si el bloque combine es una suma o un producto asociativo y el bloque
+     * reduction no lee el valor, que con el Combiner seria un valor ya combinado
+     *
+     * @param s Bloque reducer
+     * @param combine Bloque combine
+     * @param reduction Bloque reduction
+     */
+    private void combiner(Bloque s, Bloque combine, Bloque reduction) {
+        TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
+        Tipo valueIn = Hadoop.tipo(tags.getValueIn());
+        if (!Tipos.isPrimitivo(valueIn) || valueIn.isBoolean()) {
+            return;
+        }
+        Asignacion acumulacion = acumulacion(s, combine);
+        if (acumulacion == null || isValorLeido(s, reduction)) {
+            return;
+        }
+        boolean suma = isSuma(acumulacion);
+        //Combiner
+        String hKey = Hadoop.hadoop(tags.getKeyIn());
+        String hValue = Hadoop.hadoop(tags.getValueIn());
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre("Combiner");
+        clase.setClasePadre("Reducer<" + hKey + ", " + hValue + ", " + hKey + ", " + hValue + ">");
+        clase.getAtributos().add("private final " + hValue + " pd_valueOut = new " + hValue + "();");
+        StringBuilder codigo = new StringBuilder(300);
+        codigo.append("@Override ");
+        codigo.append("public void reduce(").append(hKey).append(" pd_key, Iterable<").append(hValue);
+        codigo.append("> pd_values, Context pd_context) throws IOException, InterruptedException {");
+        codigo.append(Tipos.declaracion(valueIn, true)).append(" pd_acc = ").append(suma ? "0" : "1").append(";");
+        codigo.append("for(").append(hValue).append(" pd_value : pd_values){");
+        codigo.append("pd_acc ").append(suma ? "+=" : "*=").append(" pd_value.get();");
+        codigo.append("}");
+        codigo.append("pd_valueOut.set(pd_acc);");
+        codigo.append("pd_context.write(pd_key, pd_valueOut);");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        tabla.getClase().getInternas().add(clase);
+        tabla.getClase().setCombinacion(suma ? "+" : "*");
+    }
+
+    /**
+     * Obtiene la asignacion del bloque combine si es una suma o un producto asociativo de la forma
+     * <code>$acc = $acc + $value</code>, siendo $acc una variable local del reducer inicializada con el elemento
+     * neutro de la operacion.
+     *
+     * @param s Bloque reducer
+     * @param combine Bloque combine
+     * @return Asignacion o null si la combinacion no es asociativa
+     */
+    private Asignacion acumulacion(Bloque s, Bloque combine) {
+        TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
+        String value = Utiles.substring(tags.getVarValue().getValor(), 2, -1);
+        Asignacion asignacion = null;
+        for (Sentencia stc : combine.getCuerpo().getSentencias()) {
+            if (stc instanceof StcComentario) {
+                continue;
+            }
+            if (asignacion != null || !(stc instanceof StcLista) || !(((StcLista) stc).getModificador() instanceof ModNada)
+                    || ((StcLista) stc).getLista().getExpresiones().size() != 1) {
+                return null;
+            }
+            Expresion exp = Buscar.getExpresion(((StcLista) stc).getLista().getExpresiones().get(0));
+            if (!(exp instanceof ExpAsignacion)) {
+                return null;
+            }
+            asignacion = ((ExpAsignacion) exp).getAsignacion();
+        }
+        if (asignacion == null) {
+            return null;
+        }
+        String acc = getNombre(asignacion.getIzquierda());
+        Expresion der = Buscar.getExpresion(asignacion.getDerecha());
+        if (asignacion instanceof MasIgual || asignacion instanceof MultiIgual) {
+            if (!value.equals(getNombre(der))) {
+                return null;
+            }
+        } else if (asignacion instanceof Igual && der instanceof ExpAritmetica
+                && (((ExpAritmetica) der).getAritmetica() instanceof AritSuma || ((ExpAritmetica) der).getAritmetica() instanceof AritMulti)) {
+            AritOpBinario op = (AritOpBinario) ((ExpAritmetica) der).getAritmetica();
+            String izq = getNombre(Buscar.getExpresion(op.getIzquierda()));
+            String dcha = getNombre(Buscar.getExpresion(op.getDerecha()));
+            if (!(value.equals(izq) && acc.equals(dcha)) && !(value.equals(dcha) && acc.equals(izq))) {
+                return null;
+            }
+        } else {
+            return null;
+        }
+        if (acc == null || acc.equals(value) || !isNeutro(s, acc, isSuma(asignacion))) {
+            return null;
+        }
+        return asignacion;
+    }
+
+    /**
+     * Comprueba si el bloque reduction lee la variable del valor del reducer
+     *
+     * @param s Bloque reducer
+     * @param reduction Bloque reduction
+     * @return El valor se lee
+     */
+    private boolean isValorLeido(Bloque s, Bloque reduction) {
+        TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
+        String value = Utiles.substring(tags.getVarValue().getValor(), 2, -1);
+        for (Variable v : Buscar.buscarClases(reduction, Variable.class)) {
+            if (Buscar.getContexto(v) == '$' && v.getVar().getValor().equals(value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Comprueba si una asignacion asociativa es una suma o un producto
+     *
+     * @param asignacion Asignacion
+     * @return Es una suma
+     */
+    private boolean isSuma(Asignacion asignacion) {
+        if (asignacion instanceof MasIgual) {
+            return true;
+        }
+        if (asignacion instanceof MultiIgual) {
+            return false;
+        }
+        return ((ExpAritmetica) Buscar.getExpresion(asignacion.getDerecha())).getAritmetica() instanceof AritSuma;
+    }
+
+    /**
+     * Obtiene el literal del elemento neutro de una operacion para un tipo
+     *
+     * @param t Tipo
+     * @param suma Operacion suma o producto
+     * @return Literal
+     */
+    private String neutro(Tipo t, boolean suma) {
+        String n = suma ? "0" : "1";
+        if (t.isLong()) {
+            return n + "L";
+        } else if (t.isFloat()) {
+            return n + "f";
+        } else if (t.isDouble()) {
+            return n + ".0";
+        }
+        return n;
+    }
+
+    /**
+     * Obtiene el nombre de una expresion que es una variable escalar
+     *
+     * @param exp Expresion
+     * @return Nombre de la variable o null si no es una variable escalar
+     */
+    private String getNombre(Expresion exp) {
+        if (exp instanceof ExpVariable && Buscar.getContexto(((ExpVariable) exp).getVariable()) == '$') {
+            return ((ExpVariable) exp).getVariable().getVar().getValor();
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba que una variable se declara con my en el reducer y se inicializa con el elemento neutro
+     *
+     * @param s Bloque reducer
+     * @param var Nombre de la variable
+     * @param suma Operacion suma o producto
+     * @return Inicializada con el elemento neutro
+     */
+    private boolean isNeutro(Bloque s, String var, boolean suma) {
+        for (Sentencia stc : s.getCuerpo().getSentencias()) {
+            if (!(stc instanceof StcLista) || ((StcLista) stc).getLista().getExpresiones().size() != 1) {
+                continue;
+            }
+            Expresion exp = Buscar.getExpresion(((StcLista) stc).getLista().getExpresiones().get(0));
+            if (exp instanceof ExpVariable && ((ExpVariable) exp).getVariable() instanceof VarMy) {
+                if (var.equals(getNombre(exp))) {
+                    return suma;//undef se comporta como 0
+                }
+            } else if (exp instanceof ExpAsignacion && ((ExpAsignacion) exp).getAsignacion() instanceof Igual) {
+                Asignacion asignacion = ((ExpAsignacion) exp).getAsignacion();
+                Expresion izq = asignacion.getIzquierda();
+                if (izq instanceof ExpVariable && ((ExpVariable) izq).getVariable() instanceof VarMy && var.equals(getNombre(izq))) {
+                    Expresion der = Buscar.getExpresion(asignacion.getDerecha());
+                    if (!(der instanceof ExpNumero)) {
+                        return false;
+                    }
+                    try {
+                        double n = Double.parseDouble(((ExpNumero) der).getNumero().getNumero().getValor());
+                        return n == (suma ? 0 : 1);
+                    } catch (NumberFormatException ex) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return false;
     }
 
 }
@@ -2,6 +2,7 @@ package perldoop.generacion.cadenatexto;
 
 import java.util.Iterator;
 import java.util.List;
+import perldoop.generacion.util.Casting;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.Terminal;
 import perldoop.modelo.arbol.cadena.CadenaQ;
@@ -63,17 +64,12 @@ public class GenCadenaTexto {
             boolean regex = s.getPadre() instanceof CadenaQR || s.getPadre() instanceof Regulares || isSplit(s);
             boolean literal = s.getPadre() instanceof CadenaQ || s.getPadre() instanceof CadenaSimple;
             Iterator<Simbolo> it = s.getElementos().iterator();
-            Simbolo inicial = s.getElementos().get(0);
-            //Asegurarse de que el operador + sea el de concatenar
-            if (!(inicial instanceof Terminal) && !inicial.getTipo().isString()) {
-                codigo.append("\"\"+");
-            }
             while (it.hasNext()) {
                 Simbolo actual = it.next();
                 if (actual instanceof Terminal) {
                     codigo.append('"').append(analizar((Terminal) actual, regex, literal)).append('"');
                 } else {
-                    codigo.append(actual);
+                    codigo.append(interpolar(actual));
                 }
                 if (it.hasNext()) {
                     codigo.append("+");
@@ -83,6 +79,22 @@ public class GenCadenaTexto {
         s.setCodigoGenerado(codigo);
     }
 
+    /**
+     * Genera una variable interpolada, los numeros se escriben igual que en print y los arrays se unen con espacios
+     *
+     * @param s Simbolo
+     * @return Codigo de tipo String
+     */
+    private StringBuilder interpolar(Simbolo s) {
+        StringBuilder codigo = new StringBuilder(100);
+        if (s.getTipo().isArray()) {
+            return codigo.append("Perl.join(\" \",Pd.tList(").append(s).append("))");
+        } else if (s.getTipo().isList()) {
+            return codigo.append("Perl.join(\" \",").append(s).append(")");
+        }
+        return Casting.toString(s);
+    }
+
     /**
      * Analiza una cadena para adaptar los caracteres escapados a java
      *
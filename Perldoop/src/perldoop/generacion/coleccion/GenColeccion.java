@@ -102,6 +102,21 @@ public class GenColeccion {
         //Expresiones consecutivas
         List<Simbolo> consecutivas = new ArrayList<>(expresiones.size());
         List<String> conComentarios = new ArrayList<>(expresiones.size());
+        //Numero de partes, las expresiones consecutivas forman una sola
+        int partes = 0;
+        boolean previa = false;
+        for (Simbolo exp : expresiones) {
+            boolean iscoleccion = exp.getTipo().isColeccion();
+            if (iscoleccion || !previa) {
+                partes++;
+            }
+            previa = !iscoleccion;
+        }
+        //Si hay que concatenar, las expresiones de una lista se agrupan en un array para no crear listas intermedias
+        Tipo tExps = t;
+        if (partes > 1 && t.isList()) {
+            tExps = t.getSubtipo(1).add(0, Tipo.ARRAY);
+        }
         Iterator<? extends Simbolo> it = expresiones.iterator();
         Iterator<Terminal> itSep = seps.iterator();
         //Convertimos todas las expresiones en colecciones
@@ -116,7 +131,7 @@ public class GenColeccion {
             }
             if (!consecutivas.isEmpty() && (!it.hasNext() || exp.getTipo().isColeccion())) {
                 if (t.isArrayOrList()) {
-                    colecciones.add(genArrayListExps(t, consecutivas, conComentarios));
+                    colecciones.add(genArrayListExps(tExps, consecutivas, conComentarios));
                 } else {
                     colecciones.add(genMapExps(t, consecutivas, conComentarios));
                 }
@@ -136,27 +151,26 @@ public class GenColeccion {
                 conComentarios.add(itSep.next().getComentario());
             }
         }
-        //Unimos todas las colecciones en una
+        //Unimos todas las colecciones en una reservada con su tamaño final
         if (colecciones.size() == 1) {
             return Casting.casting(colecciones.get(0), t);
         } else {
             StringBuilder codigo = new StringBuilder(500);
             it = colecciones.iterator();
             Iterator<String> itC = comentarios.iterator();
-            codigo.append("Pd.union()");
+            codigo.append("Pd.concat(");
+            if (t.isArray()) {
+                codigo.append(Tipos.constructor(t));
+            } else {
+                codigo.append(Tipos.inicializacion(t));
+            }
             while (it.hasNext()) {
-                codigo.append(".append(").append(it.next()).append(")");
+                codigo.append(", ").append(it.next());
                 if (itC.hasNext()) {
                     codigo.append(itC.next());
                 }
             }
-            if (t.isArray()) {
-                codigo.append(".toArray(").append(Tipos.declaracion(t)).append(".class)");
-            } else if (t.isList()) {
-                codigo.append(".toList()");
-            } else {
-                codigo.append(".toMap()");
-            }
+            codigo.append(")");
             return codigo;
         }
     }
@@ -4,8 +4,11 @@ import perldoop.generacion.util.Casting;
 import perldoop.modelo.arbol.flujo.Last;
 import perldoop.modelo.arbol.flujo.Next;
 import perldoop.modelo.arbol.flujo.Return;
+import perldoop.modelo.arbol.funciondef.FuncionDef;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.modelo.semantica.EntradaFuncion;
 import perldoop.modelo.semantica.Tipo;
+import perldoop.util.Buscar;
 
 /**
  * Clase generadora de flujo
@@ -40,7 +43,13 @@ public class GenFlujo {
     public void visitar(Return s) {
         StringBuilder codigo = new StringBuilder(100);
         codigo.append(s.getId()).append(" ");
-        if (s.getExpresion() != null) {
+        FuncionDef def = Buscar.buscarPadre(s, FuncionDef.class);
+        EntradaFuncion funcion = tabla.getTablaSimbolos().buscarFuncion(def.getFuncionSub().getId().getValor());
+        if (funcion.isTipada()) {
+            if (s.getExpresion() != null) {
+                codigo.append(Casting.casting(s.getExpresion(), funcion.getRetorno()));
+            }
+        } else if (s.getExpresion() != null) {
             if(s.getExpresion().getTipo().isColeccion()){
                 codigo.append(Casting.casting(s.getExpresion(), new Tipo(Tipo.ARRAY,Tipo.BOX)));
             }else{
@@ -1,13 +1,18 @@
 package perldoop.generacion.funcion;
 
 import perldoop.generacion.funcion.nativa.*;
+import java.util.List;
+import perldoop.generacion.util.Casting;
+import perldoop.generacion.util.Tipos;
 import perldoop.modelo.arbol.expresion.ExpFuncion;
+import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.*;
 import perldoop.modelo.arbol.paquete.Paquetes;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.preprocesador.hadoop.TagsHadoopApi;
 import perldoop.modelo.semantica.EntradaFuncion;
 import perldoop.modelo.semantica.EntradaFuncionNoDeclarada;
+import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
 
 /**
@@ -43,7 +48,17 @@ public final class GenFuncion {
         }
         codigo.append(getFuncion(s.getIdentificador().getValor(), s.getPaquetes()));
         codigo.append(s.getIdentificador().getComentario());
-        codigo.append("(").append(s.getColeccion()).append(")");
+        EntradaFuncion funcion;
+        if (s.getPaquetes().isVacio()) {
+            funcion = tabla.getTablaSimbolos().buscarFuncion(s.getIdentificador().getValor());
+        } else {
+            funcion = tabla.getTablaSimbolos().getImports().get(s.getPaquetes().getClaseJava()).getFunciones().get(s.getIdentificador().getValor());
+        }
+        if (funcion != null && funcion.isTipada()) {
+            codigo.append("(").append(getArgumentos(s, funcion)).append(")");
+        } else {
+            codigo.append("(").append(s.getColeccion()).append(")");
+        }
         s.setCodigoGenerado(codigo);
     }
 
@@ -78,6 +93,31 @@ public final class GenFuncion {
         }
     }
 
+    /**
+     * Obtiene los argumentos de una llamada a una funcion tipada convertidos a los tipos de sus parametros
+     *
+     * @param f Funcion
+     * @param funcion Entrada de la funcion
+     * @return Codigo argumentos
+     */
+    private StringBuilder getArgumentos(Funcion f, EntradaFuncion funcion) {
+        StringBuilder codigo = new StringBuilder(100);
+        List<Expresion> args = Buscar.getExpresiones(f.getColeccion());
+        for (int i = 0; i < args.size(); i++) {
+            Tipo t = funcion.getParametros().get(i);
+            StringBuilder arg = Casting.casting(args.get(i), t);
+            if (i > 0) {
+                codigo.append(",");
+            }
+            //Un null sin tipo es ambiguo con el puente Box[]
+            if (arg.toString().equals("null")) {
+                codigo.append("(").append(Tipos.declaracion(t)).append(")");
+            }
+            codigo.append(arg);
+        }
+        return codigo;
+    }
+
     /**
      * Obtiene el paquete
      *
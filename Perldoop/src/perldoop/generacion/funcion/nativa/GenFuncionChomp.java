@@ -8,6 +8,7 @@ import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.FuncionBasica;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.semantica.Tipo;
+import perldoop.util.Buscar;
 
 /**
  * Generador de la funcion chomp
@@ -22,6 +23,11 @@ public class GenFuncionChomp extends GenFuncionNativa {
 
     @Override
     public void visitar(FuncionBasica f) {
+        //El chomp ya se aplico al leer la linea
+        if (Buscar.getLectura(f) != null) {
+            f.setCodigoGenerado(new StringBuilder(0));
+            return;
+        }
         StringBuilder codigo = new StringBuilder(100);
         String aux;
         codigo.append("Perl.").append(f.getIdentificador()).append("(");
@@ -1,6 +1,5 @@
 package perldoop.generacion.funcion.nativa;
 
-import java.util.Arrays;
 import perldoop.generacion.util.ColIterator;
 import perldoop.generacion.util.Hadoop;
 import perldoop.modelo.arbol.bloque.Bloque;
@@ -9,7 +8,6 @@ import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.preprocesador.hadoop.TagsHadoopApi;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
-import perldoop.util.ParserEtiquetas;
 
 /**
  * Generador de la funcion print para bloques Mapper o Reduccer
@@ -27,10 +25,10 @@ public class GenFuncionEspPrint extends GenFuncionNativa {
         StringBuilder codigo = new StringBuilder(100);
         Bloque b = Buscar.getSpecial(f, TagsHadoopApi.class);
         TagsHadoopApi tags = (TagsHadoopApi) b.getLlaveI().getEtiquetas();
-        Tipo tKey = tags.getKeyOut() == null ? new Tipo(Tipo.STRING) : ParserEtiquetas.parseTipo(Arrays.asList(tags.getKeyOut()));
-        Tipo tValue = tags.getValueOut() == null ? new Tipo(Tipo.STRING) : ParserEtiquetas.parseTipo(Arrays.asList(tags.getValueOut()));
+        Tipo tKey = Hadoop.tipo(tags.getKeyOut());
+        Tipo tValue = Hadoop.tipo(tags.getValueOut());
         codigo.append(f.getIdentificador().getComentario());
-        codigo.append("pd_context.write(");
+        codigo.append("pd_write(");
         ColIterator it = new ColIterator(f.getColeccion());
         codigo.append(it.getComentario());
         codigo.append(Hadoop.casting(it.next(), tKey));
@@ -44,7 +42,7 @@ public class GenFuncionEspPrint extends GenFuncionNativa {
             it.next();
             codigo.append(it.getComentario());
         }
-        codigo.append(")");
+        codigo.append(", pd_context)");
         f.setCodigoGenerado(codigo);
     }
 
@@ -1,13 +1,24 @@
 package perldoop.generacion.funcion.nativa;
 
+import java.util.List;
 import perldoop.generacion.sentencia.GenSentencia;
 import perldoop.generacion.util.Casting;
 import perldoop.generacion.util.ColIterator;
 import perldoop.generacion.util.Tipos;
+import perldoop.modelo.arbol.acceso.AccesoCol;
+import perldoop.modelo.arbol.coleccion.ColLlave;
+import perldoop.modelo.arbol.comparacion.CompNumCmp;
+import perldoop.modelo.arbol.comparacion.CompStrCmp;
+import perldoop.modelo.arbol.comparacion.Comparacion;
+import perldoop.modelo.arbol.expresion.ExpAcceso;
+import perldoop.modelo.arbol.expresion.ExpComparacion;
+import perldoop.modelo.arbol.expresion.ExpVariable;
 import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.Funcion;
 import perldoop.modelo.arbol.funcion.FuncionBasica;
 import perldoop.modelo.arbol.funcion.FuncionBloque;
+import perldoop.modelo.arbol.variable.VarExistente;
+import perldoop.modelo.arbol.variable.Variable;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
@@ -30,8 +41,19 @@ public class GenFuncionSort extends GenFuncionNativa {
      * @param comparator Comparador
      */
     private void genSort(Funcion f, StringBuilder comparator) {
+        genSort(f, f.getIdentificador().getValor(), comparator);
+    }
+
+    /**
+     * Genera la funcion sort
+     *
+     * @param f Funcion
+     * @param nombre Nombre de la funcion de ordenacion
+     * @param comparator Comparador
+     */
+    private void genSort(Funcion f, String nombre, StringBuilder comparator) {
         StringBuilder codigo = new StringBuilder(100);
-        codigo.append("Perl.").append(f.getIdentificador()).append("(");
+        codigo.append("Perl.").append(nombre).append("(");
         if (Buscar.getExpresiones(f.getColeccion()).size() > 1) {
             codigo.append(f.getColeccion());
             codigo.append(comparator);
@@ -64,20 +86,96 @@ public class GenFuncionSort extends GenFuncionNativa {
     public void visitar(FuncionBloque f) {
         StringBuilder comparador = new StringBuilder(100);
         comparador.append(",").append(f.getLlaveI().getComentario());
-        comparador.append("(a,b)->");  
         //Si hay declaraciones deben ser generadas dentro del bloque
         StringBuilder declaraciones = GenSentencia.genDeclaraciones(f.getExpresion(), tabla);
-        if(declaraciones.length()==0){
-            comparador.append(Casting.toInteger(f.getExpresion()));
-        }else{
-            comparador.append("{").append(declaraciones);
-            comparador.append("return ").append(Casting.toInteger(f.getExpresion())).append(";}");
+        String nombre = null;
+        if (declaraciones.length() == 0) {
+            nombre = genClave(f, comparador);
+        }
+        if (nombre == null) {
+            nombre = f.getIdentificador().getValor();
+            comparador.append("(a,b)->");
+            if (declaraciones.length() == 0) {
+                comparador.append(Casting.toInteger(f.getExpresion()));
+            } else {
+                comparador.append("{").append(declaraciones);
+                comparador.append("return ").append(Casting.toInteger(f.getExpresion())).append(";}");
+            }
         }
         if (!f.getColeccion().getLista().getSeparadores().isEmpty()) {
             comparador.append(f.getColeccion().getLista().getSeparadores().get(0).getComentario());
         }
         comparador.append(f.getLlaveD().getComentario());
-        genSort(f, comparador);
+        genSort(f, nombre, comparador);
+    }
+
+    /**
+     * Reconoce los comparadores {$a &lt;=&gt; $b}, {$a cmp $b} y {$h{$a} &lt;=&gt; $h{$b}} con sus versiones
+     * descendentes. Los elementos se ordenan por su valor o por una clave que se calcula una sola vez por elemento.
+     *
+     * @param f Funcion
+     * @param comparador Codigo del comparador
+     * @return Nombre de la funcion de ordenacion o null si el comparador no es reconocido
+     */
+    private String genClave(FuncionBloque f, StringBuilder comparador) {
+        Expresion exp = Buscar.getExpresion(f.getExpresion());
+        if (!(exp instanceof ExpComparacion)) {
+            return null;
+        }
+        Comparacion comp = ((ExpComparacion) exp).getComparacion();
+        Tipo t;
+        if (comp instanceof CompNumCmp) {
+            t = new Tipo(Tipo.DOUBLE);
+        } else if (comp instanceof CompStrCmp) {
+            t = new Tipo(Tipo.STRING);
+        } else {
+            return null;
+        }
+        String izq = getClave(comp.getIzquierda());
+        String der = getClave(comp.getDerecha());
+        if (izq == null || der == null || izq.charAt(0) == der.charAt(0) || !izq.substring(1).equals(der.substring(1))) {
+            return null;
+        }
+        String desc = izq.charAt(0) == 'a' ? "false" : "true";
+        Tipo elemento = f.getTipo().getSubtipo(1);
+        if (izq.length() == 1 && (t.isString() ? elemento.isString() : elemento.isNumberType())) {
+            comparador.append(desc);
+        } else {
+            boolean notNull = !tabla.getOpciones().isOptNulos();
+            comparador.append(izq.charAt(0)).append("->");
+            comparador.append(Casting.casting(comp.getIzquierda(), t, notNull));
+            comparador.append(",").append(desc);
+        }
+        return t.isString() ? "sortStr" : "sortNum";
+    }
+
+    /**
+     * Obtiene la clave de un operando del comparador
+     *
+     * @param exp Operando
+     * @return Variable sort seguida del hash si el operando es $a o $h{$a}, null en otro caso
+     */
+    private String getClave(Expresion exp) {
+        exp = Buscar.getExpresion(exp);
+        String hash = "";
+        if (exp instanceof ExpAcceso && ((ExpAcceso) exp).getAcceso() instanceof AccesoCol) {
+            AccesoCol acceso = (AccesoCol) ((ExpAcceso) exp).getAcceso();
+            List<Expresion> indices = acceso.getColeccion().getLista().getExpresiones();
+            if (!(acceso.getColeccion() instanceof ColLlave) || indices.size() != 1
+                    || !(acceso.getExpresion() instanceof ExpVariable)) {
+                return null;
+            }
+            Variable var = ((ExpVariable) acceso.getExpresion()).getVariable();
+            if (!(var instanceof VarExistente) || Buscar.isVariableSort(var)) {
+                return null;
+            }
+            hash = var.getContexto().getValor() + var.getVar().getValor();
+            exp = Buscar.getExpresion(indices.get(0));
+        }
+        if (exp instanceof ExpVariable && Buscar.isVariableSort(((ExpVariable) exp).getVariable())) {
+            return ((ExpVariable) exp).getVariable().getVar().getValor() + hash;
+        }
+        return null;
     }
 
 }
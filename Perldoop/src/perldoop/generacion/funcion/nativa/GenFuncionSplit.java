@@ -1,14 +1,17 @@
 package perldoop.generacion.funcion.nativa;
 
+import java.util.List;
 import perldoop.generacion.util.Casting;
 import perldoop.generacion.util.ColIterator;
+import perldoop.modelo.arbol.bloque.BloqueForeachVar;
 import perldoop.modelo.arbol.cadena.CadenaQR;
+import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.FuncionBasica;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.util.Buscar;
 
 /**
- * Generador de la funcion chop
+ * Generador de la funcion split
  *
  * @author César Pomar
  */
@@ -18,6 +21,21 @@ public class GenFuncionSplit extends GenFuncionNativa {
         super(tabla);
     }
 
+    /**
+     * Comprueba si el split es la coleccion recorrida por un foreach, en ese caso no es necesario crear el array
+     *
+     * @param f Funcion
+     * @return Es recorrido por un foreach
+     */
+    private boolean isForeach(FuncionBasica f) {
+        BloqueForeachVar foreach = Buscar.buscarPadre(f, BloqueForeachVar.class);
+        if (foreach == null) {
+            return false;
+        }
+        List<Expresion> exps = Buscar.getExpresiones(foreach.getColeccion());
+        return exps.size() == 1 && Buscar.getExpresion(exps.get(0)).getValor() == f;
+    }
+
     @Override
     public void visitar(FuncionBasica f) {
         StringBuilder codigo = new StringBuilder(100);
@@ -26,6 +44,10 @@ public class GenFuncionSplit extends GenFuncionNativa {
         if (Buscar.getExpresiones(f.getColeccion()).get(0).getValor() instanceof CadenaQR) {
             codigo.append("2");
         }
+        //Version perezosa para recorrer en un foreach
+        if (isForeach(f)) {
+            codigo.append("Iter");
+        }
         codigo.append(f.getIdentificador().getComentario()).append("(");
         ColIterator it = new ColIterator(f.getColeccion());
         codigo.append(it.getComentario());
@@ -1,8 +1,13 @@
 package perldoop.generacion.funcion.nativa;
 
+import java.util.List;
 import perldoop.generacion.util.ColIterator;
+import perldoop.modelo.arbol.bloque.BloqueForeachVar;
+import perldoop.modelo.arbol.expresion.ExpVariable;
+import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.FuncionBasica;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.util.Buscar;
 
 /**
  * Generador de la funcion values
@@ -15,10 +20,38 @@ public class GenFuncionValues extends GenFuncionNativa {
         super(tabla);
     }
 
+    /**
+     * Comprueba si la funcion es la coleccion de un foreach que no modifica la estructura del hash
+     *
+     * @param f Funcion
+     * @return Se puede recorrer el hash sin copiarlo
+     */
+    private boolean isForeach(FuncionBasica f) {
+        BloqueForeachVar foreach = Buscar.buscarPadre(f, BloqueForeachVar.class);
+        if (foreach == null) {
+            return false;
+        }
+        List<Expresion> exps = Buscar.getExpresiones(foreach.getColeccion());
+        if (exps.size() != 1 || Buscar.getExpresion(exps.get(0)).getValor() != f) {
+            return false;
+        }
+        Expresion hash = Buscar.getExpresiones(f.getColeccion()).get(0);
+        if (!(hash instanceof ExpVariable)) {
+            return false;
+        }
+        String id = ((ExpVariable) hash).getVariable().getVar().getValor();
+        return !Buscar.isModificado(foreach, id, null);
+    }
+
     @Override
     public void visitar(FuncionBasica f) {
         StringBuilder codigo = new StringBuilder(100);
-        codigo.append("Perl.").append(f.getIdentificador()).append("(");
+        codigo.append("Perl.").append(f.getIdentificador());
+        //Vista sin copia para recorrer en un foreach
+        if (isForeach(f)) {
+            codigo.append("View");
+        }
+        codigo.append("(");
         ColIterator it = new ColIterator(f.getColeccion());
         codigo.append(it.getComentario()).append(it.next()).append(it.getComentario());
         codigo.append(")");
@@ -2,7 +2,9 @@ package perldoop.generacion.funciondef;
 
 import java.util.List;
 import java.util.ListIterator;
+import perldoop.generacion.util.Casting;
 import perldoop.modelo.arbol.Simbolo;
+import perldoop.modelo.arbol.SimboloAux;
 import perldoop.modelo.arbol.bloque.Bloque;
 import perldoop.modelo.arbol.bloque.BloqueDoUntil;
 import perldoop.modelo.arbol.bloque.BloqueDoWhile;
@@ -15,10 +17,17 @@ import perldoop.modelo.arbol.flujo.Return;
 import perldoop.modelo.arbol.funciondef.FuncionDef;
 import perldoop.modelo.arbol.modificador.ModNada;
 import perldoop.modelo.arbol.sentencia.Sentencia;
+import perldoop.modelo.arbol.sentencia.StcComentario;
 import perldoop.modelo.arbol.sentencia.StcFlujo;
+import perldoop.modelo.generacion.ClaseJava;
 import perldoop.modelo.generacion.TablaGenerador;
 import perldoop.modelo.preprocesador.storm.TagsStorm;
+import perldoop.modelo.semantica.EntradaFuncion;
+import perldoop.modelo.semantica.EntradaVariable;
+import perldoop.modelo.semantica.Tipo;
+import perldoop.generacion.util.Tipos;
 import perldoop.util.Buscar;
+import perldoop.util.ParserEtiquetas;
 import perldoop.util.Utiles;
 
 /**
@@ -28,6 +37,11 @@ import perldoop.util.Utiles;
  */
 public class GenFuncionDef {
 
+    /**
+     * Numero de tuplas por lote por defecto de los bolts que agrupan tuplas
+     */
+    private static final String STORM_BATCH = "100";
+
     private TablaGenerador tabla;
 
     /**
@@ -40,18 +54,82 @@ public class GenFuncionDef {
     }
 
     public void visitar(FuncionDef s) {
-        StringBuilder codigo = new StringBuilder(s.getCuerpo().getCodigoGenerado().length() + 50);
-        codigo.append(s.getFuncionSub().getCodigoGenerado());
-        codigo.append(s.getLlaveI().getCodigoGenerado());
-        codigo.append(s.getCuerpo().getCodigoGenerado());
-        codigo.append(genReturn(s));
-        codigo.append(s.getLlaveD());
-        s.setCodigoGenerado(codigo);
+        EntradaFuncion funcion = tabla.getTablaSimbolos().buscarFuncion(s.getFuncionSub().getId().getValor());
+        if (funcion.isTipada()) {
+            funcionTipada(s, funcion);
+        } else {
+            StringBuilder codigo = new StringBuilder(s.getCuerpo().getCodigoGenerado().length() + 50);
+            codigo.append(s.getFuncionSub().getCodigoGenerado());
+            codigo.append(s.getLlaveI().getCodigoGenerado());
+            codigo.append(s.getCuerpo().getCodigoGenerado());
+            codigo.append(genReturn(s));
+            codigo.append(s.getLlaveD());
+            s.setCodigoGenerado(codigo);
+        }
         if (s.getLlaveI().getEtiquetas() != null && s.getLlaveI().getEtiquetas() instanceof TagsStorm) {
             stormBolt(s);
         }
     }
 
+    /**
+     * Genera una funcion con firma como un metodo Java con sus tipos. Las sentencias que declaran los parametros se
+     * sustituyen por los parametros del metodo y se añade un puente con la firma Box[] para las llamadas dinamicas.
+     *
+     * @param f Funcion
+     * @param funcion Entrada de la funcion
+     */
+    private void funcionTipada(FuncionDef f, EntradaFuncion funcion) {
+        Tipo retorno = funcion.getRetorno();
+        List<EntradaVariable> argumentos = funcion.getArgumentos();
+        StringBuilder codigo = new StringBuilder(f.getCuerpo().getCodigoGenerado().length() + 50);
+        codigo.append("public static ").append(retorno == null ? "void" : Tipos.declaracion(retorno));
+        codigo.append(" ").append(funcion.getAlias()).append("(");
+        for (int i = 0; i < argumentos.size(); i++) {
+            EntradaVariable arg = argumentos.get(i);
+            if (i > 0) {
+                codigo.append(",");
+            }
+            codigo.append(Tipos.declaracion(arg.getTipo(), arg.isPrimitiva())).append(" ").append(arg.getAlias());
+        }
+        codigo.append(")");
+        codigo.append(f.getLlaveI().getCodigoGenerado());
+        boolean cabecera = true;
+        for (Sentencia stc : f.getCuerpo().getSentencias()) {
+            if (cabecera && Buscar.getParametros(stc) != null) {
+                continue;
+            }
+            cabecera &= stc instanceof StcComentario;
+            codigo.append(stc.getCodigoGenerado());
+        }
+        if (retorno != null && !genReturn(f).isEmpty()) {
+            codigo.append("return null;");
+        }
+        codigo.append(f.getLlaveD());
+        f.setCodigoGenerado(codigo);
+        //Puente para las llamadas sin firma
+        StringBuilder llamada = new StringBuilder(100);
+        llamada.append(funcion.getAlias()).append("(");
+        for (int i = 0; i < argumentos.size(); i++) {
+            if (i > 0) {
+                llamada.append(",");
+            }
+            llamada.append(Casting.casting(new SimboloAux(new Tipo(Tipo.BOX), new StringBuilder("__[" + i + "]")), funcion.getParametros().get(i)));
+        }
+        llamada.append(")");
+        StringBuilder puente = new StringBuilder(200);
+        puente.append("public static Box[] ").append(funcion.getAlias()).append("(Box[] __){");
+        if (retorno == null) {
+            puente.append(llamada).append(";");
+            puente.append("return new Box[0];");
+        } else if (retorno.isColeccion()) {
+            puente.append("return ").append(Casting.casting(new SimboloAux(retorno, llamada), new Tipo(Tipo.ARRAY, Tipo.BOX))).append(";");
+        } else {
+            puente.append("return new Box[]{").append(Casting.toBox(new SimboloAux(retorno, llamada))).append("};");
+        }
+        puente.append("}");
+        tabla.getClase().getFunciones().add(puente);
+    }
+
     /**
      * Comprueba que la funcion siempre genere un return
      *
@@ -96,7 +174,9 @@ public class GenFuncionDef {
     }
 
     /**
-     * Genera una clase bolt con la funcion si contiene las etiquetas de storm
+     * Genera una clase bolt con la funcion si contiene las etiquetas de storm. Si los campos tienen tipo se leen y
+     * emiten directamente con ese tipo, y si el bolt agrupa tuplas se genera un BaseRichBolt que procesa los lotes y
+     * confirma todas sus tuplas al final.
      *
      * @param f Funcion
      */
@@ -104,50 +184,220 @@ public class GenFuncionDef {
         TagsStorm ts = (TagsStorm) f.getLlaveI().getEtiquetas();
         String input = Utiles.substring(ts.getInput().getValor(), 2, -1);
         String output = Utiles.substring(ts.getOutput().getValor(), 2, -1);
-        String name = f.getFuncionSub().getId().getValor();
-        tabla.getClase().getImports().add("org.apache.storm.topology.base.BaseBasicBolt");
-        tabla.getClase().getImports().add("backtype.storm.topology.OutputFieldsDeclarer");
-        tabla.getClase().getImports().add("org.apache.storm.topology.BasicOutputCollector");
-        tabla.getClase().getImports().add("backtype.storm.tuple.Fields");
-        tabla.getClase().getImports().add("backtype.storm.tuple.Tuple");
-        tabla.getClase().getImports().add("backtype.storm.tuple.Values");
-        tabla.getClase().getImports().add("java.util.Map");
-        tabla.getClase().getImports().add("java.util.List");
-        tabla.getClase().getImports().add("org.apache.storm.task.TopologyContext");
-        tabla.getClase().setClasePadre("BaseBasicBolt");
+        ClaseJava clase = tabla.getClase();
+        clase.getImports().add("org.apache.storm.topology.OutputFieldsDeclarer");
+        clase.getImports().add("org.apache.storm.tuple.Fields");
+        clase.getImports().add("org.apache.storm.tuple.Tuple");
+        clase.getImports().add("org.apache.storm.tuple.Values");
+        clase.getImports().add("java.util.List");
+        clase.getAtributos().add("public static final String PD_INPUT = \"" + input + "\";");
+        clase.getAtributos().add("public static final String PD_OUTPUT = \"" + output + "\";");
+        //Los bolts de un worker son hilos que comparten la salida estandar
+        clase.getFunciones().add(new StringBuilder("static{PerlFile.setConcurrente(true);}"));
 
         StringBuilder metodo = new StringBuilder(100);
         metodo.append("@Override ");
-        metodo.append("public void prepare(Map stormConf, TopologyContext context){");
-        metodo.append("/*Empty, put your code here*/");
+        metodo.append("public void declareOutputFields(OutputFieldsDeclarer ofd) {");
+        metodo.append("ofd.declareStream(PD_OUTPUT, new Fields(PD_OUTPUT));");
         metodo.append("}");
-        tabla.getClase().getFunciones().add(metodo);
+        clase.getFunciones().add(metodo);
+
+        if (ts.getBatch() == null) {
+            clase.getImports().add("org.apache.storm.topology.base.BaseBasicBolt");
+            clase.getImports().add("org.apache.storm.topology.BasicOutputCollector");
+            clase.setClasePadre("BaseBasicBolt");
+            metodo = new StringBuilder(300);
+            metodo.append("@Override ");
+            metodo.append("public void execute(Tuple tuple, BasicOutputCollector boc) {");
+            metodo.append(stormTupla(f, "boc.emit(PD_OUTPUT, "));
+            metodo.append("}");
+            clase.getFunciones().add(metodo);
+            return;
+        }
+        //Micro lotes
+        String size = ts.getBatchSize() == null ? STORM_BATCH : Utiles.substring(ts.getBatchSize().getValor(), 1, -1);
+        clase.getImports().add("org.apache.storm.Config");
+        clase.getImports().add("org.apache.storm.task.OutputCollector");
+        clase.getImports().add("org.apache.storm.task.TopologyContext");
+        clase.getImports().add("org.apache.storm.topology.base.BaseRichBolt");
+        clase.getImports().add("org.apache.storm.utils.TupleUtils");
+        clase.getImports().add("java.util.ArrayList");
+        clase.getImports().add("java.util.Map");
+        clase.setClasePadre("BaseRichBolt");
+        clase.getAtributos().add("private OutputCollector pd_collector;");
+        clase.getAtributos().add("private final List<Tuple> pd_batch = new ArrayList<>(" + size + ");");
 
-        metodo = new StringBuilder(100);
+        metodo = new StringBuilder(200);
         metodo.append("@Override ");
-        metodo.append("public void cleanup(){");
-        metodo.append("/*Empty, put your code here*/");
+        metodo.append("public void prepare(Map stormConf, TopologyContext context, OutputCollector collector) {");
+        metodo.append("pd_collector = collector;");
         metodo.append("}");
-        tabla.getClase().getFunciones().add(metodo);
+        clase.getFunciones().add(metodo);
 
-        metodo = new StringBuilder(100);
+        //Los ticks vacian los lotes incompletos
+        metodo = new StringBuilder(200);
         metodo.append("@Override ");
-        metodo.append("public void declareOutputFields(OutputFieldsDeclarer ofd) {");
-        metodo.append("ofd.declareStream(").append('"').append(output).append('"').append(',');
-        metodo.append("new Fields(").append('"').append(output).append('"').append("));");
+        metodo.append("public Map<String, Object> getComponentConfiguration() {");
+        metodo.append("Config conf = new Config();");
+        metodo.append("conf.put(Config.TOPOLOGY_TICK_TUPLE_FREQ_SECS, 1);");
+        metodo.append("return conf;");
         metodo.append("}");
-        tabla.getClase().getFunciones().add(metodo);
+        clase.getFunciones().add(metodo);
 
-        metodo = new StringBuilder(100);
+        metodo = new StringBuilder(300);
         metodo.append("@Override ");
-        metodo.append("public void execute(Tuple tuple, BasicOutputCollector boc) {");
-        metodo.append("List<String> input=(List)tuple.getValueByField(").append('"').append(input).append('"').append(");");
-        metodo.append("input = new PerlList<>(input);");
-        metodo.append("List<String> output=(List)");
-        metodo.append(name).append("(new Box[]{Casting.box(new Ref(input))})[0].refValue().get();");
-        metodo.append("boc.emit(").append('"').append(output).append('"').append(", new Values(output));");
+        metodo.append("public void execute(Tuple tuple) {");
+        metodo.append("if(TupleUtils.isTick(tuple)){");
+        metodo.append("pd_flush();");
+        metodo.append("return;");
+        metodo.append("}");
+        metodo.append("pd_batch.add(tuple);");
+        metodo.append("if(pd_batch.size() >= ").append(size).append("){");
+        metodo.append("pd_flush();");
+        metodo.append("}");
+        metodo.append("}");
+        clase.getFunciones().add(metodo);
+
+        metodo = new StringBuilder(500);
+        metodo.append("private void pd_flush() {");
+        metodo.append("try{");
+        metodo.append("for(Tuple tuple : pd_batch){");
+        metodo.append(stormTupla(f, "pd_collector.emit(PD_OUTPUT, tuple, "));
+        metodo.append("}");
+        metodo.append("for(Tuple tuple : pd_batch){");
+        metodo.append("pd_collector.ack(tuple);");
+        metodo.append("}");
+        metodo.append("}catch(RuntimeException e){");
+        metodo.append("for(Tuple tuple : pd_batch){");
+        metodo.append("pd_collector.fail(tuple);");
         metodo.append("}");
-        tabla.getClase().getFunciones().add(metodo);
+        metodo.append("pd_collector.reportError(e);");
+        metodo.append("}finally{");
+        metodo.append("pd_batch.clear();");
+        metodo.append("}");
+        metodo.append("}");
+        clase.getFunciones().add(metodo);
+    }
+
+    /**
+     * Genera el procesado de una tupla, sin tipos la entrada y la salida son listas de cadenas pasadas por referencia.
+     * La entrada se lee por el nombre del campo y las funciones tipadas se llaman con su firma.
+     *
+     * @param f Funcion
+     * @param emision Inicio de la emision de la salida
+     * @return Codigo
+     */
+    private StringBuilder stormTupla(FuncionDef f, String emision) {
+        TagsStorm ts = (TagsStorm) f.getLlaveI().getEtiquetas();
+        EntradaFuncion funcion = tabla.getTablaSimbolos().buscarFuncion(f.getFuncionSub().getId().getValor());
+        StringBuilder codigo = new StringBuilder(300);
+        Tipo in = ts.getInputTipo() == null ? null : ParserEtiquetas.parseTipo(ts.getInputTipo());
+        Tipo out = ts.getOutputTipo() == null ? null : ParserEtiquetas.parseTipo(ts.getOutputTipo());
+        //Entrada
+        Tipo tInput;
+        if (in == null) {
+            tInput = new Tipo(Tipo.LIST, Tipo.STRING);
+            codigo.append("Object pd_input=tuple.getValueByField(PD_INPUT);");
+            codigo.append("PerlList<String> input;");
+            codigo.append("if(pd_input instanceof PerlList){");
+            codigo.append("input=(PerlList<String>)pd_input;");
+            codigo.append("}else if(pd_input instanceof List){");
+            codigo.append("input=new PerlList<>((List<String>)pd_input);");
+            codigo.append("}else{");
+            codigo.append("input=new PerlList<>(String.valueOf(pd_input));");
+            codigo.append("}");
+        } else {
+            tInput = in;
+            codigo.append(Tipos.declaracion(in)).append(" input=");
+            if (in.isSimple() && !in.isBox() && !in.isNumber() && !in.isFile()) {
+                codigo.append("tuple.get").append(getter(in)).append("ByField(PD_INPUT);");
+            } else {
+                codigo.append("(").append(Tipos.declaracion(in)).append(")tuple.getValueByField(PD_INPUT);");
+            }
+        }
+        SimboloAux input;
+        if (tInput.isColeccion()) {
+            input = new SimboloAux(new Tipo(tInput).add(0, Tipo.REF), new StringBuilder("new Ref<>(input)"));
+        } else {
+            input = new SimboloAux(tInput, new StringBuilder("input"));
+        }
+        if (funcion.isTipada()) {
+            stormTipada(funcion, input, out, emision, codigo);
+            return codigo;
+        }
+        codigo.append("Box[] pd_result=").append(funcion.getAlias()).append("(new Box[]{").append(Casting.toBox(input)).append("});");
+        //Salida
+        codigo.append("if(pd_result.length > 0){");
+        codigo.append(emision).append("new Values(");
+        if (out == null) {
+            codigo.append("(List)pd_result[0].refValue().get()");
+        } else if (out.isRef()) {
+            codigo.append("pd_result[0].refValue()");
+        } else if (out.isColeccion()) {
+            codigo.append("(").append(Tipos.declaracion(out)).append(")pd_result[0].refValue().get()");
+        } else {
+            codigo.append("Casting.to").append(getter(out)).append("(pd_result[0])");
+        }
+        codigo.append("));");
+        codigo.append("}");
+        return codigo;
+    }
+
+    /**
+     * Genera la llamada de un bolt a una funcion tipada y la emision de su retorno
+     *
+     * @param funcion Entrada de la funcion
+     * @param input Entrada de la tupla
+     * @param out Tipo de la salida o null si no tiene tipo
+     * @param emision Inicio de la emision de la salida
+     * @param codigo Codigo
+     */
+    private void stormTipada(EntradaFuncion funcion, SimboloAux input, Tipo out, String emision, StringBuilder codigo) {
+        StringBuilder llamada = new StringBuilder(100);
+        llamada.append(funcion.getAlias()).append("(").append(Casting.casting(input, funcion.getParametros().get(0))).append(")");
+        Tipo retorno = funcion.getRetorno();
+        if (retorno == null) {
+            codigo.append(llamada).append(";");
+            return;
+        }
+        codigo.append(Tipos.declaracion(retorno)).append(" pd_result=").append(llamada).append(";");
+        SimboloAux result = new SimboloAux(retorno, new StringBuilder("pd_result"));
+        codigo.append("if(pd_result != null){");
+        codigo.append(emision).append("new Values(");
+        if (out == null) {
+            codigo.append("(").append(Casting.casting(result, new Tipo(Tipo.REF, Tipo.LIST, Tipo.STRING))).append(").get()");
+        } else if (out.isColeccion()) {
+            codigo.append("(").append(Casting.casting(result, new Tipo(out).add(0, Tipo.REF))).append(").get()");
+        } else {
+            codigo.append(Casting.casting(result, out));
+        }
+        codigo.append("));");
+        codigo.append("}");
+    }
+
+    /**
+     * Obtiene el sufijo de las funciones de acceso a un tipo simple
+     *
+     * @param t Tipo
+     * @return Sufijo
+     */
+    private String getter(Tipo t) {
+        switch (t.getTipo(0)) {
+            case Tipo.BOOLEAN:
+                return "Boolean";
+            case Tipo.INTEGER:
+                return "Integer";
+            case Tipo.LONG:
+                return "Long";
+            case Tipo.FLOAT:
+                return "Float";
+            case Tipo.DOUBLE:
+                return "Double";
+            case Tipo.NUMBER:
+                return "Number";
+            default:
+                return "String";
+        }
     }
 
 }
@@ -3,6 +3,7 @@ package perldoop.generacion.lectura;
 import perldoop.modelo.arbol.lectura.LecturaFile;
 import perldoop.modelo.arbol.lectura.LecturaIn;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.util.Buscar;
 
 /**
  * Clase generadora de lectura
@@ -25,7 +26,9 @@ public class GenLectura {
     public void visitar(LecturaIn s) {
         StringBuilder codigo = new StringBuilder(100);
         codigo.append(s.getMenor().getComentario());
-        if (s.getTipo().isString()) {
+        if (Buscar.getChomp(s) != null) {
+            codigo.append("Pd.readChomped()");
+        } else if (s.getTipo().isString()) {
             codigo.append("Pd.read()");
         } else {
             codigo.append("Pd.readLines()");
@@ -36,7 +39,9 @@ public class GenLectura {
 
     public void visitar(LecturaFile s) {
         StringBuilder codigo = new StringBuilder(100);
-        if (s.getTipo().isString()) {
+        if (Buscar.getChomp(s) != null) {
+            codigo.append("Pd.readChomped(");
+        } else if (s.getTipo().isString()) {
             codigo.append("Pd.read(");
         } else {
             codigo.append("Pd.readLines(");
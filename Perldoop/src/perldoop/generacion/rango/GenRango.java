@@ -1,7 +1,9 @@
 package perldoop.generacion.rango;
 
+import perldoop.generacion.util.Casting;
 import perldoop.modelo.arbol.rango.Rango;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.modelo.semantica.Tipo;
 
 /**
  * Clase generadora de rango
@@ -21,9 +23,26 @@ public class GenRango {
         this.tabla = tabla;
     }
 
-    public void visitar(Rango s) {
-        throw new UnsupportedOperationException(s.getDosPuntos().getValor()+" Not supported yet."); 
+    /**
+     * Genera los limites del rango separados por coma
+     *
+     * @param s Rango
+     * @return Codigo
+     */
+    public static StringBuilder genLimites(Rango s) {
+        Tipo entero = new Tipo(Tipo.INTEGER);
+        StringBuilder codigo = new StringBuilder(100);
+        codigo.append(Casting.castingNotNull(s.getIzquierda(), entero));
+        codigo.append(",").append(s.getDosPuntos().getComentario());
+        codigo.append(Casting.castingNotNull(s.getDerecha(), entero));
+        return codigo;
     }
 
+    public void visitar(Rango s) {
+        if (!s.getTipo().getSubtipo(1).isInteger()) {
+            throw new UnsupportedOperationException(s.getDosPuntos().getValor() + " Not supported yet.");
+        }
+        s.setCodigoGenerado(genLimites(s).insert(0, "Pd.range(").append(")"));
+    }
 
 }
@@ -1,5 +1,6 @@
 package perldoop.generacion.regulares;
 
+import java.util.regex.Pattern;
 import perldoop.generacion.acceso.GenAcceso;
 import perldoop.generacion.util.Casting;
 import perldoop.modelo.arbol.Simbolo;
@@ -11,6 +12,7 @@ import perldoop.modelo.arbol.regulares.RegularSubs;
 import perldoop.modelo.arbol.regulares.RegularTrans;
 import perldoop.modelo.arbol.regulares.Regulares;
 import perldoop.modelo.generacion.TablaGenerador;
+import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
 
 /**
@@ -20,6 +22,11 @@ import perldoop.util.Buscar;
  */
 public class GenRegulares {
 
+    /**
+     * Cadena literal de java sin concatenaciones
+     */
+    private static final Pattern LITERAL = Pattern.compile("\"([^\"\\\\]|\\\\.)*\"");
+
     private TablaGenerador tabla;
 
     /**
@@ -48,6 +55,78 @@ public class GenRegulares {
         return codigo;
     }
 
+    /**
+     * Comprueba si el codigo de un patron o remplazo es una cadena literal
+     *
+     * @param codigo Codigo
+     * @return Es literal
+     */
+    private boolean isLiteral(StringBuilder codigo) {
+        return LITERAL.matcher(codigo).matches();
+    }
+
+    /**
+     * Obtiene una constante de la clase, si ya existe otra con el mismo valor se reutiliza
+     *
+     * @param tipo Tipo de la constante
+     * @param valor Valor
+     * @param id Prefijo del nombre
+     * @return Nombre de la constante
+     */
+    private String getConstante(String tipo, StringBuilder valor, String id) {
+        String dec = "private static final " + tipo + " ";
+        String ini = " = " + valor + ";";
+        for (String atributo : tabla.getClase().getAtributos()) {
+            if (atributo.startsWith(dec) && atributo.endsWith(ini)) {
+                return atributo.substring(dec.length(), atributo.length() - ini.length());
+            }
+        }
+        String nombre = tabla.getGestorReservas().getAux(id);
+        tabla.getClase().getAtributos().add(dec + nombre + ini);
+        return nombre;
+    }
+
+    /**
+     * Genera la expresion regular con sus modificadores, si el patron es literal se precompila en una constante de la
+     * clase
+     *
+     * @param s Simbolo regular
+     * @return Codigo de la expresion regular
+     */
+    private StringBuilder genPatron(Regulares s) {
+        StringBuilder codigo = new StringBuilder(100);
+        if (!isLiteral(s.getPatron().getCodigoGenerado())) {
+            codigo.append(s.getPatron()).append(",");
+            codigo.append(genMods(s));
+            return codigo;
+        }
+        codigo.append(getPattern(s)).append(",");
+        if (s.getModificadores() == null) {
+            codigo.append(false);
+        } else {
+            codigo.append(s.getModificadores().getValor().contains("g"));
+            codigo.append(s.getModificadores().getComentario());
+        }
+        return codigo;
+    }
+
+    /**
+     * Obtiene la constante con la expresion regular literal precompilada
+     *
+     * @param s Simbolo regular
+     * @return Nombre de la constante
+     */
+    private String getPattern(Regulares s) {
+        StringBuilder valor = new StringBuilder(100);
+        valor.append("Regex.pattern(").append(s.getPatron()).append(",\"");
+        if (s.getModificadores() != null) {
+            valor.append(s.getModificadores().getValor().replaceAll("[og]", ""));
+        }
+        valor.append("\")");
+        tabla.getClase().getImports().add("jregex.Pattern");
+        return getConstante("Pattern", valor, "regex");
+    }
+
     public void visitar(RegularMatch s) {
         StringBuilder codigo = new StringBuilder(100);
         if (s.getTipo().isArray()) {
@@ -56,8 +135,7 @@ public class GenRegulares {
             codigo.append("Regex.match(");
         }
         codigo.append(Casting.toString(s.getExpresion())).append(",");
-        codigo.append(s.getPatron()).append(",");
-        codigo.append(genMods(s));
+        codigo.append(genPatron(s));
         codigo.append(")");
         s.setCodigoGenerado(codigo);
     }
@@ -66,8 +144,7 @@ public class GenRegulares {
         StringBuilder codigo = new StringBuilder(100);
         codigo.append("!Regex.match(");
         codigo.append(Casting.toString(s.getExpresion())).append(",");
-        codigo.append(s.getPatron()).append(",");
-        codigo.append(genMods(s));
+        codigo.append(genPatron(s));
         codigo.append(")");
         s.setCodigoGenerado(codigo);
     }
@@ -84,9 +161,23 @@ public class GenRegulares {
         StringBuilder regex = new StringBuilder(100);
         regex.append("Regex.substitution(");
         regex.append(Casting.toString(lectura)).append(",");
-        regex.append(s.getPatron()).append(",");
-        regex.append(s.getRemplazo()).append(",");
-        regex.append(genMods(s));
+        if (isLiteral(s.getPatron().getCodigoGenerado()) && isLiteral(s.getRemplazo().getCodigoGenerado())) {
+            StringBuilder remplazo = new StringBuilder(100);
+            remplazo.append("Regex.replacement(").append(s.getRemplazo()).append(")");
+            tabla.getClase().getImports().add("jregex.PerlSubstitution");
+            regex.append(getPattern(s)).append(",");
+            regex.append(getConstante("PerlSubstitution", remplazo, "subst")).append(",");
+            if (s.getModificadores() == null) {
+                regex.append(false);
+            } else {
+                regex.append(s.getModificadores().getValor().contains("g"));
+                regex.append(s.getModificadores().getComentario());
+            }
+        } else {
+            regex.append(s.getPatron()).append(",");
+            regex.append(s.getRemplazo()).append(",");
+            regex.append(genMods(s));
+        }
         regex.append(")");
         //Actualizacion de variable
         regex = Casting.casting(new SimboloAux(s.getTipo(), regex), escritura.getTipo());
@@ -100,31 +191,49 @@ public class GenRegulares {
 
     public void visitar(RegularTrans s) {
         StringBuilder codigo = new StringBuilder(100);
+        //Tabla de translacion
+        StringBuilder trans = new StringBuilder(100);
+        trans.append("Regex.translation(");
+        trans.append(s.getPatron()).append(",");
+        trans.append(s.getRemplazo()).append(",");
+        if (s.getModificadores() == null) {
+            trans.append("\"\"");
+        } else {
+            trans.append('"').append(s.getModificadores().getValor()).append('"');
+            trans.append(s.getModificadores().getComentario());
+        }
+        trans.append(")");
+        if (isLiteral(s.getPatron().getCodigoGenerado()) && isLiteral(s.getRemplazo().getCodigoGenerado())) {
+            tabla.getClase().getImports().add("perldoop.lib.util.Translation");
+            trans = new StringBuilder(getConstante("Translation", trans, "tr"));
+        }
+        if (Buscar.isContador(s)) {
+            codigo.append(trans).append(".count(").append(Casting.toString(s.getExpresion())).append(")");
+            s.setCodigoGenerado(codigo);
+            return;
+        }
         //Generar codigo lectura escritura
         Simbolo lectura = new SimboloAux(s.getExpresion());
         Simbolo escritura = new SimboloAux(s.getExpresion());
         if (Buscar.getExpresion(s.getExpresion()) instanceof ExpAcceso) {
             GenAcceso.getReplica((ExpAcceso) s.getExpresion(), lectura, escritura, tabla);
         }
-        //Expresion regular
         StringBuilder regex = new StringBuilder(100);
-        regex.append("Regex.translation(");
-        regex.append(Casting.toString(s.getExpresion())).append(",");
-        regex.append(s.getPatron()).append(",");
-        regex.append(s.getRemplazo()).append(",");
-        if (s.getModificadores() == null) {
-            regex.append("\"\"");
-        } else {
-            regex.append(s.getModificadores());
-        }
-        regex.append(")");
+        regex.append(trans).append(".translate(").append(Casting.toString(lectura)).append(")");
         //Actualizacion de variable
-        regex = Casting.casting(new SimboloAux(s.getTipo(), regex), escritura.getTipo());
+        regex = Casting.casting(new SimboloAux(new Tipo(Tipo.STRING), regex), escritura.getTipo());
         if (Buscar.isArrayOrVar(s.getExpresion())) {
             codigo.append(escritura).append("=").append(regex);
         } else {
             codigo.append(escritura).append(regex).append(")");
         }
+        //Como valor se retornan los caracteres contados por la propia translacion
+        if (!Buscar.isValorDescartado(s)) {
+            tabla.getClase().getImports().add("perldoop.lib.util.Translation");
+            StringBuilder contador = new StringBuilder(codigo.length() + 30);
+            contador.append("Translation.counted(");
+            codigo = contador.append(codigo).append(")");
+        }
         s.setCodigoGenerado(codigo);
     }
 
@@ -8,6 +8,7 @@ import perldoop.modelo.arbol.expresion.ExpColeccion;
 import perldoop.modelo.arbol.expresion.ExpFuncion;
 import perldoop.modelo.arbol.expresion.ExpFuncion5;
 import perldoop.modelo.arbol.expresion.Expresion;
+import perldoop.modelo.arbol.funcion.Funcion;
 import perldoop.modelo.arbol.lectura.Lectura;
 import perldoop.modelo.arbol.regulares.RegularMatch;
 import perldoop.modelo.semantica.Tipo;
@@ -43,8 +44,21 @@ public final class Casting {
                     if (contexto == '$') {
                         Expresion expTest = Buscar.getExpresion((Expresion) col);
                         if (expTest instanceof ExpFuncion) {
+                            Funcion f = ((ExpFuncion) expTest).getFuncion();
+                            String id = "Perl." + f.getIdentificador().getValor();
+                            if ((id.equals("Perl.keys") || id.equals("Perl.values")) && f.getPaquetes().isVacio()
+                                    && expTest.getCodigoGenerado().indexOf(id) == 0) {
+                                //El numero de claves es el tamaño del hash, no se copian las claves
+                                return new SimboloAux(new Tipo(Tipo.INTEGER),
+                                        new StringBuilder(expTest.getCodigoGenerado()).replace(0, id.length(), "Perl.size"));
+                            }
                             return new SimboloAux(new Tipo(Tipo.INTEGER), Casting.toInteger(new SimboloAux(col)));
                         } else {
+                            Expresion unico = escalarUnico(expTest, col);
+                            if (unico != null) {
+                                //Un unico escalar entre parentesis es su propio valor, sin crear un array
+                                return new SimboloAux(unico);
+                            }
                             codigo.append("Pd.last(").append(col).append(")");
                         }
                     } else {
@@ -65,6 +79,20 @@ public final class Casting {
         return col;
     }
 
+    /**
+     * Obtiene el escalar de una coleccion entre parentesis con un solo elemento del mismo tipo que sus elementos
+     *
+     * @param exp Expresion sin parentesis
+     * @param col Simbolo coleccion
+     * @return Escalar o null si la coleccion tiene otra forma
+     */
+    private static Expresion escalarUnico(Expresion exp, Simbolo col) {
+        if (exp != col && exp.getTipo() != null && exp.getTipo().equals(col.getTipo().getSubtipo(1))) {
+            return exp;
+        }
+        return null;
+    }
+
     /**
      * Transforma un escalar retornando su ultimo elemento
      *
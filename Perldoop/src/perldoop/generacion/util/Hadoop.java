@@ -1,45 +1,113 @@
 package perldoop.generacion.util;
 
-import java.util.Arrays;
+import java.util.List;
+import perldoop.modelo.Opciones;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.SimboloAux;
+import perldoop.modelo.generacion.ClaseJava;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.util.ParserEtiquetas;
 
 /**
- * Clase para conversiones de tipo Hadoop y Java
+ * Clase para conversiones de tipo Hadoop y Java, y generacion de codigo comun a las clases Hadoop
  *
  * @author César Pomar
  */
 public final class Hadoop {
 
     /**
-     * Convierte una expresion Java a un tipo Hadoop
+     * Convierte una expresion Java al tipo basico que almacena un tipo Hadoop
      *
      * @param s Expresion java
      * @param tipo Tipo Hadoop
      * @return Conversion
      */
     public static StringBuilder casting(Simbolo s, Tipo tipo) {
+        if (HadoopWritable.isColeccion(tipo)) {
+            if (s.getTipo().isRef() && !tipo.isRef()) {//Se escribe la coleccion referenciada
+                StringBuilder codigo = new StringBuilder(s.getCodigoGenerado()).append(".get()");
+                s = new SimboloAux(s.getTipo().getSubtipo(1), codigo);
+            }
+            return Casting.casting(s, tipo);
+        }
         switch (tipo.getTipo(0)) {
             case Tipo.BOOLEAN:
-                return new StringBuilder("new BooleanWritable(" + Casting.toBoolean(s) + ")");
+                return Casting.toBoolean(s);
             case Tipo.INTEGER:
-                return new StringBuilder("new IntWritable(" + Casting.toInteger(s) + ")");
+                return Casting.toInteger(s);
             case Tipo.LONG:
-                return new StringBuilder("new LongWritable(" + Casting.toLong(s) + ")");
+                return Casting.toLong(s);
             case Tipo.FLOAT:
-                return new StringBuilder("new FloatWritable(" + Casting.toFloat(s) + ")");
+                return Casting.toFloat(s);
             case Tipo.DOUBLE:
-                return new StringBuilder("new DoubleWritable(" + Casting.toDouble(s) + ")");
+                return Casting.toDouble(s);
             case Tipo.STRING:
-                return new StringBuilder("new Text(" + Casting.toString(s) + ")");
+                return Casting.toString(s);
             default:
                 return null;
         }
     }
 
+    /**
+     * Genera los objetos Hadoop de salida reutilizables y la funcion pd_write que los rellena y escribe en el
+     * contexto. La clave solo se vuelve a codificar cuando cambia respecto a la escritura anterior.
+     *
+     * @param clase Clase
+     * @param keyOut Tipo de la clave de salida
+     * @param valueOut Tipo del valor de salida
+     */
+    public static void salida(ClaseJava clase, List<Token> keyOut, List<Token> valueOut) {
+        salida(clase, keyOut, valueOut, "pd_write");
+    }
+
+    /**
+     * Genera los objetos Hadoop de salida reutilizables y la funcion que los rellena y escribe en el contexto.
+     *
+     * @param clase Clase
+     * @param keyOut Tipo de la clave de salida
+     * @param valueOut Tipo del valor de salida
+     * @param funcion Nombre de la funcion de escritura
+     */
+    public static void salida(ClaseJava clase, List<Token> keyOut, List<Token> valueOut, String funcion) {
+        Tipo tKey = tipo(keyOut);
+        Tipo tValue = tipo(valueOut);
+        String key = hadoop(keyOut, clase);
+        String value = hadoop(valueOut, clase);
+        clase.getAtributos().add("private final " + key + " pd_keyOut = new " + key + "();");
+        clase.getAtributos().add("private final " + value + " pd_valueOut = new " + value + "();");
+        StringBuilder codigo = new StringBuilder(300);
+        codigo.append("private void ").append(funcion).append("(").append(Tipos.declaracion(tKey, true)).append(" key, ");
+        codigo.append(Tipos.declaracion(tValue, true)).append(" value, Context pd_context) ");
+        codigo.append("throws IOException, InterruptedException {");
+        if (tKey.isString()) {
+            clase.getAtributos().add("private String pd_keyLast;");
+            codigo.append("if(pd_keyLast == null || !pd_keyLast.equals(key)){");
+            codigo.append("pd_keyOut.set(key);");
+            codigo.append("pd_keyLast = key;");
+            codigo.append("}");
+        } else {
+            codigo.append("pd_keyOut.set(key);");
+        }
+        codigo.append("pd_valueOut.set(value);");
+        codigo.append("pd_context.write(pd_keyOut, pd_valueOut);");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+    }
+
+    /**
+     * Obtiene el tipo de unas etiquetas Java
+     *
+     * @param tokens Tokens de tipo
+     * @return Tipo
+     */
+    public static Tipo tipo(List<Token> tokens) {
+        if (tokens == null) {//Por defecto son cadenas
+            return new Tipo(Tipo.STRING);
+        }
+        return ParserEtiquetas.parseTipo(tokens);
+    }
+
     /**
      * Convierte una variable Hadoop a su tipo basico de java
      *
@@ -50,17 +118,18 @@ public final class Hadoop {
     public static Simbolo casting(String variable, Tipo tipo) {
         StringBuilder codigo = new StringBuilder(variable);
         Simbolo s = new SimboloAux(tipo, codigo);
+        if (HadoopWritable.isColeccion(tipo)) {
+            s.setCodigoGenerado(HadoopWritable.casting(variable, tipo));
+            return s;
+        }
         switch (tipo.getTipo(0)) {
             case Tipo.BOOLEAN:
-                codigo.append(".get()");
             case Tipo.INTEGER:
-                codigo.append(".get()");
             case Tipo.LONG:
-                codigo.append(".get()");
             case Tipo.FLOAT:
-                codigo.append(".get()");
             case Tipo.DOUBLE:
                 codigo.append(".get()");
+                break;
             case Tipo.STRING:
                 codigo.append(".toString()");
         }
@@ -68,16 +137,40 @@ public final class Hadoop {
     }
 
     /**
-     * Obtiene el tipo Hadoop de una etiqueta Java
+     * Obtiene el tipo Hadoop de unas etiquetas Java y añade a la clase su dependencia, ya sea el import del tipo
+     * Hadoop o la clase Writable generada para las colecciones
      *
-     * @param token Token de tipo
+     * @param tokens Tokens de tipo
+     * @param clase Clase que usa el tipo
      * @return Tipo Hadoop
      */
-    public static String hadoop(Token token) {
-        if (token == null) {//Por defecto son cadenas
-            return "Text";
+    public static String hadoop(List<Token> tokens, ClaseJava clase) {
+        Tipo tipo = tipo(tokens);
+        String nombre = hadoop(tokens);
+        if (!HadoopWritable.isColeccion(tipo)) {
+            clase.getImports().add("org.apache.hadoop.io." + nombre);
+            return nombre;
+        }
+        for (ClaseJava aux : clase.getAuxiliares()) {
+            if (aux.getNombre().equals(nombre)) {
+                return nombre;
+            }
+        }
+        clase.getAuxiliares().add(HadoopWritable.generar(tipo));
+        return nombre;
+    }
+
+    /**
+     * Obtiene el tipo Hadoop de unas etiquetas Java
+     *
+     * @param tokens Tokens de tipo
+     * @return Tipo Hadoop
+     */
+    public static String hadoop(List<Token> tokens) {
+        Tipo tipo = tipo(tokens);
+        if (HadoopWritable.isColeccion(tipo)) {
+            return HadoopWritable.nombre(tipo);
         }
-        Tipo tipo = ParserEtiquetas.parseTipo(Arrays.asList(token));
         switch (tipo.getTipo(0)) {
             case Tipo.BOOLEAN:
                 return "BooleanWritable";
@@ -94,4 +187,134 @@ public final class Hadoop {
         }
         return null;
     }
+
+    /**
+     * Genera una herramienta Hadoop que configura y lanza un trabajo con el mapper, el combiner y el reducer
+     * traducidos. El numero de reductores y la compresion pueden redefinirse en ejecucion con las propiedades
+     * estandar de Hadoop. Con la propiedad perldoop.local el trabajo se ejecuta en el propio proceso con
+     * LocalMapReduce.
+     *
+     * @param nombre Nombre de la herramienta
+     * @param mapper Clase mapper
+     * @param reducer Clase reducer, puede ser null
+     * @param opciones Opciones
+     * @return Clase de la herramienta
+     */
+    public static ClaseJava driver(String nombre, ClaseJava mapper, ClaseJava reducer, Opciones opciones) {
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre(nombre);
+        clase.setPaquete(mapper.getPaquetes());
+        clase.setClasePadre("Configured");
+        clase.getInterfaces().add("Tool");
+        String[] map = genericos(mapper);
+        String[] out = reducer == null ? map : genericos(reducer);
+        for (String tipo : new String[]{map[2], map[3], out[2], out[3]}) {
+            if (!tipo.startsWith("Pd")) {//Los Writable de colecciones estan en el mismo paquete
+                clase.getImports().add("org.apache.hadoop.io." + tipo);
+            }
+        }
+        clase.getImports().add("org.apache.hadoop.conf.Configuration");
+        clase.getImports().add("org.apache.hadoop.conf.Configured");
+        clase.getImports().add("org.apache.hadoop.fs.Path");
+        clase.getImports().add("org.apache.hadoop.mapreduce.Job");
+        clase.getImports().add("org.apache.hadoop.mapreduce.lib.input.FileInputFormat");
+        clase.getImports().add("org.apache.hadoop.mapreduce.lib.output.FileOutputFormat");
+        clase.getImports().add("org.apache.hadoop.util.Tool");
+        clase.getImports().add("org.apache.hadoop.util.ToolRunner");
+        //Main
+        StringBuilder codigo = new StringBuilder(200);
+        codigo.append("public static void main(String[] args) throws Exception {");
+        codigo.append("System.exit(ToolRunner.run(new ").append(nombre).append("(), args));");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Configuracion del trabajo
+        codigo = new StringBuilder(2000);
+        codigo.append("@Override ");
+        codigo.append("public int run(String[] args) throws Exception {");
+        codigo.append("if(args.length != 2){");
+        codigo.append("System.err.println(\"Usage: ").append(nombre).append(" <input> <output>\");");
+        codigo.append("return 2;");
+        codigo.append("}");
+        codigo.append("Configuration conf = getConf();");
+        if (opciones.isHadoopComprimirMap()) {
+            codigo.append("conf.setBoolean(\"mapreduce.map.output.compress\", ");
+            codigo.append("conf.getBoolean(\"mapreduce.map.output.compress\", true));");
+        }
+        //Ejecucion local multihilo sin cluster
+        codigo.append("if(conf.getBoolean(\"perldoop.local\", false)){");
+        codigo.append("perldoop.lib.util.LocalMapReduce local = new perldoop.lib.util.LocalMapReduce(");
+        codigo.append(nombreCompleto(mapper)).append(".class, ");
+        codigo.append(reducer == null ? "null" : nombreCompleto(reducer) + ".class").append(");");
+        codigo.append("local.setConfiguration(conf);");
+        codigo.append("local.setMappers(conf.getInt(\"perldoop.local.mappers\", ");
+        codigo.append("Runtime.getRuntime().availableProcessors()));");
+        codigo.append("local.setReducers(conf.getInt(\"mapreduce.job.reduces\", ");
+        codigo.append(opciones.getHadoopReductores() == null ? "1" : opciones.getHadoopReductores()).append("));");
+        if (reducer != null) {
+            for (ClaseJava interna : reducer.getInternas()) {
+                if (interna.getNombre().equals("Combiner")) {
+                    codigo.append("local.setCombiner(").append(nombreCompleto(reducer)).append(".Combiner.class);");
+                }
+            }
+        }
+        codigo.append("local.run(java.util.Collections.singletonList(new java.io.File(args[0])), ");
+        codigo.append("new java.io.File(args[1]));");
+        codigo.append("return 0;");
+        codigo.append("}");
+        codigo.append("Job job = Job.getInstance(conf, \"").append(nombre).append("\");");
+        codigo.append("job.setJarByClass(").append(nombre).append(".class);");
+        codigo.append("job.setMapperClass(").append(nombreCompleto(mapper)).append(".class);");
+        if (reducer != null) {
+            for (ClaseJava interna : reducer.getInternas()) {
+                if (interna.getNombre().equals("Combiner")) {
+                    codigo.append("job.setCombinerClass(").append(nombreCompleto(reducer)).append(".Combiner.class);");
+                }
+            }
+            codigo.append("job.setReducerClass(").append(nombreCompleto(reducer)).append(".class);");
+        }
+        codigo.append("job.setMapOutputKeyClass(").append(map[2]).append(".class);");
+        codigo.append("job.setMapOutputValueClass(").append(map[3]).append(".class);");
+        codigo.append("job.setOutputKeyClass(").append(out[2]).append(".class);");
+        codigo.append("job.setOutputValueClass(").append(out[3]).append(".class);");
+        if (reducer == null) {
+            codigo.append("job.setNumReduceTasks(0);");
+        } else if (opciones.getHadoopReductores() != null) {
+            codigo.append("job.setNumReduceTasks(conf.getInt(\"mapreduce.job.reduces\", ");
+            codigo.append(opciones.getHadoopReductores()).append("));");
+        }
+        if (opciones.isHadoopComprimir()) {
+            codigo.append("FileOutputFormat.setCompressOutput(job, ");
+            codigo.append("conf.getBoolean(\"mapreduce.output.fileoutputformat.compress\", true));");
+        }
+        codigo.append("FileInputFormat.addInputPath(job, new Path(args[0]));");
+        codigo.append("FileOutputFormat.setOutputPath(job, new Path(args[1]));");
+        codigo.append("return job.waitForCompletion(true) ? 0 : 1;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        return clase;
+    }
+
+    /**
+     * Obtiene los tipos genericos de la clase padre de un mapper o reducer
+     *
+     * @param clase Clase
+     * @return Tipos genericos
+     */
+    private static String[] genericos(ClaseJava clase) {
+        String padre = clase.getClasePadre();
+        return padre.substring(padre.indexOf('<') + 1, padre.lastIndexOf('>')).split(",\\s*");
+    }
+
+    /**
+     * Obtiene el nombre completo de una clase
+     *
+     * @param clase Clase
+     * @return Nombre con paquetes
+     */
+    static String nombreCompleto(ClaseJava clase) {
+        if (clase.getPaquetes().isEmpty()) {
+            return clase.getNombre();
+        }
+        return String.join(".", clase.getPaquetes()) + "." + clase.getNombre();
+    }
 }
@@ -0,0 +1,373 @@
+package perldoop.generacion.util;
+
+import perldoop.modelo.generacion.ClaseJava;
+import perldoop.modelo.semantica.Tipo;
+
+/**
+ * Clase para generar tipos Writable de Hadoop para arrays, listas y referencias a colecciones de tipos basicos. La
+ * coleccion se serializa en binario como su tamaño seguido de sus elementos, los enteros se codifican con longitud
+ * variable y las cadenas en UTF-8 precedidas de su longitud.
+ *
+ * @author César Pomar
+ */
+public final class HadoopWritable {
+
+    /**
+     * Comprueba si un tipo puede transformarse en un Writable de coleccion
+     *
+     * @param t Tipo
+     * @return Tiene Writable de coleccion
+     */
+    public static boolean isColeccion(Tipo t) {
+        int i = t.isRef() ? 1 : 0;
+        if (t.getTipo().size() != i + 2) {
+            return false;
+        }
+        byte col = t.getTipo(i);
+        return (col == Tipo.ARRAY || col == Tipo.LIST) && elemento(t.getTipo(i + 1)) != null;
+    }
+
+    /**
+     * Obtiene el nombre del Writable de un tipo coleccion
+     *
+     * @param t Tipo
+     * @return Nombre de la clase
+     */
+    public static String nombre(Tipo t) {
+        return "Pd" + elemento(t.getTipo(t.getTipo().size() - 1)) + "ArrayWritable";
+    }
+
+    /**
+     * Obtiene el codigo para extraer el valor de un Writable de coleccion
+     *
+     * @param variable Variable Writable
+     * @param t Tipo coleccion
+     * @return Codigo
+     */
+    public static StringBuilder casting(String variable, Tipo t) {
+        StringBuilder codigo = new StringBuilder(variable);
+        byte col = t.getTipo(t.isRef() ? 1 : 0);
+        codigo.append(col == Tipo.ARRAY ? ".toArray()" : ".toList()");
+        if (t.isRef()) {
+            codigo.insert(0, "new Ref<>(").append(")");
+        }
+        return codigo;
+    }
+
+    /**
+     * Genera la clase Writable de un tipo coleccion
+     *
+     * @param t Tipo coleccion
+     * @return Clase Writable
+     */
+    public static ClaseJava generar(Tipo t) {
+        byte st = t.getTipo(t.getTipo().size() - 1);
+        String nombre = nombre(t);
+        String primitivo = Tipos.declaracion(new Tipo(st), true).toString();
+        String objeto = Tipos.declaracion(new Tipo(st)).toString();
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre(nombre);
+        clase.getInterfaces().add("WritableComparable<" + nombre + ">");
+        clase.getImports().add("java.io.DataInput");
+        clase.getImports().add("java.io.DataOutput");
+        clase.getImports().add("java.io.IOException");
+        clase.getImports().add("java.util.List");
+        clase.getImports().add("org.apache.hadoop.io.WritableComparable");
+        clase.getImports().add("org.apache.hadoop.io.WritableComparator");
+        clase.getImports().add("org.apache.hadoop.io.WritableUtils");
+        clase.getImports().add("perldoop.lib.*");
+        if (st == Tipo.STRING) {
+            clase.getImports().add("java.nio.charset.StandardCharsets");
+        }
+        clase.getAtributos().add("private " + primitivo + "[] valores = new " + primitivo + "[16];");
+        clase.getAtributos().add("private int size;");
+        StringBuilder codigo;
+        //Registro del comparador binario
+        clase.getFunciones().add(new StringBuilder("static {WritableComparator.define(").append(nombre).append(".class, new Comparator());}"));
+        //Asignacion desde array
+        codigo = new StringBuilder(300);
+        codigo.append("public void set(").append(objeto).append("[] array){");
+        codigo.append("if(array == null){size = 0;return;}");
+        codigo.append("reservar(array.length);");
+        codigo.append("for(int i = 0; i < array.length; i++){valores[i] = ").append(nulo("array[i]", st)).append(";}");
+        codigo.append("size = array.length;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Asignacion desde lista
+        codigo = new StringBuilder(300);
+        codigo.append("public void set(List<").append(objeto).append("> lista){");
+        codigo.append("if(lista == null){size = 0;return;}");
+        codigo.append("int n = lista.size();");
+        codigo.append("reservar(n);");
+        codigo.append("for(int i = 0; i < n; i++){valores[i] = ").append(nulo("lista.get(i)", st)).append(";}");
+        codigo.append("size = n;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Asignacion desde referencia
+        codigo = new StringBuilder(300);
+        codigo.append("public void set(Ref<?> ref){");
+        codigo.append("Object col = ref == null ? null : ref.get();");
+        codigo.append("if(col instanceof Object[]){set((").append(objeto).append("[]) col);}");
+        codigo.append("else{set((List<").append(objeto).append(">) col);}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Conversion a array
+        codigo = new StringBuilder(300);
+        codigo.append("public ").append(objeto).append("[] toArray(){");
+        codigo.append(objeto).append("[] array = new ").append(objeto).append("[size];");
+        codigo.append("for(int i = 0; i < size; i++){array[i] = valores[i];}");
+        codigo.append("return array;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Conversion a lista
+        codigo = new StringBuilder(300);
+        codigo.append("public PerlList<").append(objeto).append("> toList(){");
+        switch (st) {
+            case Tipo.INTEGER:
+                codigo.append("IntPerlList lista = new IntPerlList(size);");
+                codigo.append("for(int i = 0; i < size; i++){lista.addInt(valores[i]);}");
+                break;
+            case Tipo.LONG:
+                codigo.append("LongPerlList lista = new LongPerlList(size);");
+                codigo.append("for(int i = 0; i < size; i++){lista.addLong(valores[i]);}");
+                break;
+            case Tipo.DOUBLE:
+                codigo.append("DoublePerlList lista = new DoublePerlList(size);");
+                codigo.append("for(int i = 0; i < size; i++){lista.addDouble(valores[i]);}");
+                break;
+            default:
+                codigo.append("PerlList<").append(objeto).append("> lista = new PerlList<>(size);");
+                codigo.append("for(int i = 0; i < size; i++){lista.add(valores[i]);}");
+        }
+        codigo.append("return lista;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Reserva
+        codigo = new StringBuilder(300);
+        codigo.append("private void reservar(int n){");
+        codigo.append("if(valores.length < n){valores = new ").append(primitivo).append("[Math.max(n, valores.length * 2)];}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Serializacion
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public void write(DataOutput out) throws IOException {");
+        codigo.append("WritableUtils.writeVInt(out, size);");
+        codigo.append("for(int i = 0; i < size; i++){");
+        switch (st) {
+            case Tipo.BOOLEAN:
+                codigo.append("out.writeBoolean(valores[i]);");
+                break;
+            case Tipo.INTEGER:
+                codigo.append("WritableUtils.writeVInt(out, valores[i]);");
+                break;
+            case Tipo.LONG:
+                codigo.append("WritableUtils.writeVLong(out, valores[i]);");
+                break;
+            case Tipo.FLOAT:
+                codigo.append("out.writeFloat(valores[i]);");
+                break;
+            case Tipo.DOUBLE:
+                codigo.append("out.writeDouble(valores[i]);");
+                break;
+            case Tipo.STRING:
+                codigo.append("if(valores[i] == null){WritableUtils.writeVInt(out, -1);}");
+                codigo.append("else{byte[] bytes = valores[i].getBytes(StandardCharsets.UTF_8);");
+                codigo.append("WritableUtils.writeVInt(out, bytes.length);");
+                codigo.append("out.write(bytes);}");
+        }
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Deserializacion
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public void readFields(DataInput in) throws IOException {");
+        codigo.append("int n = WritableUtils.readVInt(in);");
+        codigo.append("reservar(n);");
+        codigo.append("for(int i = 0; i < n; i++){");
+        switch (st) {
+            case Tipo.BOOLEAN:
+                codigo.append("valores[i] = in.readBoolean();");
+                break;
+            case Tipo.INTEGER:
+                codigo.append("valores[i] = WritableUtils.readVInt(in);");
+                break;
+            case Tipo.LONG:
+                codigo.append("valores[i] = WritableUtils.readVLong(in);");
+                break;
+            case Tipo.FLOAT:
+                codigo.append("valores[i] = in.readFloat();");
+                break;
+            case Tipo.DOUBLE:
+                codigo.append("valores[i] = in.readDouble();");
+                break;
+            case Tipo.STRING:
+                codigo.append("int len = WritableUtils.readVInt(in);");
+                codigo.append("if(len < 0){valores[i] = null;}");
+                codigo.append("else{byte[] bytes = new byte[len];");
+                codigo.append("in.readFully(bytes);");
+                codigo.append("valores[i] = new String(bytes, StandardCharsets.UTF_8);}");
+        }
+        codigo.append("}");
+        codigo.append("size = n;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        //Comparacion
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public int compareTo(").append(nombre).append(" o){");
+        codigo.append("int n = Math.min(size, o.size);");
+        codigo.append("for(int i = 0; i < n; i++){");
+        if (st == Tipo.STRING) {
+            codigo.append("int c = valores[i] == null ? (o.valores[i] == null ? 0 : -1) : (o.valores[i] == null ? 1 : compareUtf8(valores[i], o.valores[i]));");
+        } else {
+            codigo.append("int c = ").append(objeto).append(".compare(valores[i], o.valores[i]);");
+        }
+        codigo.append("if(c != 0){return c;}");
+        codigo.append("}");
+        codigo.append("return Integer.compare(size, o.size);");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        if (st == Tipo.STRING) {//Mismo orden que el comparador binario
+            codigo = new StringBuilder(300);
+            codigo.append("private static int compareUtf8(String a, String b){");
+            codigo.append("if(a.equals(b)){return 0;}");
+            codigo.append("byte[] ba = a.getBytes(StandardCharsets.UTF_8);");
+            codigo.append("byte[] bb = b.getBytes(StandardCharsets.UTF_8);");
+            codigo.append("return WritableComparator.compareBytes(ba, 0, ba.length, bb, 0, bb.length);");
+            codigo.append("}");
+            clase.getFunciones().add(codigo);
+        }
+        //Igualdad y hash estable para el particionado
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public boolean equals(Object o){");
+        codigo.append("return o instanceof ").append(nombre).append(" && compareTo((").append(nombre).append(") o) == 0;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public int hashCode(){");
+        codigo.append("int h = 1;");
+        codigo.append("for(int i = 0; i < size; i++){h = 31 * h + ");
+        codigo.append(st == Tipo.STRING ? "(valores[i] == null ? 0 : valores[i].hashCode())" : objeto + ".hashCode(valores[i])").append(";}");
+        codigo.append("return h;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(300);
+        codigo.append("@Override public String toString(){");
+        codigo.append("StringBuilder sb = new StringBuilder(size * 8);");
+        codigo.append("for(int i = 0; i < size; i++){");
+        codigo.append("if(i > 0){sb.append(' ');}");
+        codigo.append("sb.append(valores[i]);");
+        codigo.append("}");
+        codigo.append("return sb.toString();");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        clase.getInternas().add(comparador(nombre, st));
+        return clase;
+    }
+
+    /**
+     * Genera el comparador binario que ordena sin deserializar
+     *
+     * @param nombre Nombre del Writable
+     * @param st Subtipo de los elementos
+     * @return Clase comparador
+     */
+    private static ClaseJava comparador(String nombre, byte st) {
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre("Comparator");
+        clase.setClasePadre("WritableComparator");
+        StringBuilder codigo = new StringBuilder(100);
+        codigo.append("public Comparator(){super(").append(nombre).append(".class);}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(1000);
+        codigo.append("@Override public int compare(byte[] b1, int s1, int l1, byte[] b2, int s2, int l2){");
+        codigo.append("try{");
+        codigo.append("int n1 = readVInt(b1, s1);");
+        codigo.append("s1 += WritableUtils.decodeVIntSize(b1[s1]);");
+        codigo.append("int n2 = readVInt(b2, s2);");
+        codigo.append("s2 += WritableUtils.decodeVIntSize(b2[s2]);");
+        codigo.append("for(int i = 0; i < n1 && i < n2; i++){");
+        switch (st) {
+            case Tipo.BOOLEAN:
+                codigo.append("int c = Boolean.compare(b1[s1++] != 0, b2[s2++] != 0);");
+                break;
+            case Tipo.INTEGER:
+            case Tipo.LONG:
+                codigo.append("long v1 = readVLong(b1, s1);");
+                codigo.append("s1 += WritableUtils.decodeVIntSize(b1[s1]);");
+                codigo.append("long v2 = readVLong(b2, s2);");
+                codigo.append("s2 += WritableUtils.decodeVIntSize(b2[s2]);");
+                codigo.append("int c = Long.compare(v1, v2);");
+                break;
+            case Tipo.FLOAT:
+                codigo.append("int c = Float.compare(readFloat(b1, s1), readFloat(b2, s2));");
+                codigo.append("s1 += 4;");
+                codigo.append("s2 += 4;");
+                break;
+            case Tipo.DOUBLE:
+                codigo.append("int c = Double.compare(readDouble(b1, s1), readDouble(b2, s2));");
+                codigo.append("s1 += 8;");
+                codigo.append("s2 += 8;");
+                break;
+            case Tipo.STRING:
+                codigo.append("int len1 = readVInt(b1, s1);");
+                codigo.append("s1 += WritableUtils.decodeVIntSize(b1[s1]);");
+                codigo.append("int len2 = readVInt(b2, s2);");
+                codigo.append("s2 += WritableUtils.decodeVIntSize(b2[s2]);");
+                codigo.append("int c = len1 < 0 || len2 < 0 ? Integer.compare(len1, len2) : compareBytes(b1, s1, len1, b2, s2, len2);");
+                codigo.append("s1 += Math.max(len1, 0);");
+                codigo.append("s2 += Math.max(len2, 0);");
+        }
+        codigo.append("if(c != 0){return c;}");
+        codigo.append("}");
+        codigo.append("return Integer.compare(n1, n2);");
+        codigo.append("}catch(IOException e){");
+        codigo.append("throw new IllegalArgumentException(e);");
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        return clase;
+    }
+
+    /**
+     * Obtiene el codigo que sustituye un elemento nulo por el valor por defecto de su tipo
+     *
+     * @param elemento Elemento
+     * @param st Subtipo del elemento
+     * @return Codigo
+     */
+    private static String nulo(String elemento, byte st) {
+        switch (st) {
+            case Tipo.BOOLEAN:
+                return elemento + " != null && " + elemento;
+            case Tipo.STRING:
+                return elemento;
+            default:
+                return elemento + " == null ? 0 : " + elemento;
+        }
+    }
+
+    /**
+     * Obtiene el nombre del elemento de un Writable de coleccion
+     *
+     * @param st Subtipo del elemento
+     * @return Nombre o null si no esta soportado
+     */
+    private static String elemento(byte st) {
+        switch (st) {
+            case Tipo.BOOLEAN:
+                return "Boolean";
+            case Tipo.INTEGER:
+                return "Int";
+            case Tipo.LONG:
+                return "Long";
+            case Tipo.FLOAT:
+                return "Float";
+            case Tipo.DOUBLE:
+                return "Double";
+            case Tipo.STRING:
+                return "String";
+        }
+        return null;
+    }
+
+}
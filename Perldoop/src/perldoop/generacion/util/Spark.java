@@ -0,0 +1,292 @@
+package perldoop.generacion.util;
+
+import java.util.List;
+import perldoop.modelo.arbol.Simbolo;
+import perldoop.modelo.arbol.SimboloAux;
+import perldoop.modelo.generacion.ClaseJava;
+import perldoop.modelo.lexico.Token;
+import perldoop.modelo.semantica.Tipo;
+
+/**
+ * Clase para la generacion de codigo comun a las funciones Spark. Los mappers y reducers se traducen a funciones
+ * PairFlatMapFunction que acumulan sus salidas en una lista de tuplas. Las variables globales traducidas son
+ * estaticas y se comparten entre las tareas de un ejecutor, por eso el driver usa por defecto ejecutores de un nucleo
+ * que ejecutan sus tareas de una en una. Cada llamada procesa en exclusion mutua una unica linea, clave o tupla y solo
+ * acumula las salidas de esa llamada, si se configuran mas nucleos por ejecutor las tareas concurrentes comparten el
+ * estado global.
+ *
+ * @author César Pomar
+ */
+public final class Spark {
+
+    /**
+     * Cerrojo comun a todas las funciones de la clase
+     */
+    private static final String LOCK = "private static final Object pd_lock = new Object();";
+
+    /**
+     * Obtiene el tipo Java de unas etiquetas de tipo, las referencias se transmiten como la coleccion referenciada
+     *
+     * @param tokens Tokens de tipo
+     * @return Tipo Java
+     */
+    public static String java(List<Token> tokens) {
+        Tipo t = Hadoop.tipo(tokens);
+        if (t.isRef()) {
+            t = t.getSubtipo(1);
+        }
+        return Tipos.declaracion(t).toString();
+    }
+
+    /**
+     * Crea un simbolo a partir de una variable Spark, los tipos Spark ya son tipos Java
+     *
+     * @param variable Variable Spark
+     * @param tipo Tipo
+     * @return Simbolo con tipo java
+     */
+    public static Simbolo casting(String variable, Tipo tipo) {
+        StringBuilder codigo = new StringBuilder(variable);
+        if (tipo.isRef()) {
+            codigo.insert(0, "new Ref<>(").append(")");
+        }
+        return new SimboloAux(tipo, codigo);
+    }
+
+    /**
+     * Obtiene el tipo de la lista de salida de una funcion
+     *
+     * @param keyOut Tipo de la clave de salida
+     * @param valueOut Tipo del valor de salida
+     * @return Tipo de la lista
+     */
+    public static String contexto(List<Token> keyOut, List<Token> valueOut) {
+        return "List<Tuple2<" + java(keyOut) + ", " + java(valueOut) + ">>";
+    }
+
+    /**
+     * Genera la funcion que añade una salida a la lista de tuplas y la funcion pd_text que convierte las tuplas de
+     * salida en lineas de texto con el mismo formato que la salida de Hadoop.
+     *
+     * @param clase Clase
+     * @param keyOut Tipo de la clave de salida
+     * @param valueOut Tipo del valor de salida
+     * @param funcion Nombre de la funcion de escritura
+     */
+    public static void salida(ClaseJava clase, List<Token> keyOut, List<Token> valueOut, String funcion) {
+        Tipo tKey = Hadoop.tipo(keyOut);
+        Tipo tValue = Hadoop.tipo(valueOut);
+        String key = java(keyOut);
+        String value = java(valueOut);
+        StringBuilder codigo = new StringBuilder(300);
+        codigo.append("private static void ").append(funcion).append("(").append(Tipos.declaracion(tKey, true)).append(" key, ");
+        codigo.append(Tipos.declaracion(tValue, true)).append(" value, ").append(contexto(keyOut, valueOut)).append(" pd_context) {");
+        if (tValue.isRef()) {
+            codigo.append("pd_context.add(new Tuple2<>(key, value == null ? null : value.get()));");
+        } else {
+            codigo.append("pd_context.add(new Tuple2<>(key, value));");
+        }
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(300);
+        codigo.append("public static String pd_text(Tuple2<").append(key).append(", ").append(value).append("> pd_tuple) {");
+        codigo.append("return ").append(texto("pd_tuple._1()", tKey)).append(" + \"\\t\" + ").append(texto("pd_tuple._2()", tValue)).append(";");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        clase.getImports().add("java.util.ArrayList");
+        clase.getImports().add("java.util.Iterator");
+        clase.getImports().add("java.util.List");
+        clase.getImports().add("org.apache.spark.api.java.function.PairFlatMapFunction");
+        clase.getImports().add("scala.Tuple2");
+    }
+
+    /**
+     * Genera la cabecera de una funcion Spark que procesa una linea, clave o tupla. El cuerpo se ejecuta en exclusion
+     * mutua porque las variables globales traducidas son estaticas y los ejecutores Spark comparten la maquina virtual
+     * entre tareas.
+     *
+     * @param clase Clase
+     * @param nombre Nombre de la funcion
+     * @param parametro Declaracion del parametro de entrada
+     * @param contexto Tipo de la lista de salida
+     * @param override La funcion implementa la interfaz
+     * @return Codigo
+     */
+    public static StringBuilder funcion(ClaseJava clase, String nombre, String parametro, String contexto, boolean override) {
+        StringBuilder codigo = new StringBuilder(300);
+        if (override) {
+            codigo.append("@Override ");
+        }
+        codigo.append("public Iterator").append(contexto.substring(4)).append(" ").append(nombre).append("(");
+        codigo.append(parametro).append(") throws Exception {");
+        codigo.append(contexto).append(" pd_context = new ArrayList<>();");
+        codigo.append(cerrojo(clase));
+        return codigo;
+    }
+
+    /**
+     * Genera la cabecera de la funcion pd_line que procesa en exclusion mutua una linea de una particion, las salidas
+     * se añaden a la lista recibida. Se cierra con dos llaves.
+     *
+     * @param clase Clase
+     * @param contexto Tipo de la lista de salida
+     * @return Codigo
+     */
+    public static StringBuilder linea(ClaseJava clase, String contexto) {
+        StringBuilder codigo = new StringBuilder(300);
+        codigo.append("private void pd_line(String pd_value, ").append(contexto).append(" pd_context) throws Exception {");
+        codigo.append(cerrojo(clase));
+        return codigo;
+    }
+
+    /**
+     * Genera la funcion Spark que recorre una particion bajo demanda. Cada linea se procesa con pd_line y al agotar la
+     * entrada se vuelca la combinacion con pd_flush, de modo que solo se retienen las salidas de la ultima linea o del
+     * ultimo volcado.
+     *
+     * @param clase Clase
+     * @param keyOut Tipo de la clave de salida
+     * @param valueOut Tipo del valor de salida
+     * @return Codigo
+     */
+    public static StringBuilder particion(ClaseJava clase, List<Token> keyOut, List<Token> valueOut) {
+        String contexto = contexto(keyOut, valueOut);
+        String tupla = contexto.substring(5, contexto.length() - 1);
+        StringBuilder codigo = new StringBuilder(1000);
+        codigo.append("@Override ");
+        codigo.append("public Iterator<").append(tupla).append("> call(Iterator<String> pd_values) throws Exception {");
+        codigo.append("return new Iterator<").append(tupla).append(">(){");
+        codigo.append("private final ").append(contexto).append(" pd_context = new ArrayList<>();");
+        codigo.append("private int pd_index;");
+        codigo.append("private boolean pd_fin;");
+        codigo.append("@Override public boolean hasNext(){");
+        codigo.append("while(pd_index == pd_context.size() && !pd_fin){");
+        codigo.append("pd_context.clear();");
+        codigo.append("pd_index = 0;");
+        codigo.append("try{");
+        codigo.append("if(pd_values.hasNext()){pd_line(pd_values.next(), pd_context);}");
+        codigo.append("else{pd_flush(pd_context);pd_fin = true;}");
+        codigo.append("}catch(RuntimeException e){throw e;}");
+        codigo.append("catch(Exception e){throw new IllegalStateException(e);}");
+        codigo.append("}");
+        codigo.append("return pd_index < pd_context.size();");
+        codigo.append("}");
+        codigo.append("@Override public ").append(tupla).append(" next(){");
+        codigo.append("if(!hasNext()){throw new java.util.NoSuchElementException();}");
+        codigo.append("return pd_context.get(pd_index++);");
+        codigo.append("}");
+        codigo.append("};");
+        codigo.append("}");
+        return codigo;
+    }
+
+    /**
+     * Obtiene la apertura del bloque en exclusion mutua, declara el cerrojo en la clase y activa la escritura
+     * concurrente de ficheros al cargarla
+     *
+     * @param clase Clase
+     * @return Codigo
+     */
+    private static String cerrojo(ClaseJava clase) {
+        if (!clase.getAtributos().contains(LOCK)) {
+            clase.getAtributos().add(LOCK);
+            //El cerrojo es de la clase, las funciones de otras clases pueden escribir a la vez en la misma salida
+            clase.getFunciones().add(new StringBuilder("static{PerlFile.setConcurrente(true);}"));
+        }
+        return "synchronized(pd_lock){";
+    }
+
+    /**
+     * Genera el final de una funcion Spark
+     *
+     * @return Codigo
+     */
+    public static String fin() {
+        return "}return pd_context.iterator();}";
+    }
+
+    /**
+     * Genera una aplicacion Spark que lee un fichero de texto, aplica el mapper y el reducer traducidos y escribe el
+     * resultado como texto. Si el reducer es una suma o producto asociativo se usa reduceByKey o aggregateByKey, en
+     * otro caso se agrupan los valores de cada clave con groupByKey. Salvo que se configure otro valor, los ejecutores
+     * tienen un nucleo para que las tareas no compartan las variables globales.
+     *
+     * @param nombre Nombre de la aplicacion
+     * @param mapper Clase mapper
+     * @param reducer Clase reducer, puede ser null
+     * @return Clase de la aplicacion
+     */
+    public static ClaseJava driver(String nombre, ClaseJava mapper, ClaseJava reducer) {
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre(nombre);
+        clase.setPaquete(mapper.getPaquetes());
+        clase.getImports().add("org.apache.spark.SparkConf");
+        clase.getImports().add("org.apache.spark.api.java.JavaSparkContext");
+        String map = Hadoop.nombreCompleto(mapper);
+        StringBuilder codigo = new StringBuilder(2000);
+        codigo.append("public static void main(String[] args) throws Exception {");
+        codigo.append("if(args.length != 2){");
+        codigo.append("System.err.println(\"Usage: ").append(nombre).append(" <input> <output>\");");
+        codigo.append("System.exit(2);");
+        codigo.append("}");
+        codigo.append("SparkConf conf = new SparkConf().setAppName(\"").append(nombre).append("\");");
+        //Las variables globales son estaticas, las tareas concurrentes de un ejecutor las compartirian
+        codigo.append("conf.setIfMissing(\"spark.executor.cores\", \"1\");");
+        codigo.append("try(JavaSparkContext sc = new JavaSparkContext(conf)){");
+        codigo.append("sc.textFile(args[0])");
+        if (mapper.getInterfaces().get(0).startsWith("PairFlatMapFunction<Iterator")) {
+            codigo.append(".mapPartitionsToPair(new ").append(map).append("())");
+        } else {
+            codigo.append(".flatMapToPair(new ").append(map).append("())");
+        }
+        String salida = map;
+        if (reducer != null) {
+            String red = Hadoop.nombreCompleto(reducer);
+            boolean combiner = false;
+            boolean aggregator = false;
+            for (ClaseJava interna : reducer.getInternas()) {
+                combiner |= interna.getNombre().equals("Combiner");
+                aggregator |= interna.getNombre().equals("Aggregator");
+            }
+            if (aggregator) {
+                codigo.append(".aggregateByKey(").append(red).append(".Aggregator.ZERO, new ").append(red);
+                codigo.append(".Aggregator(), new ").append(red).append(".Combiner())");
+                codigo.append(".flatMapToPair(new ").append(red).append("()::pd_reduction)");
+            } else if (combiner) {
+                codigo.append(".reduceByKey(new ").append(red).append(".Combiner())");
+                codigo.append(".flatMapToPair(new ").append(red).append("()::pd_reduction)");
+            } else {
+                codigo.append(".groupByKey()");
+                codigo.append(".flatMapToPair(new ").append(red).append("())");
+            }
+            salida = red;
+        }
+        codigo.append(".map(").append(salida).append("::pd_text)");
+        codigo.append(".saveAsTextFile(args[1]);");
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        return clase;
+    }
+
+    /**
+     * Genera la conversion a texto de un valor de salida
+     *
+     * @param valor Valor
+     * @param t Tipo del valor
+     * @return Codigo
+     */
+    private static String texto(String valor, Tipo t) {
+        if (t.isRef()) {
+            t = t.getSubtipo(1);
+        }
+        if (t.isArray()) {
+            return "Perl.join(\" \", java.util.Arrays.asList(" + valor + "))";
+        }
+        if (t.isList()) {
+            return "Perl.join(\" \", " + valor + ")";
+        }
+        return valor;
+    }
+
+}
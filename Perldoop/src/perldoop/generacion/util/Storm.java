@@ -0,0 +1,169 @@
+package perldoop.generacion.util;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import perldoop.modelo.generacion.ClaseJava;
+
+/**
+ * Clase para la generacion de topologias Storm a partir de los bolts traducidos. Los bolts se conectan por el nombre
+ * de sus campos de entrada y salida, y los campos que ningun bolt produce se leen de un fichero de texto linea a
+ * linea.
+ *
+ * @author César Pomar
+ */
+public final class Storm {
+
+    /**
+     * Genera una topologia con todos los bolts traducidos
+     *
+     * @param nombre Nombre de la topologia
+     * @param bolts Clases bolt
+     * @return Clase de la topologia
+     */
+    public static ClaseJava topologia(String nombre, List<ClaseJava> bolts) {
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre(nombre);
+        clase.setPaquete(bolts.get(0).getPaquetes());
+        clase.getImports().add("org.apache.storm.Config");
+        clase.getImports().add("org.apache.storm.LocalCluster");
+        clase.getImports().add("org.apache.storm.StormSubmitter");
+        clase.getImports().add("org.apache.storm.topology.TopologyBuilder");
+        //Productores de cada campo
+        Map<String, String> productores = new HashMap<>(bolts.size() * 2);
+        for (ClaseJava bolt : bolts) {
+            productores.put(campo(bolt, "PD_OUTPUT"), bolt.getNombre());
+        }
+        List<String> entradas = new ArrayList<>(bolts.size());
+        for (ClaseJava bolt : bolts) {
+            String input = campo(bolt, "PD_INPUT");
+            if (!productores.containsKey(input) && !entradas.contains(input)) {
+                entradas.add(input);
+            }
+        }
+        StringBuilder codigo = new StringBuilder(2000);
+        codigo.append("public static void main(String[] args) throws Exception {");
+        codigo.append("if(args.length < 1 || args.length > 2){");
+        codigo.append("System.err.println(\"Usage: ").append(nombre).append(" <input> [name]\");");
+        codigo.append("System.exit(2);");
+        codigo.append("}");
+        codigo.append("TopologyBuilder builder = new TopologyBuilder();");
+        for (String entrada : entradas) {
+            codigo.append("builder.setSpout(\"pd_spout_").append(entrada).append("\", new Spout(args[0], \"");
+            codigo.append(entrada).append("\"));");
+            productores.put(entrada, "pd_spout_" + entrada);
+        }
+        for (ClaseJava bolt : bolts) {
+            String input = campo(bolt, "PD_INPUT");
+            codigo.append("builder.setBolt(\"").append(bolt.getNombre()).append("\", new ");
+            codigo.append(Hadoop.nombreCompleto(bolt)).append("())");
+            codigo.append(".shuffleGrouping(\"").append(productores.get(input)).append("\", \"").append(input);
+            codigo.append("\");");
+        }
+        codigo.append("Config conf = new Config();");
+        //PerlList y Ref no tienen serializador Kryo registrado
+        codigo.append("conf.setFallBackOnJavaSerialization(true);");
+        codigo.append("if(args.length == 2){");
+        codigo.append("StormSubmitter.submitTopology(args[1], conf, builder.createTopology());");
+        codigo.append("}else{");
+        codigo.append("LocalCluster cluster = new LocalCluster();");
+        codigo.append("cluster.submitTopology(\"").append(nombre).append("\", conf, builder.createTopology());");
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        if (!entradas.isEmpty()) {
+            clase.getInternas().add(spout());
+            clase.getImports().add("java.io.BufferedReader");
+            clase.getImports().add("java.io.IOException");
+            clase.getImports().add("java.io.UncheckedIOException");
+            clase.getImports().add("java.nio.file.Files");
+            clase.getImports().add("java.nio.file.Paths");
+            clase.getImports().add("java.util.Map");
+            clase.getImports().add("org.apache.storm.spout.SpoutOutputCollector");
+            clase.getImports().add("org.apache.storm.task.TopologyContext");
+            clase.getImports().add("org.apache.storm.topology.OutputFieldsDeclarer");
+            clase.getImports().add("org.apache.storm.topology.base.BaseRichSpout");
+            clase.getImports().add("org.apache.storm.tuple.Fields");
+            clase.getImports().add("org.apache.storm.tuple.Values");
+            clase.getImports().add("org.apache.storm.utils.Utils");
+        }
+        return clase;
+    }
+
+    /**
+     * Genera el spout que emite las lineas de un fichero de texto
+     *
+     * @return Clase del spout
+     */
+    private static ClaseJava spout() {
+        ClaseJava clase = new ClaseJava();
+        clase.setNombre("Spout");
+        clase.setClasePadre("BaseRichSpout");
+        clase.getAtributos().add("private final String path;");
+        clase.getAtributos().add("private final String stream;");
+        clase.getAtributos().add("private transient BufferedReader reader;");
+        clase.getAtributos().add("private transient SpoutOutputCollector collector;");
+        StringBuilder codigo = new StringBuilder(100);
+        codigo.append("public Spout(String path, String stream) {");
+        codigo.append("this.path = path;");
+        codigo.append("this.stream = stream;");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(300);
+        codigo.append("@Override ");
+        codigo.append("public void open(Map conf, TopologyContext context, SpoutOutputCollector collector) {");
+        codigo.append("this.collector = collector;");
+        codigo.append("try{");
+        codigo.append("reader = Files.newBufferedReader(Paths.get(path));");
+        codigo.append("}catch(IOException e){");
+        codigo.append("throw new UncheckedIOException(e);");
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(300);
+        codigo.append("@Override ");
+        codigo.append("public void nextTuple() {");
+        codigo.append("if(reader == null){");
+        codigo.append("Utils.sleep(100);");
+        codigo.append("return;");
+        codigo.append("}");
+        codigo.append("try{");
+        codigo.append("String line = reader.readLine();");
+        codigo.append("if(line == null){");
+        codigo.append("reader.close();");
+        codigo.append("reader = null;");
+        codigo.append("}else{");
+        codigo.append("collector.emit(stream, new Values(line));");
+        codigo.append("}");
+        codigo.append("}catch(IOException e){");
+        codigo.append("throw new UncheckedIOException(e);");
+        codigo.append("}");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        codigo = new StringBuilder(100);
+        codigo.append("@Override ");
+        codigo.append("public void declareOutputFields(OutputFieldsDeclarer ofd) {");
+        codigo.append("ofd.declareStream(stream, new Fields(stream));");
+        codigo.append("}");
+        clase.getFunciones().add(codigo);
+        return clase;
+    }
+
+    /**
+     * Obtiene el nombre de un campo declarado como constante en un bolt
+     *
+     * @param bolt Clase bolt
+     * @param constante Nombre de la constante
+     * @return Nombre del campo
+     */
+    private static String campo(ClaseJava bolt, String constante) {
+        for (String atributo : bolt.getAtributos()) {
+            if (atributo.contains(" " + constante + " = ")) {
+                return atributo.substring(atributo.indexOf('"') + 1, atributo.lastIndexOf('"'));
+            }
+        }
+        return null;
+    }
+
+}
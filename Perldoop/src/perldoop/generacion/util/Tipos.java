@@ -58,6 +58,9 @@ public final class Tipos {
             }
         }
         dec = declaracion(t);
+        if (!smart && especializado(t) != null) {
+            dec = new StringBuilder(especializado(t));
+        }
         String extendido = "";
         if (smart) {
             dec.insert(0, "new Smart");
@@ -80,6 +83,47 @@ public final class Tipos {
         return dec;
     }
 
+    /**
+     * Obtiene la clase especializada sin boxing para listas y mapas de un solo nivel con elementos numericos
+     *
+     * @param t Tipo
+     * @return Nombre de la clase o null si no existe especializacion
+     */
+    private static String especializado(Tipo t) {
+        if (t.getTipo().size() != 2 || !(t.isList() || t.isMap())) {
+            return null;
+        }
+        String elemento;
+        switch (t.getTipo(1)) {
+            case Tipo.INTEGER:
+                elemento = "Int";
+                break;
+            case Tipo.LONG:
+                elemento = "Long";
+                break;
+            case Tipo.DOUBLE:
+                elemento = "Double";
+                break;
+            default:
+                return null;
+        }
+        return t.isList() ? elemento + "PerlList" : "Perl" + elemento + "Map";
+    }
+
+    /**
+     * Crea la referencia al constructor de un tipo array, se usa para crear arrays tipados sin reflexion
+     *
+     * @param t Tipo array
+     * @return Constructor, por ejemplo Integer[]::new
+     */
+    public static StringBuilder constructor(Tipo t) {
+        StringBuilder dec = inicializacion(t, "0");
+        dec.delete(0, "new ".length());
+        int pos = dec.indexOf("[0]");
+        dec.replace(pos, pos + 3, "[]");
+        return dec.append("::new");
+    }
+
     /**
      * Obtiene un valor siempre que la posicion exista
      *
@@ -126,6 +170,52 @@ public final class Tipos {
         return dec;
     }
 
+    /**
+     * Genera la declaracion de un tipo usando su tipo primitivo si es posible
+     *
+     * @param t Tipo
+     * @param primitivo Usar tipo primitivo
+     * @return Declaracion
+     */
+    public static StringBuilder declaracion(Tipo t, boolean primitivo) {
+        if (primitivo && isPrimitivo(t)) {
+            return new StringBuilder(primitivo(t.getTipo(0)));
+        }
+        return declaracion(t);
+    }
+
+    /**
+     * Comprueba si un tipo tiene representacion primitiva en java
+     *
+     * @param t Tipo
+     * @return Tiene tipo primitivo
+     */
+    public static boolean isPrimitivo(Tipo t) {
+        return t.getTipo().size() == 1 && primitivo(t.getTipo(0)) != null;
+    }
+
+    /**
+     * Convierte un subtipo a su nombre primitivo java
+     *
+     * @param subt Subtipo
+     * @return Nombre o null si no tiene tipo primitivo
+     */
+    private static String primitivo(byte subt) {
+        switch (subt) {
+            case Tipo.BOOLEAN:
+                return "boolean";
+            case Tipo.INTEGER:
+                return "int";
+            case Tipo.LONG:
+                return "long";
+            case Tipo.FLOAT:
+                return "float";
+            case Tipo.DOUBLE:
+                return "double";
+        }
+        return null;
+    }
+
     /**
      * Convierte un subtipo a su nombre java
      *
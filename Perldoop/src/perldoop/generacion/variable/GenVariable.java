@@ -2,10 +2,15 @@ package perldoop.generacion.variable;
 
 import perldoop.generacion.util.Tipos;
 import perldoop.modelo.arbol.Simbolo;
+import perldoop.modelo.arbol.acceso.AccesoRef;
 import perldoop.modelo.arbol.asignacion.Igual;
+import perldoop.modelo.arbol.bloque.Bloque;
 import perldoop.modelo.arbol.bloque.BloqueFor;
 import perldoop.modelo.arbol.bloque.BloqueForeachVar;
+import perldoop.modelo.arbol.coleccion.ColParentesis;
+import perldoop.modelo.arbol.expresion.ExpVariable;
 import perldoop.modelo.arbol.expresion.Expresion;
+import perldoop.modelo.arbol.funcion.Funcion;
 import perldoop.modelo.arbol.paquete.Paquetes;
 import perldoop.modelo.arbol.sentencia.StcLista;
 import perldoop.modelo.arbol.variable.*;
@@ -39,6 +44,7 @@ public final class GenVariable {
             declararVar(s, "");
         } else {
             EntradaVariable e = tabla.getTablaSimbolos().buscarVariable(s.getVar().getValor(), Buscar.getContexto(s));
+            s.setPrimitiva(e.isPrimitiva());
             s.setCodigoGenerado(new StringBuilder(e.getAlias()).append(s.getVar().getComentario()));
         }
     }
@@ -108,10 +114,12 @@ public final class GenVariable {
         EntradaVariable e = tabla.getTablaSimbolos().buscarVariable(v.getVar().toString(), Buscar.getContexto(v));
         boolean publica = e.isPublica();
         e.setAlias(tabla.getGestorReservas().getAlias(e.getIdentificador(), e.isConflicto()));
+        e.setPrimitiva(isPrimitiva(v, e));
+        v.setPrimitiva(e.isPrimitiva());
         //Declarar
         if (publica || tabla.getTablaSimbolos().getBloques() == 1) {
             StringBuilder atributo = new StringBuilder(100);
-            atributo.append(publica ? "public static " : "private static ").append(Tipos.declaracion(v.getTipo()));
+            atributo.append(publica ? "public static " : "private static ").append(Tipos.declaracion(v.getTipo(), e.isPrimitiva()));
             atributo.append(cdec).append(" ").append(e.getAlias()).append(v.getVar().getComentario());
             atributo.append(";");
             tabla.getClase().getAtributos().add(atributo.toString());
@@ -126,7 +134,7 @@ public final class GenVariable {
                 v.setCodigoGenerado(new StringBuilder(e.getAlias()));
             }
         } else if (isSentencia(v) || isFor(v) || isForEach(v)) {
-            StringBuilder codigo = Tipos.declaracion(v.getTipo());
+            StringBuilder codigo = Tipos.declaracion(v.getTipo(), e.isPrimitiva());
             codigo.append(cdec).append(" ").append(e.getAlias()).append(v.getVar().getComentario());
             if (!isAsignada(v)) {
                 if (!isForEach(v)) {
@@ -135,6 +143,8 @@ public final class GenVariable {
             }
             v.setCodigoGenerado(codigo);
         } else {
+            e.setPrimitiva(false);
+            v.setPrimitiva(false);
             String def = null;
             if (!isAsignada(v)) {
                 def = "null";
@@ -144,6 +154,55 @@ public final class GenVariable {
         }
     }
 
+    /**
+     * Comprueba si una variable puede declararse con un tipo primitivo, para ello debe ser un escalar numerico o
+     * booleano privado que se inicialice en su declaracion y que en su ambito nunca pueda tomar el valor undef
+     *
+     * @param v Simbolo variable
+     * @param e Entrada de la variable
+     * @return Variable primitiva
+     */
+    private boolean isPrimitiva(Variable v, EntradaVariable e) {
+        if (!tabla.getOpciones().isOptPrimitivos() || e.isPublica() || !Tipos.isPrimitivo(v.getTipo())) {
+            return false;
+        }
+        if (!isAsignada(v) || isForEach(v) || !(Buscar.getExpresion(Buscar.buscarPadre(v, Igual.class).getIzquierda()) instanceof ExpVariable)) {
+            return false;
+        }
+        //Ambito de la variable
+        Simbolo ambito = Buscar.buscarPadre(v, Bloque.class);
+        if (ambito == null) {
+            ambito = v;
+            while (ambito.getPadre() != null) {
+                ambito = ambito.getPadre();
+            }
+        }
+        String nombre = v.getVar().getValor();
+        for (Variable uso : Buscar.buscarClases(ambito, Variable.class)) {
+            if (uso == v || !uso.getVar().getValor().equals(nombre) || Buscar.getContexto(uso) != '$') {
+                continue;
+            }
+            //Iteradores y referencias pueden dejar la variable sin valor
+            if (uso.getPadre() instanceof BloqueForeachVar || Buscar.buscarPadre(uso, AccesoRef.class) != null) {
+                return false;
+            }
+            //Uso con defined o undef
+            for (Funcion f = Buscar.buscarPadre(uso, Funcion.class); f != null; f = Buscar.buscarPadre(f, Funcion.class)) {
+                String id = f.getIdentificador().getValor();
+                if (f.getPaquetes().isVacio() && (id.equals("defined") || id.equals("undef"))) {
+                    return false;
+                }
+            }
+            //Asignaciones multiples o de undef
+            Igual igual = Buscar.buscarPadre(uso, Igual.class);
+            if (igual != null && Buscar.isHijo(uso, igual.getIzquierda())
+                    && (igual.getIzquierda().getValor() instanceof ColParentesis || Buscar.isUndef(igual.getDerecha()))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
     /**
      * Comprueba si Variable sera asignada
      *
@@ -100,6 +100,7 @@ public final class Consola {
         opcionales.addArgument("-en", "--encoding").metavar("e").action(new StoreArgumentAction()).help(interfaz.get(Interfaz.CODIFICACION));
         opcionales.addArgument("-pk", "--package").metavar("p").action(new StoreArgumentAction()).type(new ArgumentPaquete()).help(interfaz.get(Interfaz.PAQUETES));
         opcionales.addArgument("-jim", "--java-importer").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.J_IMPORTER));
+        opcionales.addArgument("-j", "--jobs").metavar("n").action(new StoreArgumentAction()).type(Integer.class).help(interfaz.get(Interfaz.HILOS));
         //Optimizaciones
         ArgumentGroup optimizacion = parser.addArgumentGroup(interfaz.get(Interfaz.ARGS_OPTIMIZACION));
         optimizacion.addArgument("-on", "--optimize-nulls").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_NULOS));
@@ -107,6 +108,20 @@ public final class Consola {
         optimizacion.addArgument("-ol", "--optimize-diamond").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_DIAMANTE));
         optimizacion.addArgument("-os", "--optimize-statements").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_SENTENCIAS));
         optimizacion.addArgument("-om", "--optimize-modulus").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_SENTENCIAS));
+        optimizacion.addArgument("-op", "--optimize-primitives").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_PRIMITIVOS));
+        optimizacion.addArgument("-ok", "--optimize-keys").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.OPTIMIZAR_CLAVES));
+        //Hadoop
+        ArgumentGroup hadoop = parser.addArgumentGroup(interfaz.get(Interfaz.ARGS_HADOOP));
+        hadoop.addArgument("-hd", "--hadoop-driver").metavar("name").action(new StoreArgumentAction()).help(interfaz.get(Interfaz.HADOOP_DRIVER));
+        hadoop.addArgument("-hr", "--hadoop-reducers").metavar("n").action(new StoreArgumentAction()).type(Integer.class).help(interfaz.get(Interfaz.HADOOP_REDUCTORES));
+        hadoop.addArgument("-hc", "--hadoop-compress").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.HADOOP_COMPRIMIR));
+        hadoop.addArgument("-hmc", "--hadoop-map-compress").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.HADOOP_COMPRIMIR_MAP));
+        //Spark
+        ArgumentGroup spark = parser.addArgumentGroup(interfaz.get(Interfaz.ARGS_SPARK));
+        spark.addArgument("-sp", "--spark").metavar("name").action(new StoreArgumentAction()).help(interfaz.get(Interfaz.SPARK));
+        //Storm
+        ArgumentGroup storm = parser.addArgumentGroup(interfaz.get(Interfaz.ARGS_STORM));
+        storm.addArgument("-st", "--storm-topology").metavar("name").action(new StoreArgumentAction()).help(interfaz.get(Interfaz.STORM_TOPOLOGIA));
         //Depuracion
         ArgumentGroup depuracion = parser.addArgumentGroup(interfaz.get(Interfaz.ARGS_DEPURACION));
         depuracion.addArgument("-dtk", "--debug-tokens").action(new StoreTrueArgumentAction()).help(interfaz.get(Interfaz.DEPURACION_TOKENS));
@@ -161,11 +176,20 @@ public final class Consola {
         opciones.setCodificacion(comandos.getString("encoding"));
         opciones.setPaquetes(comandos.get("package"));
         opciones.setjImporter(comandos.getBoolean("java_importer"));
+        opciones.setHilos(comandos.getInt("jobs"));
         opciones.setOptNulos(comandos.getBoolean("optimize_nulls"));
         opciones.setOptIntancias(comandos.getBoolean("optimize_instance"));
         opciones.setOptDiamante(comandos.getBoolean("optimize_diamond"));
         opciones.setOptSentencias(comandos.getBoolean("optimize_statements"));
         opciones.setOptModulo(comandos.getBoolean("optimize_modulus"));
+        opciones.setOptPrimitivos(comandos.getBoolean("optimize_primitives"));
+        opciones.setOptClaves(comandos.getBoolean("optimize_keys"));
+        opciones.setHadoopDriver(comandos.getString("hadoop_driver"));
+        opciones.setHadoopReductores(comandos.getInt("hadoop_reducers"));
+        opciones.setHadoopComprimir(comandos.getBoolean("hadoop_compress"));
+        opciones.setHadoopComprimirMap(comandos.getBoolean("hadoop_map_compress"));
+        opciones.setSpark(comandos.getString("spark"));
+        opciones.setStormTopologia(comandos.getString("storm_topology"));
         opciones.setDepTokens(comandos.getBoolean("debug_tokens"));
         opciones.setDepTerminales(comandos.getBoolean("debug_terminal"));
         opciones.setDepTree(comandos.getBoolean("debug_tree"));
@@ -18,6 +18,8 @@ public class Errores extends Internacionalizacion {
     public static final String PAQUETE_INVALIDO = "PAQUETE_INVALIDO";
     public static final String ERROR_LIBRERIA = "ERROR_LIBRERIA";
     public static final String ERROR_FORMATEO = "ERROR_FORMATEO";
+    public static final String DRIVER_SIN_MAPPER = "DRIVER_SIN_MAPPER";
+    public static final String TOPOLOGIA_SIN_BOLTS = "TOPOLOGIA_SIN_BOLTS";
 
     //Lexicos
     public static final String CARACTER_INVALIDO = "CARACTER_INVALIDO";
@@ -36,6 +38,8 @@ public class Errores extends Internacionalizacion {
     public static final String REF_INCOMPLETA = "REF_INCOMPLETA";
     public static final String MAPPER_INCOMPLETO = "MAPPER_INCOMPLETO";
     public static final String REDUCER_INCOMPLETO = "REDUCER_INCOMPLETO";
+    public static final String STORM_INCOMPLETO = "STORM_INCOMPLETO";
+    public static final String FUNCION_INCOMPLETA = "FUNCION_INCOMPLETA";
     public static final String REDUCER_VARS = "REDUCER_VARS";
     //Sintacticos
     public static final String FALLOS_SINTACTICOS = "FALLOS_SINTACTICOS";
@@ -89,6 +93,12 @@ public class Errores extends Internacionalizacion {
     public static final String FUNCION_VARIABLE = "FUNCION_VARIABLE";
     public static final String FUNCION_VARIABLE_TIPO = "FUNCION_VARIABLE_TIPO";
     public static final String FUNCION_NUM_ARGS = "FUNCION_NUM_ARGS";
+    public static final String FUNCION_PARAMETRO_TIPO = "FUNCION_PARAMETRO_TIPO";
+    public static final String FUNCION_PARAMETROS = "FUNCION_PARAMETROS";
+    public static final String FUNCION_PARAMETROS_USO = "FUNCION_PARAMETROS_USO";
+    public static final String FUNCION_STORM = "FUNCION_STORM";
+    public static final String FUNCION_SIN_VALOR = "FUNCION_SIN_VALOR";
+    public static final String RETURN_TIPADO = "RETURN_TIPADO";
     public static final String SORT_MULTI_COLECCION = "SORT_MULTI_COLECCION";
     public static final String DELETE_NO_ACCESO = "DELETE_NO_ACCESO";
     public static final String DECLARACION_CONDICIONAL = "DECLARACION_CONDICIONAL";
@@ -101,6 +111,11 @@ public class Errores extends Internacionalizacion {
     public static final String ESPECIAL_REPETIDO = "ESPECIAL_REPETIDO";
     public static final String REDUCER_INVALIDO = "REDUCER_INVALIDO";
     public static final String REDUCER_DEPENDENCIAS = "REDUCER_DEPENDENCIAS";
+    public static final String MAPPER_COMBINE = "MAPPER_COMBINE";
+    public static final String MAPPER_COMBINE_SUMA = "MAPPER_COMBINE_SUMA";
+    public static final String MAPPER_COMBINE_OP = "MAPPER_COMBINE_OP";
+    public static final String HADOOP_TIPO = "HADOOP_TIPO";
+    public static final String SPARK_CLAVE = "SPARK_CLAVE";
     public static final String IMPORT_ABSOLUTO = "IMPORT_ABSOLUTO";
     public static final String IMPORT_DINAMICO = "IMPORT_DINAMICO";
     public static final String SMART_INCOMPATIBLE = "SMART_INCOMPATIBLE";
@@ -27,6 +27,7 @@ public class Interfaz extends Internacionalizacion {
     public static final String PAQUETES = "PAQUETES";
     public static final String LIBRERIA = "LIBRERIA";
     public static final String J_IMPORTER = "J_IMPORTER";
+    public static final String HILOS = "HILOS";
 
     //Argumentos Optimización
     public static final String ARGS_OPTIMIZACION = "ARGS_OPTIMIZACION";
@@ -35,6 +36,20 @@ public class Interfaz extends Internacionalizacion {
     public static final String OPTIMIZAR_DIAMANTE = "OPTIMIZAR_DIAMANTE";
     public static final String OPTIMIZAR_SENTENCIAS = "OPTIMIZAR_SENTENCIAS";
     public static final String OPTIMIZAR_MODULOS = "OPTIMIZAR_MODULOS";
+    public static final String OPTIMIZAR_PRIMITIVOS = "OPTIMIZAR_PRIMITIVOS";
+    public static final String OPTIMIZAR_CLAVES = "OPTIMIZAR_CLAVES";
+    //Argumentos Hadoop
+    public static final String ARGS_HADOOP = "ARGS_HADOOP";
+    public static final String HADOOP_DRIVER = "HADOOP_DRIVER";
+    public static final String HADOOP_REDUCTORES = "HADOOP_REDUCTORES";
+    public static final String HADOOP_COMPRIMIR = "HADOOP_COMPRIMIR";
+    public static final String HADOOP_COMPRIMIR_MAP = "HADOOP_COMPRIMIR_MAP";
+    //Argumentos Spark
+    public static final String ARGS_SPARK = "ARGS_SPARK";
+    public static final String SPARK = "SPARK";
+    //Argumentos Storm
+    public static final String ARGS_STORM = "ARGS_STORM";
+    public static final String STORM_TOPOLOGIA = "STORM_TOPOLOGIA";
 
     //Argumentos depuración
     public static final String ARGS_DEPURACION = "ARGS_DEPURACION";
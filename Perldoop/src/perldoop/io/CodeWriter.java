@@ -54,6 +54,11 @@ public final class CodeWriter {
      * @throws IOException Error de escritura
      */
     public void escribir(ClaseJava java, GestorErrores ge) throws IOException {
+        //Clases auxiliares
+        for (ClaseJava aux : java.getAuxiliares()) {
+            aux.setPaquete(java.getPaquetes());
+            escribir(aux, ge);
+        }
         StringBuilder repr = new StringBuilder(10000);
         //Paquete
         if (!java.getPaquetes().isEmpty()) {
@@ -66,7 +71,29 @@ public final class CodeWriter {
             repr.append("import ").append(i).append(';');
         }
         //Clase
-        repr.append("public class ").append(java.getNombre()).append(" ");
+        clase(java, repr, false);
+        //Formatemos
+        optimizaciones.optimizar(repr);
+        if (opciones.isFormatearCodigo()) {
+            try {
+                escribir(new Formatter().formatSource(repr.toString()), java.getNombre(), java.getPaquetes());
+                return;
+            } catch (FormatterException ex) {
+                ge.error(Errores.ERROR_FORMATEO);
+            }
+        }
+        escribir(repr.toString(), java.getNombre(), java.getPaquetes());
+    }
+
+    /**
+     * Escribe el cuerpo de una clase java y sus clases internas
+     *
+     * @param java Clase java
+     * @param repr Codigo
+     * @param interna La clase es interna
+     */
+    private void clase(ClaseJava java, StringBuilder repr, boolean interna) {
+        repr.append(interna ? "public static class " : "public class ").append(java.getNombre()).append(" ");
         //Clase Padre
         if (java.getClasePadre() != null) {
             repr.append("extends ").append(java.getClasePadre()).append(" ");
@@ -83,19 +110,12 @@ public final class CodeWriter {
         repr.append(String.join("", java.getAtributos()));
         //Funciones
         repr.append(String.join("", java.getFunciones()));
+        //Clases internas
+        for (ClaseJava c : java.getInternas()) {
+            clase(c, repr, true);
+        }
         //Fin clase
         repr.append("}");
-        //Formatemos
-        optimizaciones.optimizar(repr);
-        if (opciones.isFormatearCodigo()) {
-            try {
-                escribir(new Formatter().formatSource(repr.toString()), java.getNombre(), java.getPaquetes());
-                return;
-            } catch (FormatterException ex) {
-                ge.error(Errores.ERROR_FORMATEO);
-            }
-        }
-        escribir(repr.toString(), java.getNombre(), java.getPaquetes());
     }
 
     private void escribir(String codigo, String fichero, List<String> paquetes) throws IOException {
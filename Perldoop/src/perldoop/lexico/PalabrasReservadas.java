@@ -161,6 +161,9 @@ public final class PalabrasReservadas {
                 case "<function>":
                 case "<combine>":
                 case "<reduction>":
+                case "<batch>":
+                case "<return>":
+                case "<sum>":
                     return Preprocesador.PD_BLOQUE;
                 case "<mapper>":
                     return Preprocesador.PD_MAPPER;
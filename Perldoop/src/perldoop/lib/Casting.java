@@ -3,9 +3,9 @@ package perldoop.lib;
 import perldoop.lib.box.BooleanBox;
 import perldoop.lib.box.EmptyBox;
 import perldoop.lib.box.FileBox;
-import perldoop.lib.box.NumberBox;
 import perldoop.lib.box.RefBox;
-import perldoop.lib.box.StringBox;
+import perldoop.lib.box.ScalarBox;
+import perldoop.lib.util.Numeric;
 
 /**
  * Intefaz para implementar los castings
@@ -200,7 +200,7 @@ public abstract class Casting {
      * @return Integer
      */
     public static Integer toInteger(String s) {
-        return s == null ? null : toDouble(s).intValue();
+        return s == null ? null : Numeric.parseInt(s);
     }
 
     /**
@@ -270,7 +270,7 @@ public abstract class Casting {
      * @return Long
      */
     public static Long toLong(String s) {
-        return s == null ? null : toDouble(s).longValue();
+        return s == null ? null : Numeric.parseLong(s);
     }
 
     /**
@@ -340,7 +340,7 @@ public abstract class Casting {
      * @return Float
      */
     public static Float toFloat(String s) {
-        return s == null ? null : toDouble(s).floatValue();
+        return s == null ? null : (float) Numeric.parseDouble(s);
     }
 
     /**
@@ -410,67 +410,7 @@ public abstract class Casting {
      * @return Double
      */
     public static Double toDouble(String s) {
-        if (s == null) {
-            return null;
-        }
-        char[] chars = s.toCharArray();
-        StringBuilder str = new StringBuilder(s.length());
-        int i = 0;
-        int punto = -10;
-        int exp = -10;
-        //Eliminar ceros
-        for (; i < chars.length; i++) {
-            if (chars[i] != 0) {
-                break;
-            }
-        }
-        //Numeros
-        FOR:
-        for (; i < chars.length; i++) {
-            switch (chars[i]) {
-                case '0':
-                case '1':
-                case '2':
-                case '3':
-                case '4':
-                case '5':
-                case '6':
-                case '7':
-                case '8':
-                case '9':
-                    str.append(chars[i]);
-                    break;
-                case '.':
-                    if (punto > 0 || exp > 0) {
-                        break FOR;
-                    }
-                    punto = i;
-                    str.append(chars[i]);
-                    break;
-                case 'e':
-                case 'E':
-                    if (exp > 0 || i == chars.length - 1) {
-                        break FOR;
-                    }
-                    exp = i;
-                    str.append(chars[i]);
-                    break;
-                case '+':
-                case '-':
-                    if (i != 0 && exp != i - 1 && i != chars.length - 1) {
-                        break FOR;
-                    }
-                    str.append(chars[i]);
-                    break;
-                default:
-                    break FOR;
-            }
-        }
-        if (str.length() > 0) {
-            return Double.parseDouble(str.toString());
-        } else {
-            return 0d;
-        }
+        return s == null ? null : Numeric.parseDouble(s);
     }
 
     /**
@@ -500,7 +440,7 @@ public abstract class Casting {
      * @return String
      */
     public static String toString(Object[] array) {
-        return array == null ? null : String.valueOf(array.length);
+        return array == null ? null : Numeric.toString(array.length);
     }
 
     /**
@@ -510,7 +450,7 @@ public abstract class Casting {
      * @return String
      */
     public static String toString(PerlList list) {
-        return list == null ? null : String.valueOf(list.size());
+        return list == null ? null : Numeric.toString(list.size());
     }
 
     /**
@@ -520,7 +460,7 @@ public abstract class Casting {
      * @return String
      */
     public static String toString(PerlMap map) {
-        return map == null ? null : String.valueOf(map.size());
+        return map == null ? null : Numeric.toString(map.size());
     }
 
     /**
@@ -540,7 +480,12 @@ public abstract class Casting {
      * @return String
      */
     public static String toString(Number n) {
-        return n == null ? null : n.toString();
+        if (n == null) {
+            return null;
+        } else if (n instanceof Integer || n instanceof Long) {
+            return Numeric.toString(n.longValue());
+        }
+        return Numeric.toString(n.doubleValue());
     }
 
     /**
@@ -579,7 +524,7 @@ public abstract class Casting {
      * @return Box
      */
     public static Box box(Number n) {
-        return new NumberBox(n);
+        return ScalarBox.valueOf(n);
     }
 
     /**
@@ -589,7 +534,7 @@ public abstract class Casting {
      * @return Box
      */
     public static Box box(String s) {
-        return new StringBox(s);
+        return new ScalarBox(s);
     }
 
     /**
@@ -0,0 +1,162 @@
+package perldoop.lib;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Tipo de dato lista con elementos double almacenados sin boxing
+ *
+ * @author César Pomar
+ */
+public class DoublePerlList extends NumberPerlList<Double> {
+
+    private static final long serialVersionUID = 1L;
+    private transient double[] elementos;
+
+    /**
+     * Crea una lista vacia
+     */
+    public DoublePerlList() {
+        this(10);
+    }
+
+    /**
+     * Crea una lista con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public DoublePerlList(int initialCapacity) {
+        reservar(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Crea una lista con los elementos del array
+     *
+     * @param array Array
+     */
+    public DoublePerlList(Double... array) {
+        this(array.length * 2);
+        for (Double e : array) {
+            add(e);
+        }
+    }
+
+    /**
+     * Crea una lista con los elementos de una colección
+     *
+     * @param c Colección
+     */
+    public DoublePerlList(Collection<? extends Double> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    protected Class<Double> tipo() {
+        return Double.class;
+    }
+
+    @Override
+    protected int capacidad() {
+        return elementos.length;
+    }
+
+    @Override
+    protected void reservar(int cap) {
+        elementos = new double[cap];
+    }
+
+    @Override
+    protected void redimensionar(int cap) {
+        elementos = Arrays.copyOf(elementos, cap);
+    }
+
+    @Override
+    protected void mover(int desde, int hasta, int n) {
+        System.arraycopy(elementos, desde, elementos, hasta, n);
+    }
+
+    @Override
+    protected Double leer(int i) {
+        return elementos[i];
+    }
+
+    @Override
+    protected void guardar(int i, Double e) {
+        elementos[i] = e == null ? 0 : e;
+    }
+
+    @Override
+    protected void duplicar() {
+        elementos = elementos.clone();
+    }
+
+    /**
+     * Obtiene un elemento sin boxing, los elementos inexistentes o nulos se tratan como 0
+     *
+     * @param index Posicion
+     * @return Elemento
+     */
+    public double getDouble(int index) {
+        if (index < 0) {
+            index = size + index;
+        }
+        if (index < 0 || index >= size) {
+            return 0;
+        }
+        return elementos[index];
+    }
+
+    /**
+     * Añade un elemento sin boxing
+     *
+     * @param e Elemento
+     * @return Elemento
+     */
+    public double addDouble(double e) {
+        crecer(size + 1);
+        elementos[size] = e;
+        setNulo(size++, false);
+        modCount++;
+        return e;
+    }
+
+    /**
+     * Incrementa un elemento en el sitio, los elementos nulos se tratan como 0
+     *
+     * @param index Posicion
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public double increment(int index, double delta) {
+        if (index == size) {
+            return addDouble(delta);
+        }
+        if (index < 0) {
+            index = size + index;
+        }
+        rango(index);
+        setNulo(index, false);
+        return elementos[index] += delta;
+    }
+
+    /**
+     * Obtiene los elementos como un array primitivo
+     *
+     * @return Array de elementos
+     */
+    public double[] toDoubleArray() {
+        return Arrays.copyOf(elementos, size);
+    }
+
+    @Override
+    public DoublePerlList copy() {
+        return clone();
+    }
+
+    @Override
+    public DoublePerlList clone() {
+        return (DoublePerlList) super.clone();
+    }
+
+}
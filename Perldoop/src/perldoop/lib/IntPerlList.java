@@ -0,0 +1,162 @@
+package perldoop.lib;
+
+import java.util.Arrays;
+import java.util.Collection;
+
+/**
+ * Tipo de dato lista con elementos enteros almacenados sin boxing
+ *
+ * @author César Pomar
+ */
+public class IntPerlList extends NumberPerlList<Integer> {
+
+    private static final long serialVersionUID = 1L;
+    private transient int[] elementos;
+
+    /**
+     * Crea una lista vacia
+     */
+    public IntPerlList() {
+        this(10);
+    }
+
+    /**
+     * Crea una lista con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public IntPerlList(int initialCapacity) {
+        reservar(Math.max(initialCapacity, 1));
+    }
+
+    /**
+     * Crea una lista con los elementos del array
+     *
+     * @param array Array
+     */
+    public IntPerlList(Integer... array) {
+        this(array.length * 2);
+        for (Integer e : array) {
+            add(e);
+        }
+    }
+
+    /**
+     * Crea una lista con los elementos de una colección
+     *
+     * @param c Colección
+     */
+    public IntPerlList(Collection<? extends Integer> c) {
+        this(c.size());
+        addAll(c);
+    }
+
+    @Override
+    protected Class<Integer> tipo() {
+        return Integer.class;
+    }
+
+    @Override
+    protected int capacidad() {
+        return elementos.length;
+    }
+
+    @Override
+    protected void reservar(int cap) {
+        elementos = new int[cap];
+    }
+
+    @Override
+    protected void redimensionar(int cap) {
+        elementos = Arrays.copyOf(elementos, cap);
+    }
+
+    @Override
+    protected void mover(int desde, int hasta, int n) {
+        System.arraycopy(elementos, desde, elementos, hasta, n);
+    }
+
+    @Override
+    protected Integer leer(int i) {
+        return elementos[i];
+    }
+
+    @Override
+    protected void guardar(int i, Integer e) {
+        elementos[i] = e == null ? 0 : e;
+    }
+
+    @Override
+    protected void duplicar() {
+        elementos = elementos.clone();
+    }
+
+    /**
+     * Obtiene un elemento sin boxing, los elementos inexistentes o nulos se tratan como 0
+     *
+     * @param index Posicion
+     * @return Elemento
+     */
+    public int getInt(int index) {
+        if (index < 0) {
+            index = size + index;
+        }
+        if (index < 0 || index >= size) {
+            return 0;
+        }
+        return elementos[index];
+    }
+
+    /**
+     * Añade un elemento sin boxing
+     *
+     * @param e Elemento
+     * @return Elemento
+     */
+    public int addInt(int e) {
+        crecer(size + 1);
+        elementos[size] = e;
+        setNulo(size++, false);
+        modCount++;
+        return e;
+    }
+
+    /**
+     * Incrementa un elemento en el sitio, los elementos nulos se tratan como 0
+     *
+     * @param index Posicion
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public int increment(int index, int delta) {
+        if (index == size) {
+            return addInt(delta);
+        }
+        if (index < 0) {
+            index = size + index;
+        }
+        rango(index);
+        setNulo(index, false);
+        return elementos[index] += delta;
+    }
+
+    /**
+     * Obtiene los elementos como un array primitivo
+     *
+     * @return Array de elementos
+     */
+    public int[] toIntArray() {
+        return Arrays.copyOf(elementos, size);
+    }
+
+    @Override
+    public IntPerlList copy() {
+        return clone();
+    }
+
+    @Override
+    public IntPerlList clone() {
+        return (IntPerlList) super.clone();
+    }
+
+}
@@ -0,0 +1,660 @@
+package perldoop.lib;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractList;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.List;
+import java.util.ListIterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * Base de las listas con elementos numericos almacenados sin boxing. Las subclases guardan los elementos en un array
+ * primitivo y solo implementan su acceso, los nulos se marcan aparte y solo se reserva memoria para ellos cuando
+ * aparece el primero.
+ *
+ * @author César Pomar
+ * @param <T> Tipo de los elementos
+ */
+public abstract class NumberPerlList<T extends Number> extends PerlList<T> {
+
+    private static final long serialVersionUID = 1L;
+    private transient boolean[] nulos;
+    /**
+     * Numero de elementos
+     */
+    protected transient int size;
+
+    /**
+     * Crea una lista sin elementos, la subclase reserva su array
+     */
+    protected NumberPerlList() {
+        super(0);
+    }
+
+    /**
+     * Obtiene la clase de los elementos
+     *
+     * @return Clase de los elementos
+     */
+    protected abstract Class<T> tipo();
+
+    /**
+     * Obtiene la capacidad del array de elementos
+     *
+     * @return Capacidad
+     */
+    protected abstract int capacidad();
+
+    /**
+     * Reserva un nuevo array de elementos
+     *
+     * @param cap Capacidad
+     */
+    protected abstract void reservar(int cap);
+
+    /**
+     * Cambia la capacidad del array de elementos conservando su contenido
+     *
+     * @param cap Capacidad
+     */
+    protected abstract void redimensionar(int cap);
+
+    /**
+     * Copia elementos dentro del array
+     *
+     * @param desde Posicion origen
+     * @param hasta Posicion destino
+     * @param n Numero de elementos
+     */
+    protected abstract void mover(int desde, int hasta, int n);
+
+    /**
+     * Lee un elemento del array, sin tener en cuenta los nulos
+     *
+     * @param i Posicion
+     * @return Elemento
+     */
+    protected abstract T leer(int i);
+
+    /**
+     * Guarda un elemento en el array, los nulos se guardan como 0
+     *
+     * @param i Posicion
+     * @param e Elemento
+     */
+    protected abstract void guardar(int i, T e);
+
+    /**
+     * Sustituye el array de elementos por una copia, se usa al clonar
+     */
+    protected abstract void duplicar();
+
+    /**
+     * Asegura que una posicion sea valida para modificar
+     *
+     * @param index Posicion
+     */
+    protected final void rango(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+    }
+
+    /**
+     * Asegura la capacidad del array
+     *
+     * @param minCapacity Capacidad minima
+     */
+    protected final void crecer(int minCapacity) {
+        int len = capacidad();
+        if (minCapacity > len) {
+            int cap = Math.max(minCapacity, len + (len >> 1));
+            redimensionar(cap);
+            if (nulos != null) {
+                nulos = Arrays.copyOf(nulos, cap);
+            }
+        }
+    }
+
+    /**
+     * Marca una posicion como nula
+     *
+     * @param i Posicion
+     * @param nulo Valor nulo
+     */
+    protected final void setNulo(int i, boolean nulo) {
+        if (nulos == null) {
+            if (!nulo) {
+                return;
+            }
+            nulos = new boolean[capacidad()];
+        }
+        nulos[i] = nulo;
+    }
+
+    /**
+     * Obtiene el valor de una posicion
+     *
+     * @param i Posicion
+     * @return Valor
+     */
+    private T valor(int i) {
+        if (nulos != null && nulos[i]) {
+            return null;
+        }
+        return leer(i);
+    }
+
+    /**
+     * Escribe el valor de una posicion
+     *
+     * @param i Posicion
+     * @param e Valor
+     */
+    private void escribir(int i, T e) {
+        guardar(i, e);
+        setNulo(i, e == null);
+    }
+
+    /**
+     * Desplaza los elementos de la lista
+     *
+     * @param desde Posicion origen
+     * @param hasta Posicion destino
+     */
+    private void desplazar(int desde, int hasta) {
+        mover(desde, hasta, size - desde);
+        if (nulos != null) {
+            System.arraycopy(nulos, desde, nulos, hasta, size - desde);
+        }
+    }
+
+    @Override
+    public void trimToSize() {
+        redimensionar(Math.max(size, 1));
+        if (nulos != null) {
+            nulos = Arrays.copyOf(nulos, capacidad());
+        }
+    }
+
+    @Override
+    public void ensureCapacity(int minCapacity) {
+        crecer(minCapacity);
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public boolean contains(Object o) {
+        return indexOf(o) >= 0;
+    }
+
+    @Override
+    public int indexOf(Object o) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(o, valor(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public int lastIndexOf(Object o) {
+        for (int i = size - 1; i >= 0; i--) {
+            if (Objects.equals(o, valor(i))) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    @Override
+    public Object clone() {
+        NumberPerlList<?> copia = (NumberPerlList<?>) super.clone();
+        copia.nulos = nulos == null ? null : nulos.clone();
+        copia.duplicar();
+        return copia;
+    }
+
+    @Override
+    public Object[] toArray() {
+        Object[] array = new Object[size];
+        for (int i = 0; i < size; i++) {
+            array[i] = valor(i);
+        }
+        return array;
+    }
+
+    @Override
+    public <E> E[] toArray(E[] a) {
+        if (a.length < size) {
+            a = Arrays.copyOf(a, size);
+        }
+        Object[] destino = a;
+        for (int i = 0; i < size; i++) {
+            destino[i] = valor(i);
+        }
+        if (a.length > size) {
+            a[size] = null;
+        }
+        return a;
+    }
+
+    @Override
+    public T get(int index) {
+        if (index < 0) {
+            index = size + index;
+        }
+        if (index < 0 || index >= size) {
+            return null;
+        }
+        return valor(index);
+    }
+
+    @Override
+    public T set(int index, T element) {
+        if (index == size) {
+            add(element);
+        } else {
+            rango(index);
+            escribir(index, element);
+        }
+        return element;
+    }
+
+    @Override
+    public boolean add(T e) {
+        crecer(size + 1);
+        escribir(size++, e);
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        crecer(size + 1);
+        desplazar(index, index + 1);
+        size++;
+        escribir(index, element);
+        modCount++;
+    }
+
+    @Override
+    public T remove(int index) {
+        rango(index);
+        T old = valor(index);
+        desplazar(index + 1, index);
+        setNulo(--size, false);
+        modCount++;
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int i = indexOf(o);
+        if (i < 0) {
+            return false;
+        }
+        remove(i);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        size = 0;
+        nulos = null;
+        modCount++;
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends T> c) {
+        //Copia previa por si la coleccion es la propia lista
+        Object[] array = c.toArray();
+        crecer(size + array.length);
+        for (Object e : array) {
+            add(tipo().cast(e));
+        }
+        return array.length > 0;
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends T> c) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index + ", Size: " + size);
+        }
+        Object[] array = c.toArray();
+        crecer(size + array.length);
+        desplazar(index, index + array.length);
+        size += array.length;
+        for (int i = 0; i < array.length; i++) {
+            escribir(index + i, tipo().cast(array[i]));
+        }
+        modCount++;
+        return array.length > 0;
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        if (fromIndex < toIndex) {
+            desplazar(toIndex, fromIndex);
+            int n = size - (toIndex - fromIndex);
+            if (nulos != null) {
+                Arrays.fill(nulos, n, size, false);
+            }
+            size = n;
+            modCount++;
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeIf(c::contains);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeIf(e -> !c.contains(e));
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super T> filter) {
+        int j = 0;
+        for (int i = 0; i < size; i++) {
+            T e = valor(i);
+            if (!filter.test(e)) {
+                escribir(j++, e);
+            }
+        }
+        if (j == size) {
+            return false;
+        }
+        if (nulos != null) {
+            Arrays.fill(nulos, j, size, false);
+        }
+        size = j;
+        modCount++;
+        return true;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<T> operator) {
+        for (int i = 0; i < size; i++) {
+            escribir(i, operator.apply(valor(i)));
+        }
+        modCount++;
+    }
+
+    @Override
+    public void sort(Comparator<? super T> c) {
+        List<T> copia = new ArrayList<>(this);
+        copia.sort(c);
+        for (int i = 0; i < size; i++) {
+            escribir(i, copia.get(i));
+        }
+        modCount++;
+    }
+
+    @Override
+    public void forEach(Consumer<? super T> action) {
+        int esperados = modCount;
+        for (int i = 0; i < size && esperados == modCount; i++) {
+            action.accept(valor(i));
+        }
+        if (esperados != modCount) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterador(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator() {
+        return new Iterador(0);
+    }
+
+    @Override
+    public ListIterator<T> listIterator(int index) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index: " + index);
+        }
+        return new Iterador(index);
+    }
+
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(this, Spliterator.ORDERED);
+    }
+
+    @Override
+    public List<T> subList(int fromIndex, int toIndex) {
+        if (fromIndex < 0 || toIndex > size || fromIndex > toIndex) {
+            throw new IndexOutOfBoundsException("fromIndex: " + fromIndex + ", toIndex: " + toIndex);
+        }
+        return new AbstractList<T>() {
+            private int tam = toIndex - fromIndex;
+
+            @Override
+            public T get(int index) {
+                if (index < 0 || index >= tam) {
+                    throw new IndexOutOfBoundsException("Index: " + index);
+                }
+                return valor(fromIndex + index);
+            }
+
+            @Override
+            public T set(int index, T element) {
+                T old = get(index);
+                escribir(fromIndex + index, element);
+                return old;
+            }
+
+            @Override
+            public void add(int index, T element) {
+                if (index < 0 || index > tam) {
+                    throw new IndexOutOfBoundsException("Index: " + index);
+                }
+                NumberPerlList.this.add(fromIndex + index, element);
+                tam++;
+            }
+
+            @Override
+            public T remove(int index) {
+                get(index);
+                tam--;
+                return NumberPerlList.this.remove(fromIndex + index);
+            }
+
+            @Override
+            public int size() {
+                return tam;
+            }
+        };
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o == this) {
+            return true;
+        }
+        if (!(o instanceof List)) {
+            return false;
+        }
+        List<?> l = (List<?>) o;
+        if (l.size() != size) {
+            return false;
+        }
+        Iterator<?> it = l.iterator();
+        for (int i = 0; i < size; i++) {
+            if (!Objects.equals(valor(i), it.next())) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public int hashCode() {
+        int hash = 1;
+        for (int i = 0; i < size; i++) {
+            hash = 31 * hash + Objects.hashCode(valor(i));
+        }
+        return hash;
+    }
+
+    /**
+     * Serializa la lista escribiendo solo los elementos
+     *
+     * @param out Flujo de salida
+     * @throws IOException Error de escritura
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < size; i++) {
+            out.writeObject(valor(i));
+        }
+    }
+
+    /**
+     * Deserializa la lista
+     *
+     * @param in Flujo de entrada
+     * @throws IOException Error de lectura
+     * @throws ClassNotFoundException Clase no encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        reservar(Math.max(n, 1));
+        for (int i = 0; i < n; i++) {
+            add(tipo().cast(in.readObject()));
+        }
+    }
+
+    /**
+     * Iterador de la lista
+     */
+    private final class Iterador implements ListIterator<T> {
+
+        private int cursor;
+        private int actual = -1;
+        private int esperados = modCount;
+
+        /**
+         * Crea un iterador
+         *
+         * @param index Posicion inicial
+         */
+        private Iterador(int index) {
+            cursor = index;
+        }
+
+        /**
+         * Comprueba que la lista no se modificase fuera del iterador
+         */
+        private void comprobar() {
+            if (esperados != modCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return cursor < size;
+        }
+
+        @Override
+        public T next() {
+            comprobar();
+            if (cursor >= size) {
+                throw new NoSuchElementException();
+            }
+            actual = cursor++;
+            return valor(actual);
+        }
+
+        @Override
+        public boolean hasPrevious() {
+            return cursor > 0;
+        }
+
+        @Override
+        public T previous() {
+            comprobar();
+            if (cursor <= 0) {
+                throw new NoSuchElementException();
+            }
+            actual = --cursor;
+            return valor(actual);
+        }
+
+        @Override
+        public int nextIndex() {
+            return cursor;
+        }
+
+        @Override
+        public int previousIndex() {
+            return cursor - 1;
+        }
+
+        @Override
+        public void remove() {
+            if (actual < 0) {
+                throw new IllegalStateException();
+            }
+            comprobar();
+            NumberPerlList.this.remove(actual);
+            cursor = actual;
+            actual = -1;
+            esperados = modCount;
+        }
+
+        @Override
+        public void set(T e) {
+            if (actual < 0) {
+                throw new IllegalStateException();
+            }
+            comprobar();
+            escribir(actual, e);
+        }
+
+        @Override
+        public void add(T e) {
+            comprobar();
+            NumberPerlList.this.add(cursor++, e);
+            actual = -1;
+            esperados = modCount;
+        }
+
+    }
+
+}
@@ -3,12 +3,12 @@ package perldoop.lib;
 import java.io.BufferedReader;
 import java.io.IOException;
 import java.io.InputStreamReader;
-import java.lang.reflect.Array;
 import java.util.Arrays;
 import java.util.List;
+import java.util.Map;
 import java.util.function.Function;
+import java.util.function.IntFunction;
 import perldoop.lib.box.EmptyBox;
-import perldoop.lib.util.Union;
 
 /**
  * Clase para las acciones de perldoop
@@ -23,12 +23,171 @@ public final class Pd {
     public static String[] ARGV = new String[0];
 
     /**
-     * Crea una union para concatenar
+     * Obtiene el numero de elementos de un array o una lista, null no tiene elementos
      *
-     * @return Union
+     * @param parte Array o lista
+     * @return Numero de elementos
      */
-    public static Union union() {
-        return new Union();
+    private static int size(Object parte) {
+        if (parte instanceof Object[]) {
+            return ((Object[]) parte).length;
+        } else if (parte != null) {
+            return ((List) parte).size();
+        }
+        return 0;
+    }
+
+    /**
+     * Concatena arrays y listas en un array reservado con su tamaño final, los arrays se copian en bloque
+     *
+     * @param <T> Tipo de los elementos
+     * @param tipo Constructor del array resultado
+     * @param partes Arrays o listas
+     * @return Array con los elementos de todas las partes
+     */
+    public static <T> T[] concat(IntFunction<T[]> tipo, Object... partes) {
+        int size = 0;
+        for (Object parte : partes) {
+            size += size(parte);
+        }
+        T[] array = tipo.apply(size);
+        int i = 0;
+        for (Object parte : partes) {
+            if (parte instanceof Object[]) {
+                Object[] a = (Object[]) parte;
+                System.arraycopy(a, 0, array, i, a.length);
+                i += a.length;
+            } else if (parte != null) {
+                List<T> list = parte(parte);
+                for (int j = 0; j < list.size(); j++) {
+                    array[i++] = list.get(j);
+                }
+            }
+        }
+        return array;
+    }
+
+    /**
+     * Concatena arrays y listas en una lista reservada con su tamaño final
+     *
+     * @param <T> Tipo de los elementos
+     * @param destino Lista vacia del tipo del resultado
+     * @param partes Arrays o listas
+     * @return Lista destino con los elementos de todas las partes
+     */
+    public static <T> PerlList<T> concat(PerlList<T> destino, Object... partes) {
+        int size = 0;
+        for (Object parte : partes) {
+            size += size(parte);
+        }
+        destino.ensureCapacity(size);
+        for (Object parte : partes) {
+            if (parte != null) {
+                destino.addAll(Pd.<T>parte(parte));
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Obtiene una parte de una concatenacion como lista, los arrays se envuelven sin copiarse. El analisis semantico
+     * garantiza que todas las partes tienen el tipo de los elementos del resultado.
+     *
+     * @param <T> Tipo de los elementos
+     * @param parte Array o lista
+     * @return Lista con los elementos de la parte
+     */
+    @SuppressWarnings("unchecked")
+    private static <T> List<T> parte(Object parte) {
+        if (parte instanceof Object[]) {
+            return Arrays.asList((T[]) parte);
+        }
+        return (List<T>) parte;
+    }
+
+    /**
+     * Concatena mapas, las claves repetidas toman el valor del ultimo mapa
+     *
+     * @param <T> Tipo de los elementos
+     * @param destino Mapa vacio del tipo del resultado
+     * @param partes Mapas
+     * @return Mapa destino con las entradas de todos los mapas
+     */
+    @SafeVarargs
+    public static <T> PerlMap<T> concat(PerlMap<T> destino, Map<String, T>... partes) {
+        for (Map<String, T> parte : partes) {
+            if (parte != null) {
+                destino.putAll(parte);
+            }
+        }
+        return destino;
+    }
+
+    /**
+     * Genera una lista temporal desde un array sin recorrerlo
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Arrays
+     * @return Lista temporal
+     */
+    public static <T> List<T> tList(T... array) {
+        return Arrays.asList(array);
+    }
+
+    /**
+     * Crea las posiciones de un rango ini..fin, si ini es mayor que fin el rango esta vacio
+     *
+     * @param ini Inicio
+     * @param fin Fin incluido
+     * @return Posiciones
+     */
+    public static int[] indexs(int ini, int fin) {
+        int[] indexs = new int[Math.max(fin - ini + 1, 0)];
+        for (int i = 0; i < indexs.length; i++) {
+            indexs[i] = ini + i;
+        }
+        return indexs;
+    }
+
+    /**
+     * Crea el array de un rango ini..fin, si ini es mayor que fin el rango esta vacio
+     *
+     * @param ini Inicio
+     * @param fin Fin incluido
+     * @return Array con los enteros del rango
+     */
+    public static Integer[] range(int ini, int fin) {
+        Integer[] range = new Integer[Math.max(fin - ini + 1, 0)];
+        for (int i = 0; i < range.length; i++) {
+            range[i] = ini + i;
+        }
+        return range;
+    }
+
+    /**
+     * Convierte posiciones calculadas en tiempo de ejecución a enteros
+     *
+     * @param indexs Posiciones
+     * @return Posiciones enteras
+     */
+    private static int[] indexs(Number[] indexs) {
+        int[] res = new int[indexs.length];
+        for (int i = 0; i < indexs.length; i++) {
+            res[i] = indexs[i].intValue();
+        }
+        return res;
+    }
+
+    /**
+     * Accede a varias posiciones dentro de un array en contexto escalar
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param indexs Posiciones
+     * @return Elemento del ultimo indexs
+     */
+    public static <T> T sAccess(T[] array, int[] indexs) {
+        return array[indexs[indexs.length - 1]];
     }
 
     /**
@@ -52,19 +211,21 @@ public final class Pd {
      * @param value Valor
      * @return Elemento del ultimo indexs
      */
-    public static <T> T sAccess(T[] array, Number[] indexs, T value) {
-        return array[indexs[indexs.length - 1].intValue()] = value;
+    public static <T> T sAccess(T[] array, int[] indexs, T value) {
+        return array[indexs[indexs.length - 1]] = value;
     }
 
     /**
-     * Genera una lista temporal desde un array sin recorrerlo
+     * Accede a varias posiciones dentro de un array y las actualiza
      *
      * @param <T> Tipo de los elementos
-     * @param array Arrays
-     * @return Lista temporal
+     * @param array Array
+     * @param indexs Posiciones
+     * @param value Valor
+     * @return Elemento del ultimo indexs
      */
-    public static <T> List<T> tList(T... array) {
-        return Arrays.asList(array);
+    public static <T> T sAccess(T[] array, Number[] indexs, T value) {
+        return array[indexs[indexs.length - 1].intValue()] = value;
     }
 
     /**
@@ -72,36 +233,72 @@ public final class Pd {
      *
      * @param <T> Tipo de los elementos
      * @param array Array
+     * @param tipo Constructor del array resultado
      * @param indexs Posiciones
      * @return Array de posciones de los indices
      */
-    public static <T> T[] aAccess(T[] array, Number[] indexs) {
-        T[] res = (T[]) Array.newInstance(array.getClass().getComponentType(), indexs.length);
+    public static <T> T[] aAccess(T[] array, IntFunction<T[]> tipo, int[] indexs) {
+        T[] res = tipo.apply(indexs.length);
         for (int i = 0; i < indexs.length; i++) {
-            res[i] = array[indexs[i].intValue()];
+            res[i] = array[indexs[i]];
         }
         return res;
     }
 
+    /**
+     * Accede a varias posiciones dentro de un array en contexto array
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param tipo Constructor del array resultado
+     * @param indexs Posiciones
+     * @return Array de posciones de los indices
+     */
+    public static <T> T[] aAccess(T[] array, IntFunction<T[]> tipo, Number[] indexs) {
+        return aAccess(array, tipo, indexs(indexs));
+    }
+
     /**
      * Accede a varias posiciones dentro de un array y las actualiza en el contexto array
      *
      * @param <T> Tipo de los elementos
      * @param array Array
+     * @param tipo Constructor del array resultado
      * @param indexs Posiciones
      * @param values Valores
      * @return Array de posciones de los indices
      */
-    public static <T> T[] aAccess(T[] array, Number[] indexs, T... values) {
-        T[] res = (T[]) Array.newInstance(array.getClass().getComponentType(), indexs.length);
+    @SafeVarargs
+    public static <T> T[] aAccess(T[] array, IntFunction<T[]> tipo, int[] indexs, T... values) {
+        T[] res = tipo.apply(indexs.length);
         for (int i = 0; i < indexs.length && i < values.length; i++) {
-            res[i] = array[indexs[i].intValue()] = values[i];
+            res[i] = array[indexs[i]] = values[i];
         }
         return res;
     }
 
     /**
-     * Accede a varias posiciones dentro de una lista en el contexto hash
+     * Accede a varias posiciones dentro de un array y las actualiza en el contexto array
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param tipo Constructor del array resultado
+     * @param indexs Posiciones
+     * @param values Valores
+     * @return Array de posciones de los indices
+     */
+    @SafeVarargs
+    public static <T> T[] aAccess(T[] array, IntFunction<T[]> tipo, Number[] indexs, T... values) {
+        int[] pos = indexs(indexs);
+        T[] res = tipo.apply(pos.length);
+        for (int i = 0; i < pos.length && i < values.length; i++) {
+            res[i] = array[pos[i]] = values[i];
+        }
+        return res;
+    }
+
+    /**
+     * Accede a varias posiciones dentro de un array en el contexto hash
      *
      * @param <T> Tipo de los elementos
      * @param array Array
@@ -109,15 +306,40 @@ public final class Pd {
      * @param f Funcion para transformar los elementos a box
      * @return Lista de index valor consecutivos
      */
-    public static <T> Box[] hAccess(T[] array, Number[] indexs, Function<T, Box> f) {
+    public static <T> Box[] hAccess(T[] array, int[] indexs, Function<T, Box> f) {
         Box[] res = new Box[indexs.length * 2];
-        for (int i = 0; i < indexs.length; i++) {
-            res[i] = Casting.box(indexs[i]);
-            res[i + 1] = f.apply(array[indexs[i].intValue()]);
+        for (int i = 0, j = 0; i < indexs.length; i++) {
+            res[j++] = Casting.box(indexs[i]);
+            res[j++] = f.apply(array[indexs[i]]);
         }
         return res;
     }
 
+    /**
+     * Accede a varias posiciones dentro de un array en el contexto hash
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param indexs Posiciones
+     * @param f Funcion para transformar los elementos a box
+     * @return Lista de index valor consecutivos
+     */
+    public static <T> Box[] hAccess(T[] array, Number[] indexs, Function<T, Box> f) {
+        return hAccess(array, indexs(indexs), f);
+    }
+
+    /**
+     * Accede a varias posiciones dentro de una lista en contexto escalar
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param indexs Posiciones
+     * @return Elemento del ultimo indexs
+     */
+    public static <T> T sAccess(List<T> list, int[] indexs) {
+        return list.get(indexs[indexs.length - 1]);
+    }
+
     /**
      * Accede a varias posiciones dentro de una lista en contexto escalar
      *
@@ -130,6 +352,19 @@ public final class Pd {
         return list.get(indexs[indexs.length - 1].intValue());
     }
 
+    /**
+     * Accede a varias posiciones dentro de una lista y las actualiza
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param indexs Posiciones
+     * @param value Valor
+     * @return Elemento del ultimo indexs
+     */
+    public static <T> T sAccess(List<T> list, int[] indexs, T value) {
+        return list.set(indexs[indexs.length - 1], value);
+    }
+
     /**
      * Accede a varias posiciones dentro de una lista y las actualiza
      *
@@ -151,14 +386,26 @@ public final class Pd {
      * @param indexs Posiciones
      * @return Lista de posiciones de los indices
      */
-    public static <T> PerlList<T> aAccess(List<T> list, Number[] indexs) {
+    public static <T> PerlList<T> aAccess(List<T> list, int[] indexs) {
         PerlList<T> res = new PerlList<>(indexs.length);
         for (int i = 0; i < indexs.length; i++) {
-            res.set(i, list.get(indexs[i].intValue()));
+            res.add(list.get(indexs[i]));
         }
         return res;
     }
 
+    /**
+     * Accede a varias posiciones dentro de una lista en contexto array
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param indexs Posiciones
+     * @return Lista de posiciones de los indices
+     */
+    public static <T> PerlList<T> aAccess(List<T> list, Number[] indexs) {
+        return aAccess(list, indexs(indexs));
+    }
+
     /**
      * Accede a varias posiciones dentro de una lista y las actualiza en el contexto array
      *
@@ -168,14 +415,27 @@ public final class Pd {
      * @param values Valores
      * @return Lista de posiciones de los indices
      */
-    public static <T> PerlList<T> aAccess(List<T> list, Number[] indexs, List<T> values) {
+    public static <T> PerlList<T> aAccess(List<T> list, int[] indexs, List<T> values) {
         PerlList<T> res = new PerlList<>(indexs.length);
         for (int i = 0; i < indexs.length && i < values.size(); i++) {
-            res.set(i, list.set(indexs[i].intValue(), values.get(i)));
+            res.add(list.set(indexs[i], values.get(i)));
         }
         return res;
     }
 
+    /**
+     * Accede a varias posiciones dentro de una lista y las actualiza en el contexto array
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param indexs Posiciones
+     * @param values Valores
+     * @return Lista de posiciones de los indices
+     */
+    public static <T> PerlList<T> aAccess(List<T> list, Number[] indexs, List<T> values) {
+        return aAccess(list, indexs(indexs), values);
+    }
+
     /**
      * Accede a varias posiciones dentro de una lista en el contexto hash
      *
@@ -185,15 +445,28 @@ public final class Pd {
      * @param f Funcion para transformar los elementos a box
      * @return Lista de index valor consecutivos
      */
-    public static <T> PerlList<Box> hAccess(PerlList<T> list, Number[] indexs, Function<T, Box> f) {
+    public static <T> PerlList<Box> hAccess(PerlList<T> list, int[] indexs, Function<T, Box> f) {
         PerlList<Box> res = new PerlList<>(indexs.length * 2);
         for (int i = 0; i < indexs.length; i++) {
             res.add(Casting.box(indexs[i]));
-            res.add(f.apply(list.get(indexs[i].intValue())));
+            res.add(f.apply(list.get(indexs[i])));
         }
         return res;
     }
 
+    /**
+     * Accede a varias posiciones dentro de una lista en el contexto hash
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param indexs Posiciones
+     * @param f Funcion para transformar los elementos a box
+     * @return Lista de index valor consecutivos
+     */
+    public static <T> PerlList<Box> hAccess(PerlList<T> list, Number[] indexs, Function<T, Box> f) {
+        return hAccess(list, indexs(indexs), f);
+    }
+
     /**
      * Accede a varias posiciones dentro de un hash en contexto escalar
      *
@@ -216,7 +489,7 @@ public final class Pd {
      * @return Valor de la ultima clave
      */
     public static <T> T sAccess(PerlMap<T> map, String[] keys, T value) {
-        return map.put(Arrays.asList(keys), value);
+        return map.put(keys, value);
     }
 
     /**
@@ -230,7 +503,7 @@ public final class Pd {
     public static <T> PerlList<T> aAccess(PerlMap<T> map, String[] keys) {
         PerlList<T> res = new PerlList<>(keys.length);
         for (int i = 0; i < keys.length; i++) {
-            res.set(i, map.get(keys[i]));
+            res.add(map.get(keys[i]));
         }
         return res;
     }
@@ -248,7 +521,7 @@ public final class Pd {
         PerlList<T> res = new PerlList<>(keys.length);
         int i;
         for (i = 0; i < keys.length && i < values.size(); i++) {
-            res.set(i, map.put(keys[i], values.get(i)));
+            res.add(map.put(keys[i], values.get(i)));
         }
         for (; i < keys.length; i++) {
             map.put(keys[i], null);
@@ -349,7 +622,7 @@ public final class Pd {
      * @return Copia superficial
      */
     public static <T> PerlList<T> copy(PerlList<T> list) {
-        return new PerlList(list);
+        return list.copy();
     }
 
     /**
@@ -360,7 +633,103 @@ public final class Pd {
      * @return Copia superficial
      */
     public static <T> PerlMap<T> copy(PerlMap<T> map) {
-        return new PerlMap<>(map);
+        return map.copy();
+    }
+
+    /**
+     * Incrementa en el sitio el valor de una clave de un mapa, los valores nulos se tratan como 0
+     *
+     * @param map Mapa
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static int increment(PerlMap<Integer> map, String key, int delta) {
+        if (map instanceof PerlIntMap) {
+            return ((PerlIntMap) map).increment(key, delta);
+        }
+        Integer value = map.get(key);
+        return map.put(key, (value == null ? 0 : value) + delta);
+    }
+
+    /**
+     * Incrementa en el sitio el valor de una clave de un mapa, los valores nulos se tratan como 0
+     *
+     * @param map Mapa
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static long increment(PerlMap<Long> map, String key, long delta) {
+        if (map instanceof PerlLongMap) {
+            return ((PerlLongMap) map).increment(key, delta);
+        }
+        Long value = map.get(key);
+        return map.put(key, (value == null ? 0 : value) + delta);
+    }
+
+    /**
+     * Incrementa en el sitio el valor de una clave de un mapa, los valores nulos se tratan como 0
+     *
+     * @param map Mapa
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static double increment(PerlMap<Double> map, String key, double delta) {
+        if (map instanceof PerlDoubleMap) {
+            return ((PerlDoubleMap) map).increment(key, delta);
+        }
+        Double value = map.get(key);
+        return map.put(key, (value == null ? 0 : value) + delta);
+    }
+
+    /**
+     * Incrementa en el sitio un elemento de una lista, los valores nulos se tratan como 0
+     *
+     * @param list Lista
+     * @param index Posicion
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static int increment(PerlList<Integer> list, int index, int delta) {
+        if (list instanceof IntPerlList) {
+            return ((IntPerlList) list).increment(index, delta);
+        }
+        Integer value = list.get(index);
+        return list.set(index, (value == null ? 0 : value) + delta);
+    }
+
+    /**
+     * Incrementa en el sitio un elemento de una lista, los valores nulos se tratan como 0
+     *
+     * @param list Lista
+     * @param index Posicion
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static long increment(PerlList<Long> list, int index, long delta) {
+        if (list instanceof LongPerlList) {
+            return ((LongPerlList) list).increment(index, delta);
+        }
+        Long value = list.get(index);
+        return list.set(index, (value == null ? 0 : value) + delta);
+    }
+
+    /**
+     * Incrementa en el sitio un elemento de una lista, los valores nulos se tratan como 0
+     *
+     * @param list Lista
+     * @param index Posicion
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public static double increment(PerlList<Double> list, int index, double delta) {
+        if (list instanceof DoublePerlList) {
+            return ((DoublePerlList) list).increment(index, delta);
+        }
+        Double value = list.get(index);
+        return list.set(index, (value == null ? 0 : value) + delta);
     }
 
     /**
@@ -557,6 +926,19 @@ public final class Pd {
         return file.read();
     }
 
+    /**
+     * Lee una linea de file aplicando chomp
+     *
+     * @param file Fichero
+     * @return linea o null si no quedan lineas
+     */
+    public static String readChomped(PerlFile file) {
+        if (file == null) {
+            return null;
+        }
+        return file.readChomped();
+    }
+
     /**
      * Lee todas las lineas de file
      *
@@ -579,6 +961,15 @@ public final class Pd {
         return read(PerlFile.STDIN);
     }
 
+    /**
+     * Lee una linea de la entrada estandar aplicando chomp
+     *
+     * @return linea o null si no quedan lineas
+     */
+    public static String readChomped() {
+        return readChomped(PerlFile.STDIN);
+    }
+
     /**
      * Lee todas las lineas de la entrada estandar
      *
@@ -596,6 +987,17 @@ public final class Pd {
     public static void eval(Object exp) {
     }
 
+    /**
+     * Evalua una expresion y retorna un valor calculado antes de evaluarla
+     *
+     * @param valor Valor a retornar
+     * @param exp Expresión
+     * @return Valor
+     */
+    public static int eval(int valor, Object exp) {
+        return valor;
+    }
+
     /**
      * Reliza la operacion xor
      *
@@ -2,9 +2,15 @@ package perldoop.lib;
 
 import java.lang.reflect.Array;
 import java.util.Arrays;
+import java.util.Collection;
 import java.util.Comparator;
 import java.util.List;
+import java.util.Set;
 import java.util.StringJoiner;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+import perldoop.lib.util.Sort;
+import perldoop.lib.util.Split;
 
 /**
  * Implementación de las funciones nativa Perl
@@ -110,12 +116,12 @@ public final class Perl {
     public static <T extends Comparable> T[] sort(T[] array, Comparator<T>... comp) {
         T[] copia = Arrays.copyOf(array, array.length);
         if (comp.length > 0) {
-            Arrays.sort(copia, comp[0]);
+            Sort.sort(copia, comp[0]);
         } else if (array.length > 1) {
             if (array[0] instanceof Number) {//Number no es comparable
-                Arrays.sort((Number[]) copia, (Number n1, Number n2) -> Casting.toString(n1).compareTo(Casting.toString(n2)));
+                Sort.sortStr(copia, n -> Casting.toString((Number) n), false);
             } else {
-                Arrays.sort(copia);
+                Sort.sort(copia, null);
             }
         }
         return copia;
@@ -129,17 +135,129 @@ public final class Perl {
      * @param comp Comparador personalizado
      * @return Array ordenado
      */
+    @SuppressWarnings("unchecked")
     public static <T extends Comparable> PerlList<T> sort(PerlList<T> list, Comparator<T>... comp) {
-        PerlList copia = new PerlList(list);
-        if (comp.length > 0) {
-            copia.sort(comp[0]);
-        } else if (!list.isEmpty()) {
-            if (list.get(0) instanceof Number) {//Number no es comparable
-                ((PerlList<Number>) copia).sort((Number n1, Number n2) -> Casting.toString(n1).compareTo(Casting.toString(n2)));
-            } else {
-                copia.sort(null);
-            }
-        }
+        //Los elementos de la lista son de tipo T
+        return new PerlList<>(sort((T[]) list.toArray(new Comparable<?>[list.size()]), comp));
+    }
+
+    /**
+     * Ordena un array de numeros por su valor, equivale a sort {$a &lt;=&gt; $b}
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param desc Orden descendente, equivale a sort {$b &lt;=&gt; $a}
+     * @return Array ordenado
+     */
+    public static <T extends Number> T[] sortNum(T[] array, boolean desc) {
+        T[] copia = Arrays.copyOf(array, array.length);
+        Sort.sortNum(copia, desc);
+        return copia;
+    }
+
+    /**
+     * Ordena una lista de numeros por su valor, equivale a sort {$a &lt;=&gt; $b}
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param desc Orden descendente, equivale a sort {$b &lt;=&gt; $a}
+     * @return Lista ordenada
+     */
+    @SuppressWarnings("unchecked")
+    public static <T extends Number> PerlList<T> sortNum(PerlList<T> list, boolean desc) {
+        //Los elementos de la lista son de tipo T y se reemplazan por numeros de su misma clase
+        T[] copia = (T[]) list.toArray(new Number[list.size()]);
+        Sort.sortNum(copia, desc);
+        return new PerlList<>(copia);
+    }
+
+    /**
+     * Ordena un array por una clave numérica que se calcula una sola vez por elemento, equivale a sort {$h{$a}
+     * &lt;=&gt; $h{$b}}
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param clave Clave de cada elemento
+     * @param desc Orden descendente
+     * @return Array ordenado
+     */
+    public static <T> T[] sortNum(T[] array, ToDoubleFunction<T> clave, boolean desc) {
+        T[] copia = Arrays.copyOf(array, array.length);
+        Sort.sortNum(copia, clave, desc);
+        return copia;
+    }
+
+    /**
+     * Ordena una lista por una clave numérica que se calcula una sola vez por elemento, equivale a sort {$h{$a}
+     * &lt;=&gt; $h{$b}}
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param clave Clave de cada elemento
+     * @param desc Orden descendente
+     * @return Lista ordenada
+     */
+    public static <T> PerlList<T> sortNum(PerlList<T> list, ToDoubleFunction<T> clave, boolean desc) {
+        PerlList<T> copia = new PerlList<>(list);
+        Sort.sortNum(copia, clave, desc);
+        return copia;
+    }
+
+    /**
+     * Ordena un array de cadenas, equivale a sort {$a cmp $b}
+     *
+     * @param array Array
+     * @param desc Orden descendente, equivale a sort {$b cmp $a}
+     * @return Array ordenado
+     */
+    public static String[] sortStr(String[] array, boolean desc) {
+        String[] copia = Arrays.copyOf(array, array.length);
+        Sort.sortStr(copia, desc);
+        return copia;
+    }
+
+    /**
+     * Ordena una lista de cadenas, equivale a sort {$a cmp $b}
+     *
+     * @param list Lista
+     * @param desc Orden descendente, equivale a sort {$b cmp $a}
+     * @return Lista ordenada
+     */
+    public static PerlList<String> sortStr(PerlList<String> list, boolean desc) {
+        String[] copia = list.toArray(new String[list.size()]);
+        Sort.sortStr(copia, desc);
+        return new PerlList<>(copia);
+    }
+
+    /**
+     * Ordena un array por una clave de cadena que se calcula una sola vez por elemento, equivale a sort {$h{$a} cmp
+     * $h{$b}}
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param clave Clave de cada elemento
+     * @param desc Orden descendente
+     * @return Array ordenado
+     */
+    public static <T> T[] sortStr(T[] array, Function<T, String> clave, boolean desc) {
+        T[] copia = Arrays.copyOf(array, array.length);
+        Sort.sortStr(copia, clave, desc);
+        return copia;
+    }
+
+    /**
+     * Ordena una lista por una clave de cadena que se calcula una sola vez por elemento, equivale a sort {$h{$a} cmp
+     * $h{$b}}
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param clave Clave de cada elemento
+     * @param desc Orden descendente
+     * @return Lista ordenada
+     */
+    public static <T> PerlList<T> sortStr(PerlList<T> list, Function<T, String> clave, boolean desc) {
+        PerlList<T> copia = new PerlList<>(list);
+        Sort.sortStr(copia, clave, desc);
         return copia;
     }
 
@@ -152,14 +270,19 @@ public final class Perl {
      * @return Array de cadenas
      */
     public static String[] split(String regex, String str, Integer... limit) {
-        int lt = -1;
-        if (limit.length > 0) {
-            lt = limit[0];
-        }
-        if (regex.equals(" ")) {
-            regex = "\\s";
-        }
-        return Arrays.stream(str.split("(" + regex + ")+", lt)).filter(s->!s.isEmpty()).toArray(String[]::new);
+        return Split.split(regex, str, limit.length > 0 ? limit[0] : -1, true);
+    }
+
+    /**
+     * Separa una cadena de forma perezosa para recorrerla en un bucle, las partes se calculan en cada iteración
+     *
+     * @param regex Separador
+     * @param str Cadena
+     * @param limit Limite
+     * @return Iterable de cadenas
+     */
+    public static Iterable<String> splitIter(String regex, String str, Integer... limit) {
+        return Split.iterable(regex, str, limit.length > 0 ? limit[0] : -1, true);
     }
 
     /**
@@ -171,11 +294,19 @@ public final class Perl {
      * @return Array de cadenas
      */
     public static String[] split2(String regex, String str, Integer... limit) {
-        int lt = -1;
-        if (limit.length > 0) {
-            lt = limit[0];
-        }
-        return Arrays.stream(str.split("(" + regex + ")+", lt)).filter(s->!s.isEmpty()).toArray(String[]::new);
+        return Split.split(regex, str, limit.length > 0 ? limit[0] : -1, false);
+    }
+
+    /**
+     * Separa una cadena de forma perezosa usando un separador expresado en forma de expresion regular
+     *
+     * @param regex Separador
+     * @param str Cadena
+     * @param limit Limite
+     * @return Iterable de cadenas
+     */
+    public static Iterable<String> split2Iter(String regex, String str, Integer... limit) {
+        return Split.iterable(regex, str, limit.length > 0 ? limit[0] : -1, false);
     }
 
     /**
@@ -188,7 +319,7 @@ public final class Perl {
     public static String join(String sep, List list) {
         StringJoiner joiner = new StringJoiner(sep);
         for (Object e : list) {
-            joiner.add(e.toString());
+            joiner.add(e instanceof Number ? Casting.toString((Number) e) : e.toString());
         }
         return joiner.toString();
     }
@@ -485,7 +616,7 @@ public final class Perl {
      * @return Valor eliminado
      */
     public static <T> T delete(PerlMap<T> map, String[] keys, boolean multiKey) {
-        return map.remove(Arrays.asList(keys));
+        return map.remove(keys);
     }
 
     /**
@@ -509,6 +640,39 @@ public final class Perl {
         return new PerlList<>(map.values());
     }
 
+    /**
+     * Obtiene una vista de las claves de un mapa sin copiarlas, el mapa no debe cambiar de estructura mientras se
+     * recorre
+     *
+     * @param map Mapa
+     * @return Vista de las claves
+     */
+    public static Set<String> keysView(PerlMap<?> map) {
+        return map.keySet();
+    }
+
+    /**
+     * Obtiene una vista de los valores de un mapa sin copiarlos, el mapa no debe cambiar de estructura mientras se
+     * recorre
+     *
+     * @param <T> Tipo de los valores
+     * @param map mapa
+     * @return Vista de los valores
+     */
+    public static <T> Collection<T> valuesView(PerlMap<T> map) {
+        return map.values();
+    }
+
+    /**
+     * Obtiene el numero de claves de un mapa, equivale a keys o values en contexto escalar
+     *
+     * @param map Mapa
+     * @return Numero de claves
+     */
+    public static Integer size(PerlMap<?> map) {
+        return map.size();
+    }
+
     /**
      * Abre un fichero para lectura
      *
@@ -552,6 +716,7 @@ public final class Perl {
      * @return Sin retorno
      */
     public static Boolean exit(Integer status) {
+        PerlFile.flushAll();
         System.exit(status);
         return null;
     }
@@ -573,6 +738,7 @@ public final class Perl {
      * @return Sin retorno
      */
     public static Boolean die(Object... args) {
+        PerlFile.flushAll();
         PerlFile.STDERR.println(args);
         System.exit(-1);
         return null;
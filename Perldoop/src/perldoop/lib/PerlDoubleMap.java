@@ -0,0 +1,147 @@
+package perldoop.lib;
+
+import java.util.Map;
+
+/**
+ * Tipo de dato mapa con valores double almacenados sin boxing, usa direccionamiento abierto con claves String. Las
+ * claves nulas se almacenan como la cadena vacia.
+ *
+ * @author César Pomar
+ */
+public class PerlDoubleMap extends PerlNumberMap<Double> {
+
+    private static final long serialVersionUID = 1L;
+    private transient double[] valores;
+
+    /**
+     * Crea un mapa vacio
+     */
+    public PerlDoubleMap() {
+        this(16);
+    }
+
+    /**
+     * Crea un mapa con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public PerlDoubleMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con una capacidad y un factor de crecimiento, el factor de crecimiento se ignora
+     *
+     * @param initialCapacity Capacidad inicial
+     * @param loadFactor Factor de crecicimiento
+     */
+    public PerlDoubleMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con los elementos de otro mapa
+     *
+     * @param m Mapa
+     */
+    public PerlDoubleMap(Map<? extends String, ? extends Double> m) {
+        this(m.size());
+        putAll(m);
+    }
+
+    /**
+     * Crea un mapa partiendo de un array de claves y otro de valores
+     *
+     * @param claves Array de claves
+     * @param valores Array de valores
+     */
+    public PerlDoubleMap(String[] claves, Double[] valores) {
+        this(claves.length);
+        for (int i = 0; i < claves.length; i++) {
+            put(claves[i], valores[i]);
+        }
+    }
+
+    @Override
+    protected Class<Double> tipo() {
+        return Double.class;
+    }
+
+    @Override
+    protected void reservar(int cap) {
+        valores = new double[cap];
+    }
+
+    @Override
+    protected Double leer(int i) {
+        return valores[i];
+    }
+
+    @Override
+    protected void guardar(int i, Double v) {
+        valores[i] = v == null ? 0 : v;
+    }
+
+    @Override
+    protected void reubicar(int[] destinos, int cap) {
+        double[] nuevos = new double[cap];
+        for (int j = 0; j < destinos.length; j++) {
+            if (destinos[j] >= 0) {
+                nuevos[destinos[j]] = valores[j];
+            }
+        }
+        valores = nuevos;
+    }
+
+    /**
+     * Obtiene un valor sin boxing, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @return Valor
+     */
+    public double getDouble(String key) {
+        int i = buscar(key);
+        return i < 0 ? 0 : valores[i];
+    }
+
+    /**
+     * Almacena un valor sin boxing
+     *
+     * @param key Clave
+     * @param value Valor
+     * @return Valor
+     */
+    public double putDouble(String key, double value) {
+        int i = insertar(key);
+        valores[i] = value;
+        setNulo(i, false);
+        return value;
+    }
+
+    /**
+     * Incrementa el valor de una clave en el sitio, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public double increment(String key, double delta) {
+        int i = insertar(key);
+        setNulo(i, false);
+        return valores[i] += delta;
+    }
+
+    @Override
+    public PerlDoubleMap copy() {
+        return clone();
+    }
+
+    @Override
+    public PerlDoubleMap clone() {
+        PerlDoubleMap copia = new PerlDoubleMap(0);
+        copia.copiar(this);
+        copia.valores = valores.clone();
+        return copia;
+    }
+
+}
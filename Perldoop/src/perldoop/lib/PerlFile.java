@@ -43,6 +43,22 @@ public final class PerlFile {
         this.write = write;
     }
 
+    /**
+     * Activa la sincronizacion de las escrituras, necesaria cuando varios hilos escriben en los mismos ficheros
+     *
+     * @param concurrente Varios hilos escriben a la vez
+     */
+    public static void setConcurrente(boolean concurrente) {
+        Fwrite.setConcurrente(concurrente);
+    }
+
+    /**
+     * Vuelca los buffers de todos los ficheros de escritura abiertos
+     */
+    public static void flushAll() {
+        Fwrite.flushAll();
+    }
+
     /**
      * Obtiene la codificacion
      *
@@ -189,6 +205,18 @@ public final class PerlFile {
         return "";
     }
 
+    /**
+     * Lee una linea del fichero aplicando chomp
+     *
+     * @return linea o null si no quedan lineas
+     */
+    public String readChomped() {
+        if (read != null) {
+            return read.readChomped();
+        }
+        return null;
+    }
+
     /**
      * Lee todo el fichero
      *
@@ -0,0 +1,147 @@
+package perldoop.lib;
+
+import java.util.Map;
+
+/**
+ * Tipo de dato mapa con valores enteros almacenados sin boxing, usa direccionamiento abierto con claves String. Las
+ * claves nulas se almacenan como la cadena vacia.
+ *
+ * @author César Pomar
+ */
+public class PerlIntMap extends PerlNumberMap<Integer> {
+
+    private static final long serialVersionUID = 1L;
+    private transient int[] valores;
+
+    /**
+     * Crea un mapa vacio
+     */
+    public PerlIntMap() {
+        this(16);
+    }
+
+    /**
+     * Crea un mapa con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public PerlIntMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con una capacidad y un factor de crecimiento, el factor de crecimiento se ignora
+     *
+     * @param initialCapacity Capacidad inicial
+     * @param loadFactor Factor de crecicimiento
+     */
+    public PerlIntMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con los elementos de otro mapa
+     *
+     * @param m Mapa
+     */
+    public PerlIntMap(Map<? extends String, ? extends Integer> m) {
+        this(m.size());
+        putAll(m);
+    }
+
+    /**
+     * Crea un mapa partiendo de un array de claves y otro de valores
+     *
+     * @param claves Array de claves
+     * @param valores Array de valores
+     */
+    public PerlIntMap(String[] claves, Integer[] valores) {
+        this(claves.length);
+        for (int i = 0; i < claves.length; i++) {
+            put(claves[i], valores[i]);
+        }
+    }
+
+    @Override
+    protected Class<Integer> tipo() {
+        return Integer.class;
+    }
+
+    @Override
+    protected void reservar(int cap) {
+        valores = new int[cap];
+    }
+
+    @Override
+    protected Integer leer(int i) {
+        return valores[i];
+    }
+
+    @Override
+    protected void guardar(int i, Integer v) {
+        valores[i] = v == null ? 0 : v;
+    }
+
+    @Override
+    protected void reubicar(int[] destinos, int cap) {
+        int[] nuevos = new int[cap];
+        for (int j = 0; j < destinos.length; j++) {
+            if (destinos[j] >= 0) {
+                nuevos[destinos[j]] = valores[j];
+            }
+        }
+        valores = nuevos;
+    }
+
+    /**
+     * Obtiene un valor sin boxing, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @return Valor
+     */
+    public int getInt(String key) {
+        int i = buscar(key);
+        return i < 0 ? 0 : valores[i];
+    }
+
+    /**
+     * Almacena un valor sin boxing
+     *
+     * @param key Clave
+     * @param value Valor
+     * @return Valor
+     */
+    public int putInt(String key, int value) {
+        int i = insertar(key);
+        valores[i] = value;
+        setNulo(i, false);
+        return value;
+    }
+
+    /**
+     * Incrementa el valor de una clave en el sitio, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public int increment(String key, int delta) {
+        int i = insertar(key);
+        setNulo(i, false);
+        return valores[i] += delta;
+    }
+
+    @Override
+    public PerlIntMap copy() {
+        return clone();
+    }
+
+    @Override
+    public PerlIntMap clone() {
+        PerlIntMap copia = new PerlIntMap(0);
+        copia.copiar(this);
+        copia.valores = valores.clone();
+        return copia;
+    }
+
+}
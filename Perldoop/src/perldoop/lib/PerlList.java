@@ -69,4 +69,13 @@ public class PerlList<T> extends ArrayList<T> {
         return super.get(index);
     }
 
+    /**
+     * Crea una copia superficial de la lista conservando su representacion
+     *
+     * @return Copia superficial
+     */
+    public PerlList<T> copy() {
+        return new PerlList<>(this);
+    }
+
 }
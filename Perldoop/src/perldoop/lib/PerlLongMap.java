@@ -0,0 +1,147 @@
+package perldoop.lib;
+
+import java.util.Map;
+
+/**
+ * Tipo de dato mapa con valores long almacenados sin boxing, usa direccionamiento abierto con claves String. Las
+ * claves nulas se almacenan como la cadena vacia.
+ *
+ * @author César Pomar
+ */
+public class PerlLongMap extends PerlNumberMap<Long> {
+
+    private static final long serialVersionUID = 1L;
+    private transient long[] valores;
+
+    /**
+     * Crea un mapa vacio
+     */
+    public PerlLongMap() {
+        this(16);
+    }
+
+    /**
+     * Crea un mapa con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public PerlLongMap(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con una capacidad y un factor de crecimiento, el factor de crecimiento se ignora
+     *
+     * @param initialCapacity Capacidad inicial
+     * @param loadFactor Factor de crecicimiento
+     */
+    public PerlLongMap(int initialCapacity, float loadFactor) {
+        this(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con los elementos de otro mapa
+     *
+     * @param m Mapa
+     */
+    public PerlLongMap(Map<? extends String, ? extends Long> m) {
+        this(m.size());
+        putAll(m);
+    }
+
+    /**
+     * Crea un mapa partiendo de un array de claves y otro de valores
+     *
+     * @param claves Array de claves
+     * @param valores Array de valores
+     */
+    public PerlLongMap(String[] claves, Long[] valores) {
+        this(claves.length);
+        for (int i = 0; i < claves.length; i++) {
+            put(claves[i], valores[i]);
+        }
+    }
+
+    @Override
+    protected Class<Long> tipo() {
+        return Long.class;
+    }
+
+    @Override
+    protected void reservar(int cap) {
+        valores = new long[cap];
+    }
+
+    @Override
+    protected Long leer(int i) {
+        return valores[i];
+    }
+
+    @Override
+    protected void guardar(int i, Long v) {
+        valores[i] = v == null ? 0 : v;
+    }
+
+    @Override
+    protected void reubicar(int[] destinos, int cap) {
+        long[] nuevos = new long[cap];
+        for (int j = 0; j < destinos.length; j++) {
+            if (destinos[j] >= 0) {
+                nuevos[destinos[j]] = valores[j];
+            }
+        }
+        valores = nuevos;
+    }
+
+    /**
+     * Obtiene un valor sin boxing, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @return Valor
+     */
+    public long getLong(String key) {
+        int i = buscar(key);
+        return i < 0 ? 0 : valores[i];
+    }
+
+    /**
+     * Almacena un valor sin boxing
+     *
+     * @param key Clave
+     * @param value Valor
+     * @return Valor
+     */
+    public long putLong(String key, long value) {
+        int i = insertar(key);
+        valores[i] = value;
+        setNulo(i, false);
+        return value;
+    }
+
+    /**
+     * Incrementa el valor de una clave en el sitio, los valores inexistentes o nulos se tratan como 0
+     *
+     * @param key Clave
+     * @param delta Incremento
+     * @return Valor tras el incremento
+     */
+    public long increment(String key, long delta) {
+        int i = insertar(key);
+        setNulo(i, false);
+        return valores[i] += delta;
+    }
+
+    @Override
+    public PerlLongMap copy() {
+        return clone();
+    }
+
+    @Override
+    public PerlLongMap clone() {
+        PerlLongMap copia = new PerlLongMap(0);
+        copia.copiar(this);
+        copia.valores = valores.clone();
+        return copia;
+    }
+
+}
@@ -3,6 +3,7 @@ package perldoop.lib;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import perldoop.lib.util.ClaveCompuesta;
 
 /**
  * Tipo de dato mapa
@@ -66,6 +67,47 @@ public class PerlMap<T> extends HashMap<String, T> {
         return value;
     }
 
+    /**
+     * Almacena un valor usando una clave compuesta
+     *
+     * @param keys Claves
+     * @param value Valor
+     * @return Value
+     */
+    public T put(String[] keys, T value) {
+        return put(ClaveCompuesta.unir(keys), value);
+    }
+
+    /**
+     * Obtiene un valor usando una clave compuesta
+     *
+     * @param keys Claves
+     * @return Value
+     */
+    public T get(String[] keys) {
+        return get(ClaveCompuesta.unir(keys));
+    }
+
+    /**
+     * Borra un valor usando una clave compuesta
+     *
+     * @param keys Claves
+     * @return Value
+     */
+    public T remove(String[] keys) {
+        return remove(ClaveCompuesta.unir(keys));
+    }
+
+    /**
+     * Comprueba si existe una clave compuesta
+     *
+     * @param keys Claves
+     * @return Existe la clave
+     */
+    public boolean containsKey(String[] keys) {
+        return containsKey(ClaveCompuesta.unir(keys));
+    }
+
     /**
      * Almacena un valor usando una clave compuesta
      *
@@ -74,7 +116,7 @@ public class PerlMap<T> extends HashMap<String, T> {
      * @return Value
      */
     public T put(List<String> keys, T value) {
-        return put(String.join("\034", keys), value);
+        return put(keys.toArray(new String[keys.size()]), value);
     }
 
     /**
@@ -84,7 +126,7 @@ public class PerlMap<T> extends HashMap<String, T> {
      * @return Value
      */
     public T get(List<String> keys) {
-        return get(String.join("\034", keys));
+        return get(keys.toArray(new String[keys.size()]));
     }
 
     /**
@@ -94,6 +136,15 @@ public class PerlMap<T> extends HashMap<String, T> {
      * @return Value
      */
     public T remove(List<String> keys) {
-        return remove(String.join("\034", keys));
+        return remove(keys.toArray(new String[keys.size()]));
+    }
+
+    /**
+     * Crea una copia superficial del mapa conservando su representacion
+     *
+     * @return Copia superficial
+     */
+    public PerlMap<T> copy() {
+        return new PerlMap<>(this);
     }
 }
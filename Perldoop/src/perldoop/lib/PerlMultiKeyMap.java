@@ -0,0 +1,398 @@
+package perldoop.lib;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+import perldoop.lib.util.ClaveCompuesta;
+
+/**
+ * Tipo de dato mapa para hashes con claves compuestas como $h{$x,$y}. Las claves compuestas se almacenan como
+ * ClaveCompuesta sin unir sus partes y el resto de claves como cadenas, las claves unidas con el separador se separan
+ * al acceder para que ambas formas sean la misma clave. Las claves se devuelven siempre unidas como en Perl.
+ *
+ * @author César Pomar
+ * @param <T> Tipo del valor
+ */
+public class PerlMultiKeyMap<T> extends PerlMap<T> {
+
+    private static final long serialVersionUID = 1L;
+    private transient HashMap<Object, T> mapa;
+
+    /**
+     * Crea un mapa vacio
+     */
+    public PerlMultiKeyMap() {
+        super(0);
+        mapa = new HashMap<>();
+    }
+
+    /**
+     * Crea un mapa con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    public PerlMultiKeyMap(int initialCapacity) {
+        super(0);
+        mapa = new HashMap<>(initialCapacity);
+    }
+
+    /**
+     * Crea un mapa con una capacidad y un factor de crecimiento
+     *
+     * @param initialCapacity Capacidad inicial
+     * @param loadFactor Factor de crecicimiento
+     */
+    public PerlMultiKeyMap(int initialCapacity, float loadFactor) {
+        super(0);
+        mapa = new HashMap<>(initialCapacity, loadFactor);
+    }
+
+    /**
+     * Crea un mapa con los elementos de otro mapa
+     *
+     * @param m Mapa
+     */
+    public PerlMultiKeyMap(Map<? extends String, ? extends T> m) {
+        this(m.size() * 2);
+        putAll(m);
+    }
+
+    /**
+     * Crea un mapa partiendo de un array de claves y otro de valores
+     *
+     * @param claves Array de claves
+     * @param valores Array de valores
+     */
+    public PerlMultiKeyMap(String[] claves, T[] valores) {
+        this(claves.length * 2);
+        for (int i = 0; i < claves.length; i++) {
+            put(claves[i], valores[i]);
+        }
+    }
+
+    /**
+     * Obtiene la clave almacenada para una clave del mapa
+     *
+     * @param key Clave
+     * @return Clave almacenada
+     */
+    private static Object clave(Object key) {
+        return key instanceof String ? ClaveCompuesta.valueOf((String) key) : key;
+    }
+
+    @Override
+    public T put(String[] keys, T value) {
+        mapa.put(ClaveCompuesta.valueOf(keys), value);
+        return value;
+    }
+
+    @Override
+    public T get(String[] keys) {
+        return mapa.get(ClaveCompuesta.valueOf(keys));
+    }
+
+    @Override
+    public T remove(String[] keys) {
+        return mapa.remove(ClaveCompuesta.valueOf(keys));
+    }
+
+    @Override
+    public boolean containsKey(String[] keys) {
+        return mapa.containsKey(ClaveCompuesta.valueOf(keys));
+    }
+
+    @Override
+    public int size() {
+        return mapa.size();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return mapa.isEmpty();
+    }
+
+    @Override
+    public T get(Object key) {
+        return mapa.get(clave(key));
+    }
+
+    @Override
+    public T getOrDefault(Object key, T defaultValue) {
+        return mapa.getOrDefault(clave(key), defaultValue);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return mapa.containsKey(clave(key));
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        return mapa.containsValue(value);
+    }
+
+    @Override
+    public T put(String key, T value) {
+        mapa.put(clave(key), value);
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends T> m) {
+        for (Map.Entry<? extends String, ? extends T> e : m.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public T putIfAbsent(String key, T value) {
+        return mapa.putIfAbsent(clave(key), value);
+    }
+
+    @Override
+    public T remove(Object key) {
+        return mapa.remove(clave(key));
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        return mapa.remove(clave(key), value);
+    }
+
+    @Override
+    public boolean replace(String key, T oldValue, T newValue) {
+        return mapa.replace(clave(key), oldValue, newValue);
+    }
+
+    @Override
+    public T replace(String key, T value) {
+        return mapa.replace(clave(key), value);
+    }
+
+    @Override
+    public T computeIfAbsent(String key, Function<? super String, ? extends T> mappingFunction) {
+        return mapa.computeIfAbsent(clave(key), k -> mappingFunction.apply(key));
+    }
+
+    @Override
+    public T computeIfPresent(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction) {
+        return mapa.computeIfPresent(clave(key), (k, v) -> remappingFunction.apply(key, v));
+    }
+
+    @Override
+    public T compute(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction) {
+        return mapa.compute(clave(key), (k, v) -> remappingFunction.apply(key, v));
+    }
+
+    @Override
+    public T merge(String key, T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        return mapa.merge(clave(key), value, remappingFunction);
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super T> action) {
+        mapa.forEach((k, v) -> action.accept(k.toString(), v));
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super T, ? extends T> function) {
+        mapa.replaceAll((k, v) -> function.apply(k.toString(), v));
+    }
+
+    @Override
+    public void clear() {
+        mapa.clear();
+    }
+
+    @Override
+    public PerlMultiKeyMap<T> copy() {
+        return clone();
+    }
+
+    @Override
+    public PerlMultiKeyMap<T> clone() {
+        PerlMultiKeyMap<T> copia = new PerlMultiKeyMap<>(0);
+        copia.mapa = new HashMap<>(mapa);
+        return copia;
+    }
+
+    /**
+     * Serializa el mapa escribiendo solo las entradas
+     *
+     * @param out Flujo de salida
+     * @throws IOException Error de escritura
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeObject(mapa);
+    }
+
+    /**
+     * Deserializa el mapa
+     *
+     * @param in Flujo de entrada
+     * @throws IOException Error de lectura
+     * @throws ClassNotFoundException Clase no encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        //El mapa se escribio en writeObject con este mismo tipo
+        @SuppressWarnings("unchecked")
+        HashMap<Object, T> leido = (HashMap<Object, T>) in.readObject();
+        mapa = leido;
+    }
+
+    @Override
+    public Set<String> keySet() {
+        Set<Object> claves = mapa.keySet();
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                Iterator<Object> it = claves.iterator();
+                return new Iterator<String>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public String next() {
+                        return it.next().toString();
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return mapa.size();
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                return claves.remove(clave(o));
+            }
+
+            @Override
+            public void clear() {
+                mapa.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<T> values() {
+        return mapa.values();
+    }
+
+    @Override
+    public Set<Map.Entry<String, T>> entrySet() {
+        Set<Map.Entry<Object, T>> entradas = mapa.entrySet();
+        return new AbstractSet<Map.Entry<String, T>>() {
+            @Override
+            public Iterator<Map.Entry<String, T>> iterator() {
+                Iterator<Map.Entry<Object, T>> it = entradas.iterator();
+                return new Iterator<Map.Entry<String, T>>() {
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Map.Entry<String, T> next() {
+                        return new Entrada<>(it.next());
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return mapa.size();
+            }
+
+            @Override
+            public void clear() {
+                mapa.clear();
+            }
+        };
+    }
+
+    /**
+     * Entrada del mapa con la clave unida
+     *
+     * @param <T> Tipo del valor
+     */
+    private static final class Entrada<T> implements Map.Entry<String, T> {
+
+        private final Map.Entry<Object, T> entrada;
+
+        /**
+         * Crea una entrada
+         *
+         * @param entrada Entrada almacenada
+         */
+        private Entrada(Map.Entry<Object, T> entrada) {
+            this.entrada = entrada;
+        }
+
+        @Override
+        public String getKey() {
+            return entrada.getKey().toString();
+        }
+
+        @Override
+        public T getValue() {
+            return entrada.getValue();
+        }
+
+        @Override
+        public T setValue(T value) {
+            return entrada.setValue(value);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return getKey().equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return getKey().hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return getKey() + "=" + getValue();
+        }
+
+    }
+
+}
@@ -0,0 +1,696 @@
+package perldoop.lib;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.util.AbstractCollection;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.BiConsumer;
+import java.util.function.BiFunction;
+import java.util.function.Function;
+
+/**
+ * Base de los mapas con valores numericos almacenados sin boxing, usa direccionamiento abierto con claves String. Las
+ * subclases guardan los valores en un array primitivo y solo implementan su acceso. Las claves nulas se almacenan como
+ * la cadena vacia.
+ *
+ * @author César Pomar
+ * @param <T> Tipo de los valores
+ */
+public abstract class PerlNumberMap<T extends Number> extends PerlMap<T> {
+
+    private static final long serialVersionUID = 1L;
+    private static final String BORRADO = new String();
+    private static final int CAPACIDAD = 16;
+    private static final float CARGA = 0.75f;
+    private transient String[] claves;
+    private transient boolean[] nulos;
+    private transient int size;
+    private transient int ocupados;
+    private transient int umbral;
+    private transient int cambios;
+
+    /**
+     * Crea un mapa con una capacidad inicial
+     *
+     * @param initialCapacity Capacidad inicial
+     */
+    protected PerlNumberMap(int initialCapacity) {
+        super(0);
+        iniciar(capacidad(initialCapacity));
+    }
+
+    /**
+     * Obtiene la clase de los valores
+     *
+     * @return Clase de los valores
+     */
+    protected abstract Class<T> tipo();
+
+    /**
+     * Reserva un nuevo array de valores
+     *
+     * @param cap Capacidad
+     */
+    protected abstract void reservar(int cap);
+
+    /**
+     * Lee un valor del array, sin tener en cuenta los nulos
+     *
+     * @param i Posicion
+     * @return Valor
+     */
+    protected abstract T leer(int i);
+
+    /**
+     * Guarda un valor en el array, los nulos se guardan como 0
+     *
+     * @param i Posicion
+     * @param v Valor
+     */
+    protected abstract void guardar(int i, T v);
+
+    /**
+     * Mueve los valores a un nuevo array tras reorganizar la tabla
+     *
+     * @param destinos Nueva posicion de cada posicion antigua o -1 si estaba libre
+     * @param cap Capacidad del nuevo array
+     */
+    protected abstract void reubicar(int[] destinos, int cap);
+
+    /**
+     * Calcula la capacidad de la tabla para un numero de elementos
+     *
+     * @param n Numero de elementos
+     * @return Capacidad potencia de 2
+     */
+    private static int capacidad(int n) {
+        int cap = CAPACIDAD;
+        while (cap * CARGA <= n && cap < (1 << 30)) {
+            cap <<= 1;
+        }
+        return cap;
+    }
+
+    /**
+     * Inicializa la tabla
+     *
+     * @param cap Capacidad
+     */
+    private void iniciar(int cap) {
+        claves = new String[cap];
+        reservar(cap);
+        nulos = null;
+        size = 0;
+        ocupados = 0;
+        umbral = (int) (cap * CARGA);
+    }
+
+    /**
+     * Calcula la posicion inicial de una clave
+     *
+     * @param key Clave
+     * @return Posicion
+     */
+    private int hash(Object key) {
+        int h = key.hashCode();
+        return (h ^ (h >>> 16)) & (claves.length - 1);
+    }
+
+    /**
+     * Busca la posicion de una clave
+     *
+     * @param key Clave
+     * @return Posicion o -1 si no existe
+     */
+    protected final int buscar(Object key) {
+        if (key == null) {
+            key = "";
+        }
+        int mask = claves.length - 1;
+        String k;
+        for (int i = hash(key); (k = claves[i]) != null; i = (i + 1) & mask) {
+            if (k != BORRADO && k.equals(key)) {
+                return i;
+            }
+        }
+        return -1;
+    }
+
+    /**
+     * Busca la posicion de una clave, si no existe la inserta con valor nulo
+     *
+     * @param key Clave
+     * @return Posicion
+     */
+    protected final int insertar(String key) {
+        if (key == null) {
+            key = "";
+        }
+        int mask = claves.length - 1;
+        int libre = -1;
+        String k;
+        int i = hash(key);
+        for (; (k = claves[i]) != null; i = (i + 1) & mask) {
+            if (k == BORRADO) {
+                if (libre < 0) {
+                    libre = i;
+                }
+            } else if (k.equals(key)) {
+                return i;
+            }
+        }
+        if (libre < 0) {
+            //Solo se reorganiza al insertar una clave nueva, los recorridos siguen siendo validos al actualizar
+            if (ocupados >= umbral) {
+                rehash(size >= umbral / 2 ? claves.length << 1 : claves.length);
+                return insertar(key);
+            }
+            libre = i;
+            ocupados++;
+        }
+        claves[libre] = key;
+        guardar(libre, null);
+        size++;
+        cambios++;
+        return libre;
+    }
+
+    /**
+     * Reconstruye la tabla eliminando las posiciones borradas
+     *
+     * @param cap Nueva capacidad
+     */
+    private void rehash(int cap) {
+        String[] oldClaves = claves;
+        boolean[] oldNulos = nulos;
+        int[] destinos = new int[oldClaves.length];
+        claves = new String[cap];
+        nulos = null;
+        size = 0;
+        ocupados = 0;
+        umbral = (int) (cap * CARGA);
+        int mask = cap - 1;
+        for (int j = 0; j < oldClaves.length; j++) {
+            String k = oldClaves[j];
+            if (k != null && k != BORRADO) {
+                int i = hash(k);
+                while (claves[i] != null) {
+                    i = (i + 1) & mask;
+                }
+                claves[i] = k;
+                destinos[j] = i;
+                if (oldNulos != null && oldNulos[j]) {
+                    setNulo(i, true);
+                }
+                size++;
+                ocupados++;
+            } else {
+                destinos[j] = -1;
+            }
+        }
+        reubicar(destinos, cap);
+    }
+
+    /**
+     * Marca una posicion como nula
+     *
+     * @param i Posicion
+     * @param nulo Valor nulo
+     */
+    protected final void setNulo(int i, boolean nulo) {
+        if (nulos == null) {
+            if (!nulo) {
+                return;
+            }
+            nulos = new boolean[claves.length];
+        }
+        nulos[i] = nulo;
+    }
+
+    /**
+     * Obtiene el valor de una posicion
+     *
+     * @param i Posicion
+     * @return Valor
+     */
+    private T valor(int i) {
+        if (nulos != null && nulos[i]) {
+            return null;
+        }
+        return leer(i);
+    }
+
+    /**
+     * Borra una posicion
+     *
+     * @param i Posicion
+     */
+    private void borrar(int i) {
+        claves[i] = BORRADO;
+        setNulo(i, false);
+        size--;
+        cambios++;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public T get(Object key) {
+        int i = buscar(key);
+        return i < 0 ? null : valor(i);
+    }
+
+    @Override
+    public T getOrDefault(Object key, T defaultValue) {
+        int i = buscar(key);
+        return i < 0 ? defaultValue : valor(i);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return buscar(key) >= 0;
+    }
+
+    @Override
+    public boolean containsValue(Object value) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null && claves[i] != BORRADO && Objects.equals(valor(i), value)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    @Override
+    public T put(String key, T value) {
+        int i = insertar(key);
+        guardar(i, value);
+        setNulo(i, value == null);
+        return value;
+    }
+
+    @Override
+    public void putAll(Map<? extends String, ? extends T> m) {
+        for (Map.Entry<? extends String, ? extends T> e : m.entrySet()) {
+            put(e.getKey(), e.getValue());
+        }
+    }
+
+    @Override
+    public T putIfAbsent(String key, T value) {
+        int i = buscar(key);
+        if (i >= 0 && valor(i) != null) {
+            return valor(i);
+        }
+        put(key, value);
+        return null;
+    }
+
+    @Override
+    public T remove(Object key) {
+        int i = buscar(key);
+        if (i < 0) {
+            return null;
+        }
+        T old = valor(i);
+        borrar(i);
+        return old;
+    }
+
+    @Override
+    public boolean remove(Object key, Object value) {
+        int i = buscar(key);
+        if (i < 0 || !Objects.equals(valor(i), value)) {
+            return false;
+        }
+        borrar(i);
+        return true;
+    }
+
+    @Override
+    public boolean replace(String key, T oldValue, T newValue) {
+        int i = buscar(key);
+        if (i < 0 || !Objects.equals(valor(i), oldValue)) {
+            return false;
+        }
+        put(key, newValue);
+        return true;
+    }
+
+    @Override
+    public T replace(String key, T value) {
+        int i = buscar(key);
+        if (i < 0) {
+            return null;
+        }
+        T old = valor(i);
+        put(key, value);
+        return old;
+    }
+
+    @Override
+    public T computeIfAbsent(String key, Function<? super String, ? extends T> mappingFunction) {
+        T v = get(key);
+        if (v == null && (v = mappingFunction.apply(key)) != null) {
+            put(key, v);
+        }
+        return v;
+    }
+
+    @Override
+    public T computeIfPresent(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction) {
+        T v = get(key);
+        if (v != null) {
+            v = remappingFunction.apply(key, v);
+            if (v == null) {
+                remove(key);
+            } else {
+                put(key, v);
+            }
+        }
+        return v;
+    }
+
+    @Override
+    public T compute(String key, BiFunction<? super String, ? super T, ? extends T> remappingFunction) {
+        T v = remappingFunction.apply(key, get(key));
+        if (v == null) {
+            remove(key);
+        } else {
+            put(key, v);
+        }
+        return v;
+    }
+
+    @Override
+    public T merge(String key, T value, BiFunction<? super T, ? super T, ? extends T> remappingFunction) {
+        T old = get(key);
+        T v = old == null ? value : remappingFunction.apply(old, value);
+        if (v == null) {
+            remove(key);
+        } else {
+            put(key, v);
+        }
+        return v;
+    }
+
+    @Override
+    public void forEach(BiConsumer<? super String, ? super T> action) {
+        int esperados = cambios;
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null && claves[i] != BORRADO) {
+                action.accept(claves[i], valor(i));
+            }
+        }
+        if (esperados != cambios) {
+            throw new ConcurrentModificationException();
+        }
+    }
+
+    @Override
+    public void replaceAll(BiFunction<? super String, ? super T, ? extends T> function) {
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null && claves[i] != BORRADO) {
+                T v = function.apply(claves[i], valor(i));
+                guardar(i, v);
+                setNulo(i, v == null);
+            }
+        }
+    }
+
+    @Override
+    public void clear() {
+        Arrays.fill(claves, null);
+        nulos = null;
+        size = 0;
+        ocupados = 0;
+        cambios++;
+    }
+
+    /**
+     * Copia la tabla de claves de otro mapa, se usa al clonar junto a la copia de los valores
+     *
+     * @param m Mapa original
+     */
+    protected final void copiar(PerlNumberMap<T> m) {
+        claves = m.claves.clone();
+        nulos = m.nulos == null ? null : m.nulos.clone();
+        size = m.size;
+        ocupados = m.ocupados;
+        umbral = m.umbral;
+    }
+
+    /**
+     * Serializa el mapa escribiendo solo las entradas
+     *
+     * @param out Flujo de salida
+     * @throws IOException Error de escritura
+     */
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (int i = 0; i < claves.length; i++) {
+            if (claves[i] != null && claves[i] != BORRADO) {
+                out.writeObject(claves[i]);
+                out.writeObject(valor(i));
+            }
+        }
+    }
+
+    /**
+     * Deserializa el mapa reconstruyendo la tabla
+     *
+     * @param in Flujo de entrada
+     * @throws IOException Error de lectura
+     * @throws ClassNotFoundException Clase no encontrada
+     */
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        iniciar(capacidad(n));
+        for (int i = 0; i < n; i++) {
+            put((String) in.readObject(), tipo().cast(in.readObject()));
+        }
+    }
+
+    @Override
+    public Set<String> keySet() {
+        return new AbstractSet<String>() {
+            @Override
+            public Iterator<String> iterator() {
+                return new Iterador<String>() {
+                    @Override
+                    public String next() {
+                        return claves[siguiente()];
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public boolean contains(Object o) {
+                return containsKey(o);
+            }
+
+            @Override
+            public boolean remove(Object o) {
+                int i = buscar(o);
+                if (i < 0) {
+                    return false;
+                }
+                borrar(i);
+                return true;
+            }
+
+            @Override
+            public void clear() {
+                PerlNumberMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Collection<T> values() {
+        return new AbstractCollection<T>() {
+            @Override
+            public Iterator<T> iterator() {
+                return new Iterador<T>() {
+                    @Override
+                    public T next() {
+                        return valor(siguiente());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                PerlNumberMap.this.clear();
+            }
+        };
+    }
+
+    @Override
+    public Set<Map.Entry<String, T>> entrySet() {
+        return new AbstractSet<Map.Entry<String, T>>() {
+            @Override
+            public Iterator<Map.Entry<String, T>> iterator() {
+                return new Iterador<Map.Entry<String, T>>() {
+                    @Override
+                    public Map.Entry<String, T> next() {
+                        return new Entrada(siguiente());
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return size;
+            }
+
+            @Override
+            public void clear() {
+                PerlNumberMap.this.clear();
+            }
+        };
+    }
+
+    /**
+     * Iterador sobre las posiciones ocupadas de la tabla
+     *
+     * @param <E> Tipo de los elementos
+     */
+    private abstract class Iterador<E> implements Iterator<E> {
+
+        private int index;
+        private int actual = -1;
+        private int esperados = cambios;
+
+        /**
+         * Avanza hasta la siguiente posicion ocupada
+         */
+        private void avanzar() {
+            while (index < claves.length && (claves[index] == null || claves[index] == BORRADO)) {
+                index++;
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            avanzar();
+            return index < claves.length;
+        }
+
+        /**
+         * Obtiene la siguiente posicion ocupada
+         *
+         * @return Posicion
+         */
+        protected int siguiente() {
+            if (esperados != cambios) {
+                throw new ConcurrentModificationException();
+            }
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            actual = index++;
+            return actual;
+        }
+
+        @Override
+        public void remove() {
+            if (actual < 0) {
+                throw new IllegalStateException();
+            }
+            if (esperados != cambios) {
+                throw new ConcurrentModificationException();
+            }
+            borrar(actual);
+            esperados = cambios;
+            actual = -1;
+        }
+
+    }
+
+    /**
+     * Entrada del mapa enlazada a una posicion de la tabla
+     */
+    private final class Entrada implements Map.Entry<String, T> {
+
+        private final int index;
+        private final String key;
+
+        /**
+         * Crea una entrada
+         *
+         * @param index Posicion
+         */
+        private Entrada(int index) {
+            this.index = index;
+            this.key = claves[index];
+        }
+
+        @Override
+        public String getKey() {
+            return key;
+        }
+
+        @Override
+        public T getValue() {
+            return claves[index] == key ? valor(index) : get(key);
+        }
+
+        @Override
+        public T setValue(T value) {
+            T old = getValue();
+            put(key, value);
+            return old;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return key.equals(e.getKey()) && Objects.equals(getValue(), e.getValue());
+        }
+
+        @Override
+        public int hashCode() {
+            return key.hashCode() ^ Objects.hashCode(getValue());
+        }
+
+        @Override
+        public String toString() {
+            return key + "=" + getValue();
+        }
+
+    }
+
+}
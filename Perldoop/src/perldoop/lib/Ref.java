@@ -1,13 +1,16 @@
 package perldoop.lib;
 
+import java.io.Serializable;
+
 /**
  * Alamacena otra clase imitando una referencia
  *
  * @author César Pomar
  * @param <T> Tipo del Objeto almacenado
  */
-public final class Ref<T> {
+public final class Ref<T> implements Serializable {
 
+    private static final long serialVersionUID = 1L;
     private T value;
 
     /**
@@ -3,16 +3,13 @@ package perldoop.lib;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.List;
-import java.util.Map;
-import java.util.concurrent.ConcurrentHashMap;
-import jregex.MatchResult;
 import jregex.Matcher;
 import jregex.Pattern;
 import jregex.PerlSubstitution;
-import jregex.TextBuffer;
-import org.jtr.transliterate.CharacterParseException;
-import org.jtr.transliterate.CharacterParser;
-import org.jtr.transliterate.CharacterReplacer;
+import jregex.Replacer;
+import perldoop.lib.util.Cache;
+import perldoop.lib.util.LiteralPattern;
+import perldoop.lib.util.Translation;
 
 /**
  * Clase para la ejecución de expresiones regulares
@@ -21,8 +18,63 @@ import org.jtr.transliterate.CharacterReplacer;
  */
 public final class Regex {
 
-    private static Map<String, Pattern> regexCache = new ConcurrentHashMap<>(1000);
-    private static Map<String, PerlSubstitution> substCache = new ConcurrentHashMap<>(1000);
+    /**
+     * Propiedad del sistema con el numero maximo de expresiones, remplazos y translaciones compilados en cache
+     */
+    public static final String CACHE_SIZE = "perldoop.regex.cache";
+    private static final Cache<String, Pattern> regexCache = new Cache<>(Integer.getInteger(CACHE_SIZE, 1000));
+    private static final Cache<String, PerlSubstitution> substCache = new Cache<>(Integer.getInteger(CACHE_SIZE, 1000));
+    private static final Cache<String, Translation> transCache = new Cache<>(Integer.getInteger(CACHE_SIZE, 1000));
+
+    /**
+     * Obtiene la cache de expresiones regulares compiladas
+     *
+     * @return Cache de expresiones regulares
+     */
+    public static Cache<String, Pattern> getRegexCache() {
+        return regexCache;
+    }
+
+    /**
+     * Obtiene la cache de cadenas de remplazo compiladas
+     *
+     * @return Cache de cadenas de remplazo
+     */
+    public static Cache<String, PerlSubstitution> getSubstCache() {
+        return substCache;
+    }
+
+    /**
+     * Obtiene la cache de tablas de translacion compiladas
+     *
+     * @return Cache de tablas de translacion
+     */
+    public static Cache<String, Translation> getTransCache() {
+        return transCache;
+    }
+
+    /**
+     * Obtiene una expresión regular compilada, los literales y prefijos se analizan para comprobarse sin el motor de
+     * expresiones regulares
+     *
+     * @param regex Expresión regular
+     * @param mods Modificadores
+     * @return Expresión regular compilada
+     */
+    public static Pattern pattern(String regex, String mods) {
+        //Los modificadores no contienen '/', la clave no es ambigua
+        return regexCache.get(mods + "/" + regex, k -> LiteralPattern.compile(regex, mods));
+    }
+
+    /**
+     * Obtiene una cadena de remplazo compilada
+     *
+     * @param subs Cadena de remplazo
+     * @return Cadena de remplazo compilada
+     */
+    public static PerlSubstitution replacement(String subs) {
+        return substCache.get(subs, PerlSubstitution::new);
+    }
 
     /**
      * Comprueba si una cadena comple la expresión regular
@@ -37,11 +89,23 @@ public final class Regex {
         if (str == null) {
             return false;
         }
-        String key = regex + "_" + mods;
-        Pattern pattern = regexCache.get(key);
-        if (pattern == null) {
-            pattern = new Pattern(regex, mods);
-            regexCache.put(key, pattern);
+        return match(str, pattern(regex, mods), global);
+    }
+
+    /**
+     * Comprueba si una cadena comple una expresión regular compilada
+     *
+     * @param str Cadena
+     * @param pattern Expresión regular compilada
+     * @param global Busca todas las coincidencias
+     * @return Evaluacion de la expresion regular sobre la cadena
+     */
+    public static boolean match(String str, Pattern pattern, boolean global) {
+        if (str == null) {
+            return false;
+        }
+        if (pattern instanceof LiteralPattern) {
+            return ((LiteralPattern) pattern).find(str);
         }
         return pattern.matcher(str).find();
     }
@@ -56,12 +120,18 @@ public final class Regex {
      * @return Coincidencias de las expresiones entre parentesis
      */
     public static String[] matcher(String str, String regex, String mods, boolean global) {
-        String key = regex + "_" + mods;
-        Pattern pattern = regexCache.get(key);
-        if (pattern == null) {
-            pattern = new Pattern(regex, mods);
-            regexCache.put(key, pattern);
-        }
+        return matcher(str, pattern(regex, mods), global);
+    }
+
+    /**
+     * Obtiene las expresiones entre parentesis dentro de una expresion regular compilada
+     *
+     * @param str Cadena
+     * @param pattern Expresión regular compilada
+     * @param global Busca todas las coincidencias
+     * @return Coincidencias de las expresiones entre parentesis
+     */
+    public static String[] matcher(String str, Pattern pattern, boolean global) {
         Matcher matcher = pattern.matcher(str);
         if (global) {
             List<String> list = new ArrayList<>(100);
@@ -88,79 +158,59 @@ public final class Regex {
      * @return Cadena actualizada
      */
     public static String substitution(String str, String regex, String subs, String mods, boolean global) {
-        String key = regex + "_" + mods;
-        Pattern pattern = regexCache.get(key);
-        if (pattern == null) {
-            pattern = new Pattern(regex, mods);
-            regexCache.put(key, pattern);
+        return substitution(str, pattern(regex, mods), replacement(subs), global);
+    }
+
+    /**
+     * Realiza una substitucion con una expresión regular y una cadena de remplazo compiladas
+     *
+     * @param str Cadena
+     * @param pattern Expresión regular compilada
+     * @param subst Cadena de remplazo compilada
+     * @param global Busca todas las coincidencias
+     * @return Cadena actualizada
+     */
+    public static String substitution(String str, Pattern pattern, PerlSubstitution subst, boolean global) {
+        if (global) {
+            return pattern.replacer(subst).replace(str);
         }
-        key = subs + "_" + global;
-        PerlSubstitution subst = substCache.get(key);
-        if(subst==null){
-            if(global){
-                subst = new PerlSubstitution(subs);
-            }else{
-                subst = new FirstPerlSubstitution(subs);
-            }
-            substCache.put(key, subst);            
+        //Solo la primera coincidencia
+        Matcher matcher = pattern.matcher(str);
+        if (!matcher.find()) {
+            return str;
         }
-        return pattern.replacer(subst).replace(str);
+        StringBuffer buffer = new StringBuffer(str.length() + 16);
+        buffer.append(str, 0, matcher.start());
+        subst.appendSubstitution(matcher, Replacer.wrap(buffer));
+        buffer.append(str, matcher.end(), str.length());
+        return buffer.toString();
     }
 
     /**
-     * Realiza una translacion de caracteres por un remplazo
+     * Obtiene una tabla de translacion compilada
      *
-     * @param str Cadena
      * @param source Caracteres originales
      * @param dest Caracteres de remplazo
      * @param mods Modificadores
-     * @return Cadena actualizada
+     * @return Tabla de translacion compilada
      */
-    public static String translation(String str, String source, String dest, String mods) {
-        try {
-            CharacterReplacer replacer = new CharacterReplacer(source, dest);
-            int flags = 0;
-            for (char flag : mods.toCharArray()) {
-                switch (flag) {
-                    case 'c':
-                        flags = flags | CharacterParser.COMPLEMENT_MASK;
-                        break;
-                    case 'd':
-                        flags = flags | CharacterParser.DELETE_UNREPLACEABLES_MASK;
-                        break;
-                    case 's':
-                        flags = flags | CharacterParser.SQUASH_DUPLICATES_MASK;
-                        break;
-                }
-            }
-            replacer.setFlags(flags);
-            return replacer.doReplacement(str);
-        } catch (CharacterParseException ex) {
-            return "";
-        }
+    public static Translation translation(String source, String dest, String mods) {
+        //La longitud separa las dos listas sin ambiguedad
+        String key = mods + "/" + source.length() + "/" + source + dest;
+        return transCache.get(key, k -> new Translation(source, dest, mods));
     }
 
     /**
-     * Clase auxiliar para remplazar solo la primera coincidencia
+     * Realiza una translacion de caracteres por un remplazo
+     *
+     * @param str Cadena
+     * @param source Caracteres originales
+     * @param dest Caracteres de remplazo
+     * @param mods Modificadores
+     * @return Cadena actualizada
      */
-    private static class FirstPerlSubstitution extends PerlSubstitution {
-
-        private boolean first = true;
-
-        public FirstPerlSubstitution(String string) {
-            super(string);
-        }
-
-        @Override
-        public void appendSubstitution(MatchResult match, TextBuffer dest) {
-            if (first) {
-                super.appendSubstitution(match, dest);
-                first = false;
-            } else {
-                dest.append(match.toString());
-            }
-        }
-
+    public static String translation(String str, String source, String dest, String mods) {
+        return translation(source, dest, mods).translate(str);
     }
 
 }
@@ -0,0 +1,156 @@
+package perldoop.lib.box;
+
+import perldoop.lib.Box;
+import perldoop.lib.Casting;
+import perldoop.lib.PerlFile;
+import perldoop.lib.Ref;
+
+/**
+ * Contenedor de escalares con doble valor como los SV de Perl. Se construye a partir de una cadena o un número y las
+ * representaciones entera, real y de cadena se calculan la primera vez que se piden y se guardan para las siguientes
+ * conversiones. Los valores calculados son inmutables, por lo que el contenedor se puede compartir entre hilos.
+ *
+ * @author César Pomar
+ */
+public final class ScalarBox implements Box {
+
+    /**
+     * Rango de enteros con contenedor en cache
+     */
+    private static final int CACHE_MIN = -128;
+    private static final int CACHE_MAX = 1023;
+    private static final ScalarBox[] cache = new ScalarBox[CACHE_MAX - CACHE_MIN + 1];
+    private final Number number;//Valor original si es numérico
+    private String string;
+    private Integer integer;
+    private Long lng;
+    private Double dbl;
+
+    /**
+     * Construye un contenedor de cadenas
+     *
+     * @param value Valor para almacenar
+     */
+    public ScalarBox(String value) {
+        string = value;
+        number = null;
+    }
+
+    /**
+     * Construye un contenedor de números
+     *
+     * @param value Valor para almacenar
+     */
+    public ScalarBox(Number value) {
+        number = value;
+        if (value instanceof Integer) {
+            integer = (Integer) value;
+        } else if (value instanceof Long) {
+            lng = (Long) value;
+        } else if (value instanceof Double) {
+            dbl = (Double) value;
+        }
+    }
+
+    /**
+     * Obtiene un contenedor de números, los enteros pequeños se reutilizan
+     *
+     * @param value Valor para almacenar
+     * @return Contenedor
+     */
+    public static ScalarBox valueOf(Number value) {
+        if (value instanceof Integer) {
+            int n = (Integer) value;
+            if (n >= CACHE_MIN && n <= CACHE_MAX) {
+                ScalarBox box = cache[n - CACHE_MIN];
+                if (box == null) {
+                    cache[n - CACHE_MIN] = box = new ScalarBox(value);
+                }
+                return box;
+            }
+        }
+        return new ScalarBox(value);
+    }
+
+    /**
+     * Comprueba si el contenedor almacena null
+     *
+     * @return Almacena null
+     */
+    private boolean isNull() {
+        return number == null && string == null;
+    }
+
+    @Override
+    public Boolean booleanValue() {
+        if (number == null) {
+            return Casting.toBoolean(string);
+        } else if (number instanceof Integer || number instanceof Long) {
+            return number.longValue() != 0;
+        }
+        return number.doubleValue() != 0;
+    }
+
+    @Override
+    public Integer intValue() {
+        Integer value = integer;
+        if (value == null && !isNull()) {
+            integer = value = number == null ? Casting.toInteger(string) : Casting.toInteger(number);
+        }
+        return value;
+    }
+
+    @Override
+    public Long longValue() {
+        Long value = lng;
+        if (value == null && !isNull()) {
+            lng = value = number == null ? Casting.toLong(string) : Casting.toLong(number);
+        }
+        return value;
+    }
+
+    @Override
+    public Float floatValue() {
+        Double value = doubleValue();
+        return value == null ? null : value.floatValue();
+    }
+
+    @Override
+    public Double doubleValue() {
+        Double value = dbl;
+        if (value == null && !isNull()) {
+            dbl = value = number == null ? Casting.toDouble(string) : Casting.toDouble(number);
+        }
+        return value;
+    }
+
+    @Override
+    public Number numberValue() {
+        return number == null ? doubleValue() : number;
+    }
+
+    @Override
+    public String stringValue() {
+        String value = string;
+        if (value == null && number != null) {
+            string = value = Casting.toString(number);
+        }
+        return value;
+    }
+
+    @Override
+    public Ref<?> refValue() {
+        throw new ClassCastException();
+    }
+
+    @Override
+    public PerlFile fileValue() {
+        throw new ClassCastException();
+    }
+
+    @Override
+    public String toString() {
+        return stringValue();
+    }
+
+}
@@ -1,29 +1,51 @@
 package perldoop.lib.file;
 
 import java.io.BufferedReader;
+import java.io.ByteArrayInputStream;
 import java.io.Closeable;
 import java.io.FileInputStream;
 import java.io.FileNotFoundException;
 import java.io.IOException;
-import java.io.InputStream;
 import java.io.InputStreamReader;
+import java.io.SequenceInputStream;
 import java.io.UnsupportedEncodingException;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 
 /**
- * Clase para almacenar un fichero de lectura.
+ * Clase para almacenar un fichero de lectura. Los bytes se leen en bloques grandes desde un canal y las lineas se
+ * buscan sobre los bytes, solo se decodifica el contenido de cada linea. Las codificaciones que no son compatibles
+ * con ASCII se leen con un BufferedReader.
  *
  * @author César Pomar
  */
 public final class Fread implements Closeable {
 
-    private InputStream stream;
-    private BufferedReader in;
+    /**
+     * Tamaño inicial del buffer de lectura
+     */
+    private static final int BUFFER = 1 << 20;
+    private ReadableByteChannel channel;
+    private Charset charset;
+    private boolean latin;//Los bytes se decodifican directamente si son ASCII
+    private BufferedReader in;//Solo para codificaciones no compatibles con ASCII
+    private byte[] buffer;
+    private int pos;
+    private int lim;
+    private boolean eof;
 
     /**
      * Usa la entrada estandar para la lectura
      */
     public Fread() {
-        in = new BufferedReader(new InputStreamReader(stream = System.in));
+        channel = Channels.newChannel(System.in);
+        setCharset(Charset.defaultCharset());
     }
 
     /**
@@ -33,7 +55,8 @@ public final class Fread implements Closeable {
      * @throws FileNotFoundException Si el fichero no existe
      */
     public Fread(String path) throws FileNotFoundException {
-        in = new BufferedReader(new InputStreamReader(stream = new FileInputStream(path)));
+        channel = new FileInputStream(path).getChannel();
+        setCharset(Charset.defaultCharset());
     }
 
     /**
@@ -45,17 +68,55 @@ public final class Fread implements Closeable {
      * @throws UnsupportedEncodingException Codificación no soportada
      */
     public Fread(String path, String encode) throws FileNotFoundException, UnsupportedEncodingException {
-        in = new BufferedReader(new InputStreamReader(stream = new FileInputStream(path), encode));
+        Charset cs = forName(encode);
+        channel = new FileInputStream(path).getChannel();
+        setCharset(cs);
     }
 
     /**
-     * Cambia la codificación del fichero
+     * Cambia la codificación del fichero, los bytes ya leidos y no consumidos se decodifican con la nueva codificación
      *
      * @param encode Codificación
      * @throws UnsupportedEncodingException Codificación no soportada
      */
     public void setEnconde(String encode) throws UnsupportedEncodingException {
-        in = new BufferedReader(new InputStreamReader(stream, encode));
+        if (in != null) {
+            in = new BufferedReader(new InputStreamReader(Channels.newInputStream(channel), encode));
+        } else {
+            setCharset(forName(encode));
+        }
+    }
+
+    /**
+     * Obtiene una codificación por su nombre
+     *
+     * @param encode Nombre de la codificación
+     * @return Codificación
+     * @throws UnsupportedEncodingException Codificación no soportada
+     */
+    private static Charset forName(String encode) throws UnsupportedEncodingException {
+        try {
+            return Charset.forName(encode);
+        } catch (IllegalArgumentException ex) {
+            throw new UnsupportedEncodingException(encode);
+        }
+    }
+
+    /**
+     * Establece la codificación de lectura
+     *
+     * @param cs Codificación
+     */
+    private void setCharset(Charset cs) {
+        charset = cs;
+        latin = cs.equals(StandardCharsets.UTF_8) || cs.equals(StandardCharsets.US_ASCII)
+                || cs.equals(StandardCharsets.ISO_8859_1);
+        if (!Arrays.equals("\n\r \t".getBytes(cs), new byte[]{'\n', '\r', ' ', '\t'})) {
+            //Los saltos de linea no se pueden buscar sobre los bytes
+            ByteArrayInputStream resto = new ByteArrayInputStream(buffer == null ? new byte[0] : buffer, pos, lim - pos);
+            in = new BufferedReader(new InputStreamReader(new SequenceInputStream(resto, Channels.newInputStream(channel)), cs));
+            buffer = null;
+        }
     }
 
     /**
@@ -63,7 +124,118 @@ public final class Fread implements Closeable {
      */
     @Override
     public void close() throws IOException {
-        in.close();
+        if (in != null) {
+            in.close();
+        }
+        channel.close();
+    }
+
+    /**
+     * Lee mas bytes del canal, el contenido no consumido se mueve al inicio del buffer
+     *
+     * @return Se han leido bytes
+     * @throws IOException Error de lectura
+     */
+    private boolean llenar() throws IOException {
+        if (eof) {
+            return false;
+        }
+        if (buffer == null) {
+            buffer = new byte[BUFFER];
+        }
+        if (pos > 0) {
+            System.arraycopy(buffer, pos, buffer, 0, lim - pos);
+            lim -= pos;
+            pos = 0;
+        }
+        if (lim == buffer.length) {
+            buffer = Arrays.copyOf(buffer, buffer.length * 2);
+        }
+        int n;
+        do {
+            n = channel.read(ByteBuffer.wrap(buffer, lim, buffer.length - lim));
+        } while (n == 0);
+        if (n < 0) {
+            eof = true;
+            return false;
+        }
+        lim += n;
+        return true;
+    }
+
+    /**
+     * Decodifica un rango del buffer
+     *
+     * @param ini Inicio
+     * @param fin Fin
+     * @return Cadena
+     */
+    private String decodificar(int ini, int fin) {
+        if (latin) {
+            int i = ini;
+            while (i < fin && buffer[i] >= 0) {
+                i++;
+            }
+            if (i == fin || charset.equals(StandardCharsets.ISO_8859_1)) {
+                return new String(buffer, ini, fin - ini, StandardCharsets.ISO_8859_1);
+            }
+        }
+        return new String(buffer, ini, fin - ini, charset);
+    }
+
+    /**
+     * Lee la siguiente linea
+     *
+     * @param chomp Elimina los espacios iniciales y finales igual que Perl.chomp, en otro caso se termina en \n
+     * @return Linea o null si no quedan lineas
+     * @throws IOException Error de lectura
+     */
+    private String linea(boolean chomp) throws IOException {
+        int fin = pos;
+        while (true) {
+            while (fin < lim && buffer[fin] != '\n' && buffer[fin] != '\r') {
+                fin++;
+            }
+            if (fin < lim) {
+                break;
+            }
+            //llenar mueve el contenido al inicio del buffer
+            int leido = fin - pos;
+            boolean mas = llenar();
+            fin = pos + leido;
+            if (!mas) {
+                break;
+            }
+        }
+        if (fin == pos && fin == lim) {
+            return null;
+        }
+        int ini = pos;
+        boolean salto = fin < lim;
+        String linea;
+        if (chomp) {
+            int end = fin;
+            while (ini < end && (buffer[ini] & 0xFF) <= ' ') {
+                ini++;
+            }
+            while (end > ini && (buffer[end - 1] & 0xFF) <= ' ') {
+                end--;
+            }
+            linea = decodificar(ini, end);
+        } else if (salto && buffer[fin] == '\n') {
+            linea = decodificar(ini, fin + 1);
+        } else {
+            linea = decodificar(ini, fin) + "\n";
+        }
+        pos = fin;
+        if (salto) {
+            //Salto de linea \n, \r o \r\n
+            pos++;
+            if (buffer[fin] == '\r' && (pos < lim || llenar()) && buffer[pos] == '\n') {
+                pos++;
+            }
+        }
+        return linea;
     }
 
     /**
@@ -73,9 +245,17 @@ public final class Fread implements Closeable {
      */
     public String read() {
         try {
-            String line = in.readLine();
+            String line;
+            if (in != null) {
+                line = in.readLine();
+                if (line != null) {
+                    line += "\n";
+                }
+            } else {
+                line = linea(false);
+            }
             if (line != null) {
-                return line + "\n";
+                return line;
             } else {
                 return "";
             }
@@ -84,13 +264,41 @@ public final class Fread implements Closeable {
         }
     }
 
+    /**
+     * Lee una linea del fichero y le aplica chomp sin crear la linea intermedia
+     *
+     * @return linea o null si no quedan lineas
+     */
+    public String readChomped() {
+        try {
+            if (in != null) {
+                String line = in.readLine();
+                return line == null ? null : line.trim();
+            }
+            return linea(true);
+        } catch (IOException ex) {
+            return null;
+        }
+    }
+
     /**
      * Lee todo el fichero
      *
      * @return array de lineas
      */
     public String[] readLines() {
-        return in.lines().map(line -> line + "\n").toArray(String[]::new);
+        if (in != null) {
+            return in.lines().map(line -> line + "\n").toArray(String[]::new);
+        }
+        List<String> lines = new ArrayList<>(1000);
+        try {
+            String line;
+            while ((line = linea(false)) != null) {
+                lines.add(line);
+            }
+        } catch (IOException ex) {
+        }
+        return lines.toArray(new String[lines.size()]);
     }
 
 }
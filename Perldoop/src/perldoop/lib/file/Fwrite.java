@@ -2,14 +2,23 @@ package perldoop.lib.file;
 
 import java.io.BufferedOutputStream;
 import java.io.Closeable;
+import java.io.FileDescriptor;
 import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.OutputStream;
-import java.io.PrintStream;
+import java.io.OutputStreamWriter;
 import java.io.UnsupportedEncodingException;
+import java.io.Writer;
+import java.util.Collections;
+import java.util.Formatter;
+import java.util.LinkedHashSet;
+import java.util.Set;
+import perldoop.lib.util.Numeric;
 
 /**
- * Clase para almacenar un fichero de escritura.
+ * Clase para almacenar un fichero de escritura. Los valores se acumulan en un buffer propio sin sincronizacion y los
+ * numeros se añaden sin crear cadenas intermedias. Los buffers de todos los ficheros abiertos se vuelcan al terminar la
+ * maquina virtual.
  *
  * @author César Pomar
  */
@@ -17,21 +26,38 @@ public final class Fwrite implements Closeable {
 
     public static final boolean STDOUT = true;
     public static final boolean STDERR = false;
+    /**
+     * Tamaño del buffer de escritura
+     */
+    private static final int BUFFER = 1 << 16;
+    private static final Set<Fwrite> abiertos = Collections.synchronizedSet(new LinkedHashSet<>());
+    private static volatile boolean concurrente = Boolean.getBoolean("perldoop.io.concurrent");
+
+    static {
+        Runtime.getRuntime().addShutdownHook(new Thread(Fwrite::flushAll));
+    }
 
     private OutputStream stream;//Stream que representa el dispositivo de escritura
-    private PrintStream out;//Encargado de realizar las escrituras
+    private Writer out;//Encargado de codificar las escrituras
+    private StringBuilder buffer;
+    private char[] chars;
+    private Formatter formatter;
+    private boolean autoflush;
 
     /**
-     * Escribe por pantalla
+     * Escribe por pantalla, la salida de error y la salida por terminal se vuelcan en cada escritura
      *
      * @param flag STDOUT || STDERR
      */
     public Fwrite(boolean flag) {
         if (flag) {
-            stream = out = System.out;
+            stream = new BufferedOutputStream(new FileOutputStream(FileDescriptor.out), BUFFER);
+            autoflush = System.console() != null;
         } else {
-            stream = out = System.err;
+            stream = new FileOutputStream(FileDescriptor.err);
+            autoflush = true;
         }
+        iniciar(new OutputStreamWriter(stream));
     }
 
     /**
@@ -42,7 +68,8 @@ public final class Fwrite implements Closeable {
      * @throws IOException Error al abrir el fichero
      */
     public Fwrite(String path, boolean append) throws IOException {
-        out = new PrintStream(stream = new BufferedOutputStream(new FileOutputStream(path, append)));
+        stream = new BufferedOutputStream(new FileOutputStream(path, append), BUFFER);
+        iniciar(new OutputStreamWriter(stream));
     }
 
     /**
@@ -55,7 +82,51 @@ public final class Fwrite implements Closeable {
      * @throws IOException Error al abrir el fichero
      */
     public Fwrite(String path, boolean append, String encode) throws UnsupportedEncodingException, IOException {
-        out = new PrintStream(stream = new BufferedOutputStream(new FileOutputStream(path, append)), false, encode);
+        stream = new BufferedOutputStream(new FileOutputStream(path, append), BUFFER);
+        try {
+            iniciar(new OutputStreamWriter(stream, encode));
+        } catch (UnsupportedEncodingException ex) {
+            stream.close();
+            throw ex;
+        }
+    }
+
+    /**
+     * Inicializa el buffer y registra el fichero para volcarlo al terminar
+     *
+     * @param out Escritor
+     */
+    private void iniciar(Writer out) {
+        this.out = out;
+        buffer = new StringBuilder(BUFFER + 1024);
+        chars = new char[BUFFER + 1024];
+        formatter = new Formatter(buffer);
+        abiertos.add(this);
+    }
+
+    /**
+     * Activa la sincronizacion de las escrituras, necesaria si varios hilos escriben en el mismo fichero. Las clases
+     * traducidas para Storm y Spark la activan al cargarse
+     *
+     * @param concurrente Varios hilos escriben a la vez
+     */
+    public static void setConcurrente(boolean concurrente) {
+        Fwrite.concurrente = concurrente;
+    }
+
+    /**
+     * Vuelca los buffers de todos los ficheros abiertos
+     */
+    public static void flushAll() {
+        Fwrite[] copia;
+        synchronized (abiertos) {
+            copia = abiertos.toArray(new Fwrite[abiertos.size()]);
+        }
+        for (Fwrite f : copia) {
+            synchronized (f) {
+                f.flush();
+            }
+        }
     }
 
     /**
@@ -65,7 +136,9 @@ public final class Fwrite implements Closeable {
      * @throws UnsupportedEncodingException Codificación no soportada
      */
     public void setEnconde(String encode) throws UnsupportedEncodingException {
-        out = new PrintStream(stream, false, encode);
+        Writer nuevo = new OutputStreamWriter(stream, encode);
+        flush();
+        out = nuevo;
     }
 
     /**
@@ -73,7 +146,84 @@ public final class Fwrite implements Closeable {
      */
     @Override
     public void close() throws IOException {
-        out.close();
+        abiertos.remove(this);
+        if (concurrente) {
+            synchronized (this) {
+                vaciar();
+                out.close();
+            }
+        } else {
+            vaciar();
+            out.close();
+        }
+    }
+
+    /**
+     * Escribe el contenido del buffer en el fichero
+     *
+     * @throws IOException Error de escritura
+     */
+    private void vaciar() throws IOException {
+        int n = buffer.length();
+        if (n > chars.length) {
+            chars = new char[n];
+        }
+        buffer.getChars(0, n, chars, 0);
+        buffer.setLength(0);
+        out.write(chars, 0, n);
+    }
+
+    /**
+     * Vuelca el buffer y el escritor al fichero
+     *
+     * @return 1 si tiene exito, 0 en caso contrario
+     */
+    public int flush() {
+        try {
+            vaciar();
+            out.flush();
+            return 1;
+        } catch (IOException ex) {
+            return 0;
+        }
+    }
+
+    /**
+     * Comprueba si hay que vaciar el buffer despues de una escritura
+     *
+     * @return 1 si tiene exito, 0 en caso contrario
+     */
+    private int comprobar() {
+        if (autoflush) {
+            return flush();
+        }
+        if (buffer.length() >= BUFFER) {
+            try {
+                vaciar();
+            } catch (IOException ex) {
+                return 0;
+            }
+        }
+        return 1;
+    }
+
+    /**
+     * Añade un valor al buffer, los numeros se añaden directamente
+     *
+     * @param value Valor
+     */
+    private void append(Object value) {
+        if (value instanceof String) {
+            buffer.append((String) value);
+        } else if (value instanceof Integer) {
+            buffer.append(((Integer) value).intValue());
+        } else if (value instanceof Double) {
+            Numeric.append(buffer, (Double) value);
+        } else if (value instanceof Long) {
+            buffer.append(((Long) value).longValue());
+        } else {
+            buffer.append(value);
+        }
     }
 
     /**
@@ -83,10 +233,12 @@ public final class Fwrite implements Closeable {
      * @return 1 si tiene exito, 0 en caso contrario
      */
     public int print(Object... values) {
-        for (Object value : values) {
-            out.print(value);
+        if (concurrente) {
+            synchronized (this) {
+                return print(values, false);
+            }
         }
-        return 1;
+        return print(values, false);
     }
 
     /**
@@ -96,11 +248,29 @@ public final class Fwrite implements Closeable {
      * @return 1 si tiene exito, 0 en caso contrario
      */
     public int println(Object... values) {
+        if (concurrente) {
+            synchronized (this) {
+                return print(values, true);
+            }
+        }
+        return print(values, true);
+    }
+
+    /**
+     * Escribe valores en el buffer
+     *
+     * @param values valores
+     * @param salto Añade un salto de linea
+     * @return 1 si tiene exito, 0 en caso contrario
+     */
+    private int print(Object[] values, boolean salto) {
         for (Object value : values) {
-            out.print(value);
+            append(value);
         }
-        out.println();
-        return 1;
+        if (salto) {
+            buffer.append(System.lineSeparator());
+        }
+        return comprobar();
     }
 
     /**
@@ -111,8 +281,14 @@ public final class Fwrite implements Closeable {
      * @return 1 si tiene exito, 0 en caso contrario
      */
     public int printf(String format, Object... values) {
-        out.printf(format, values);
-        return 1;
+        if (concurrente) {
+            synchronized (this) {
+                formatter.format(format, values);
+                return comprobar();
+            }
+        }
+        formatter.format(format, values);
+        return comprobar();
     }
 
 }
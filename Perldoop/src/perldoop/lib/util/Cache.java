@@ -0,0 +1,176 @@
+package perldoop.lib.util;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+
+/**
+ * Cache concurrente de tamaño limitado con politica LRU. Las entradas se reparten en segmentos independientes para
+ * reducir la contencion entre hilos, cada segmento desaloja su entrada usada hace mas tiempo al llenarse.
+ *
+ * @author César Pomar
+ * @param <K> Tipo de las claves
+ * @param <V> Tipo de los valores
+ */
+public final class Cache<K, V> {
+
+    private static final int SEGMENTOS = 16;
+    private final List<Segmento<K, V>> segmentos;
+    private final int capacidad;
+    private final LongAdder aciertos;
+    private final LongAdder fallos;
+    private final LongAdder desalojos;
+
+    /**
+     * Construye una cache
+     *
+     * @param capacidad Numero maximo de entradas, si es menor que uno no se almacena nada
+     */
+    public Cache(int capacidad) {
+        this.capacidad = Math.max(capacidad, 0);
+        aciertos = new LongAdder();
+        fallos = new LongAdder();
+        desalojos = new LongAdder();
+        int n = Math.max(Math.min(SEGMENTOS, this.capacidad), 1);
+        segmentos = new ArrayList<>(n);
+        for (int i = 0; i < n; i++) {
+            //Reparto de la capacidad sobrante entre los primeros segmentos
+            segmentos.add(new Segmento<>(this.capacidad / n + (i < this.capacidad % n ? 1 : 0), desalojos));
+        }
+    }
+
+    /**
+     * Obtiene el valor de una clave, si no esta en la cache se calcula y se almacena. El calculo se realiza fuera del
+     * cerrojo, por lo que dos hilos pueden calcular el mismo valor a la vez.
+     *
+     * @param clave Clave
+     * @param funcion Funcion para calcular el valor
+     * @return Valor
+     */
+    public V get(K clave, Function<? super K, ? extends V> funcion) {
+        Segmento<K, V> segmento = segmentos.get((clave.hashCode() & 0x7fffffff) % segmentos.size());
+        V valor;
+        synchronized (segmento) {
+            valor = segmento.get(clave);
+        }
+        if (valor != null) {
+            aciertos.increment();
+            return valor;
+        }
+        fallos.increment();
+        valor = funcion.apply(clave);
+        if (segmento.limite > 0) {
+            synchronized (segmento) {
+                segmento.put(clave, valor);
+            }
+        }
+        return valor;
+    }
+
+    /**
+     * Obtiene el numero maximo de entradas
+     *
+     * @return Capacidad
+     */
+    public int getCapacidad() {
+        return capacidad;
+    }
+
+    /**
+     * Obtiene el numero de entradas almacenadas
+     *
+     * @return Numero de entradas
+     */
+    public int size() {
+        int size = 0;
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                size += segmento.size();
+            }
+        }
+        return size;
+    }
+
+    /**
+     * Obtiene el numero de consultas resueltas por la cache
+     *
+     * @return Numero de aciertos
+     */
+    public long getAciertos() {
+        return aciertos.sum();
+    }
+
+    /**
+     * Obtiene el numero de consultas que calcularon su valor
+     *
+     * @return Numero de fallos
+     */
+    public long getFallos() {
+        return fallos.sum();
+    }
+
+    /**
+     * Obtiene el numero de entradas desalojadas por falta de espacio
+     *
+     * @return Numero de desalojos
+     */
+    public long getDesalojos() {
+        return desalojos.sum();
+    }
+
+    /**
+     * Elimina todas las entradas, los contadores se mantienen
+     */
+    public void clear() {
+        for (Segmento<K, V> segmento : segmentos) {
+            synchronized (segmento) {
+                segmento.clear();
+            }
+        }
+    }
+
+    @Override
+    public String toString() {
+        return "size=" + size() + "/" + capacidad + " hits=" + getAciertos() + " misses=" + getFallos()
+                + " evictions=" + getDesalojos();
+    }
+
+    /**
+     * Segmento de la cache ordenado por acceso
+     *
+     * @param <K> Tipo de las claves
+     * @param <V> Tipo de los valores
+     */
+    private static final class Segmento<K, V> extends LinkedHashMap<K, V> {
+
+        private static final long serialVersionUID = 1L;
+        private final int limite;
+        private final LongAdder desalojos;
+
+        /**
+         * Construye un segmento
+         *
+         * @param limite Numero maximo de entradas
+         * @param desalojos Contador de desalojos
+         */
+        public Segmento(int limite, LongAdder desalojos) {
+            super(Math.max(limite, 1) * 4 / 3 + 1, 0.75f, true);
+            this.limite = limite;
+            this.desalojos = desalojos;
+        }
+
+        @Override
+        protected boolean removeEldestEntry(Map.Entry<K, V> eldest) {
+            if (size() > limite) {
+                desalojos.increment();
+                return true;
+            }
+            return false;
+        }
+
+    }
+
+}
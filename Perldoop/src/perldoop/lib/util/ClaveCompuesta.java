@@ -0,0 +1,144 @@
+package perldoop.lib.util;
+
+import java.io.Serializable;
+import java.util.Arrays;
+
+/**
+ * Clave compuesta de un hash como $h{$x,$y}. Almacena las partes sin unirlas y su hash se calcula una sola vez a
+ * partir de los hash de las partes, que las cadenas ya tienen en cache. Equivale a la clave unida con el separador $;
+ * de Perl.
+ *
+ * @author César Pomar
+ */
+public final class ClaveCompuesta implements Serializable {
+
+    /**
+     * Separador de las claves compuestas, el valor por defecto de $; en Perl
+     */
+    public static final char SEPARADOR = '\034';
+    private static final long serialVersionUID = 1L;
+    private final String[] partes;
+    private final int hash;
+    private transient String unida;
+
+    /**
+     * Crea una clave compuesta, las partes nulas equivalen a la cadena vacia
+     *
+     * @param partes Partes de la clave
+     */
+    public ClaveCompuesta(String... partes) {
+        int h = 1;
+        for (int i = 0; i < partes.length; i++) {
+            if (partes[i] == null) {
+                partes[i] = "";
+            }
+            h = 31 * h + partes[i].hashCode();
+        }
+        this.partes = partes;
+        this.hash = h;
+    }
+
+    /**
+     * Obtiene la clave que se almacena en el mapa, las claves de una sola parte se almacenan como cadenas
+     *
+     * @param partes Partes de la clave
+     * @return Clave
+     */
+    public static Object valueOf(String... partes) {
+        if (partes.length == 1) {
+            return partes[0] == null ? "" : partes[0];
+        }
+        return new ClaveCompuesta(partes);
+    }
+
+    /**
+     * Obtiene la clave que se almacena en el mapa a partir de la clave unida
+     *
+     * @param clave Clave unida con el separador
+     * @return Clave
+     */
+    public static Object valueOf(String clave) {
+        if (clave == null) {
+            return "";
+        }
+        int fin = clave.indexOf(SEPARADOR);
+        if (fin < 0) {
+            return clave;
+        }
+        int n = 2;
+        for (int i = clave.indexOf(SEPARADOR, fin + 1); i >= 0; i = clave.indexOf(SEPARADOR, i + 1)) {
+            n++;
+        }
+        String[] partes = new String[n];
+        int ini = 0;
+        for (int i = 0; i < n - 1; i++) {
+            partes[i] = clave.substring(ini, fin);
+            ini = fin + 1;
+            fin = clave.indexOf(SEPARADOR, ini);
+        }
+        partes[n - 1] = clave.substring(ini);
+        ClaveCompuesta cc = new ClaveCompuesta(partes);
+        cc.unida = clave;
+        return cc;
+    }
+
+    /**
+     * Une las partes de una clave con el separador
+     *
+     * @param partes Partes de la clave
+     * @return Clave unida
+     */
+    public static String unir(String... partes) {
+        if (partes.length == 1) {
+            return partes[0];
+        }
+        int len = partes.length - 1;
+        for (String p : partes) {
+            if (p != null) {
+                len += p.length();
+            }
+        }
+        StringBuilder sb = new StringBuilder(len);
+        for (int i = 0; i < partes.length; i++) {
+            if (i > 0) {
+                sb.append(SEPARADOR);
+            }
+            if (partes[i] != null) {
+                sb.append(partes[i]);
+            }
+        }
+        return sb.toString();
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof ClaveCompuesta)) {
+            return false;
+        }
+        ClaveCompuesta cc = (ClaveCompuesta) o;
+        return hash == cc.hash && Arrays.equals(partes, cc.partes);
+    }
+
+    /**
+     * Obtiene la clave unida con el separador, se calcula solo cuando se necesita
+     *
+     * @return Clave unida
+     */
+    @Override
+    public String toString() {
+        String s = unida;
+        if (s == null) {
+            unida = s = unir(partes);
+        }
+        return s;
+    }
+
+}
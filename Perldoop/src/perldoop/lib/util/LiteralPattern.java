@@ -0,0 +1,180 @@
+package perldoop.lib.util;
+
+import jregex.Pattern;
+
+/**
+ * Expresión regular sin metacaracteres, opcionalmente anclada al inicio o al final. La comprobación de coincidencia se
+ * resuelve con startsWith, endsWith o una busqueda Boyer-Moore-Horspool sin preparar el motor de backtracking, el resto
+ * de operaciones se delegan en la expresión compilada.
+ *
+ * @author César Pomar
+ */
+public final class LiteralPattern extends Pattern {
+
+    /**
+     * Longitud minima del literal para usar Boyer-Moore-Horspool, con literales cortos indexOf es mas rapido
+     */
+    private static final int BMH = 8;
+    private static final long serialVersionUID = 1L;
+    private final String literal;
+    private final boolean inicio;
+    private final boolean fin;
+    private final int[] saltos;
+
+    /**
+     * Construye una expresión literal
+     *
+     * @param regex Expresión regular
+     * @param mods Modificadores
+     * @param literal Literal de la expresión
+     * @param inicio Anclada al inicio
+     * @param fin Anclada al final
+     */
+    private LiteralPattern(String regex, String mods, String literal, boolean inicio, boolean fin) {
+        super(regex, mods);
+        this.literal = literal;
+        this.inicio = inicio;
+        this.fin = fin;
+        if (!inicio && !fin && literal.length() >= BMH) {
+            saltos = new int[256];
+            int n = literal.length() - 1;
+            for (int i = 0; i < saltos.length; i++) {
+                saltos[i] = literal.length();
+            }
+            for (int i = 0; i < n; i++) {
+                saltos[literal.charAt(i) & 0xFF] = n - i;
+            }
+        } else {
+            saltos = null;
+        }
+    }
+
+    /**
+     * Compila una expresión regular, si es literal se crea una expresion con comprobación rapida
+     *
+     * @param regex Expresión regular
+     * @param mods Modificadores
+     * @return Expresión regular compilada
+     */
+    public static Pattern compile(String regex, String mods) {
+        //Los modificadores i y x cambian el significado del literal y m el de las anclas
+        if (mods.indexOf('i') < 0 && mods.indexOf('x') < 0 && mods.indexOf('m') < 0) {
+            int ini = 0;
+            int end = regex.length();
+            boolean inicio = false;
+            boolean fin = false;
+            if (end > 0 && regex.charAt(0) == '^') {
+                inicio = true;
+                ini++;
+            }
+            if (end > ini && regex.charAt(end - 1) == '$' && !escapado(regex, end - 1)) {
+                fin = true;
+                end--;
+            }
+            String literal = literal(regex, ini, end);
+            if (literal != null) {
+                return new LiteralPattern(regex, mods, literal, inicio, fin);
+            }
+        }
+        return new Pattern(regex, mods);
+    }
+
+    /**
+     * Obtiene el literal de una expresión regular sin anclas
+     *
+     * @param regex Expresión regular
+     * @param ini Inicio del literal
+     * @param end Fin del literal
+     * @return Literal con los escapes resueltos o null si la expresión contiene metacaracteres
+     */
+    private static String literal(String regex, int ini, int end) {
+        StringBuilder literal = new StringBuilder(end - ini);
+        for (int i = ini; i < end; i++) {
+            char c = regex.charAt(i);
+            if (c == '\\') {
+                if (++i == end) {
+                    return null;
+                }
+                c = regex.charAt(i);
+                switch (c) {
+                    case 't':
+                        literal.append('\t');
+                        continue;
+                    case 'n':
+                        literal.append('\n');
+                        continue;
+                    case 'r':
+                        literal.append('\r');
+                        continue;
+                }
+                //Los escapes alfanumericos son clases, referencias o anclas
+                if (Character.isLetterOrDigit(c) || c == '_') {
+                    return null;
+                }
+            } else if ("^$.|?*+()[]{}".indexOf(c) >= 0) {
+                return null;
+            }
+            literal.append(c);
+        }
+        return literal.toString();
+    }
+
+    /**
+     * Comprueba si un caracter esta escapado
+     *
+     * @param regex Expresión regular
+     * @param pos Posición del caracter
+     * @return Esta escapado
+     */
+    private static boolean escapado(String regex, int pos) {
+        int n = 0;
+        while (pos > 0 && regex.charAt(--pos) == '\\') {
+            n++;
+        }
+        return n % 2 == 1;
+    }
+
+    /**
+     * Comprueba si la cadena contiene una coincidencia
+     *
+     * @param str Cadena
+     * @return Hay coincidencia
+     */
+    public boolean find(String str) {
+        if (inicio && fin) {
+            //$ tambien coincide antes de un salto de linea final
+            return str.equals(literal) || (str.length() == literal.length() + 1 && str.endsWith("\n")
+                    && str.startsWith(literal));
+        } else if (inicio) {
+            return str.startsWith(literal);
+        } else if (fin) {
+            return str.endsWith(literal) || (str.endsWith("\n")
+                    && str.regionMatches(str.length() - literal.length() - 1, literal, 0, literal.length()));
+        } else if (saltos == null) {
+            return str.indexOf(literal) >= 0;
+        }
+        return horspool(str) >= 0;
+    }
+
+    /**
+     * Busca el literal con el algoritmo Boyer-Moore-Horspool
+     *
+     * @param str Cadena
+     * @return Posición de la primera coincidencia o -1 si no existe
+     */
+    private int horspool(String str) {
+        int n = literal.length() - 1;
+        char last = literal.charAt(n);
+        int max = str.length() - n;
+        int i = 0;
+        while (i < max) {
+            char c = str.charAt(i + n);
+            if (c == last && str.regionMatches(i, literal, 0, n)) {
+                return i;
+            }
+            i += saltos[c & 0xFF];
+        }
+        return -1;
+    }
+
+}
@@ -0,0 +1,1029 @@
+package perldoop.lib.util;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedWriter;
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInput;
+import java.io.DataInputStream;
+import java.io.DataOutput;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStreamWriter;
+import java.io.RandomAccessFile;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationHandler;
+import java.lang.reflect.InvocationTargetException;
+import java.lang.reflect.Method;
+import java.lang.reflect.Proxy;
+import java.net.URL;
+import java.net.URLClassLoader;
+import java.nio.channels.Channels;
+import java.nio.charset.Charset;
+import java.nio.charset.StandardCharsets;
+import java.security.CodeSource;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.PriorityQueue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import perldoop.lib.PerlFile;
+
+/**
+ * Ejecutor local de trabajos MapReduce traducidos. Ejecuta un mapper y un reducer Hadoop sobre ficheros locales con
+ * varios hilos de map, una ordenacion y particion paralela en cada tarea y varios hilos de reduce, sin necesidad de
+ * un cluster. Las salidas intermedias se mantienen en memoria, por lo que esta pensado para trabajos medianos.
+ * <p>
+ * Las clases de Hadoop se resuelven por reflexion para que la libreria no dependa de Hadoop, los contextos se crean
+ * con WrappedMapper y WrappedReducer sobre una implementacion local de MapContext y ReduceContext. Cada tarea carga
+ * las clases traducidas con un cargador propio porque sus variables globales son estaticas. Las claves intermedias se
+ * copian al cargador comun para ordenarlas y los valores se guardan serializados hasta que los lee el reducer.
+ *
+ * @author César Pomar
+ */
+public final class LocalMapReduce {
+
+    private static final String MAP_CONTEXT = "org.apache.hadoop.mapreduce.MapContext";
+    private static final String REDUCE_CONTEXT = "org.apache.hadoop.mapreduce.ReduceContext";
+    private static final String MAPPER_CONTEXT = "org.apache.hadoop.mapreduce.Mapper$Context";
+    private static final String REDUCER_CONTEXT = "org.apache.hadoop.mapreduce.Reducer$Context";
+    private static final String WRAPPED_MAPPER = "org.apache.hadoop.mapreduce.lib.map.WrappedMapper";
+    private static final String WRAPPED_REDUCER = "org.apache.hadoop.mapreduce.lib.reduce.WrappedReducer";
+    private static final String CONFIGURATION = "org.apache.hadoop.conf.Configuration";
+    private static final String NULL_WRITABLE = "org.apache.hadoop.io.NullWritable";
+    private static final String LONG_WRITABLE = "org.apache.hadoop.io.LongWritable";
+    private static final String TEXT = "org.apache.hadoop.io.Text";
+    private static final String[] SHARED = {"java.", "javax.", "jdk.", "sun.", "perldoop.lib.", "org.apache.",
+        "scala."};
+    private static final Map<Class<?>, Method> WRITE = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Method> READ = new ConcurrentHashMap<>();
+    private static final Map<Class<?>, Constructor<?>> NEW = new ConcurrentHashMap<>();
+    private static final Comparator<Pair> ORDER = (a, b) -> compare(a.key, b.key);
+
+    private final Class<?> mapper;
+    private final Class<?> reducer;
+    private final ClassLoader parent;
+    private Class<?> combiner;
+    private Object conf;
+    private int mappers;
+    private int reducers;
+    private long splitSize;
+    private Charset charset;
+
+    /**
+     * Crea un ejecutor local
+     *
+     * @param mapper Clase mapper
+     * @param reducer Clase reducer, null para trabajos sin reduce
+     */
+    public LocalMapReduce(Class<?> mapper, Class<?> reducer) {
+        this.mapper = mapper;
+        this.reducer = reducer;
+        parent = mapper.getClassLoader();
+        mappers = Runtime.getRuntime().availableProcessors();
+        reducers = 1;
+        splitSize = 32 * 1024 * 1024;
+        charset = StandardCharsets.UTF_8;
+    }
+
+    /**
+     * Establece el combiner que se aplica a la salida de cada tarea map
+     *
+     * @param combiner Clase combiner
+     * @return Ejecutor
+     */
+    public LocalMapReduce setCombiner(Class<?> combiner) {
+        this.combiner = combiner;
+        return this;
+    }
+
+    /**
+     * Establece la configuracion Hadoop que reciben los contextos, por defecto se crea una vacia
+     *
+     * @param conf Configuracion
+     * @return Ejecutor
+     */
+    public LocalMapReduce setConfiguration(Object conf) {
+        this.conf = conf;
+        return this;
+    }
+
+    /**
+     * Establece el numero de hilos map
+     *
+     * @param mappers Hilos map
+     * @return Ejecutor
+     */
+    public LocalMapReduce setMappers(int mappers) {
+        this.mappers = Math.max(1, mappers);
+        return this;
+    }
+
+    /**
+     * Establece el numero de hilos y particiones reduce
+     *
+     * @param reducers Hilos reduce
+     * @return Ejecutor
+     */
+    public LocalMapReduce setReducers(int reducers) {
+        this.reducers = Math.max(1, reducers);
+        return this;
+    }
+
+    /**
+     * Establece el tamaño maximo en bytes de la parte de un fichero que procesa cada tarea map
+     *
+     * @param splitSize Tamaño de particion
+     * @return Ejecutor
+     */
+    public LocalMapReduce setSplitSize(long splitSize) {
+        this.splitSize = Math.max(1, splitSize);
+        return this;
+    }
+
+    /**
+     * Establece la codificacion de los ficheros de entrada y salida
+     *
+     * @param charset Codificacion
+     * @return Ejecutor
+     */
+    public LocalMapReduce setCharset(Charset charset) {
+        this.charset = charset;
+        return this;
+    }
+
+    /**
+     * Ejecuta el trabajo, la salida se escribe como ficheros part-r-NNNNN o part-m-NNNNN con el mismo formato que
+     * TextOutputFormat
+     *
+     * @param inputs Ficheros o directorios de entrada
+     * @param output Directorio de salida, no debe existir
+     * @throws IOException Error de entrada salida o de ejecucion de una tarea
+     * @throws InterruptedException Ejecucion interrumpida
+     */
+    public void run(List<File> inputs, File output) throws IOException, InterruptedException {
+        if (output.exists()) {
+            throw new IOException("Output directory " + output + " already exists");
+        }
+        List<Split> splits = splits(inputs);
+        if (!output.mkdirs()) {
+            throw new IOException("Unable to create " + output);
+        }
+        if (conf == null) {
+            try {
+                conf = newInstance(load(CONFIGURATION, parent));
+            } catch (Exception ex) {
+                throw new IOException("Hadoop classes are not available", ex);
+            }
+        }
+        //Fase map, cada tarea ordena y particiona su salida
+        List<Callable<List<List<Pair>>>> maps = new ArrayList<>(splits.size());
+        for (int i = 0; i < splits.size(); i++) {
+            int task = i;
+            maps.add(() -> map(splits.get(task), task, output));
+        }
+        List<List<List<Pair>>> runs = execute(maps, mappers);
+        if (reducer == null) {
+            return;
+        }
+        //Fase reduce, cada particion mezcla las salidas ordenadas de todas las tareas
+        List<Callable<Void>> reduces = new ArrayList<>(reducers);
+        for (int i = 0; i < reducers; i++) {
+            int partition = i;
+            List<Iterator<Pair>> sources = new ArrayList<>(runs.size());
+            for (List<List<Pair>> run : runs) {
+                sources.add(run.get(partition).iterator());
+            }
+            reduces.add(() -> {
+                reduce(new Merge(sources), partition, output);
+                return null;
+            });
+        }
+        runs.clear();
+        execute(reduces, reducers);
+    }
+
+    /**
+     * Ejecuta un trabajo local desde la linea de comandos
+     *
+     * @param args [-m mappers] [-r reducers] [-c combiner] [-s splitMB] mapper reducer|- input... output
+     * @throws Exception Error de ejecucion
+     */
+    public static void main(String[] args) throws Exception {
+        int i = 0;
+        Integer m = null;
+        Integer r = null;
+        Long s = null;
+        String c = null;
+        for (; i + 1 < args.length && args[i].startsWith("-") && args[i].length() == 2; i += 2) {
+            switch (args[i].charAt(1)) {
+                case 'm':
+                    m = Integer.parseInt(args[i + 1]);
+                    break;
+                case 'r':
+                    r = Integer.parseInt(args[i + 1]);
+                    break;
+                case 'c':
+                    c = args[i + 1];
+                    break;
+                case 's':
+                    s = Long.parseLong(args[i + 1]) * 1024 * 1024;
+                    break;
+                default:
+                    i = args.length;
+            }
+        }
+        if (args.length - i < 4) {
+            System.err.println("Usage: LocalMapReduce [-m mappers] [-r reducers] [-c combiner] [-s splitMB] "
+                    + "<mapper> <reducer|-> <input>... <output>");
+            System.exit(2);
+        }
+        ClassLoader loader = Thread.currentThread().getContextClassLoader();
+        Class<?> mapper = Class.forName(args[i], true, loader);
+        Class<?> reducer = args[i + 1].equals("-") ? null : Class.forName(args[i + 1], true, loader);
+        LocalMapReduce job = new LocalMapReduce(mapper, reducer);
+        if (m != null) {
+            job.setMappers(m);
+        }
+        if (r != null) {
+            job.setReducers(r);
+        }
+        if (s != null) {
+            job.setSplitSize(s);
+        }
+        if (c != null) {
+            job.setCombiner(Class.forName(c, true, loader));
+        }
+        List<File> inputs = new ArrayList<>(args.length - i - 3);
+        for (int j = i + 2; j < args.length - 1; j++) {
+            inputs.add(new File(args[j]));
+        }
+        job.run(inputs, new File(args[args.length - 1]));
+    }
+
+    /**
+     * Ejecuta una tarea map
+     *
+     * @param split Parte del fichero de entrada
+     * @param task Numero de tarea
+     * @param output Directorio de salida
+     * @return Salida ordenada de cada particion, vacia si el trabajo no tiene reduce
+     * @throws Exception Error de ejecucion
+     */
+    private List<List<Pair>> map(Split split, int task, File output) throws Exception {
+        ClassLoader loader = loader();
+        try {
+            if (reducer == null) {
+                try (TextWriter writer = new TextWriter(new File(output, String.format("part-m-%05d", task)))) {
+                    map(split, task, loader, writer);
+                }
+                return new ArrayList<>(0);
+            }
+            List<List<Pair>> partitions = new ArrayList<>(reducers);
+            for (int i = 0; i < reducers; i++) {
+                partitions.add(new ArrayList<>());
+            }
+            map(split, task, loader, (key, value) -> {
+                Pair pair = new Pair(copy(key, parent), serialize(value));
+                partitions.get(partition(pair.key, reducers)).add(pair);
+            });
+            for (int i = 0; i < reducers; i++) {
+                List<Pair> partition = partitions.get(i);
+                partition.sort(ORDER);
+                if (combiner != null && !partition.isEmpty()) {
+                    List<Pair> combined = new ArrayList<>(partition.size());
+                    reduce(loader, combiner, partition.iterator(), (key, value) -> {
+                        combined.add(new Pair(copy(key, parent), serialize(value)));
+                    }, task);
+                    combined.sort(ORDER);
+                    partitions.set(i, combined);
+                }
+            }
+            return partitions;
+        } finally {
+            close(loader);
+        }
+    }
+
+    /**
+     * Ejecuta el mapper sobre las lineas de una parte de un fichero, la clave y el valor de entrada se reutilizan
+     * entre lineas como en LineRecordReader
+     *
+     * @param split Parte del fichero de entrada
+     * @param task Numero de tarea
+     * @param loader Cargador de la tarea
+     * @param salida Salida del mapper
+     * @throws Exception Error de ejecucion
+     */
+    private void map(Split split, int task, ClassLoader loader, Salida salida) throws Exception {
+        try (LineReader reader = new LineReader(split, charset)) {
+            Class<?> longWritable = load(LONG_WRITABLE, parent);
+            Class<?> text = load(TEXT, parent);
+            Object key = newInstance(longWritable);
+            Object value = newInstance(text);
+            Method setKey = longWritable.getMethod("set", long.class);
+            Method setValue = text.getMethod("set", String.class);
+            InvocationHandler handler = (proxy, method, args) -> {
+                switch (method.getName()) {
+                    case "nextKeyValue":
+                        long pos = reader.getPos();
+                        String line = reader.readLine();
+                        if (line == null) {
+                            return false;
+                        }
+                        setKey.invoke(key, pos);
+                        setValue.invoke(value, line);
+                        return true;
+                    case "getCurrentKey":
+                        return key;
+                    case "getCurrentValue":
+                        return value;
+                    case "write":
+                        salida.write(args[0], args[1]);
+                        return null;
+                    default:
+                        return context(proxy, method, args, task);
+                }
+            };
+            run(loader.loadClass(mapper.getName()), MAP_CONTEXT, WRAPPED_MAPPER, "getMapContext", MAPPER_CONTEXT,
+                    handler, loader);
+        }
+    }
+
+    /**
+     * Ejecuta una tarea reduce
+     *
+     * @param input Entrada ordenada
+     * @param partition Numero de particion
+     * @param output Directorio de salida
+     * @throws Exception Error de ejecucion
+     */
+    private void reduce(Iterator<Pair> input, int partition, File output) throws Exception {
+        ClassLoader loader = loader();
+        try (TextWriter writer = new TextWriter(new File(output, String.format("part-r-%05d", partition)))) {
+            reduce(loader, reducer, input, writer, partition);
+        } finally {
+            close(loader);
+        }
+    }
+
+    /**
+     * Ejecuta un reducer o combiner sobre una entrada ordenada
+     *
+     * @param loader Cargador de la tarea
+     * @param clase Clase reducer
+     * @param input Entrada ordenada
+     * @param salida Salida
+     * @param task Numero de tarea
+     * @throws Exception Error de ejecucion
+     */
+    private void reduce(ClassLoader loader, Class<?> clase, Iterator<Pair> input, Salida salida, int task)
+            throws Exception {
+        Group group = new Group(input, loader);
+        InvocationHandler handler = (proxy, method, args) -> {
+            switch (method.getName()) {
+                case "nextKey":
+                    return group.nextKey();
+                case "getCurrentKey":
+                    return group.key;
+                case "getValues":
+                    return group;
+                case "write":
+                    salida.write(args[0], args[1]);
+                    return null;
+                default:
+                    return context(proxy, method, args, task);
+            }
+        };
+        run(loader.loadClass(clase.getName()), REDUCE_CONTEXT, WRAPPED_REDUCER, "getReducerContext", REDUCER_CONTEXT,
+                handler, loader);
+    }
+
+    /**
+     * Ejecuta el metodo run de un mapper o reducer con un contexto local
+     *
+     * @param clase Clase mapper o reducer
+     * @param interfaz Interfaz del contexto local
+     * @param wrapper Clase que envuelve el contexto local
+     * @param envolver Metodo que envuelve el contexto local
+     * @param contexto Clase del contexto que recibe el metodo run
+     * @param handler Implementacion del contexto local
+     * @param loader Cargador de la tarea
+     * @throws Exception Error de ejecucion
+     */
+    private void run(Class<?> clase, String interfaz, String wrapper, String envolver, String contexto,
+            InvocationHandler handler, ClassLoader loader) throws Exception {
+        Class<?> local = load(interfaz, parent);
+        Object proxy = Proxy.newProxyInstance(parent, new Class<?>[]{local}, handler);
+        Class<?> wrapped = load(wrapper, parent);
+        Object context = wrapped.getMethod(envolver, local).invoke(newInstance(wrapped), proxy);
+        Object instance = newInstance(clase);
+        Thread thread = Thread.currentThread();
+        ClassLoader previous = thread.getContextClassLoader();
+        thread.setContextClassLoader(loader);
+        try {
+            clase.getMethod("run", load(contexto, parent)).invoke(instance, context);
+        } catch (InvocationTargetException ex) {
+            if (ex.getCause() instanceof Exception) {
+                throw (Exception) ex.getCause();
+            }
+            throw ex;
+        } finally {
+            thread.setContextClassLoader(previous);
+        }
+    }
+
+    /**
+     * Implementa los metodos comunes de los contextos locales
+     *
+     * @param proxy Contexto
+     * @param method Metodo
+     * @param args Argumentos
+     * @param task Numero de tarea
+     * @return Resultado
+     */
+    private Object context(Object proxy, Method method, Object[] args, int task) {
+        switch (method.getName()) {
+            case "getConfiguration":
+                return conf;
+            case "toString":
+                return "LocalContext-" + task;
+            case "hashCode":
+                return System.identityHashCode(proxy);
+            case "equals":
+                return proxy == args[0];
+        }
+        Class<?> type = method.getReturnType();
+        if (type == boolean.class) {
+            return false;
+        } else if (type == int.class) {
+            return 0;
+        } else if (type == long.class) {
+            return 0L;
+        } else if (type == float.class) {
+            return 0f;
+        } else if (type == double.class) {
+            return 0d;
+        }
+        return null;
+    }
+
+    /**
+     * Crea el cargador de una tarea, las clases traducidas se cargan de nuevo para aislar sus variables estaticas
+     *
+     * @return Cargador
+     */
+    private ClassLoader loader() {
+        CodeSource source = mapper.getProtectionDomain().getCodeSource();
+        if (source == null || source.getLocation() == null) {
+            return parent;
+        }
+        return new TaskLoader(source.getLocation(), parent);
+    }
+
+    /**
+     * Cierra el cargador de una tarea al terminar, las clases ya cargadas siguen disponibles
+     *
+     * @param loader Cargador
+     * @throws IOException Error al cerrar
+     */
+    private void close(ClassLoader loader) throws IOException {
+        if (loader instanceof TaskLoader) {
+            ((TaskLoader) loader).close();
+        }
+    }
+
+    /**
+     * Divide los ficheros de entrada en partes para las tareas map
+     *
+     * @param inputs Ficheros o directorios de entrada
+     * @return Partes
+     * @throws IOException Fichero no encontrado
+     */
+    private List<Split> splits(List<File> inputs) throws IOException {
+        List<Split> splits = new ArrayList<>(inputs.size());
+        for (File input : inputs) {
+            File[] files = input.isDirectory() ? input.listFiles() : new File[]{input};
+            if (files == null || !input.exists()) {
+                throw new IOException("Input path " + input + " does not exist");
+            }
+            Arrays.sort(files);
+            for (File file : files) {
+                if (!file.isFile() || file.getName().startsWith("_") || file.getName().startsWith(".")) {
+                    continue;
+                }
+                long length = file.length();
+                for (long start = 0; start < length; start += splitSize) {
+                    splits.add(new Split(file, start, Math.min(length, start + splitSize)));
+                }
+            }
+        }
+        return splits;
+    }
+
+    /**
+     * Ejecuta un conjunto de tareas
+     *
+     * @param tasks Tareas
+     * @param threads Numero de hilos
+     * @return Resultado de las tareas
+     * @throws IOException Error en una tarea
+     * @throws InterruptedException Ejecucion interrumpida
+     */
+    private static <T> List<T> execute(List<Callable<T>> tasks, int threads) throws IOException,
+            InterruptedException {
+        //Las tareas comparten STDOUT y STDERR
+        PerlFile.setConcurrente(true);
+        ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, Math.min(threads, tasks.size())));
+        try {
+            List<Future<T>> futures = pool.invokeAll(tasks);
+            List<T> results = new ArrayList<>(futures.size());
+            for (Future<T> future : futures) {
+                try {
+                    results.add(future.get());
+                } catch (ExecutionException ex) {
+                    Throwable cause = ex.getCause();
+                    if (cause instanceof IOException) {
+                        throw (IOException) cause;
+                    } else if (cause instanceof RuntimeException) {
+                        throw (RuntimeException) cause;
+                    } else if (cause instanceof Error) {
+                        throw (Error) cause;
+                    }
+                    throw new IOException(cause);
+                }
+            }
+            return results;
+        } finally {
+            pool.shutdownNow();
+        }
+    }
+
+    /**
+     * Calcula la particion de una clave igual que HashPartitioner
+     *
+     * @param key Clave
+     * @param partitions Numero de particiones
+     * @return Particion
+     */
+    private static int partition(Object key, int partitions) {
+        return (key.hashCode() & Integer.MAX_VALUE) % partitions;
+    }
+
+    /**
+     * Compara dos claves
+     *
+     * @param a Clave a
+     * @param b Clave b
+     * @return Comparacion
+     */
+    @SuppressWarnings("unchecked")
+    private static int compare(Object a, Object b) {
+        return ((Comparable<Object>) a).compareTo(b);
+    }
+
+    /**
+     * Comprueba si un Writable es NullWritable
+     *
+     * @param obj Writable
+     * @return Es NullWritable
+     */
+    private static boolean isNull(Object obj) {
+        return obj == null || obj.getClass().getName().equals(NULL_WRITABLE);
+    }
+
+    /**
+     * Copia un Writable en una instancia nueva de su clase en un cargador, los mappers y reducers reutilizan sus
+     * Writables de salida
+     *
+     * @param obj Writable
+     * @param loader Cargador
+     * @return Copia
+     * @throws Exception Error de serializacion
+     */
+    private static Object copy(Object obj, ClassLoader loader) throws Exception {
+        return deserialize(serialize(obj), loader);
+    }
+
+    /**
+     * Serializa un Writable, NullWritable no se serializa
+     *
+     * @param obj Writable
+     * @return Writable serializado o el propio NullWritable
+     * @throws Exception Error de serializacion
+     */
+    private static Object serialize(Object obj) throws Exception {
+        if (isNull(obj)) {
+            return obj;
+        }
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream(64);
+        method(WRITE, obj.getClass(), "write", DataOutput.class).invoke(obj, new DataOutputStream(bytes));
+        return new Serializado(obj.getClass().getName(), bytes.toByteArray());
+    }
+
+    /**
+     * Crea un Writable serializado en una instancia nueva de su clase en un cargador
+     *
+     * @param obj Writable serializado o NullWritable
+     * @param loader Cargador
+     * @return Writable
+     * @throws Exception Error de serializacion
+     */
+    private static Object deserialize(Object obj, ClassLoader loader) throws Exception {
+        if (!(obj instanceof Serializado)) {
+            return obj;
+        }
+        Serializado serializado = (Serializado) obj;
+        Class<?> clase = load(serializado.clase, loader);
+        Object copy = newInstance(clase);
+        DataInputStream in = new DataInputStream(new ByteArrayInputStream(serializado.bytes));
+        method(READ, clase, "readFields", DataInput.class).invoke(copy, in);
+        return copy;
+    }
+
+    /**
+     * Obtiene un metodo publico usando una cache
+     *
+     * @param cache Cache
+     * @param clase Clase
+     * @param nombre Nombre del metodo
+     * @param parametro Tipo del parametro
+     * @return Metodo
+     */
+    private static Method method(Map<Class<?>, Method> cache, Class<?> clase, String nombre, Class<?> parametro) {
+        return cache.computeIfAbsent(clase, c -> {
+            try {
+                return c.getMethod(nombre, parametro);
+            } catch (NoSuchMethodException ex) {
+                throw new IllegalArgumentException(c.getName() + " is not a Writable", ex);
+            }
+        });
+    }
+
+    /**
+     * Carga una clase
+     *
+     * @param nombre Nombre de la clase
+     * @param loader Cargador
+     * @return Clase
+     * @throws ClassNotFoundException Clase no encontrada
+     */
+    private static Class<?> load(String nombre, ClassLoader loader) throws ClassNotFoundException {
+        return Class.forName(nombre, true, loader);
+    }
+
+    /**
+     * Crea una instancia con el constructor sin argumentos, aunque no sea publico
+     *
+     * @param clase Clase
+     * @return Instancia
+     * @throws Exception Error de creacion
+     */
+    private static Object newInstance(Class<?> clase) throws Exception {
+        Constructor<?> constructor = NEW.get(clase);
+        if (constructor == null) {
+            constructor = clase.getDeclaredConstructor();
+            constructor.setAccessible(true);
+            NEW.put(clase, constructor);
+        }
+        return constructor.newInstance();
+    }
+
+    /**
+     * Salida de un mapper o reducer
+     */
+    private interface Salida {
+
+        /**
+         * Procesa una salida, los Writables pueden ser reutilizados despues de la llamada
+         *
+         * @param key Clave
+         * @param value Valor
+         * @throws Exception Error de escritura
+         */
+        void write(Object key, Object value) throws Exception;
+
+    }
+
+    /**
+     * Par clave valor intermedio, la clave esta en el cargador comun y el valor serializado
+     */
+    private static final class Pair {
+
+        private final Object key;
+        private final Object value;
+
+        public Pair(Object key, Object value) {
+            this.key = key;
+            this.value = value;
+        }
+
+    }
+
+    /**
+     * Writable serializado
+     */
+    private static final class Serializado {
+
+        private final String clase;
+        private final byte[] bytes;
+
+        public Serializado(String clase, byte[] bytes) {
+            this.clase = clase;
+            this.bytes = bytes;
+        }
+
+    }
+
+    /**
+     * Escritor de una salida con el formato de TextOutputFormat
+     */
+    private final class TextWriter implements Salida, AutoCloseable {
+
+        private final BufferedWriter out;
+
+        public TextWriter(File file) throws IOException {
+            out = new BufferedWriter(new OutputStreamWriter(new FileOutputStream(file), charset), 64 * 1024);
+        }
+
+        @Override
+        public void write(Object key, Object value) throws IOException {
+            boolean hasKey = !isNull(key);
+            boolean hasValue = !isNull(value);
+            if (hasKey) {
+                out.append(key.toString());
+            }
+            if (hasKey && hasValue) {
+                out.append('\t');
+            }
+            if (hasValue) {
+                out.append(value.toString());
+            }
+            out.append('\n');
+        }
+
+        @Override
+        public void close() throws IOException {
+            out.close();
+        }
+
+    }
+
+    /**
+     * Parte de un fichero de entrada
+     */
+    private static final class Split {
+
+        private final File file;
+        private final long start;
+        private final long end;
+
+        public Split(File file, long start, long end) {
+            this.file = file;
+            this.start = start;
+            this.end = end;
+        }
+
+    }
+
+    /**
+     * Lector de las lineas de una parte de un fichero, igual que LineRecordReader cada parte procesa las lineas que
+     * empiezan dentro de ella
+     */
+    private static final class LineReader implements AutoCloseable {
+
+        private final RandomAccessFile file;
+        private final InputStream in;
+        private final Charset charset;
+        private final long end;
+        private long pos;
+        private byte[] buffer;
+
+        public LineReader(Split split, Charset charset) throws IOException {
+            this.charset = charset;
+            file = new RandomAccessFile(split.file, "r");
+            end = split.end;
+            pos = Math.max(0, split.start - 1);
+            file.seek(pos);
+            in = new BufferedInputStream(Channels.newInputStream(file.getChannel()), 64 * 1024);
+            buffer = new byte[256];
+            if (split.start > 0) {
+                //La linea anterior pertenece a la parte anterior
+                skipLine();
+            }
+        }
+
+        public long getPos() {
+            return pos;
+        }
+
+        public String readLine() throws IOException {
+            if (pos >= end) {
+                return null;
+            }
+            int len = 0;
+            int c;
+            while ((c = in.read()) != -1) {
+                pos++;
+                if (c == '\n') {
+                    break;
+                }
+                if (len == buffer.length) {
+                    buffer = Arrays.copyOf(buffer, len * 2);
+                }
+                buffer[len++] = (byte) c;
+            }
+            if (c == -1 && len == 0) {
+                return null;
+            }
+            if (len > 0 && buffer[len - 1] == '\r') {
+                len--;
+            }
+            return new String(buffer, 0, len, charset);
+        }
+
+        private void skipLine() throws IOException {
+            int c;
+            while ((c = in.read()) != -1) {
+                pos++;
+                if (c == '\n') {
+                    break;
+                }
+            }
+        }
+
+        @Override
+        public void close() throws IOException {
+            file.close();
+        }
+
+    }
+
+    /**
+     * Mezcla de las salidas ordenadas de las tareas map, a igual clave se respeta el orden de las tareas
+     */
+    private static final class Merge implements Iterator<Pair> {
+
+        private final PriorityQueue<Cursor> queue;
+
+        public Merge(List<Iterator<Pair>> sources) {
+            queue = new PriorityQueue<>(Math.max(1, sources.size()));
+            for (int i = 0; i < sources.size(); i++) {
+                Cursor cursor = new Cursor(sources.get(i), i);
+                if (cursor.advance()) {
+                    queue.add(cursor);
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return !queue.isEmpty();
+        }
+
+        @Override
+        public Pair next() {
+            Cursor cursor = queue.poll();
+            if (cursor == null) {
+                throw new NoSuchElementException();
+            }
+            Pair pair = cursor.current;
+            if (cursor.advance()) {
+                queue.add(cursor);
+            }
+            return pair;
+        }
+
+        private static final class Cursor implements Comparable<Cursor> {
+
+            private final Iterator<Pair> it;
+            private final int index;
+            private Pair current;
+
+            public Cursor(Iterator<Pair> it, int index) {
+                this.it = it;
+                this.index = index;
+            }
+
+            public boolean advance() {
+                current = it.hasNext() ? it.next() : null;
+                return current != null;
+            }
+
+            @Override
+            public int compareTo(Cursor o) {
+                int cmp = compare(current.key, o.current.key);
+                return cmp != 0 ? cmp : Integer.compare(index, o.index);
+            }
+
+        }
+
+    }
+
+    /**
+     * Agrupacion de los valores de claves consecutivas iguales, los valores se deserializan en el cargador de la tarea
+     */
+    private static final class Group implements Iterable<Object>, Iterator<Object> {
+
+        private final Iterator<Pair> input;
+        private final ClassLoader loader;
+        private Pair next;
+        private Object key;
+        private Object group;
+
+        public Group(Iterator<Pair> input, ClassLoader loader) {
+            this.input = input;
+            this.loader = loader;
+            next = input.hasNext() ? input.next() : null;
+        }
+
+        public boolean nextKey() throws Exception {
+            //Valores no consumidos de la clave anterior
+            while (next != null && group != null && compare(group, next.key) == 0) {
+                next = input.hasNext() ? input.next() : null;
+            }
+            if (next == null) {
+                return false;
+            }
+            group = next.key;
+            key = copy(group, loader);
+            return true;
+        }
+
+        @Override
+        public Iterator<Object> iterator() {
+            return this;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null && compare(group, next.key) == 0;
+        }
+
+        @Override
+        public Object next() {
+            if (!hasNext()) {
+                throw new NoSuchElementException();
+            }
+            Object value = next.value;
+            next = input.hasNext() ? input.next() : null;
+            try {
+                return deserialize(value, loader);
+            } catch (Exception ex) {
+                throw new IllegalStateException(ex);
+            }
+        }
+
+    }
+
+    /**
+     * Cargador de una tarea, carga de nuevo las clases traducidas y delega el resto en el cargador padre
+     */
+    private static final class TaskLoader extends URLClassLoader {
+
+        static {
+            ClassLoader.registerAsParallelCapable();
+        }
+
+        public TaskLoader(URL location, ClassLoader parent) {
+            super(new URL[]{location}, parent);
+        }
+
+        @Override
+        protected Class<?> loadClass(String name, boolean resolve) throws ClassNotFoundException {
+            for (String prefijo : SHARED) {
+                if (name.startsWith(prefijo)) {
+                    return super.loadClass(name, resolve);
+                }
+            }
+            synchronized (getClassLoadingLock(name)) {
+                Class<?> c = findLoadedClass(name);
+                if (c == null) {
+                    try {
+                        c = findClass(name);
+                    } catch (ClassNotFoundException ex) {
+                        return super.loadClass(name, resolve);
+                    }
+                }
+                if (resolve) {
+                    resolveClass(c);
+                }
+                return c;
+            }
+        }
+
+    }
+
+}
@@ -0,0 +1,296 @@
+package perldoop.lib.util;
+
+import java.math.BigDecimal;
+import java.math.MathContext;
+import java.math.RoundingMode;
+
+/**
+ * Conversiones entre cadenas y numeros con la semantica de Perl. Las cadenas se analizan directamente sobre la
+ * secuencia de caracteres usando solo su prefijo numerico y los numeros se escriben igual que el formato %.15g de Perl.
+ *
+ * @author César Pomar
+ */
+public final class Numeric {
+
+    /**
+     * Rango de enteros con cadena en cache
+     */
+    private static final int CACHE_MIN = -128;
+    private static final int CACHE_MAX = 1023;
+    private static final String[] cache = new String[CACHE_MAX - CACHE_MIN + 1];
+    /**
+     * Digitos significativos de Perl
+     */
+    private static final int PRECISION = 15;
+    private static final MathContext REDONDEO = new MathContext(PRECISION, RoundingMode.HALF_EVEN);
+    /**
+     * Potencias de diez representables de forma exacta en un double
+     */
+    private static final double[] POTENCIAS = {
+        1e0, 1e1, 1e2, 1e3, 1e4, 1e5, 1e6, 1e7, 1e8, 1e9, 1e10, 1e11,
+        1e12, 1e13, 1e14, 1e15, 1e16, 1e17, 1e18, 1e19, 1e20, 1e21, 1e22
+    };
+    /**
+     * Limite de mantisa para que la conversion a double sea exacta
+     */
+    private static final long EXACTO = 1l << 53;
+    /**
+     * Maximo numero de digitos que se acumulan en la mantisa
+     */
+    private static final int DIGITOS = 18;
+
+    private Numeric() {
+    }
+
+    /**
+     * Comprueba si un caracter es un espacio en blanco inicial de un numero
+     *
+     * @param c Caracter
+     * @return Es espacio en blanco
+     */
+    private static boolean isEspacio(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Convierte el prefijo numerico de una cadena a double, si no hay prefijo numerico el resultado es 0. El prefijo
+     * esta formado por espacios iniciales, signo, digitos, parte decimal y exponente
+     *
+     * @param s Cadena
+     * @return Numero
+     */
+    public static double parseDouble(CharSequence s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n && isEspacio(s.charAt(i))) {
+            i++;
+        }
+        int ini = i;
+        boolean negativo = false;
+        if (i < n && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negativo = s.charAt(i) == '-';
+            i++;
+        }
+        long mantisa = 0;
+        int exponente = 0;
+        boolean exacto = true;//La mantisa contiene todos los digitos
+        int digitos = 0;
+        int significativos = 0;
+        char c;
+        for (; i < n && (c = s.charAt(i)) >= '0' && c <= '9'; i++, digitos++) {
+            if (significativos < DIGITOS) {
+                if (significativos > 0 || c != '0') {
+                    mantisa = mantisa * 10 + (c - '0');
+                    significativos++;
+                }
+            } else {
+                exponente++;
+                exacto = false;
+            }
+        }
+        if (i < n && s.charAt(i) == '.') {
+            for (i++; i < n && (c = s.charAt(i)) >= '0' && c <= '9'; i++, digitos++) {
+                if (significativos < DIGITOS) {
+                    if (significativos > 0 || c != '0') {
+                        mantisa = mantisa * 10 + (c - '0');
+                        significativos++;
+                    }
+                    exponente--;
+                } else {
+                    exacto &= c == '0';
+                }
+            }
+        }
+        if (digitos == 0 || mantisa == 0) {
+            return 0;
+        }
+        //El exponente solo es valido si tiene digitos
+        if (i + 1 < n && (s.charAt(i) == 'e' || s.charAt(i) == 'E')) {
+            int j = i + 1;
+            boolean menos = false;
+            if (s.charAt(j) == '-' || s.charAt(j) == '+') {
+                menos = s.charAt(j) == '-';
+                j++;
+            }
+            if (j < n && (c = s.charAt(j)) >= '0' && c <= '9') {
+                int exp = 0;
+                for (; j < n && (c = s.charAt(j)) >= '0' && c <= '9'; j++) {
+                    if (exp < 100000) {
+                        exp = exp * 10 + (c - '0');
+                    }
+                }
+                exponente += menos ? -exp : exp;
+                i = j;
+            }
+        }
+        if (!exacto || mantisa >= EXACTO || Math.abs(exponente) >= POTENCIAS.length) {
+            return Double.parseDouble(s.subSequence(ini, i).toString());
+        }
+        //Un solo redondeo, el resultado es el mismo que el de Double.parseDouble
+        double valor = exponente < 0 ? mantisa / POTENCIAS[-exponente] : mantisa * POTENCIAS[exponente];
+        return negativo ? -valor : valor;
+    }
+
+    /**
+     * Convierte el prefijo numerico de una cadena a long, la parte decimal se trunca y los valores fuera de rango se
+     * saturan
+     *
+     * @param s Cadena
+     * @return Numero
+     */
+    public static long parseLong(CharSequence s) {
+        int n = s.length();
+        int i = 0;
+        while (i < n && isEspacio(s.charAt(i))) {
+            i++;
+        }
+        boolean negativo = false;
+        if (i < n && (s.charAt(i) == '-' || s.charAt(i) == '+')) {
+            negativo = s.charAt(i) == '-';
+            i++;
+        }
+        //Se acumula en negativo para poder representar Long.MIN_VALUE
+        long valor = 0;
+        boolean desborde = false;
+        char c;
+        for (; i < n && (c = s.charAt(i)) >= '0' && c <= '9'; i++) {
+            int digito = c - '0';
+            if (valor < (Long.MIN_VALUE + digito) / 10) {
+                desborde = true;
+            } else {
+                valor = valor * 10 - digito;
+            }
+        }
+        //Enteros sin parte decimal ni exponente
+        if (i == n || ((c = s.charAt(i)) != '.' && c != 'e' && c != 'E')) {
+            if (desborde) {
+                return negativo ? Long.MIN_VALUE : Long.MAX_VALUE;
+            }
+            return negativo ? valor : valor == Long.MIN_VALUE ? Long.MAX_VALUE : -valor;
+        }
+        return (long) parseDouble(s);
+    }
+
+    /**
+     * Convierte el prefijo numerico de una cadena a int, la parte decimal se trunca y los valores fuera de rango se
+     * saturan
+     *
+     * @param s Cadena
+     * @return Numero
+     */
+    public static int parseInt(CharSequence s) {
+        long n = parseLong(s);
+        return n > Integer.MAX_VALUE ? Integer.MAX_VALUE : n < Integer.MIN_VALUE ? Integer.MIN_VALUE : (int) n;
+    }
+
+    /**
+     * Convierte un entero a cadena, los enteros pequeños se reutilizan
+     *
+     * @param n Numero
+     * @return Cadena
+     */
+    public static String toString(long n) {
+        if (n >= CACHE_MIN && n <= CACHE_MAX) {
+            int i = (int) n - CACHE_MIN;
+            String s = cache[i];
+            if (s == null) {
+                cache[i] = s = Long.toString(n);
+            }
+            return s;
+        }
+        return Long.toString(n);
+    }
+
+    /**
+     * Convierte un double a cadena con el formato %.15g de Perl
+     *
+     * @param d Numero
+     * @return Cadena
+     */
+    public static String toString(double d) {
+        if (d == (long) d && Math.abs(d) < 1e15) {
+            return toString((long) d);
+        }
+        return append(new StringBuilder(24), d).toString();
+    }
+
+    /**
+     * Añade un double con el formato %.15g de Perl
+     *
+     * @param sb Buffer
+     * @param d Numero
+     * @return Buffer
+     */
+    public static StringBuilder append(StringBuilder sb, double d) {
+        if (d == (long) d && Math.abs(d) < 1e15) {
+            return sb.append((long) d);
+        } else if (Double.isNaN(d)) {
+            return sb.append("NaN");
+        } else if (Double.isInfinite(d)) {
+            return sb.append(d > 0 ? "Inf" : "-Inf");
+        }
+        if (d < 0) {
+            sb.append('-');
+            d = -d;
+        }
+        //Digitos significativos y exponente decimal del primer digito
+        char[] digitos = new char[20];
+        int n = 0;
+        int exp;
+        String repr = Double.toString(d);
+        int e = repr.indexOf('E');
+        int fin = e < 0 ? repr.length() : e;
+        int punto = repr.indexOf('.');
+        exp = (e < 0 ? 0 : Integer.parseInt(repr.substring(e + 1))) + punto - 1;
+        for (int i = 0; i < fin; i++) {
+            char c = repr.charAt(i);
+            if (c == '.') {
+                continue;
+            }
+            if (n == 0 && c == '0') {
+                exp--;
+                continue;
+            }
+            digitos[n++] = c;
+        }
+        if (n > PRECISION || d < Double.MIN_NORMAL) {
+            //La representacion mas corta tiene mas digitos de los que muestra Perl o es subnormal y con pocos bits
+            //de precision es mas corta que los 15 digitos de %.15g
+            BigDecimal bd = new BigDecimal(d).round(REDONDEO);
+            String unscaled = bd.unscaledValue().toString();
+            n = unscaled.length();
+            unscaled.getChars(0, n, digitos, 0);
+            exp = n - 1 - bd.scale();
+        }
+        while (n > 1 && digitos[n - 1] == '0') {
+            n--;
+        }
+        if (exp < -4 || exp >= PRECISION) {
+            sb.append(digitos[0]);
+            if (n > 1) {
+                sb.append('.').append(digitos, 1, n - 1);
+            }
+            sb.append('e').append(exp < 0 ? '-' : '+');
+            exp = Math.abs(exp);
+            if (exp < 10) {
+                sb.append('0');
+            }
+            sb.append(exp);
+        } else if (exp < 0) {
+            sb.append("0.");
+            for (int i = exp + 1; i < 0; i++) {
+                sb.append('0');
+            }
+            sb.append(digitos, 0, n);
+        } else if (n <= exp + 1) {
+            sb.append(digitos, 0, n);
+            for (int i = n; i <= exp; i++) {
+                sb.append('0');
+            }
+        } else {
+            sb.append(digitos, 0, exp + 1).append('.').append(digitos, exp + 1, n - exp - 1);
+        }
+        return sb;
+    }
+
+}
@@ -0,0 +1,233 @@
+package perldoop.lib.util;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.function.Function;
+import java.util.function.ToDoubleFunction;
+
+/**
+ * Algoritmos de ordenación para sort. Las claves de ordenación se calculan una sola vez por elemento y se ordenan
+ * junto a su posicion, los numeros se ordenan sin objetos como tipos primitivos. Los arrays grandes se ordenan en
+ * paralelo.
+ *
+ * @author César Pomar
+ */
+public final class Sort {
+
+    /**
+     * Propiedad con el tamaño minimo para ordenar en paralelo
+     */
+    public static final String PARALLEL_SIZE = "perldoop.sort.parallel";
+    private static final int PARALELO = Integer.getInteger(PARALLEL_SIZE, 1 << 13);
+
+    private Sort() {
+    }
+
+    /**
+     * Posicion de un elemento decorada con su clave numérica
+     */
+    private static final class ClaveNum {
+
+        private final double clave;
+        private final int posicion;
+
+        public ClaveNum(double clave, int posicion) {
+            this.clave = clave;
+            this.posicion = posicion;
+        }
+
+    }
+
+    /**
+     * Posicion de un elemento decorada con su clave de cadena
+     */
+    private static final class ClaveStr {
+
+        private final String clave;
+        private final int posicion;
+
+        public ClaveStr(String clave, int posicion) {
+            this.clave = clave;
+            this.posicion = posicion;
+        }
+
+    }
+
+    /**
+     * Ordena un array con un comparador, la ordenación es estable
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param comp Comparador, si es null se usa el orden natural
+     */
+    public static <T> void sort(T[] array, Comparator<? super T> comp) {
+        if (array.length >= PARALELO) {
+            Arrays.parallelSort(array, comp);
+        } else {
+            Arrays.sort(array, comp);
+        }
+    }
+
+    /**
+     * Invierte un array
+     *
+     * @param array Array
+     */
+    private static void invertir(Object[] array) {
+        for (int i = 0, j = array.length - 1; i < j; i++, j--) {
+            Object aux = array[i];
+            array[i] = array[j];
+            array[j] = aux;
+        }
+    }
+
+    /**
+     * Ordena un array de numeros por su valor, equivale a {$a &lt;=&gt; $b}
+     *
+     * @param array Array
+     * @param desc Orden descendente, equivale a {$b &lt;=&gt; $a}
+     */
+    public static void sortNum(Object[] array, boolean desc) {
+        int n = array.length;
+        if (n < 2) {
+            return;
+        }
+        Class<?> clase = array[0] == null ? null : array[0].getClass();
+        for (Object e : array) {
+            if (e == null || e.getClass() != clase) {
+                //Nulos o tipos mezclados
+                sortNum(array, e2 -> e2 == null ? 0 : ((Number) e2).doubleValue(), desc);
+                return;
+            }
+        }
+        //Los numeros iguales son indistinguibles, la estabilidad no importa
+        if (clase == Integer.class) {
+            int[] valores = new int[n];
+            for (int i = 0; i < n; i++) {
+                valores[i] = (Integer) array[i];
+            }
+            if (n >= PARALELO) {
+                Arrays.parallelSort(valores);
+            } else {
+                Arrays.sort(valores);
+            }
+            for (int i = 0; i < n; i++) {
+                array[i] = valores[i];
+            }
+        } else if (clase == Long.class) {
+            long[] valores = new long[n];
+            for (int i = 0; i < n; i++) {
+                valores[i] = (Long) array[i];
+            }
+            if (n >= PARALELO) {
+                Arrays.parallelSort(valores);
+            } else {
+                Arrays.sort(valores);
+            }
+            for (int i = 0; i < n; i++) {
+                array[i] = valores[i];
+            }
+        } else {
+            sortNum(array, e -> ((Number) e).doubleValue(), desc);
+            return;
+        }
+        if (desc) {
+            invertir(array);
+        }
+    }
+
+    /**
+     * Ordena un array de cadenas, equivale a {$a cmp $b}
+     *
+     * @param array Array
+     * @param desc Orden descendente, equivale a {$b cmp $a}
+     */
+    public static void sortStr(Object[] array, boolean desc) {
+        for (Object e : array) {
+            if (e == null) {
+                sortStr(array, e2 -> e2 == null ? "" : (String) e2, desc);
+                return;
+            }
+        }
+        //Las cadenas iguales son indistinguibles, la estabilidad no importa
+        sort(array, null);
+        if (desc) {
+            invertir(array);
+        }
+    }
+
+    /**
+     * Ordena un array por una clave numérica que se calcula una vez por elemento, la ordenación es estable
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param clave Función clave
+     * @param desc Orden descendente
+     */
+    public static <T> void sortNum(T[] array, ToDoubleFunction<? super T> clave, boolean desc) {
+        sortNum(Arrays.asList(array), clave, desc);
+    }
+
+    /**
+     * Ordena una lista por una clave numérica que se calcula una vez por elemento, la ordenación es estable
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param clave Función clave
+     * @param desc Orden descendente
+     */
+    public static <T> void sortNum(List<T> list, ToDoubleFunction<? super T> clave, boolean desc) {
+        ClaveNum[] claves = new ClaveNum[list.size()];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = new ClaveNum(clave.applyAsDouble(list.get(i)), i);
+        }
+        if (desc) {
+            sort(claves, (c1, c2) -> Double.compare(c2.clave, c1.clave));
+        } else {
+            sort(claves, (c1, c2) -> Double.compare(c1.clave, c2.clave));
+        }
+        List<T> valores = new ArrayList<>(list);
+        for (int i = 0; i < claves.length; i++) {
+            list.set(i, valores.get(claves[i].posicion));
+        }
+    }
+
+    /**
+     * Ordena un array por una clave de cadena que se calcula una vez por elemento, la ordenación es estable
+     *
+     * @param <T> Tipo de los elementos
+     * @param array Array
+     * @param clave Función clave
+     * @param desc Orden descendente
+     */
+    public static <T> void sortStr(T[] array, Function<? super T, String> clave, boolean desc) {
+        sortStr(Arrays.asList(array), clave, desc);
+    }
+
+    /**
+     * Ordena una lista por una clave de cadena que se calcula una vez por elemento, la ordenación es estable
+     *
+     * @param <T> Tipo de los elementos
+     * @param list Lista
+     * @param clave Función clave
+     * @param desc Orden descendente
+     */
+    public static <T> void sortStr(List<T> list, Function<? super T, String> clave, boolean desc) {
+        ClaveStr[] claves = new ClaveStr[list.size()];
+        for (int i = 0; i < claves.length; i++) {
+            claves[i] = new ClaveStr(clave.apply(list.get(i)), i);
+        }
+        if (desc) {
+            sort(claves, (c1, c2) -> c2.clave.compareTo(c1.clave));
+        } else {
+            sort(claves, (c1, c2) -> c1.clave.compareTo(c2.clave));
+        }
+        List<T> valores = new ArrayList<>(list);
+        for (int i = 0; i < claves.length; i++) {
+            list.set(i, valores.get(claves[i].posicion));
+        }
+    }
+
+}
@@ -0,0 +1,233 @@
+package perldoop.lib.util;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import perldoop.lib.Regex;
+
+/**
+ * Separador de cadenas para split. Las secuencias de separadores consecutivos cuentan como uno solo y las partes
+ * vacias se descartan. Los separadores de un caracter y los espacios se buscan sin expresiones regulares, el resto se
+ * compila una vez y se guarda en cache.
+ *
+ * @author César Pomar
+ */
+public final class Split implements Iterator<String> {
+
+    private static final Cache<String, Pattern> cache = new Cache<>(Integer.getInteger(Regex.CACHE_SIZE, 1000));
+    /**
+     * Separador de espacios en blanco
+     */
+    private static final int ESPACIO = -1;
+    /**
+     * Separador de expresion regular
+     */
+    private static final int REGEX = -2;
+    private final String str;
+    private final int limite;
+    private final int separador;
+    private final Matcher matcher;
+    private int pos;
+    private int piezas;
+    private int ini;
+    private int fin;
+    private String siguiente;
+
+    /**
+     * Construye un separador
+     *
+     * @param regex Separador
+     * @param str Cadena
+     * @param limite Limite de partes, si es menor que uno no hay limite
+     * @param espacio El separador " " equivale a cualquier espacio en blanco
+     */
+    private Split(String regex, String str, int limite, boolean espacio) {
+        this.str = str == null ? "" : str;
+        this.limite = limite;
+        if (espacio && regex.equals(" ")) {
+            separador = ESPACIO;
+        } else {
+            separador = analizar(regex);
+        }
+        if (separador == REGEX) {
+            matcher = cache.get(regex, k -> Pattern.compile("(" + k + ")+")).matcher(this.str);
+        } else {
+            matcher = null;
+        }
+        siguiente = avanzar();
+    }
+
+    /**
+     * Obtiene la cache de separadores compilados
+     *
+     * @return Cache de separadores
+     */
+    public static Cache<String, Pattern> getCache() {
+        return cache;
+    }
+
+    /**
+     * Separa una cadena
+     *
+     * @param regex Separador
+     * @param str Cadena
+     * @param limite Limite de partes, si es menor que uno no hay limite
+     * @param espacio El separador " " equivale a cualquier espacio en blanco
+     * @return Partes de la cadena
+     */
+    public static String[] split(String regex, String str, int limite, boolean espacio) {
+        Split split = new Split(regex, str, limite, espacio);
+        if (!split.hasNext()) {
+            return new String[0];
+        }
+        String primera = split.next();
+        if (!split.hasNext()) {
+            return new String[]{primera};
+        }
+        List<String> partes = new ArrayList<>(16);
+        partes.add(primera);
+        while (split.hasNext()) {
+            partes.add(split.next());
+        }
+        return partes.toArray(new String[partes.size()]);
+    }
+
+    /**
+     * Separa una cadena de forma perezosa, cada parte se calcula cuando se recorre
+     *
+     * @param regex Separador
+     * @param str Cadena
+     * @param limite Limite de partes, si es menor que uno no hay limite
+     * @param espacio El separador " " equivale a cualquier espacio en blanco
+     * @return Iterable de las partes de la cadena
+     */
+    public static Iterable<String> iterable(String regex, String str, int limite, boolean espacio) {
+        return () -> new Split(regex, str, limite, espacio);
+    }
+
+    /**
+     * Analiza el separador
+     *
+     * @param regex Separador
+     * @return Caracter separador, ESPACIO o REGEX
+     */
+    private static int analizar(String regex) {
+        //Las repeticiones ya se agrupan en un solo separador
+        if (regex.length() > 1 && regex.charAt(regex.length() - 1) == '+' && regex.charAt(regex.length() - 2) != '\\') {
+            regex = regex.substring(0, regex.length() - 1);
+        }
+        if (regex.length() == 1) {
+            char c = regex.charAt(0);
+            return ".$|()[]{}^?*+\\".indexOf(c) < 0 ? c : REGEX;
+        }
+        if (regex.length() == 2 && regex.charAt(0) == '\\') {
+            char c = regex.charAt(1);
+            switch (c) {
+                case 't':
+                    return '\t';
+                case 'n':
+                    return '\n';
+                case 'r':
+                    return '\r';
+                case 'f':
+                    return '\f';
+                case 's':
+                    return ESPACIO;
+            }
+            return Character.isLetterOrDigit(c) ? REGEX : c;
+        }
+        return REGEX;
+    }
+
+    /**
+     * Comprueba si un caracter es un espacio en blanco para \s
+     *
+     * @param c Caracter
+     * @return Es espacio en blanco
+     */
+    private static boolean isEspacio(char c) {
+        return c == ' ' || (c >= '\t' && c <= '\r');
+    }
+
+    /**
+     * Busca el siguiente separador a partir de la posicion actual
+     *
+     * @return Se ha encontrado un separador
+     */
+    private boolean buscar() {
+        if (separador == REGEX) {
+            while (matcher.find()) {
+                //Una coincidencia vacia al inicio no genera parte
+                if (matcher.end() > 0) {
+                    ini = matcher.start();
+                    fin = matcher.end();
+                    return true;
+                }
+            }
+            return false;
+        }
+        int n = str.length();
+        if (separador == ESPACIO) {
+            for (ini = pos; ini < n && !isEspacio(str.charAt(ini)); ini++) {
+            }
+            if (ini == n) {
+                return false;
+            }
+            for (fin = ini + 1; fin < n && isEspacio(str.charAt(fin)); fin++) {
+            }
+            return true;
+        }
+        ini = str.indexOf(separador, pos);
+        if (ini < 0) {
+            return false;
+        }
+        for (fin = ini + 1; fin < n && str.charAt(fin) == separador; fin++) {
+        }
+        return true;
+    }
+
+    /**
+     * Calcula la siguiente parte no vacia
+     *
+     * @return Parte o null si no hay mas
+     */
+    private String avanzar() {
+        while (pos >= 0) {
+            String pieza;
+            if (limite > 0 && piezas == limite - 1) {
+                pieza = str.substring(pos);
+                pos = -1;
+            } else if (buscar()) {
+                pieza = str.substring(pos, ini);
+                pos = fin;
+            } else {
+                pieza = str.substring(pos);
+                pos = -1;
+            }
+            piezas++;
+            if (!pieza.isEmpty()) {
+                return pieza;
+            }
+        }
+        return null;
+    }
+
+    @Override
+    public boolean hasNext() {
+        return siguiente != null;
+    }
+
+    @Override
+    public String next() {
+        if (siguiente == null) {
+            throw new NoSuchElementException();
+        }
+        String actual = siguiente;
+        siguiente = avanzar();
+        return actual;
+    }
+
+}
@@ -0,0 +1,256 @@
+package perldoop.lib.util;
+
+import java.util.Arrays;
+
+/**
+ * Tabla de translacion de caracteres compilada a partir de las listas de un tr. La tabla se aplica en una sola pasada
+ * sobre un buffer reutilizado por cada hilo y sin crear una cadena nueva si no hay cambios. La misma pasada cuenta los
+ * caracteres encontrados, que se pueden consultar despues con counted.
+ *
+ * @author César Pomar
+ */
+public final class Translation {
+
+    /**
+     * Caracter fuera de la lista de busqueda
+     */
+    private static final int NINGUNO = -1;
+    /**
+     * Caracter eliminado
+     */
+    private static final int BORRAR = -2;
+    /**
+     * Tamaño maximo del buffer que se reutiliza
+     */
+    private static final int BUFFER = 1 << 16;
+    private static final ThreadLocal<Buffer> buffer = ThreadLocal.withInitial(Buffer::new);
+    private final int[] tabla;
+    private final char[] busqueda;
+    private final char[] remplazo;
+    private final boolean complemento;
+    private final boolean borrar;
+    private final boolean comprimir;
+
+    /**
+     * Compila una translacion
+     *
+     * @param source Caracteres originales
+     * @param dest Caracteres de remplazo
+     * @param mods Modificadores
+     */
+    public Translation(String source, String dest, String mods) {
+        complemento = mods.indexOf('c') >= 0;
+        borrar = mods.indexOf('d') >= 0;
+        comprimir = mods.indexOf('s') >= 0;
+        char[] lista = expandir(source);
+        remplazo = expandir(dest);
+        int max = 255;
+        for (char c : lista) {
+            max = Math.max(max, c);
+        }
+        tabla = new int[max + 1];
+        Arrays.fill(tabla, NINGUNO);
+        for (int i = 0; i < lista.length; i++) {
+            if (tabla[lista[i]] == NINGUNO) {
+                tabla[lista[i]] = complemento ? i : remplazar(lista[i], i);
+            }
+        }
+        if (complemento) {
+            char[] orden = lista.clone();
+            Arrays.sort(orden);
+            int n = 0;
+            for (int i = 0; i < orden.length; i++) {
+                if (i == 0 || orden[i] != orden[i - 1]) {
+                    orden[n++] = orden[i];
+                }
+            }
+            busqueda = Arrays.copyOf(orden, n);
+            for (int c = 0; c < tabla.length; c++) {
+                tabla[c] = tabla[c] == NINGUNO ? complementar((char) c) : NINGUNO;
+            }
+        } else {
+            busqueda = null;
+        }
+    }
+
+    /**
+     * Expande los rangos y escapes de una lista de caracteres
+     *
+     * @param lista Lista de caracteres
+     * @return Caracteres
+     */
+    private static char[] expandir(String lista) {
+        StringBuilder chars = new StringBuilder(lista.length() * 2);
+        boolean[] escapados = new boolean[lista.length()];
+        StringBuilder sin = new StringBuilder(lista.length());
+        for (int i = 0; i < lista.length(); i++) {
+            char c = lista.charAt(i);
+            if (c == '\\' && i + 1 < lista.length()) {
+                c = lista.charAt(++i);
+                switch (c) {
+                    case 'n':
+                        c = '\n';
+                        break;
+                    case 't':
+                        c = '\t';
+                        break;
+                    case 'r':
+                        c = '\r';
+                        break;
+                    case 'f':
+                        c = '\f';
+                        break;
+                    case 'e':
+                        c = '\033';
+                        break;
+                }
+                escapados[sin.length()] = true;
+            }
+            sin.append(c);
+        }
+        for (int i = 0; i < sin.length(); i++) {
+            char c = sin.charAt(i);
+            if (i + 2 < sin.length() && sin.charAt(i + 1) == '-' && !escapados[i + 1] && sin.charAt(i + 2) >= c) {
+                for (char r = c; r < sin.charAt(i + 2); r++) {
+                    chars.append(r);
+                }
+                chars.append(sin.charAt(i + 2));
+                i += 2;
+            } else {
+                chars.append(c);
+            }
+        }
+        char[] res = new char[chars.length()];
+        chars.getChars(0, res.length, res, 0);
+        return res;
+    }
+
+    /**
+     * Obtiene el remplazo de la posicion de un caracter en la lista de busqueda
+     *
+     * @param c Caracter
+     * @param pos Posicion
+     * @return Caracter de remplazo o BORRAR
+     */
+    private int remplazar(char c, int pos) {
+        if (pos < remplazo.length) {
+            return remplazo[pos];
+        } else if (borrar) {
+            return BORRAR;
+        } else if (remplazo.length == 0) {
+            return c;
+        }
+        return remplazo[remplazo.length - 1];
+    }
+
+    /**
+     * Obtiene el remplazo de un caracter que no esta en la lista de busqueda cuando se usa el complemento, la lista
+     * complementaria esta ordenada por codigo de caracter
+     *
+     * @param c Caracter
+     * @return Caracter de remplazo o BORRAR
+     */
+    private int complementar(char c) {
+        //Caracteres de la lista de busqueda menores que c
+        int menores = -Arrays.binarySearch(busqueda, c) - 1;
+        return remplazar(c, c - menores);
+    }
+
+    /**
+     * Obtiene la translacion de un caracter
+     *
+     * @param c Caracter
+     * @return Caracter de remplazo, BORRAR o NINGUNO
+     */
+    private int get(char c) {
+        if (c < tabla.length) {
+            return tabla[c];
+        }
+        return complemento ? complementar(c) : NINGUNO;
+    }
+
+    /**
+     * Aplica la translacion a una cadena
+     *
+     * @param str Cadena
+     * @return Cadena actualizada
+     */
+    public String translate(String str) {
+        Buffer estado = buffer.get();
+        if (str == null) {
+            estado.contados = 0;
+            return "";
+        }
+        char[] buf = estado.chars;
+        if (buf.length < str.length()) {
+            buf = new char[str.length()];
+            if (buf.length <= BUFFER) {
+                estado.chars = buf;
+            }
+        }
+        boolean cambio = false;
+        int ultimo = NINGUNO;
+        int n = 0;
+        int contados = 0;
+        for (int i = 0; i < str.length(); i++) {
+            char c = str.charAt(i);
+            int r = get(c);
+            if (r == NINGUNO) {
+                buf[n++] = c;
+                ultimo = NINGUNO;
+                continue;
+            }
+            contados++;
+            if (r == BORRAR || (comprimir && r == ultimo)) {
+                cambio = true;
+            } else {
+                cambio |= r != c;
+                buf[n++] = (char) r;
+                ultimo = r;
+            }
+        }
+        estado.contados = contados;
+        return cambio ? new String(buf, 0, n) : str;
+    }
+
+    /**
+     * Evalua una expresion que contiene una translacion y retorna los caracteres que encontro, evita recorrer la
+     * cadena dos veces cuando un tr se usa como valor
+     *
+     * @param exp Expresion con la translacion
+     * @return Numero de caracteres de la ultima translacion del hilo
+     */
+    public static int counted(Object exp) {
+        return buffer.get().contados;
+    }
+
+    /**
+     * Cuenta los caracteres de una cadena que estan en la lista de busqueda
+     *
+     * @param str Cadena
+     * @return Numero de caracteres
+     */
+    public int count(String str) {
+        if (str == null) {
+            return 0;
+        }
+        int n = 0;
+        for (int i = 0; i < str.length(); i++) {
+            if (get(str.charAt(i)) != NINGUNO) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    /**
+     * Estado de cada hilo, buffer de la translacion y caracteres contados en la ultima
+     */
+    private static final class Buffer {
+
+        private char[] chars = new char[1024];
+        private int contados;
+
+    }
+
+}
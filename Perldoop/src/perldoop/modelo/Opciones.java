@@ -19,12 +19,24 @@ public class Opciones {
     private String[] paquetes;
     private boolean libreria;
     private boolean jImporter;
+    private Integer hilos;
     //Argumentos Optimización
     private boolean optNulos;
     private boolean optIntancias;
     private boolean optDiamante;
     private boolean optSentencias;
     private boolean optModulo;
+    private boolean optPrimitivos;
+    private boolean optClaves;
+    //Argumentos Hadoop
+    private String hadoopDriver;
+    private Integer hadoopReductores;
+    private boolean hadoopComprimir;
+    private boolean hadoopComprimirMap;
+    //Argumentos Spark
+    private String spark;
+    //Argumentos Storm
+    private String stormTopologia;
     //Argumentos depuración
     private boolean depTokens;
     private boolean depTerminales;
@@ -320,6 +332,150 @@ public class Opciones {
         this.optModulo = optModulo;
     }
 
+    /**
+     * Obtiene optimizar tipos primitivos
+     *
+     * @return Optimizar tipos primitivos
+     */
+    public boolean isOptPrimitivos() {
+        return optPrimitivos;
+    }
+
+    /**
+     * Establece optimizar tipos primitivos
+     *
+     * @param optPrimitivos Optimizar tipos primitivos
+     */
+    public void setOptPrimitivos(boolean optPrimitivos) {
+        this.optPrimitivos = optPrimitivos;
+    }
+
+    /**
+     * Obtiene optimizar claves compuestas
+     *
+     * @return Optimizar claves compuestas
+     */
+    public boolean isOptClaves() {
+        return optClaves;
+    }
+
+    /**
+     * Establece optimizar claves compuestas
+     *
+     * @param optClaves Optimizar claves compuestas
+     */
+    public void setOptClaves(boolean optClaves) {
+        this.optClaves = optClaves;
+    }
+
+    /**
+     * Obtiene el nombre del driver Hadoop
+     *
+     * @return Nombre del driver o null si no se genera
+     */
+    public String getHadoopDriver() {
+        return hadoopDriver;
+    }
+
+    /**
+     * Establece el nombre del driver Hadoop
+     *
+     * @param hadoopDriver Nombre del driver
+     */
+    public void setHadoopDriver(String hadoopDriver) {
+        this.hadoopDriver = hadoopDriver;
+    }
+
+    /**
+     * Obtiene el numero de reductores del driver Hadoop
+     *
+     * @return Numero de reductores o null para usar el de la configuracion
+     */
+    public Integer getHadoopReductores() {
+        return hadoopReductores;
+    }
+
+    /**
+     * Establece el numero de reductores del driver Hadoop
+     *
+     * @param hadoopReductores Numero de reductores
+     */
+    public void setHadoopReductores(Integer hadoopReductores) {
+        this.hadoopReductores = hadoopReductores;
+    }
+
+    /**
+     * Obtiene comprimir la salida del driver Hadoop
+     *
+     * @return Comprimir la salida
+     */
+    public boolean isHadoopComprimir() {
+        return hadoopComprimir;
+    }
+
+    /**
+     * Establece comprimir la salida del driver Hadoop
+     *
+     * @param hadoopComprimir Comprimir la salida
+     */
+    public void setHadoopComprimir(boolean hadoopComprimir) {
+        this.hadoopComprimir = hadoopComprimir;
+    }
+
+    /**
+     * Obtiene comprimir la salida de los mappers del driver Hadoop
+     *
+     * @return Comprimir la salida de los mappers
+     */
+    public boolean isHadoopComprimirMap() {
+        return hadoopComprimirMap;
+    }
+
+    /**
+     * Establece comprimir la salida de los mappers del driver Hadoop
+     *
+     * @param hadoopComprimirMap Comprimir la salida de los mappers
+     */
+    public void setHadoopComprimirMap(boolean hadoopComprimirMap) {
+        this.hadoopComprimirMap = hadoopComprimirMap;
+    }
+
+    /**
+     * Obtiene el nombre de la aplicacion Spark
+     *
+     * @return Nombre de la aplicacion o null si se traduce a Hadoop
+     */
+    public String getSpark() {
+        return spark;
+    }
+
+    /**
+     * Establece el nombre de la aplicacion Spark
+     *
+     * @param spark Nombre de la aplicacion
+     */
+    public void setSpark(String spark) {
+        this.spark = spark;
+    }
+
+    /**
+     * Obtiene el nombre de la topologia Storm
+     *
+     * @return Nombre de la topologia o null si no se genera
+     */
+    public String getStormTopologia() {
+        return stormTopologia;
+    }
+
+    /**
+     * Establece el nombre de la topologia Storm
+     *
+     * @param stormTopologia Nombre de la topologia
+     */
+    public void setStormTopologia(String stormTopologia) {
+        this.stormTopologia = stormTopologia;
+    }
+
     /**
      * Obtiene los paquetes
      *
@@ -374,4 +530,22 @@ public class Opciones {
         this.jImporter = jImporter;
     }
 
+    /**
+     * Obtiene el numero de ficheros que se traducen en paralelo
+     *
+     * @return Numero de hilos o null para usar uno por procesador
+     */
+    public Integer getHilos() {
+        return hilos;
+    }
+
+    /**
+     * Establece el numero de ficheros que se traducen en paralelo
+     *
+     * @param hilos Numero de hilos
+     */
+    public void setHilos(Integer hilos) {
+        this.hilos = hilos;
+    }
+
 }
@@ -12,6 +12,7 @@ public abstract class Variable extends Simbolo {
 
     protected Terminal contexto;
     protected Terminal var;
+    protected boolean primitiva;
 
     /**
      * Único contructor de la clase
@@ -62,4 +63,22 @@ public abstract class Variable extends Simbolo {
         this.contexto = contexto;
     }
 
+    /**
+     * Comprueba si la variable se genera con un tipo primitivo
+     *
+     * @return Variable primitiva
+     */
+    public final boolean isPrimitiva() {
+        return primitiva;
+    }
+
+    /**
+     * Establece si la variable se genera con un tipo primitivo
+     *
+     * @param primitiva Variable primitiva
+     */
+    public final void setPrimitiva(boolean primitiva) {
+        this.primitiva = primitiva;
+    }
+
 }
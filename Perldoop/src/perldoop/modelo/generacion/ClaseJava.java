@@ -19,6 +19,9 @@ public final class ClaseJava {
     private List<String> interfaces;
     private List<String> atributos;
     private List<StringBuilder> funciones;
+    private List<ClaseJava> internas;
+    private List<ClaseJava> auxiliares;
+    private String combinacion;
 
     /**
      * Contructor único
@@ -29,6 +32,8 @@ public final class ClaseJava {
         interfaces = new ArrayList<>(5);
         atributos = new ArrayList<>(20);
         funciones = new ArrayList<>(20);
+        internas = new ArrayList<>(2);
+        auxiliares = new ArrayList<>(2);
     }
 
     /**
@@ -157,4 +162,58 @@ public final class ClaseJava {
         this.funciones = funciones;
     }
 
+    /**
+     * Obtiene las clases internas estaticas
+     *
+     * @return Clases internas
+     */
+    public List<ClaseJava> getInternas() {
+        return internas;
+    }
+
+    /**
+     * Establece las clases internas estaticas
+     *
+     * @param internas Clases internas
+     */
+    public void setInternas(List<ClaseJava> internas) {
+        this.internas = internas;
+    }
+
+    /**
+     * Obtiene las clases auxiliares que se escriben en su propio fichero dentro del mismo paquete
+     *
+     * @return Clases auxiliares
+     */
+    public List<ClaseJava> getAuxiliares() {
+        return auxiliares;
+    }
+
+    /**
+     * Establece las clases auxiliares
+     *
+     * @param auxiliares Clases auxiliares
+     */
+    public void setAuxiliares(List<ClaseJava> auxiliares) {
+        this.auxiliares = auxiliares;
+    }
+
+    /**
+     * Obtiene el operador con el que la clase combina los valores de una misma clave
+     *
+     * @return Operador o null si la clase no combina sus valores
+     */
+    public String getCombinacion() {
+        return combinacion;
+    }
+
+    /**
+     * Establece el operador con el que la clase combina los valores de una misma clave
+     *
+     * @param combinacion Operador
+     */
+    public void setCombinacion(String combinacion) {
+        this.combinacion = combinacion;
+    }
+
 }
@@ -0,0 +1,91 @@
+package perldoop.modelo.preprocesador;
+
+import java.util.ArrayList;
+import java.util.List;
+import perldoop.modelo.lexico.Token;
+
+/**
+ * Etiquetas de bloque funcion, en una funcion definida con sub declaran los tipos de sus parametros y de su retorno
+ *
+ * @author César Pomar
+ */
+public final class TagsFuncion extends TagsBloque {
+
+    private List<List<Token>> parametros;
+    private Token etiquetaRetorno;
+    private List<Token> retorno;
+
+    /**
+     * Constructor por defecto
+     *
+     * @param etiqueta Etiqueta de bloque
+     */
+    public TagsFuncion(Token etiqueta) {
+        super(etiqueta);
+        parametros = new ArrayList<>(5);
+    }
+
+    /**
+     * Obtiene las etiquetas de tipo de los parametros
+     *
+     * @return Etiquetas de tipo de cada parametro
+     */
+    public List<List<Token>> getParametros() {
+        return parametros;
+    }
+
+    /**
+     * Añade las etiquetas de tipo de un parametro
+     *
+     * @param tipo Etiquetas de tipo
+     */
+    public void addParametro(List<Token> tipo) {
+        parametros.add(tipo);
+    }
+
+    /**
+     * Obtiene la etiqueta de retorno
+     *
+     * @return Etiqueta de retorno o null si no se declaro
+     */
+    public Token getEtiquetaRetorno() {
+        return etiquetaRetorno;
+    }
+
+    /**
+     * Establece la etiqueta de retorno
+     *
+     * @param etiquetaRetorno Etiqueta de retorno
+     */
+    public void setEtiquetaRetorno(Token etiquetaRetorno) {
+        this.etiquetaRetorno = etiquetaRetorno;
+    }
+
+    /**
+     * Obtiene las etiquetas de tipo del retorno
+     *
+     * @return Etiquetas de tipo o null si la funcion no retorna nada
+     */
+    public List<Token> getRetorno() {
+        return retorno;
+    }
+
+    /**
+     * Establece las etiquetas de tipo del retorno
+     *
+     * @param retorno Etiquetas de tipo
+     */
+    public void setRetorno(List<Token> retorno) {
+        this.retorno = retorno;
+    }
+
+    /**
+     * Comprueba si las etiquetas declaran una firma
+     *
+     * @return Declara firma
+     */
+    public boolean isFirma() {
+        return !parametros.isEmpty() || etiquetaRetorno != null;
+    }
+
+}
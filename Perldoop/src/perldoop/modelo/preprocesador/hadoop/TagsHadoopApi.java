@@ -1,5 +1,6 @@
 package perldoop.modelo.preprocesador.hadoop;
 
+import java.util.List;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.TagsBloque;
 
@@ -10,8 +11,8 @@ import perldoop.modelo.preprocesador.TagsBloque;
  */
 public abstract class TagsHadoopApi extends TagsBloque {
 
-    protected Token keyOut;
-    protected Token valueOut;
+    protected List<Token> keyOut;
+    protected List<Token> valueOut;
 
     /**
      * Constructor por defecto
@@ -25,36 +26,36 @@ public abstract class TagsHadoopApi extends TagsBloque {
     /**
      * Obtiene la etiqueta de tipo para la clave de salida
      *
-     * @return Etiqueta tipo la clave de salida
+     * @return Etiquetas de tipo de la clave de salida
      */
-    public final Token getKeyOut() {
+    public final List<Token> getKeyOut() {
         return keyOut;
     }
 
     /**
      * Establece la etiqueta de tipo para la clave de salida
      *
-     * @param keyOut Etiqueta tipo
+     * @param keyOut Etiquetas de tipo
      */
-    public final void setKeyOut(Token keyOut) {
+    public final void setKeyOut(List<Token> keyOut) {
         this.keyOut = keyOut;
     }
 
     /**
      * Obtiene la etiqueta de tipo para el valor de la salida
      *
-     * @return Etiqueta tipo
+     * @return Etiquetas de tipo
      */
-    public final Token getValueOut() {
+    public final List<Token> getValueOut() {
         return valueOut;
     }
 
     /**
      * Establece la etiqueta de tipo para el valor de la salida
      *
-     * @param valueOut Etiqueta tipo
+     * @param valueOut Etiquetas de tipo
      */
-    public final void setValueOut(Token valueOut) {
+    public final void setValueOut(List<Token> valueOut) {
         this.valueOut = valueOut;
     }
 
@@ -9,6 +9,10 @@ import perldoop.modelo.lexico.Token;
  */
 public final class TagsMapper extends TagsHadoopApi {
 
+    private Token combine;
+    private Token combineOp;
+    private Token combineSize;
+
     /**
      * Constructor por defecto
      *
@@ -18,4 +22,58 @@ public final class TagsMapper extends TagsHadoopApi {
         super(etiqueta);
     }
 
+    /**
+     * Obtiene la etiqueta de combinacion en el mapper
+     *
+     * @return Etiqueta de combinacion o null si no se combina
+     */
+    public Token getCombine() {
+        return combine;
+    }
+
+    /**
+     * Establece la etiqueta de combinacion en el mapper
+     *
+     * @param combine Etiqueta de combinacion
+     */
+    public void setCombine(Token combine) {
+        this.combine = combine;
+    }
+
+    /**
+     * Obtiene la operacion que combina los valores en el mapper
+     *
+     * @return Etiqueta de la operacion o null si no se especifica
+     */
+    public Token getCombineOp() {
+        return combineOp;
+    }
+
+    /**
+     * Establece la operacion que combina los valores en el mapper
+     *
+     * @param combineOp Etiqueta de la operacion
+     */
+    public void setCombineOp(Token combineOp) {
+        this.combineOp = combineOp;
+    }
+
+    /**
+     * Obtiene la memoria maxima en megabytes de las claves combinadas
+     *
+     * @return Memoria maxima o null si no se especifica
+     */
+    public Token getCombineSize() {
+        return combineSize;
+    }
+
+    /**
+     * Establece la memoria maxima en megabytes de las claves combinadas
+     *
+     * @param combineSize Memoria maxima
+     */
+    public void setCombineSize(Token combineSize) {
+        this.combineSize = combineSize;
+    }
+
 }
@@ -1,5 +1,6 @@
 package perldoop.modelo.preprocesador.hadoop;
 
+import java.util.List;
 import perldoop.modelo.lexico.Token;
 
 /**
@@ -11,8 +12,8 @@ public final class TagsReducer extends TagsHadoopApi {
 
     private Token varKey;
     private Token varValue;
-    private Token keyIn;
-    private Token valueIn;
+    private List<Token> keyIn;
+    private List<Token> valueIn;
 
     /**
      * Constructor por defecto
@@ -62,36 +63,36 @@ public final class TagsReducer extends TagsHadoopApi {
     /**
      * Obtiene la etiqueta de tipo para la clave de entrada
      *
-     * @return Etiqueta tipo
+     * @return Etiquetas de tipo
      */
-    public Token getKeyIn() {
+    public List<Token> getKeyIn() {
         return keyIn;
     }
 
     /**
      * Establece la etiqueta de tipo para la clave de entrada
      *
-     * @param keyIn Etiqueta tipo
+     * @param keyIn Etiquetas de tipo
      */
-    public void setKeyIn(Token keyIn) {
+    public void setKeyIn(List<Token> keyIn) {
         this.keyIn = keyIn;
     }
 
     /**
      * Obtiene la etiqueta de tipo para el valor de la entrada
      *
-     * @return Etiqueta tipo
+     * @return Etiquetas de tipo
      */
-    public Token getValueIn() {
+    public List<Token> getValueIn() {
         return valueIn;
     }
 
     /**
      * Establece la etiqueta de tipo para el valor de la entrada
      *
-     * @param valueIn Etiqueta tipo
+     * @param valueIn Etiquetas de tipo
      */
-    public void setValueIn(Token valueIn) {
+    public void setValueIn(List<Token> valueIn) {
         this.valueIn = valueIn;
     }
 
@@ -1,7 +1,9 @@
 package perldoop.modelo.preprocesador.storm;
 
+import java.util.List;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.TagsBloque;
+import perldoop.modelo.preprocesador.TagsFuncion;
 
 /**
  * Etiquetas para definir el tipo de un bloque storm
@@ -12,6 +14,11 @@ public final class TagsStorm extends TagsBloque {
 
     private Token input;
     private Token output;
+    private List<Token> inputTipo;
+    private List<Token> outputTipo;
+    private Token batch;
+    private Token batchSize;
+    private TagsFuncion funcion;
 
     /**
      * Constructor por defecto
@@ -58,4 +65,94 @@ public final class TagsStorm extends TagsBloque {
         this.output = output;
     }
 
+    /**
+     * Obtiene las etiquetas de tipo del campo de entrada
+     *
+     * @return Etiquetas de tipo o null si no se declararon
+     */
+    public List<Token> getInputTipo() {
+        return inputTipo;
+    }
+
+    /**
+     * Establece las etiquetas de tipo del campo de entrada
+     *
+     * @param inputTipo Etiquetas de tipo
+     */
+    public void setInputTipo(List<Token> inputTipo) {
+        this.inputTipo = inputTipo;
+    }
+
+    /**
+     * Obtiene las etiquetas de tipo del campo de salida
+     *
+     * @return Etiquetas de tipo o null si no se declararon
+     */
+    public List<Token> getOutputTipo() {
+        return outputTipo;
+    }
+
+    /**
+     * Establece las etiquetas de tipo del campo de salida
+     *
+     * @param outputTipo Etiquetas de tipo
+     */
+    public void setOutputTipo(List<Token> outputTipo) {
+        this.outputTipo = outputTipo;
+    }
+
+    /**
+     * Obtiene el token Batch
+     *
+     * @return Token Batch o null si el bolt no agrupa tuplas
+     */
+    public Token getBatch() {
+        return batch;
+    }
+
+    /**
+     * Establece el token Batch
+     *
+     * @param batch Token Batch
+     */
+    public void setBatch(Token batch) {
+        this.batch = batch;
+    }
+
+    /**
+     * Obtiene el token con el tamaño de los lotes
+     *
+     * @return Token tamaño o null si no se declaro
+     */
+    public Token getBatchSize() {
+        return batchSize;
+    }
+
+    /**
+     * Establece el token con el tamaño de los lotes
+     *
+     * @param batchSize Token tamaño
+     */
+    public void setBatchSize(Token batchSize) {
+        this.batchSize = batchSize;
+    }
+
+    /**
+     * Obtiene las etiquetas de la firma de la funcion del bolt
+     *
+     * @return Etiquetas de funcion o null si la funcion no tiene firma
+     */
+    public TagsFuncion getFuncion() {
+        return funcion;
+    }
+
+    /**
+     * Establece las etiquetas de la firma de la funcion del bolt
+     *
+     * @param funcion Etiquetas de funcion
+     */
+    public void setFuncion(TagsFuncion funcion) {
+        this.funcion = funcion;
+    }
+
 }
@@ -7,6 +7,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import perldoop.util.Utiles;
 
 /**
@@ -33,7 +34,7 @@ public final class ArbolPaquetes {
         this.paquetesUsuario = paquetesUsuario;
         directorios = new HashMap<>(ficheros.size());
         clases = new HashMap<>(ficheros.size());
-        paquetes = new HashMap<>(ficheros.size());
+        paquetes = new ConcurrentHashMap<>(ficheros.size());
         calcularPaquetes();      
     }
 
@@ -1,5 +1,7 @@
 package perldoop.modelo.semantica;
 
+import java.util.List;
+
 /**
  * Función almacenada en la tabla de simbolos
  *
@@ -10,6 +12,9 @@ public final class EntradaFuncion {
     private String identificador;
     private String alias;
     private boolean conflicto;
+    private List<Tipo> parametros;
+    private Tipo retorno;
+    private List<EntradaVariable> argumentos;
 
     /**
      * Contruye una entrada de la tabla pra una función
@@ -74,4 +79,67 @@ public final class EntradaFuncion {
         this.conflicto = conflicto;
     }
 
+    /**
+     * Obtiene los tipos de los parametros
+     *
+     * @return Tipos de los parametros o null si la funcion no declara firma
+     */
+    public List<Tipo> getParametros() {
+        return parametros;
+    }
+
+    /**
+     * Establece los tipos de los parametros
+     *
+     * @param parametros Tipos de los parametros
+     */
+    public void setParametros(List<Tipo> parametros) {
+        this.parametros = parametros;
+    }
+
+    /**
+     * Obtiene el tipo de retorno
+     *
+     * @return Tipo de retorno o null si la funcion no retorna nada
+     */
+    public Tipo getRetorno() {
+        return retorno;
+    }
+
+    /**
+     * Establece el tipo de retorno
+     *
+     * @param retorno Tipo de retorno
+     */
+    public void setRetorno(Tipo retorno) {
+        this.retorno = retorno;
+    }
+
+    /**
+     * Obtiene las variables que reciben los parametros
+     *
+     * @return Variables por posicion
+     */
+    public List<EntradaVariable> getArgumentos() {
+        return argumentos;
+    }
+
+    /**
+     * Establece las variables que reciben los parametros
+     *
+     * @param argumentos Variables por posicion
+     */
+    public void setArgumentos(List<EntradaVariable> argumentos) {
+        this.argumentos = argumentos;
+    }
+
+    /**
+     * Comprueba si la funcion declara firma
+     *
+     * @return Funcion tipada
+     */
+    public boolean isTipada() {
+        return parametros != null;
+    }
+
 }
@@ -13,6 +13,7 @@ public final class EntradaVariable {
     private int nivel;
     private String alias;
     private boolean conflicto;
+    private boolean primitiva;
 
     /**
      * Contruye una entrada de la tabla para una variable
@@ -157,4 +158,22 @@ public final class EntradaVariable {
         this.conflicto = conflicto;
     }
 
+    /**
+     * Comprueba si la variable se declara con un tipo primitivo
+     *
+     * @return Variable primitiva
+     */
+    public boolean isPrimitiva() {
+        return primitiva;
+    }
+
+    /**
+     * Establece si la variable se declara con un tipo primitivo
+     *
+     * @param primitiva Variable primitiva
+     */
+    public void setPrimitiva(boolean primitiva) {
+        this.primitiva = primitiva;
+    }
+
 }
@@ -1,7 +1,7 @@
 package perldoop.modelo.semantica;
 
-import java.util.HashMap;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * Paquete que representa las variables y funciones exportadas por una clase
@@ -27,7 +27,7 @@ public final class Paquete {
         this.identificador = identifiador;
         this.funciones = funciones;
         this.fichero = fichero;
-        atributos = new HashMap<>(10);
+        atributos = new ConcurrentHashMap<>(10);
     }
 
     /**
@@ -5,6 +5,7 @@ import java.util.Arrays;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 import perldoop.modelo.Opciones;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.TagsTipo;
@@ -25,6 +26,7 @@ public final class TablaSimbolos {
     private Jimporter jImporter;
     private Map<String, Paquete> imports;
     private Paquete paquete;
+    private boolean publicado;
     private boolean vacia;
 
     /**
@@ -37,7 +39,7 @@ public final class TablaSimbolos {
         bloques = new ArrayList<>(20);
         bloques.add(new HashMap<>(20));//Atributos
         predeclaraciones = new HashMap<>(20);
-        funciones = new HashMap<>(20);
+        funciones = new ConcurrentHashMap<>(20);//Se exportan en el paquete
         funcionesNoDeclaradas = new HashMap<>(20);
         this.paquetes = paquetes;
         this.opciones = opciones;
@@ -266,14 +268,29 @@ public final class TablaSimbolos {
     }
 
     /**
-     * Crea un paquete
+     * Crea un paquete, no sera visible para el resto de ficheros hasta que se publique
      *
      * @param fichero Fichero
      */
     public void crearPaquete(String fichero) {
-        String ruta = String.join(".", paquetes.getDirectorios(fichero)) + "." + paquetes.getClases().get(fichero);
         paquete = new Paquete(fichero, paquetes.getClases().get(fichero), funciones);
+    }
+
+    /**
+     * Publica el paquete en el arbol de paquetes. Se publica al terminar cada pasada del traductor para que el resto
+     * de ficheros no vean un paquete a medio declarar.
+     *
+     * @return El paquete se ha publicado en esta llamada
+     */
+    public boolean publicarPaquete() {
+        if (paquete == null || publicado) {
+            return false;
+        }
+        String fichero = paquete.getFichero();
+        String ruta = String.join(".", paquetes.getDirectorios(fichero)) + "." + paquetes.getClases().get(fichero);
         paquetes.getPaquetes().put(ruta, paquete);
+        publicado = true;
+        return true;
     }
 
     /**
@@ -9,6 +9,7 @@ import perldoop.modelo.arbol.Terminal;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.Tags;
 import perldoop.modelo.preprocesador.TagsBloque;
+import perldoop.modelo.preprocesador.TagsFuncion;
 import perldoop.modelo.preprocesador.TagsInicializacion;
 import perldoop.modelo.preprocesador.TagsPredeclaracion;
 import perldoop.modelo.preprocesador.TagsTipo;
@@ -52,9 +53,19 @@ public final class Preprocesador {
     private final static int ESTADO_REDUCCER_VALUE_IN = 105;
     private final static int ESTADO_REDUCCER_KEY_OUT = 106;
     private final static int ESTADO_REDUCCER_VALUE_OUT = 107;
+    private final static int ESTADO_MAPPER_COMBINE = 108;
+    private final static int ESTADO_MAPPER_COMBINE_SIZE = 109;
+    private final static int ESTADO_MAPPER_COMBINE_OP = 110;
     //Estados storm
     private final static int ESTADO_STORM_INPUT = 120;
     private final static int ESTADO_STORM_OUTPUT = 121;
+    private final static int ESTADO_STORM_INPUT_TIPO = 122;
+    private final static int ESTADO_STORM_OUTPUT_TIPO = 123;
+    private final static int ESTADO_STORM_BATCH = 124;
+    private final static int ESTADO_STORM_BATCH_SIZE = 125;
+    //Estados funcion
+    private final static int ESTADO_FUNCION_PARAMETROS = 130;
+    private final static int ESTADO_FUNCION_RETORNO = 131;
 
     private List<Token> tokens;
     private Opciones opciones;
@@ -122,6 +133,7 @@ public final class Preprocesador {
         TagsPredeclaracion predeclaracion = null;
         TagsTipo tipo = null;
         TagsBloque bloque = null;
+        List<Token> tiposHadoop = new ArrayList<>(3);
         int estado = 0;
         for (index = 0; index < tokens.size(); index++) {
             Token token = tokens.get(index);
@@ -163,7 +175,12 @@ public final class Preprocesador {
                             estado = ESTADO_VARIABLES;
                             break;
                         case PD_BLOQUE:
-                            bloque = aceptar(bloque = new TagsBloque(token), terminales);
+                            if (token.getValor().equals("<function>")) {
+                                bloque = new TagsFuncion(token);
+                                estado = ESTADO_FUNCION_PARAMETROS;
+                            } else {
+                                bloque = aceptar(bloque = new TagsBloque(token), terminales);
+                            }
                             break;
                         case PD_MAPPER:
                             bloque = new TagsMapper(token);
@@ -174,7 +191,12 @@ public final class Preprocesador {
                             estado = ESTADO_REDUCCER_VAR_KEY;
                             break;
                         case PD_STORM:
-                            bloque = new TagsStorm(token);
+                            //La firma de la funcion puede preceder a las etiquetas del bolt
+                            TagsStorm storm = new TagsStorm(token);
+                            if (bloque instanceof TagsFuncion && bloque.getEtiqueta().getLinea() + 1 == token.getLinea()) {
+                                storm.setFuncion((TagsFuncion) bloque);
+                            }
+                            bloque = storm;
                             estado = ESTADO_STORM_INPUT;
                             break;
                         case '=':
@@ -367,25 +389,74 @@ public final class Preprocesador {
                 //----------------------------------------------Estados Hadoop-------------------------------------
                 case ESTADO_MAPPER_KEY:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsMapper.class).setKeyOut(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsMapper.class).setKeyOut(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             estado = ESTADO_MAPPER_VALUE;
                             break;
                         default:
-                            bloque = aceptar(bloque, terminales);
+                            if (tiposHadoop.isEmpty()) {
+                                bloque = aceptar(bloque, terminales);
+                            } else {
+                                gestorErrores.error(Errores.MAPPER_INCOMPLETO, bloque.getEtiqueta());
+                                tiposHadoop.clear();
+                            }
                             estado = ESTADO_INICIAL;
                             index--;
                     }
                     break;
                 case ESTADO_MAPPER_VALUE:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsMapper.class).setValueOut(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsMapper.class).setValueOut(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
+                            estado = ESTADO_MAPPER_COMBINE;
+                            break;
+                        default:
+                            gestorErrores.error(Errores.MAPPER_INCOMPLETO, bloque.getEtiqueta());
+                            tiposHadoop.clear();
+                            estado = ESTADO_INICIAL;
+                            index--;
+                    }
+                    break;
+                case ESTADO_MAPPER_COMBINE:
+                    if (token.getTipo() == PD_BLOQUE && token.getValor().equals("<combine>")) {
+                        bloque.to(TagsMapper.class).setCombine(token);
+                        estado = ESTADO_MAPPER_COMBINE_OP;
+                    } else {
+                        bloque = aceptar(bloque, terminales);
+                        estado = ESTADO_INICIAL;
+                        index--;
+                    }
+                    break;
+                case ESTADO_MAPPER_COMBINE_OP:
+                    //La operacion es obligatoria, su ausencia se comprueba en el analisis semantico
+                    if (token.getTipo() == PD_BLOQUE && token.getValor().equals("<sum>")) {
+                        bloque.to(TagsMapper.class).setCombineOp(token);
+                    } else {
+                        index--;
+                    }
+                    estado = ESTADO_MAPPER_COMBINE_SIZE;
+                    break;
+                case ESTADO_MAPPER_COMBINE_SIZE:
+                    switch (token.getTipo()) {
+                        case PD_NUM:
+                            bloque.to(TagsMapper.class).setCombineSize(token);
                             bloque = aceptar(bloque, terminales);
                             estado = ESTADO_INICIAL;
                             break;
                         default:
-                            gestorErrores.error(Errores.MAPPER_INCOMPLETO, bloque.getEtiqueta());
+                            bloque = aceptar(bloque, terminales);
                             estado = ESTADO_INICIAL;
                             index--;
                     }
@@ -416,49 +487,81 @@ public final class Preprocesador {
                     break;
                 case ESTADO_REDUCCER_KEY_IN:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsReducer.class).setKeyIn(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsReducer.class).setKeyIn(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             estado = ESTADO_REDUCCER_VALUE_IN;
                             break;
                         default:
-                            bloque = aceptar(bloque, terminales);
+                            if (tiposHadoop.isEmpty()) {
+                                bloque = aceptar(bloque, terminales);
+                            } else {
+                                gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                                tiposHadoop.clear();
+                            }
                             estado = ESTADO_INICIAL;
                             index--;
                     }
                     break;
                 case ESTADO_REDUCCER_VALUE_IN:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsReducer.class).setValueIn(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsReducer.class).setValueIn(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             estado = ESTADO_REDUCCER_KEY_OUT;
                             break;
                         default:
                             gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                            tiposHadoop.clear();
                             estado = ESTADO_INICIAL;
                             index--;
                     }
                     break;
                 case ESTADO_REDUCCER_KEY_OUT:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsReducer.class).setKeyOut(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsReducer.class).setKeyOut(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             estado = ESTADO_REDUCCER_VALUE_OUT;
                             break;
                         default:
                             gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                            tiposHadoop.clear();
                             estado = ESTADO_INICIAL;
                             index--;
                     }
                     break;
                 case ESTADO_REDUCCER_VALUE_OUT:
                     switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
                         case PD_TIPO:
-                            bloque.to(TagsReducer.class).setValueOut(token);
+                            tiposHadoop.add(token);
+                            bloque.to(TagsReducer.class).setValueOut(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             bloque = aceptar(bloque, terminales);
                             estado = ESTADO_INICIAL;
                             break;
                         default:
                             gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                            tiposHadoop.clear();
                             estado = ESTADO_INICIAL;
                             index--;
                     }
@@ -468,10 +571,35 @@ public final class Preprocesador {
                     switch (token.getTipo()) {
                         case PD_VAR:
                             bloque.to(TagsStorm.class).setInput(token);
+                            estado = ESTADO_STORM_INPUT_TIPO;
+                            break;
+                        default:
+                            gestorErrores.error(Errores.STORM_INCOMPLETO, bloque.getEtiqueta());
+                            estado = ESTADO_INICIAL;
+                            index--;
+                    }
+                    break;
+                case ESTADO_STORM_INPUT_TIPO:
+                    switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
+                        case PD_TIPO:
+                            tiposHadoop.add(token);
+                            bloque.to(TagsStorm.class).setInputTipo(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
                             estado = ESTADO_STORM_OUTPUT;
                             break;
                         default:
-                            gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                            //Sin tipo de entrada la variable es la salida
+                            if (token.getTipo() == PD_VAR && tiposHadoop.isEmpty()) {
+                                estado = ESTADO_STORM_OUTPUT;
+                                index--;
+                                break;
+                            }
+                            gestorErrores.error(Errores.STORM_INCOMPLETO, bloque.getEtiqueta());
+                            tiposHadoop.clear();
                             estado = ESTADO_INICIAL;
                             index--;
                     }
@@ -480,10 +608,102 @@ public final class Preprocesador {
                     switch (token.getTipo()) {
                         case PD_VAR:
                             bloque.to(TagsStorm.class).setOutput(token);
+                            estado = ESTADO_STORM_OUTPUT_TIPO;
+                            break;
+                        default:
+                            gestorErrores.error(Errores.STORM_INCOMPLETO, bloque.getEtiqueta());
                             estado = ESTADO_INICIAL;
+                            index--;
+                    }
+                    break;
+                case ESTADO_STORM_OUTPUT_TIPO:
+                    switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
+                        case PD_TIPO:
+                            tiposHadoop.add(token);
+                            bloque.to(TagsStorm.class).setOutputTipo(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
+                            estado = ESTADO_STORM_BATCH;
                             break;
                         default:
-                            gestorErrores.error(Errores.REDUCER_INCOMPLETO, bloque.getEtiqueta());
+                            if (!tiposHadoop.isEmpty()) {
+                                gestorErrores.error(Errores.STORM_INCOMPLETO, bloque.getEtiqueta());
+                                tiposHadoop.clear();
+                                estado = ESTADO_INICIAL;
+                            } else {
+                                estado = ESTADO_STORM_BATCH;
+                            }
+                            index--;
+                    }
+                    break;
+                case ESTADO_STORM_BATCH:
+                    if (token.getTipo() == PD_BLOQUE && token.getValor().equals("<batch>")) {
+                        bloque.to(TagsStorm.class).setBatch(token);
+                        estado = ESTADO_STORM_BATCH_SIZE;
+                    } else {
+                        estado = ESTADO_INICIAL;
+                        index--;
+                    }
+                    break;
+                case ESTADO_STORM_BATCH_SIZE:
+                    if (token.getTipo() == PD_NUM) {
+                        bloque.to(TagsStorm.class).setBatchSize(token);
+                    } else {
+                        index--;
+                    }
+                    estado = ESTADO_INICIAL;
+                    break;
+                //----------------------------------------------Estados Funcion-----------------------------------
+                case ESTADO_FUNCION_PARAMETROS:
+                    switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
+                        case PD_TIPO:
+                            tiposHadoop.add(token);
+                            bloque.to(TagsFuncion.class).addParametro(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
+                            break;
+                        default:
+                            if (token.getTipo() == PD_BLOQUE && tiposHadoop.isEmpty()
+                                    && token.getValor().equals("<return>")) {
+                                bloque.to(TagsFuncion.class).setEtiquetaRetorno(token);
+                                estado = ESTADO_FUNCION_RETORNO;
+                                break;
+                            }
+                            if (!tiposHadoop.isEmpty()) {
+                                gestorErrores.error(Errores.FUNCION_INCOMPLETA, bloque.getEtiqueta());
+                                tiposHadoop.clear();
+                            }
+                            bloque = aceptar(bloque, terminales);
+                            estado = ESTADO_INICIAL;
+                            index--;
+                    }
+                    break;
+                case ESTADO_FUNCION_RETORNO:
+                    switch (token.getTipo()) {
+                        case PD_COL:
+                        case PD_REF:
+                            tiposHadoop.add(token);
+                            break;
+                        case PD_TIPO:
+                            tiposHadoop.add(token);
+                            bloque.to(TagsFuncion.class).setRetorno(tiposHadoop);
+                            tiposHadoop = new ArrayList<>(3);
+                            bloque = aceptar(bloque, terminales);
+                            estado = ESTADO_INICIAL;
+                            break;
+                        default:
+                            //Un <return> sin tipo declara una funcion sin retorno
+                            if (!tiposHadoop.isEmpty()) {
+                                gestorErrores.error(Errores.FUNCION_INCOMPLETA, bloque.getEtiqueta());
+                                tiposHadoop.clear();
+                            }
+                            bloque = aceptar(bloque, terminales);
                             estado = ESTADO_INICIAL;
                             index--;
                     }
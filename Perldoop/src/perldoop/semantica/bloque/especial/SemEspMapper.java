@@ -7,8 +7,11 @@ import perldoop.modelo.arbol.bloque.Bloque;
 import perldoop.modelo.arbol.bloque.BloqueForeachVar;
 import perldoop.modelo.arbol.bloque.BloqueWhile;
 import perldoop.modelo.preprocesador.TagsBloque;
+import perldoop.modelo.preprocesador.hadoop.TagsMapper;
 import perldoop.modelo.semantica.TablaSemantica;
+import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
+import perldoop.util.ParserEtiquetas;
 
 /**
  * Clase para la semantica de bloque hadoop
@@ -35,6 +38,22 @@ public final class SemEspMapper extends SemEspecial {
             throw new ExcepcionSemantica(Errores.BLOQUE_ESP_EN_USO);
         }
         tabla.getClaseAttr().setPadre("Hadoop_Mapper");
+        TagsMapper tags = (TagsMapper) s.getLlaveI().getEtiquetas();
+        checkHadoop(tags.getKeyOut(), true);
+        checkHadoop(tags.getValueOut(), false);
+        if (tags.getCombine() != null) {
+            Tipo key = ParserEtiquetas.parseTipo(tags.getKeyOut());
+            Tipo value = ParserEtiquetas.parseTipo(tags.getValueOut());
+            if (!key.isString() || !value.isInteger() && !value.isLong() && !value.isDecimal()) {
+                tabla.getGestorErrores().error(Errores.MAPPER_COMBINE, tags.getCombine());
+                throw new ExcepcionSemantica(Errores.MAPPER_COMBINE);
+            }
+            //El mapper no ve el bloque combine del reducer, la operacion se declara en la etiqueta
+            if (tags.getCombineOp() == null) {
+                tabla.getGestorErrores().error(Errores.MAPPER_COMBINE_OP, tags.getCombine());
+                throw new ExcepcionSemantica(Errores.MAPPER_COMBINE_OP);
+            }
+        }
         if (s instanceof BloqueWhile && Buscar.getExpresion(((BloqueWhile) s).getExpresion()).getValor() instanceof Igual) {
             return;
         }
@@ -68,6 +68,10 @@ public final class SemEspReducer extends SemEspecial {
             throw new ExcepcionSemantica(Errores.REDUCER_INVALIDO);
         }
         TagsReducer tags = (TagsReducer) s.getLlaveI().getEtiquetas();
+        checkHadoop(tags.getKeyIn(), true);
+        checkHadoop(tags.getValueIn(), false);
+        checkHadoop(tags.getKeyOut(), true);
+        checkHadoop(tags.getValueOut(), false);
         String var = Utiles.substring(tags.getVarKey().getValor(), 2, -1);
         if (tabla.getTablaSimbolos().buscarVariable(var, '$') == null) {
             tabla.getGestorErrores().error(Errores.VARIABLE_NO_EXISTE, tags.getVarKey(), tags.getVarKey().getValor(), '$');
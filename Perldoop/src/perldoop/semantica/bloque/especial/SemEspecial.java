@@ -17,7 +17,9 @@ import perldoop.modelo.arbol.fuente.Fuente;
 import perldoop.modelo.lexico.Token;
 import perldoop.modelo.preprocesador.TagsBloque;
 import perldoop.modelo.semantica.TablaSemantica;
+import perldoop.modelo.semantica.Tipo;
 import perldoop.util.Buscar;
+import perldoop.util.ParserEtiquetas;
 
 /**
  * Clase para la semantica de bloques especiales
@@ -100,4 +102,31 @@ public abstract class SemEspecial {
             throw new ExcepcionSemantica(Errores.ESPECIAL_CABECERA);
         }
     }
+
+    /**
+     * Comprueba que las etiquetas de un tipo Hadoop sean un tipo basico o un array o lista de tipos basicos,
+     * opcionalmente referenciado. En Spark las claves se comparan con equals y deben ser tipos basicos.
+     *
+     * @param tokens Tokens de tipo, null si no se declaro
+     * @param clave El tipo es de una clave
+     */
+    protected void checkHadoop(List<Token> tokens, boolean clave) {
+        if (tokens == null) {
+            return;
+        }
+        Tipo t = ParserEtiquetas.parseTipo(tokens);
+        int i = t.isRef() ? 1 : 0;
+        int n = t.getTipo().size() - i;
+        boolean col = n == 2 && (t.getTipo(i) == Tipo.ARRAY || t.getTipo(i) == Tipo.LIST);
+        byte st = t.getTipo(t.getTipo().size() - 1);
+        boolean basico = st == Tipo.BOOLEAN || (st >= Tipo.INTEGER && st <= Tipo.STRING);
+        if (!basico || (n != 1 || i != 0) && !col) {
+            tabla.getGestorErrores().error(Errores.HADOOP_TIPO, tokens.get(0));
+            throw new ExcepcionSemantica(Errores.HADOOP_TIPO);
+        }
+        if (clave && n + i != 1 && tabla.getOpciones().getSpark() != null) {
+            tabla.getGestorErrores().error(Errores.SPARK_CLAVE, tokens.get(0));
+            throw new ExcepcionSemantica(Errores.SPARK_CLAVE);
+        }
+    }
 }
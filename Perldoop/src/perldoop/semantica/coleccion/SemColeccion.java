@@ -128,7 +128,9 @@ public class SemColeccion {
                 //Con solo una expresion en su interior
                 if (s.getLista().getExpresiones().size() == 1) {
                     Expresion exp = s.getLista().getExpresiones().get(0);
-                    if (!(exp.getValor() instanceof ColParentesis) || Buscar.getExpresiones((Coleccion) exp.getValor()).size() == 1) {
+                    //Una expresion de tipo coleccion como un rango o un array son varias posiciones
+                    boolean varias = exp.getTipo() != null && exp.getTipo().isColeccion();
+                    if (!varias && (!(exp.getValor() instanceof ColParentesis) || Buscar.getExpresiones((Coleccion) exp.getValor()).size() == 1)) {
                         s.setTipo(new Tipo(Tipo.INTEGER));
                         return;
                     }
@@ -143,7 +145,9 @@ public class SemColeccion {
                 //Con solo una expresion en su interior
                 if (s.getLista().getExpresiones().size() == 1) {
                     Expresion exp = s.getLista().getExpresiones().get(0);
-                    if (!(exp.getValor() instanceof ColParentesis) || Buscar.getExpresiones((Coleccion) exp.getValor()).size() == 1) {
+                    //Una expresion de tipo coleccion como un rango o un array son varias posiciones
+                    boolean varias = exp.getTipo() != null && exp.getTipo().isColeccion();
+                    if (!varias && (!(exp.getValor() instanceof ColParentesis) || Buscar.getExpresiones((Coleccion) exp.getValor()).size() == 1)) {
                         s.setTipo(new Tipo(Tipo.STRING));
                         return;
                     }
@@ -18,6 +18,7 @@ import perldoop.modelo.arbol.funciondef.FuncionDef;
 import perldoop.modelo.arbol.modificador.ModNada;
 import perldoop.modelo.arbol.sentencia.Sentencia;
 import perldoop.modelo.arbol.sentencia.StcFlujo;
+import perldoop.modelo.semantica.EntradaFuncion;
 import perldoop.modelo.semantica.TablaSemantica;
 import perldoop.util.Buscar;
 
@@ -139,6 +140,11 @@ public class SemFlujo {
             tabla.getGestorErrores().error(Errores.RETURN_SIN_FUNCION, s.getId().getToken());
             throw new ExcepcionSemantica(Errores.RETURN_SIN_FUNCION);
         }
+        EntradaFuncion entrada = tabla.getTablaSimbolos().buscarFuncion(funcion.getFuncionSub().getId().getValor());
+        if (entrada != null && entrada.isTipada() && (entrada.getRetorno() == null) != (s.getExpresion() == null)) {
+            tabla.getGestorErrores().error(Errores.RETURN_TIPADO, s.getId().getToken());
+            throw new ExcepcionSemantica(Errores.RETURN_TIPADO);
+        }
         codigoMuerto(s);
     }
 }
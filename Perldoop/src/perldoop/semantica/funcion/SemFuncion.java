@@ -1,14 +1,20 @@
 package perldoop.semantica.funcion;
 
+import java.util.List;
 import perldoop.excepciones.ExcepcionSemantica;
 import perldoop.internacionalizacion.Errores;
 import perldoop.modelo.arbol.expresion.ExpFuncion;
+import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.*;
+import perldoop.modelo.arbol.lista.Lista;
 import perldoop.modelo.arbol.paquete.Paquetes;
+import perldoop.modelo.arbol.sentencia.StcLista;
+import perldoop.modelo.semantica.EntradaFuncion;
 import perldoop.modelo.semantica.Paquete;
 import perldoop.modelo.semantica.TablaSemantica;
 import perldoop.modelo.semantica.Tipo;
 import perldoop.semantica.funcion.nativa.*;
+import perldoop.util.Buscar;
 
 /**
  * Clase para la semantica de funcion
@@ -40,8 +46,13 @@ public class SemFuncion {
         if (fn != null) {
             fn.visitar(s);
             return;
-        } else if (tabla.getTablaSimbolos().buscarFuncion(s.getIdentificador().getToken().getValor()) == null) {
+        }
+        EntradaFuncion entrada = tabla.getTablaSimbolos().buscarFuncion(s.getIdentificador().getToken().getValor());
+        if (entrada == null) {
             tabla.getTablaSimbolos().addFuncionNoDeclarada(s.getIdentificador().getToken());
+        } else if (entrada.isTipada()) {
+            comprobarFirma(s, entrada);
+            return;
         }
         s.setTipo(new Tipo(Tipo.ARRAY, Tipo.BOX));
     }
@@ -85,13 +96,43 @@ public class SemFuncion {
                     paquetes.getIdentificadores().get(0).getToken());
             throw new ExcepcionSemantica(Errores.PAQUETE_NO_IMPORTADO);
         }
-        if (paquete.buscarFuncion(f.getIdentificador().getToken().getValor()) == null) {
+        EntradaFuncion entrada = paquete.buscarFuncion(f.getIdentificador().getToken().getValor());
+        if (entrada == null) {
             tabla.getGestorErrores().error(Errores.FUNCION_NO_EXISTE, f.getIdentificador().getToken(), f.getIdentificador().getValor());
             throw new ExcepcionSemantica(Errores.FUNCION_NO_EXISTE);
         }
+        if (entrada.isTipada()) {
+            comprobarFirma(f, entrada);
+            return;
+        }
         f.setTipo(new Tipo(Tipo.ARRAY, Tipo.BOX));
     }
 
+    /**
+     * Comprueba la llamada a una funcion tipada, los argumentos deben coincidir con sus parametros y una funcion sin
+     * retorno solo puede llamarse como sentencia
+     *
+     * @param f Funcion
+     * @param entrada Entrada de la funcion
+     */
+    private void comprobarFirma(Funcion f, EntradaFuncion entrada) {
+        List<Expresion> args = Buscar.getExpresiones(f.getColeccion());
+        int n = entrada.getParametros().size();
+        if (args.size() != n) {
+            tabla.getGestorErrores().error(Errores.FUNCION_NUM_ARGS, args.size() > n ? Buscar.tokenInicio(args.get(n)) : f.getIdentificador().getToken(),
+                    f.getIdentificador().getValor(), n, args.size());
+            throw new ExcepcionSemantica(Errores.FUNCION_NUM_ARGS);
+        }
+        if (entrada.getRetorno() != null) {
+            f.setTipo(new Tipo(entrada.getRetorno()));
+        } else if (Buscar.isCamino(f, ExpFuncion.class, Lista.class, StcLista.class)) {
+            f.setTipo(new Tipo(Tipo.BOX));
+        } else {
+            tabla.getGestorErrores().error(Errores.FUNCION_SIN_VALOR, f.getIdentificador().getToken(), f.getIdentificador().getValor());
+            throw new ExcepcionSemantica(Errores.FUNCION_SIN_VALOR);
+        }
+    }
+
     /**
      * Obtiene la semantica nativa de una funcion
      *
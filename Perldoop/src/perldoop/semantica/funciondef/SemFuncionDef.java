@@ -2,10 +2,19 @@ package perldoop.semantica.funciondef;
 
 import perldoop.excepciones.ExcepcionSemantica;
 import perldoop.internacionalizacion.Errores;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
 import perldoop.modelo.arbol.funciondef.FuncionDef;
+import perldoop.modelo.arbol.sentencia.Sentencia;
+import perldoop.modelo.arbol.sentencia.StcComentario;
+import perldoop.modelo.arbol.variable.Variable;
 import perldoop.modelo.preprocesador.TagsBloque;
 import perldoop.modelo.preprocesador.storm.TagsStorm;
+import perldoop.modelo.semantica.EntradaFuncion;
+import perldoop.modelo.semantica.EntradaVariable;
 import perldoop.modelo.semantica.TablaSemantica;
+import perldoop.util.Buscar;
 
 /**
  * Clase para la semantica de funcionDef
@@ -26,22 +35,84 @@ public class SemFuncionDef {
     }
 
     public void visitar(FuncionDef s) {
-        tabla.getTablaSimbolos().cerrarBloque();
+        EntradaFuncion funcion = tabla.getTablaSimbolos().buscarFuncion(s.getFuncionSub().getId().getValor());
+        try {
+            if (funcion != null && funcion.isTipada()) {
+                parametros(s, funcion);
+            }
+        } finally {
+            tabla.getTablaSimbolos().cerrarBloque();
+        }
         if (s.getLlaveI().getEtiquetas() != null && s.getLlaveI().getEtiquetas() instanceof TagsStorm) {
-            stormBolt(s);
+            stormBolt(s, funcion);
         }
     }
 
     /**
-     * Comprueba una clase bolt con la funcion si contiene las etiquetas de storm
+     * Comprueba una clase bolt con la funcion si contiene las etiquetas de storm, si la funcion es tipada el bolt la
+     * llama con la tupla como unico argumento
      *
      * @param f Funcion
+     * @param funcion Entrada de la funcion
      */
-    private void stormBolt(FuncionDef f) {
+    private void stormBolt(FuncionDef f, EntradaFuncion funcion) {
+        if (funcion != null && funcion.isTipada() && funcion.getParametros().size() != 1) {
+            tabla.getGestorErrores().error(Errores.FUNCION_STORM, f.getFuncionSub().getId().getToken(), funcion.getIdentificador());
+            throw new ExcepcionSemantica(Errores.FUNCION_STORM);
+        }
         if (tabla.getClaseAttr().getPadre() != null) {
             tabla.getGestorErrores().error(Errores.BLOQUE_ESP_EN_USO, ((TagsBloque) f.getLlaveI().getEtiquetas()).getEtiqueta(), tabla.getClaseAttr().getPadre());
             throw new ExcepcionSemantica(Errores.BLOQUE_ESP_EN_USO);
         }
         tabla.getClaseAttr().setPadre("Storm");
     }
+
+    /**
+     * Comprueba que las primeras sentencias de una funcion tipada declaren sus parametros y que el resto de la
+     * funcion no use @_
+     *
+     * @param f Funcion
+     * @param funcion Entrada de la funcion
+     */
+    private void parametros(FuncionDef f, EntradaFuncion funcion) {
+        List<Sentencia> sentencias = f.getCuerpo().getSentencias();
+        EntradaVariable[] argumentos = new EntradaVariable[funcion.getParametros().size()];
+        int i = 0;
+        for (; i < sentencias.size(); i++) {
+            Sentencia stc = sentencias.get(i);
+            if (stc instanceof StcComentario) {
+                continue;
+            }
+            Map<Integer, Variable> vars = Buscar.getParametros(stc);
+            if (vars == null) {
+                break;
+            }
+            for (Map.Entry<Integer, Variable> par : vars.entrySet()) {
+                int n = par.getKey();
+                Variable var = par.getValue();
+                EntradaVariable entrada = tabla.getTablaSimbolos().buscarVariable(var.getVar().getValor(), Buscar.getContexto(var));
+                if (entrada == null || n >= argumentos.length || argumentos[n] != null || !entrada.getTipo().equals(funcion.getParametros().get(n))) {
+                    tabla.getGestorErrores().error(Errores.FUNCION_PARAMETROS, var.getVar().getToken(), funcion.getIdentificador());
+                    throw new ExcepcionSemantica(Errores.FUNCION_PARAMETROS);
+                }
+                argumentos[n] = entrada;
+            }
+        }
+        for (EntradaVariable argumento : argumentos) {
+            if (argumento == null) {
+                tabla.getGestorErrores().error(Errores.FUNCION_PARAMETROS, f.getFuncionSub().getId().getToken(), funcion.getIdentificador());
+                throw new ExcepcionSemantica(Errores.FUNCION_PARAMETROS);
+            }
+        }
+        for (; i < sentencias.size(); i++) {
+            for (Variable var : Buscar.buscarClases(sentencias.get(i), Variable.class)) {
+                if (Buscar.isParametros(var)) {
+                    tabla.getGestorErrores().error(Errores.FUNCION_PARAMETROS_USO, var.getVar().getToken());
+                    throw new ExcepcionSemantica(Errores.FUNCION_PARAMETROS_USO);
+                }
+            }
+        }
+        funcion.setArgumentos(Arrays.asList(argumentos));
+    }
+
 }
@@ -1,11 +1,20 @@
 package perldoop.semantica.funcionsub;
 
+import java.util.ArrayList;
+import java.util.List;
+import perldoop.excepciones.ExcepcionSemantica;
 import perldoop.internacionalizacion.Errores;
+import perldoop.modelo.arbol.funciondef.FuncionDef;
 import perldoop.modelo.arbol.funcionsub.FuncionSub;
+import perldoop.modelo.lexico.Token;
+import perldoop.modelo.preprocesador.Tags;
+import perldoop.modelo.preprocesador.TagsFuncion;
+import perldoop.modelo.preprocesador.storm.TagsStorm;
 import perldoop.modelo.semantica.EntradaFuncion;
 import perldoop.modelo.semantica.EntradaVariable;
 import perldoop.modelo.semantica.TablaSemantica;
 import perldoop.modelo.semantica.Tipo;
+import perldoop.util.ParserEtiquetas;
 
 /**
  * Clase para la semantica de funcionSub
@@ -34,5 +43,34 @@ public class SemFuncionSub {
         }
         tabla.getTablaSimbolos().abrirBloque();
         tabla.getTablaSimbolos().addVariable(new EntradaVariable("_", new Tipo(Tipo.ARRAY, Tipo.BOX), "__", false));
+        Tags tags = ((FuncionDef) s.getPadre()).getLlaveI().getEtiquetas();
+        if (tags instanceof TagsStorm) {
+            tags = ((TagsStorm) tags).getFuncion();
+        }
+        if (tags instanceof TagsFuncion && ((TagsFuncion) tags).isFirma()) {
+            firma(f, (TagsFuncion) tags);
+        }
+    }
+
+    /**
+     * Establece la firma de una funcion a partir de sus etiquetas
+     *
+     * @param f Funcion
+     * @param tags Etiquetas de funcion
+     */
+    private void firma(EntradaFuncion f, TagsFuncion tags) {
+        List<Tipo> parametros = new ArrayList<>(tags.getParametros().size());
+        for (List<Token> etiquetas : tags.getParametros()) {
+            Tipo t = ParserEtiquetas.parseTipo(etiquetas);
+            if (!t.isSimple() && !t.isRef()) {
+                tabla.getGestorErrores().error(Errores.FUNCION_PARAMETRO_TIPO, etiquetas.get(0));
+                throw new ExcepcionSemantica(Errores.FUNCION_PARAMETRO_TIPO);
+            }
+            parametros.add(t);
+        }
+        f.setParametros(parametros);
+        if (tags.getRetorno() != null) {
+            f.setRetorno(ParserEtiquetas.parseTipo(tags.getRetorno()));
+        }
     }
 }
@@ -86,8 +86,18 @@ public class SemRegulares {
     }
 
     public void visitar(RegularTrans s) {
-        s.setTipo(new Tipo(Tipo.STRING));
-        checkVariable(s.getId().getValor(), s.getExpresion());
         checkModificadores(s.getId().getValor(), s.getModificadores(), "cds");
+        if (Buscar.isContador(s)) {
+            //Sin remplazo la cadena no cambia y solo se cuentan los caracteres
+            s.setTipo(new Tipo(Tipo.INTEGER));
+            return;
+        }
+        checkVariable(s.getId().getValor(), s.getExpresion());
+        if (Buscar.isValorDescartado(s)) {
+            s.setTipo(new Tipo(Tipo.STRING));
+        } else {
+            //Usada como valor actualiza la cadena y retorna el numero de caracteres
+            s.setTipo(new Tipo(Tipo.INTEGER));
+        }
     }
 }
@@ -8,6 +8,7 @@ import perldoop.modelo.Opciones;
 import perldoop.modelo.arbol.Simbolo;
 import perldoop.modelo.arbol.abrirbloque.AbrirBloque;
 import perldoop.modelo.arbol.bloque.Bloque;
+import perldoop.modelo.arbol.funciondef.FuncionDef;
 import perldoop.modelo.arbol.sentencia.Sentencia;
 import perldoop.semantica.Semantica;
 
@@ -141,7 +142,8 @@ public final class Traductor implements Acciones {
                 try {
                     analizar(simbolos.get(index));
                 } catch (ExcepcionSemantica ex) {
-                    error = true;
+                    //La definicion de una funcion es su ultimo simbolo, no hay nada que saltar
+                    error = !(simbolos.get(index) instanceof FuncionDef);
                     errores++;
                 }
             } else if (simbolos.get(index) instanceof Sentencia || simbolos.get(index) instanceof Bloque) {
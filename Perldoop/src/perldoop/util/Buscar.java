@@ -15,6 +15,7 @@ import perldoop.modelo.arbol.acceso.Acceso;
 import perldoop.modelo.arbol.acceso.AccesoCol;
 import perldoop.modelo.arbol.acceso.AccesoColRef;
 import perldoop.modelo.arbol.acceso.AccesoDesRef;
+import perldoop.modelo.arbol.acceso.AccesoRef;
 import perldoop.modelo.arbol.aritmetica.AritPostDecremento;
 import perldoop.modelo.arbol.aritmetica.AritPostIncremento;
 import perldoop.modelo.arbol.aritmetica.AritPreDecremento;
@@ -22,27 +23,40 @@ import perldoop.modelo.arbol.aritmetica.AritPreIncremento;
 import perldoop.modelo.arbol.asignacion.Asignacion;
 import perldoop.modelo.arbol.asignacion.Igual;
 import perldoop.modelo.arbol.bloque.Bloque;
+import perldoop.modelo.arbol.bloque.BloqueFor;
 import perldoop.modelo.arbol.bloque.BloqueSimple;
+import perldoop.modelo.arbol.bloque.BloqueWhile;
 import perldoop.modelo.arbol.bloque.SubBloque;
 import perldoop.modelo.arbol.cadena.Cadena;
 import perldoop.modelo.arbol.cadena.CadenaDoble;
 import perldoop.modelo.arbol.cadena.CadenaSimple;
 import perldoop.modelo.arbol.coleccion.ColCorchete;
 import perldoop.modelo.arbol.coleccion.ColDec;
+import perldoop.modelo.arbol.coleccion.ColDecMy;
 import perldoop.modelo.arbol.coleccion.ColLlave;
 import perldoop.modelo.arbol.coleccion.ColParentesis;
 import perldoop.modelo.arbol.coleccion.Coleccion;
 import perldoop.modelo.arbol.cuerpo.Cuerpo;
 import perldoop.modelo.arbol.expresion.ExpAcceso;
+import perldoop.modelo.arbol.expresion.ExpAsignacion;
 import perldoop.modelo.arbol.expresion.ExpCadena;
 import perldoop.modelo.arbol.expresion.ExpColeccion;
+import perldoop.modelo.arbol.expresion.ExpFuncion;
 import perldoop.modelo.arbol.expresion.ExpNumero;
 import perldoop.modelo.arbol.expresion.ExpVariable;
 import perldoop.modelo.arbol.expresion.Expresion;
 import perldoop.modelo.arbol.funcion.Funcion;
 import perldoop.modelo.arbol.funcion.FuncionBasica;
 import perldoop.modelo.arbol.funcion.FuncionBloque;
+import perldoop.modelo.arbol.lectura.Lectura;
 import perldoop.modelo.arbol.lista.Lista;
+import perldoop.modelo.arbol.modificador.ModNada;
+import perldoop.modelo.arbol.numero.Entero;
+import perldoop.modelo.arbol.regulares.RegularSubs;
+import perldoop.modelo.arbol.regulares.RegularTrans;
+import perldoop.modelo.arbol.regulares.Regulares;
+import perldoop.modelo.arbol.sentencia.Sentencia;
+import perldoop.modelo.arbol.sentencia.StcLista;
 import perldoop.modelo.arbol.variable.VarMy;
 import perldoop.modelo.arbol.variable.VarOur;
 import perldoop.modelo.arbol.variable.VarPaqueteSigil;
@@ -59,6 +73,18 @@ import perldoop.modelo.semantica.Tipo;
  */
 public final class Buscar {
 
+    /**
+     * Funciones nativas que no modifican sus argumentos
+     */
+    private static final Set<String> LECTURA = new HashSet<>(Arrays.asList("print", "printf", "sort", "split",
+            "join", "keys", "values", "die", "warn", "exit", "open", "close", "defined", "lc", "lcfirst", "uc",
+            "ucfirst", "log", "binmode"));
+    /**
+     * Funciones nativas que modifican sus argumentos
+     */
+    private static final Set<String> ESCRITURA = new HashSet<>(Arrays.asList("push", "pop", "shift", "unshift",
+            "delete", "undef", "chop", "chomp"));
+
     /**
      * Obtiene el primer token del simbolo
      *
@@ -349,7 +375,7 @@ public final class Buscar {
             return false;
         }
         if (exp instanceof ExpVariable) {
-            return false;
+            return ((ExpVariable) exp).getVariable().isPrimitiva();
         }
         if (exp.getValor() instanceof Funcion) {
             return false;
@@ -666,6 +692,29 @@ public final class Buscar {
         return resultado;
     }
 
+    /**
+     * Obtiene los nombres de los hashes que se acceden con claves compuestas como $h{$x,$y} en todo el arbol del simbolo
+     *
+     * @param s Simbolo
+     * @return Nombres de los hashes
+     */
+    public static Set<String> getClavesCompuestas(Simbolo s) {
+        while (s.getPadre() != null) {
+            s = s.getPadre();
+        }
+        Set<String> hashes = new HashSet<>();
+        for (AccesoCol acceso : buscarClases(s, AccesoCol.class)) {
+            if (!(acceso.getColeccion() instanceof ColLlave) || !(acceso.getExpresion() instanceof ExpVariable)) {
+                continue;
+            }
+            Variable v = ((ExpVariable) acceso.getExpresion()).getVariable();
+            if (v.getContexto().getValor().equals("$") && getExpresiones(acceso.getColeccion()).size() > 1) {
+                hashes.add(v.getVar().getValor());
+            }
+        }
+        return hashes;
+    }
+
     /**
      * Comprueba si el codigo puede ser repetido
      *
@@ -711,6 +760,107 @@ public final class Buscar {
         return false;
     }
 
+    /**
+     * Comprueba si una translacion solo cuenta caracteres, sin lista de remplazo ni modificadores d o s la cadena no
+     * cambia
+     *
+     * @param tr Translacion
+     * @return Solo cuenta caracteres
+     */
+    public static boolean isContador(RegularTrans tr) {
+        if (!tr.getRemplazo().getElementos().isEmpty()) {
+            return false;
+        }
+        return tr.getModificadores() == null || tr.getModificadores().getValor().matches("c?");
+    }
+
+    /**
+     * Obtiene el chomp que se aplica a una linea justo despues de leerla en la condicion de un while, la lectura y el
+     * chomp se pueden unir en una sola operacion.
+     *
+     * @param lectura Lectura
+     * @return Funcion chomp o null si no existe
+     */
+    public static FuncionBasica getChomp(Lectura lectura) {
+        if (!lectura.getTipo().isString() || !(lectura.getPadre() instanceof Expresion)) {
+            return null;
+        }
+        Simbolo uso = getUso((Expresion) lectura.getPadre());
+        if (!(uso instanceof Igual) || !(uso.getPadre() instanceof ExpAsignacion)) {
+            return null;
+        }
+        Expresion izq = getExpresion(((Igual) uso).getIzquierda());
+        Simbolo bloque = getUso((Expresion) uso.getPadre());
+        if (!(izq instanceof ExpVariable) || !(bloque instanceof BloqueWhile)) {
+            return null;
+        }
+        Variable var = ((ExpVariable) izq).getVariable();
+        List<Sentencia> sentencias = ((BloqueWhile) bloque).getCuerpo().getSentencias();
+        if (!var.getContexto().getValor().equals("$") || sentencias.isEmpty() || !(sentencias.get(0) instanceof StcLista)) {
+            return null;
+        }
+        StcLista stc = (StcLista) sentencias.get(0);
+        if (!(stc.getModificador() instanceof ModNada) || stc.getLista().getExpresiones().size() != 1) {
+            return null;
+        }
+        Expresion exp = getExpresion(stc.getLista().getExpresiones().get(0));
+        if (!(exp instanceof ExpFuncion) || !(exp.getValor() instanceof FuncionBasica)) {
+            return null;
+        }
+        FuncionBasica f = (FuncionBasica) exp.getValor();
+        if (!f.getIdentificador().getValor().equals("chomp") || !f.getPaquetes().isVacio()) {
+            return null;
+        }
+        List<Expresion> args = getExpresiones(f.getColeccion());
+        if (args.size() != 1 || !(getExpresion(args.get(0)) instanceof ExpVariable)) {
+            return null;
+        }
+        Variable arg = ((ExpVariable) getExpresion(args.get(0))).getVariable();
+        if (arg.getContexto().getValor().equals("$") && arg.getVar().getValor().equals(var.getVar().getValor())) {
+            return f;
+        }
+        return null;
+    }
+
+    /**
+     * Obtiene la lectura unida a un chomp
+     *
+     * @param chomp Funcion chomp
+     * @return Lectura o null si el chomp no esta unido a una lectura
+     */
+    public static Lectura getLectura(FuncionBasica chomp) {
+        BloqueWhile bloque = buscarPadre(chomp, BloqueWhile.class);
+        if (bloque == null) {
+            return null;
+        }
+        for (Lectura lectura : buscarClases(bloque.getExpresion(), Lectura.class)) {
+            if (getChomp(lectura) == chomp) {
+                return lectura;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba si el valor de una operacion no se usa, es decir si es una sentencia o una parte de inicializacion o
+     * actualizacion de un bucle for
+     *
+     * @param s Simbolo de la operacion
+     * @return Valor descartado
+     */
+    public static boolean isValorDescartado(Simbolo s) {
+        Simbolo lista = getPadre(s, 1);
+        if (lista == null) {
+            return false;
+        } else if (lista.getPadre() instanceof StcLista) {
+            return true;
+        } else if (lista.getPadre() instanceof BloqueFor) {
+            BloqueFor bloque = (BloqueFor) lista.getPadre();
+            return lista == bloque.getLista1() || lista == bloque.getLista3();
+        }
+        return false;
+    }
+
     /**
      * Comprueba si el simbolo es un valor indefinido
      *
@@ -806,4 +956,187 @@ public final class Buscar {
         return null;
     }
 
+    /**
+     * Comprueba si una variable es el array de parametros de una funcion
+     *
+     * @param v Variable
+     * @return Es @_
+     */
+    public static boolean isParametros(Variable v) {
+        return v.getVar().getValor().equals("_") && getContexto(v) == '@';
+    }
+
+    /**
+     * Obtiene las variables que declara una sentencia de parametros, "my (...) = @_" o "my $x = $_[n]"
+     *
+     * @param s Sentencia
+     * @return Variables declaradas por posicion o null si la sentencia no declara parametros
+     */
+    public static Map<Integer, Variable> getParametros(Sentencia s) {
+        if (!(s instanceof StcLista) || !(((StcLista) s).getModificador() instanceof ModNada)) {
+            return null;
+        }
+        List<Expresion> lista = ((StcLista) s).getLista().getExpresiones();
+        if (lista.size() != 1 || !(lista.get(0) instanceof ExpAsignacion)) {
+            return null;
+        }
+        Asignacion asignacion = ((ExpAsignacion) lista.get(0)).getAsignacion();
+        if (!(asignacion instanceof Igual)) {
+            return null;
+        }
+        Expresion izq = asignacion.getIzquierda();
+        Expresion der = asignacion.getDerecha();
+        Map<Integer, Variable> vars = new HashMap<>(10);
+        if (der instanceof ExpVariable && isParametros(((ExpVariable) der).getVariable())) {
+            if (!(izq instanceof ExpColeccion) || !(((ExpColeccion) izq).getColeccion() instanceof ColDecMy)) {
+                return null;
+            }
+            int i = 0;
+            for (Expresion exp : getExpresiones(((ExpColeccion) izq).getColeccion())) {
+                if (!(exp instanceof ExpVariable)) {
+                    return null;
+                }
+                vars.put(i++, ((ExpVariable) exp).getVariable());
+            }
+        } else if (der instanceof ExpAcceso && ((ExpAcceso) der).getAcceso() instanceof AccesoCol) {
+            AccesoCol acceso = (AccesoCol) ((ExpAcceso) der).getAcceso();
+            Expresion col = acceso.getExpresion();
+            List<Expresion> indices = getExpresiones(acceso.getColeccion());
+            if (!(col instanceof ExpVariable) || !isParametros(((ExpVariable) col).getVariable()) || indices.size() != 1
+                    || !(indices.get(0) instanceof ExpNumero) || !(((ExpNumero) indices.get(0)).getNumero() instanceof Entero)
+                    || !(izq instanceof ExpVariable) || !(((ExpVariable) izq).getVariable() instanceof VarMy)) {
+                return null;
+            }
+            String indice = ((ExpNumero) indices.get(0)).getNumero().getNumero().getValor();
+            if (!indice.matches("[0-9]+")) {
+                return null;
+            }
+            vars.put(Integer.parseInt(indice), ((ExpVariable) izq).getVariable());
+        } else {
+            return null;
+        }
+        return vars;
+    }
+
+    /**
+     * Comprueba si un bloque puede modificar la estructura de un hash añadiendo o borrando claves. Escribir en la
+     * clave actual de un recorrido solo cambia su valor y no modifica la estructura. Las llamadas a funciones de
+     * usuario y las escrituras a traves de referencias se consideran modificaciones.
+     *
+     * @param bloque Bloque
+     * @param hash Nombre del hash
+     * @param clave Nombre de la variable con la clave actual o null
+     * @return El hash puede ser modificado
+     */
+    public static boolean isModificado(Bloque bloque, String hash, String clave) {
+        for (Funcion f : buscarClases(bloque.getCuerpo(), Funcion.class)) {
+            String id = f.getIdentificador().getValor();
+            if (!f.getPaquetes().isVacio() || (!LECTURA.contains(id) && !ESCRITURA.contains(id))) {
+                return true;
+            }
+        }
+        for (Variable v : buscarClases(bloque.getCuerpo(), Variable.class)) {
+            String id = v.getVar().getValor();
+            if (clave != null && id.equals(clave) && v.getContexto().getValor().equals("$")
+                    && v.getPadre() instanceof Expresion && isEscritura((Expresion) v.getPadre())) {
+                return true;//La clave cambia
+            }
+            if (!id.equals(hash) || !(v.getPadre() instanceof Expresion)) {
+                continue;
+            }
+            Expresion exp = (Expresion) v.getPadre();
+            ExpAcceso primero = null;
+            while (true) {
+                Simbolo padre = exp.getPadre();
+                if (padre instanceof Acceso && ((Acceso) padre).getExpresion() == exp) {
+                    if (padre instanceof AccesoRef) {
+                        return true;//Referencia al hash o a sus valores
+                    }
+                    exp = (Expresion) padre.getPadre();
+                    if (primero == null) {
+                        primero = (ExpAcceso) exp;
+                    }
+                } else if (padre instanceof Lista && padre.getPadre() instanceof ColLlave
+                        && padre.getPadre().getPadre() instanceof ExpColeccion
+                        && padre.getPadre().getPadre().getPadre() instanceof AccesoDesRef) {
+                    exp = (Expresion) padre.getPadre().getPadre().getPadre().getPadre();
+                } else {
+                    break;
+                }
+            }
+            if (!isEscritura(exp)) {
+                continue;
+            }
+            if (clave == null || "delete".equals(getArgumento(exp)) || primero == null || !(primero.getAcceso() instanceof AccesoCol)
+                    || !(((AccesoCol) primero.getAcceso()).getColeccion() instanceof ColLlave)) {
+                return true;
+            }
+            List<Expresion> indices = getExpresiones(((AccesoCol) primero.getAcceso()).getColeccion());
+            if (indices.size() != 1 || !(getExpresion(indices.get(0)) instanceof ExpVariable)) {
+                return true;
+            }
+            Variable indice = ((ExpVariable) getExpresion(indices.get(0))).getVariable();
+            if (!indice.getVar().getValor().equals(clave) || !indice.getContexto().getValor().equals("$")) {
+                return true;
+            }
+        }
+        for (Acceso acceso : buscarClases(bloque.getCuerpo(), Acceso.class)) {
+            if ((acceso instanceof AccesoDesRef || acceso instanceof AccesoColRef) && isEscritura((Expresion) acceso.getPadre())) {
+                return true;//Escritura a traves de una referencia
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Obtiene la función de la que una expresión es argumento
+     *
+     * @param exp Expresión
+     * @return Nombre de la función o null si no es un argumento
+     */
+    private static String getArgumento(Expresion exp) {
+        Simbolo padre = exp.getPadre();
+        while (padre instanceof Lista && padre.getPadre() instanceof ColParentesis) {
+            if (padre.getPadre().getPadre() instanceof Funcion) {
+                return ((Funcion) padre.getPadre().getPadre()).getIdentificador().getValor();
+            } else if (!(padre.getPadre().getPadre() instanceof ExpColeccion)) {
+                return null;
+            }
+            padre = padre.getPadre().getPadre().getPadre();
+        }
+        return null;
+    }
+
+    /**
+     * Comprueba si una expresión es modificada: es el destino de una asignacion, de un incremento, de una sustitucion
+     * o el argumento de una función que modifica sus argumentos
+     *
+     * @param exp Expresión
+     * @return Es modificada
+     */
+    private static boolean isEscritura(Expresion exp) {
+        Simbolo actual = exp;
+        Simbolo padre = actual.getPadre();
+        //Parentesis
+        while (padre instanceof Lista && padre.getPadre() instanceof ColParentesis) {
+            if (padre.getPadre().getPadre() instanceof Funcion) {
+                return ESCRITURA.contains(getArgumento(exp));
+            } else if (!(padre.getPadre().getPadre() instanceof ExpColeccion)) {
+                return false;
+            }
+            actual = padre.getPadre().getPadre();
+            padre = actual.getPadre();
+        }
+        if (padre instanceof Asignacion) {
+            return ((Asignacion) padre).getIzquierda() == actual;
+        } else if (padre instanceof AritPreIncremento || padre instanceof AritPostIncremento) {
+            return true;
+        } else if (padre instanceof AritPreDecremento || padre instanceof AritPostDecremento) {
+            return true;
+        } else if (padre instanceof RegularSubs || padre instanceof RegularTrans) {
+            return ((Regulares) padre).getExpresion() == actual;
+        }
+        return false;
+    }
+
 }